@@ -18,6 +18,7 @@ dependencies {
     api(project(":airbyte-config:config-models"))
     api(project(":airbyte-api"))
 
+    implementation(libs.guava)
 
     testAnnotationProcessor(platform(libs.micronaut.bom))
     testAnnotationProcessor(libs.bundles.micronaut.test.annotation.processor)
@@ -4,6 +4,11 @@
 
 package io.airbyte.analytics
 
+import com.google.common.base.Suppliers
+import com.google.common.cache.CacheBuilder
+import com.google.common.cache.CacheLoader
+import com.google.common.cache.LoadingCache
+import com.google.common.util.concurrent.ThreadFactoryBuilder
 import com.segment.analytics.Analytics
 import com.segment.analytics.Callback
 import com.segment.analytics.Plugin
@@ -18,13 +23,20 @@ import io.micronaut.context.annotation.Requires
 import io.micronaut.context.annotation.Value
 import io.micronaut.http.context.ServerRequestContext
 import jakarta.annotation.PreDestroy
+import jakarta.inject.Inject
 import jakarta.inject.Named
 import jakarta.inject.Singleton
 import java.lang.Thread.sleep
+import java.time.Duration
 import java.time.Instant
 import java.util.Optional
 import java.util.UUID
 import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executor
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.ThreadPoolExecutor
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.TimeoutException
 import java.util.concurrent.atomic.AtomicLong
@@ -91,54 +103,97 @@ interface TrackingClient {
  * See the following document for details on tracked events. Please update this document if tracked
  * events change.
  * https://docs.google.com/spreadsheets/d/1lGLmLIhiSPt_-oaEf3CpK-IxXnCO0NRHurvmWldoA2w/edit#gid=1567609168
+ * <p>
+ * Events are enriched with the workspace identity and the deployment on a background thread, so
+ * tracking an event only enqueues it. Identities are cached per workspace for
+ * airbyte.tracking.identity-cache-ttl-sec. Identifying a workspace, which is done whenever its email
+ * or tracking settings are updated, drops its cached identity so that events tracked afterwards never
+ * carry the settings from before the update.
  */
 @Singleton
 @Requires(property = "airbyte.tracking.strategy", pattern = "(?i)^segment$")
 @Named("trackingClient")
-class SegmentTrackingClient(
+class SegmentTrackingClient internal constructor(
   private val segmentAnalyticsClient: SegmentAnalyticsClient,
-  private val trackingIdentityFetcher: TrackingIdentityFetcher,
-  private val deploymentFetcher: DeploymentFetcher,
-  @Value("\${airbyte.role}") val airbyteRole: String,
+  trackingIdentityFetcher: TrackingIdentityFetcher,
+  deploymentFetcher: DeploymentFetcher,
+  val airbyteRole: String,
+  identityCacheTtl: Duration,
+  private val enrichmentExecutor: Executor,
 ) : TrackingClient {
-  override fun identify(workspaceId: UUID) {
-    val deployment: Deployment = deploymentFetcher.get()
-    val trackingIdentity: TrackingIdentity = trackingIdentityFetcher.apply(workspaceId)
-    val identityMetadata: MutableMap<String, Any?> = HashMap()
-
-    // deployment
-    identityMetadata[AIRBYTE_VERSION_KEY] = deployment.getDeploymentVersion()
-    identityMetadata["deployment_mode"] = deployment.getDeploymentMode()
-    identityMetadata["deployment_env"] = deployment.getDeploymentEnvironment()
-    identityMetadata["deployment_id"] = deployment.getDeploymentId().toString()
-
-    // workspace (includes info that in the future we would store in an organization)
-    identityMetadata["anonymized"] = trackingIdentity.isAnonymousDataCollection()
-    identityMetadata["subscribed_newsletter"] = trackingIdentity.isNews()
-    identityMetadata["subscribed_security"] = trackingIdentity.isSecurityUpdates()
-    if (trackingIdentity.email != null) {
-      identityMetadata["email"] = trackingIdentity.email
-    }
+  @Inject
+  constructor(
+    segmentAnalyticsClient: SegmentAnalyticsClient,
+    trackingIdentityFetcher: TrackingIdentityFetcher,
+    deploymentFetcher: DeploymentFetcher,
+    @Value("\${airbyte.role}") airbyteRole: String,
+    @Value("\${airbyte.tracking.identity-cache-ttl-sec:300}") identityCacheTtlSec: Long,
+  ) : this(
+    segmentAnalyticsClient,
+    trackingIdentityFetcher,
+    deploymentFetcher,
+    airbyteRole,
+    Duration.ofSeconds(identityCacheTtlSec),
+    newEnrichmentExecutor(),
+  )
 
-    // other
-    if (airbyteRole.isNotBlank()) {
-      identityMetadata[AIRBYTE_ROLE] = airbyteRole
+  // Every event needs the identity of its workspace and the deployment, which are read through the
+  // API or the database but rarely change, so they are cached for a short while.
+  private val trackingIdentities: LoadingCache<UUID, TrackingIdentity> =
+    CacheBuilder.newBuilder()
+      .maximumSize(IDENTITY_CACHE_SIZE)
+      .expireAfterWrite(identityCacheTtl)
+      .build(CacheLoader.from { workspaceId: UUID -> trackingIdentityFetcher.apply(workspaceId) })
+  private val cachedDeployment: Supplier<Deployment> =
+    if (identityCacheTtl.isZero) {
+      deploymentFetcher
+    } else {
+      Suppliers.memoizeWithExpiration({ deploymentFetcher.get() }, identityCacheTtl.toMillis(), TimeUnit.MILLISECONDS)
     }
 
-    val joinKey: String = trackingIdentity.customerId.toString()
-    segmentAnalyticsClient.analyticsClient.enqueue(
-      IdentifyMessage.builder() // user id is scoped by workspace. there is no cross-workspace tracking.
-        .userId(joinKey)
-        .traits(identityMetadata),
-    )
+  override fun identify(workspaceId: UUID) {
+    trackingIdentities.invalidate(workspaceId)
+    enqueue("identify") {
+      val deployment: Deployment = cachedDeployment.get()
+      val trackingIdentity: TrackingIdentity = trackingIdentities.get(workspaceId)
+      val identityMetadata: MutableMap<String, Any?> = HashMap()
+
+      // deployment
+      identityMetadata[AIRBYTE_VERSION_KEY] = deployment.getDeploymentVersion()
+      identityMetadata["deployment_mode"] = deployment.getDeploymentMode()
+      identityMetadata["deployment_env"] = deployment.getDeploymentEnvironment()
+      identityMetadata["deployment_id"] = deployment.getDeploymentId().toString()
+
+      // workspace (includes info that in the future we would store in an organization)
+      identityMetadata["anonymized"] = trackingIdentity.isAnonymousDataCollection()
+      identityMetadata["subscribed_newsletter"] = trackingIdentity.isNews()
+      identityMetadata["subscribed_security"] = trackingIdentity.isSecurityUpdates()
+      if (trackingIdentity.email != null) {
+        identityMetadata["email"] = trackingIdentity.email
+      }
+
+      // other
+      if (airbyteRole.isNotBlank()) {
+        identityMetadata[AIRBYTE_ROLE] = airbyteRole
+      }
+
+      val joinKey: String = trackingIdentity.customerId.toString()
+      segmentAnalyticsClient.analyticsClient.enqueue(
+        IdentifyMessage.builder() // user id is scoped by workspace. there is no cross-workspace tracking.
+          .userId(joinKey)
+          .traits(identityMetadata),
+      )
+    }
   }
 
   override fun alias(
     workspaceId: UUID,
     previousCustomerId: String?,
   ) {
-    val joinKey: String = trackingIdentityFetcher.apply(workspaceId).customerId.toString()
-    segmentAnalyticsClient.analyticsClient.enqueue(AliasMessage.builder(previousCustomerId).userId(joinKey))
+    enqueue("alias") {
+      val joinKey: String = trackingIdentities.get(workspaceId).customerId.toString()
+      segmentAnalyticsClient.analyticsClient.enqueue(AliasMessage.builder(previousCustomerId).userId(joinKey))
+    }
   }
 
   override fun track(
@@ -154,30 +209,71 @@ class SegmentTrackingClient(
     metadata: Map<String?, Any?>?,
   ) {
     val mapCopy: MutableMap<String, Any?> = java.util.HashMap(metadata)
-    val deployment: Deployment = deploymentFetcher.get()
-    val trackingIdentity: TrackingIdentity = trackingIdentityFetcher.apply(workspaceId)
-
+    // the request context and the time of the event are only known on the calling thread
     val airbyteSource: Optional<String> = getAirbyteSource()
     mapCopy[AIRBYTE_SOURCE] = airbyteSource.orElse(UNKNOWN)
-
-    // Always add these traits.
-    mapCopy[AIRBYTE_VERSION_KEY] = deployment.getDeploymentVersion()
-    mapCopy[CUSTOMER_ID_KEY] = trackingIdentity.customerId
-    mapCopy[AIRBYTE_DEPLOYMENT_ID] = deployment.getDeploymentId().toString()
-    mapCopy[AIRBYTE_DEPLOYMENT_MODE] = deployment.getDeploymentMode()
     mapCopy[AIRBYTE_TRACKED_AT] = Instant.now().toString()
-    if (metadata!!.isNotEmpty()) {
-      if (trackingIdentity.email != null) {
-        mapCopy["email"] = trackingIdentity.email
+
+    enqueue("track") {
+      val deployment: Deployment = cachedDeployment.get()
+      val trackingIdentity: TrackingIdentity = trackingIdentities.get(workspaceId)
+
+      // Always add these traits.
+      mapCopy[AIRBYTE_VERSION_KEY] = deployment.getDeploymentVersion()
+      mapCopy[CUSTOMER_ID_KEY] = trackingIdentity.customerId
+      mapCopy[AIRBYTE_DEPLOYMENT_ID] = deployment.getDeploymentId().toString()
+      mapCopy[AIRBYTE_DEPLOYMENT_MODE] = deployment.getDeploymentMode()
+      if (metadata!!.isNotEmpty()) {
+        if (trackingIdentity.email != null) {
+          mapCopy["email"] = trackingIdentity.email
+        }
       }
+
+      val joinKey: String = trackingIdentity.customerId.toString()
+      segmentAnalyticsClient.analyticsClient.enqueue(
+        TrackMessage.builder(action)
+          .userId(joinKey)
+          .properties(mapCopy),
+      )
     }
+  }
 
-    val joinKey: String = trackingIdentity.customerId.toString()
-    segmentAnalyticsClient.analyticsClient.enqueue(
-      TrackMessage.builder(action)
-        .userId(joinKey)
-        .properties(mapCopy),
-    )
+  /**
+   * Looks up the identity of the workspace and sends the event off the calling thread, so tracking
+   * never blocks a request or a sync. Events are enriched one at a time, in the order they were
+   * tracked.
+   */
+  private fun enqueue(
+    eventType: String,
+    event: () -> Unit,
+  ) {
+    try {
+      enrichmentExecutor.execute {
+        try {
+          event()
+        } catch (e: Exception) {
+          logger.error(e) { "Failed to send analytics $eventType event to Segment" }
+        }
+      }
+    } catch (e: RejectedExecutionException) {
+      logger.warn { "Dropping analytics $eventType event as too many events are waiting to be sent to Segment" }
+    }
+  }
+
+  /**
+   * Waits for the events still waiting for their enrichment to be handed to the Segment client, then
+   * closes the Segment client so that it flushes them. The Segment client is closed here rather than
+   * on its own, as it must not be closed before the enrichment is drained.
+   */
+  @PreDestroy
+  fun close() {
+    if (enrichmentExecutor is ExecutorService) {
+      enrichmentExecutor.shutdown()
+      if (!enrichmentExecutor.awaitTermination(ENRICHMENT_SHUTDOWN_TIMEOUT_SEC, TimeUnit.SECONDS)) {
+        logger.warn { "Timed out waiting for analytics events to be enriched, remaining events are dropped." }
+      }
+    }
+    segmentAnalyticsClient.close()
   }
 
   private fun getAirbyteSource(): Optional<String> {
@@ -199,6 +295,20 @@ class SegmentTrackingClient(
     const val AIRBYTE_VERSION_KEY = "airbyte_version"
     const val CUSTOMER_ID_KEY = "user_id"
     const val UNKNOWN = "unknown"
+
+    private const val IDENTITY_CACHE_SIZE = 10_000L
+    private const val ENRICHMENT_QUEUE_SIZE = 10_000
+    private const val ENRICHMENT_SHUTDOWN_TIMEOUT_SEC = 10L
+
+    private fun newEnrichmentExecutor(): ExecutorService =
+      ThreadPoolExecutor(
+        1,
+        1,
+        0L,
+        TimeUnit.MILLISECONDS,
+        LinkedBlockingQueue(ENRICHMENT_QUEUE_SIZE),
+        ThreadFactoryBuilder().setDaemon(true).setNameFormat("segment-tracking-%d").build(),
+      )
   }
 }
 
@@ -216,7 +326,10 @@ class SegmentAnalyticsClient(
       .plugin(blockingShutdownAnalyticsPlugin)
       .build()
 
-  @PreDestroy
+  /**
+   * Flushes the enqueued events and shuts the client down. Called by [SegmentTrackingClient] once no
+   * more events can be enqueued.
+   */
   fun close() {
     logger.info { "Closing Segment analytics client..." }
     analyticsClient.flush()
@@ -18,11 +18,16 @@ import io.mockk.every
 import io.mockk.mockk
 import io.mockk.slot
 import io.mockk.verify
+import io.mockk.verifyOrder
 import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
+import java.time.Duration
 import java.util.Objects
 import java.util.UUID
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
 
 class SegmentTrackingClientTest {
   private val airbyteVersion = AirbyteVersion("dev")
@@ -53,13 +58,7 @@ class SegmentTrackingClientTest {
     every { trackingIdentityFetcher.apply(any()) } returns identity
     every { segmentAnalyticsClient.analyticsClient } returns analytics
 
-    segmentTrackingClient =
-      SegmentTrackingClient(
-        trackingIdentityFetcher = trackingIdentityFetcher,
-        deploymentFetcher = deploymentFetcher,
-        segmentAnalyticsClient = segmentAnalyticsClient,
-        airbyteRole = AIRBYTE_ROLE,
-      )
+    segmentTrackingClient = newTrackingClient(AIRBYTE_ROLE)
   }
 
   @Test
@@ -89,13 +88,7 @@ class SegmentTrackingClientTest {
 
   @Test
   fun testIdentifyWithRole() {
-    segmentTrackingClient =
-      SegmentTrackingClient(
-        trackingIdentityFetcher = trackingIdentityFetcher,
-        deploymentFetcher = deploymentFetcher,
-        segmentAnalyticsClient = segmentAnalyticsClient,
-        airbyteRole = "role",
-      )
+    segmentTrackingClient = newTrackingClient("role")
     val builderSlot = slot<IdentifyMessage.Builder>()
     every { analytics.enqueue(capture(builderSlot)) } returns Unit
 
@@ -196,6 +189,110 @@ class SegmentTrackingClientTest {
     )
   }
 
+  @Test
+  fun testIdentityAndDeploymentAreCached() {
+    every { analytics.enqueue(any()) } returns Unit
+
+    segmentTrackingClient.identify(workspaceId)
+    segmentTrackingClient.track(workspaceId, JUMP)
+    segmentTrackingClient.track(workspaceId, JUMP, mapOf("height" to "80 meters"))
+
+    verify(exactly = 3) { analytics.enqueue(any()) }
+    verify(exactly = 1) { trackingIdentityFetcher.apply(workspaceId) }
+    verify(exactly = 1) { deploymentFetcher.get() }
+  }
+
+  @Test
+  fun testIdentifyRefreshesTheCachedIdentity() {
+    // the slot holds the last enqueued message, which is a track message when it is checked
+    val builderSlot = slot<TrackMessage.Builder>()
+    every { analytics.enqueue(capture(builderSlot)) } returns Unit
+
+    segmentTrackingClient.track(workspaceId, JUMP, mapOf("height" to "80 meters"))
+    Assertions.assertEquals(EMAIL, builderSlot.captured.build().properties()!![EMAIL_KEY])
+
+    // the workspace opted out of the data collection, which is followed by an identify
+    every { trackingIdentityFetcher.apply(workspaceId) } returns identity.copy(email = null, anonymousDataCollection = true)
+    segmentTrackingClient.identify(workspaceId)
+    segmentTrackingClient.track(workspaceId, JUMP, mapOf("height" to "80 meters"))
+
+    verify(exactly = 2) { trackingIdentityFetcher.apply(workspaceId) }
+    Assertions.assertFalse(builderSlot.captured.build().properties()!!.containsKey(EMAIL_KEY))
+  }
+
+  @Test
+  fun testCloseSendsTheEnrichedEventsBeforeClosingTheSegmentClient() {
+    val enrichmentExecutor = Executors.newSingleThreadExecutor()
+    val release = CountDownLatch(1)
+    enrichmentExecutor.execute { release.await() }
+    segmentTrackingClient =
+      SegmentTrackingClient(
+        trackingIdentityFetcher = trackingIdentityFetcher,
+        deploymentFetcher = deploymentFetcher,
+        segmentAnalyticsClient = segmentAnalyticsClient,
+        airbyteRole = AIRBYTE_ROLE,
+        identityCacheTtl = Duration.ofMinutes(5),
+        enrichmentExecutor = enrichmentExecutor,
+      )
+    every { analytics.enqueue(any()) } returns Unit
+    every { segmentAnalyticsClient.close() } returns Unit
+
+    // the event is still waiting for its enrichment when the client is closed
+    segmentTrackingClient.track(workspaceId, JUMP)
+    release.countDown()
+    segmentTrackingClient.close()
+
+    verifyOrder {
+      analytics.enqueue(any())
+      segmentAnalyticsClient.close()
+    }
+  }
+
+  @Test
+  fun testTrackOnlyEnqueuesTheEvent() {
+    val pendingEvents = mutableListOf<Runnable>()
+    segmentTrackingClient =
+      SegmentTrackingClient(
+        trackingIdentityFetcher = trackingIdentityFetcher,
+        deploymentFetcher = deploymentFetcher,
+        segmentAnalyticsClient = segmentAnalyticsClient,
+        airbyteRole = AIRBYTE_ROLE,
+        identityCacheTtl = Duration.ofMinutes(5),
+        enrichmentExecutor = Executor { pendingEvents.add(it) },
+      )
+    val builderSlot = slot<TrackMessage.Builder>()
+    every { analytics.enqueue(capture(builderSlot)) } returns Unit
+
+    segmentTrackingClient.track(workspaceId, JUMP)
+
+    verify(exactly = 0) { trackingIdentityFetcher.apply(any()) }
+    verify(exactly = 0) { analytics.enqueue(any()) }
+
+    pendingEvents.forEach { it.run() }
+
+    verify(exactly = 1) { analytics.enqueue(any()) }
+    Assertions.assertEquals(identity.customerId.toString(), builderSlot.captured.build().userId())
+  }
+
+  @Test
+  fun testEnrichmentFailuresAreNotThrown() {
+    every { trackingIdentityFetcher.apply(any()) } throws IllegalStateException("workspace lookup failed")
+
+    Assertions.assertDoesNotThrow { segmentTrackingClient.track(workspaceId, JUMP) }
+    verify(exactly = 0) { analytics.enqueue(any()) }
+  }
+
+  private fun newTrackingClient(airbyteRole: String): SegmentTrackingClient =
+    SegmentTrackingClient(
+      trackingIdentityFetcher = trackingIdentityFetcher,
+      deploymentFetcher = deploymentFetcher,
+      segmentAnalyticsClient = segmentAnalyticsClient,
+      airbyteRole = airbyteRole,
+      identityCacheTtl = Duration.ofMinutes(5),
+      // run the enrichment on the calling thread so the events can be verified right away
+      enrichmentExecutor = Executor { it.run() },
+    )
+
   private fun filterTrackedAtProperty(properties: Map<String, *>): MutableMap<String, Any?> {
     val trackedAtKey = "tracked_at"
     Assertions.assertTrue(properties.containsKey(trackedAtKey))
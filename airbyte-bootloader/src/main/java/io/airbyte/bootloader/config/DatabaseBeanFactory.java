@@ -8,6 +8,7 @@ import static io.airbyte.data.services.shared.DataSourceUnwrapper.unwrapContext;
 import static io.airbyte.data.services.shared.DataSourceUnwrapper.unwrapDataSource;
 
 import io.airbyte.commons.resources.MoreResources;
+import io.airbyte.config.persistence.ActorDefinitionCache;
 import io.airbyte.config.persistence.ConfigRepository;
 import io.airbyte.config.persistence.OrganizationPersistence;
 import io.airbyte.config.persistence.UserPersistence;
@@ -123,7 +124,8 @@ public class DatabaseBeanFactory {
                                            final OAuthService oauthService,
                                            final OperationService operationService,
                                            final SourceService sourceService,
-                                           final WorkspaceService workspaceService) {
+                                           final WorkspaceService workspaceService,
+                                           final ActorDefinitionCache actorDefinitionCache) {
     return new ConfigRepository(
         actorDefinitionService,
         catalogService,
@@ -133,7 +135,8 @@ public class DatabaseBeanFactory {
         oauthService,
         operationService,
         sourceService,
-        workspaceService);
+        workspaceService,
+        actorDefinitionCache);
   }
 
   @Singleton
@@ -5,6 +5,7 @@
 package io.airbyte.commons.protocol.serde;
 
 import io.airbyte.commons.version.Version;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 /**
@@ -20,6 +21,14 @@ public interface AirbyteMessageDeserializer<T> {
    */
   Optional<T> deserializeExact(final String json);
 
+  /**
+   * Same as {@link #deserializeExact(String)} but reads from a slice of UTF-8 encoded bytes. Callers
+   * reading raw connector output should prefer this to avoid decoding every line into a String.
+   */
+  default Optional<T> deserializeExact(final byte[] bytes, final int offset, final int length) {
+    return deserializeExact(new String(bytes, offset, length, StandardCharsets.UTF_8));
+  }
+
   Version getTargetVersion();
 
 }
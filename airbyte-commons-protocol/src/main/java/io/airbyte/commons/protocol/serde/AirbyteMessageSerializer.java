@@ -4,7 +4,9 @@
 
 package io.airbyte.commons.protocol.serde;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import io.airbyte.commons.version.Version;
+import java.io.IOException;
 
 /**
  * Airbyte Protocol serialization interface.
@@ -15,6 +17,16 @@ public interface AirbyteMessageSerializer<T> {
 
   String serialize(final T message);
 
+  /**
+   * Serialize a message with a generator rather than to a string.
+   *
+   * @param message to serialize.
+   * @param generator to write to, it is not flushed.
+   */
+  default void serialize(final T message, final JsonGenerator generator) throws IOException {
+    generator.writeRawValue(serialize(message));
+  }
+
   Version getTargetVersion();
 
 }
@@ -155,6 +155,7 @@ public class JobHistoryHandler {
     } else {
       jobs = jobPersistence.listJobs(configTypes, configId, pageSize,
           (request.getPagination() != null && request.getPagination().getRowOffset() != null) ? request.getPagination().getRowOffset() : 0,
+          request.getBeforeJobId(),
           request.getStatuses() == null ? null : mapToDomainJobStatus(request.getStatuses()),
           request.getCreatedAtStart(),
           request.getCreatedAtEnd(),
@@ -199,6 +200,7 @@ public class JobHistoryHandler {
         request.getWorkspaceIds(),
         pageSize,
         offset,
+        request.getBeforeJobId(),
         request.getStatuses() == null ? null : mapToDomainJobStatus(request.getStatuses()),
         request.getCreatedAtStart(),
         request.getCreatedAtEnd(),
@@ -11,6 +11,16 @@ configurations.all {
     }
 }
 
+// JMH microbenchmarks of the replication hot path, see src/jmh.
+// They can use the test fixtures and are run with `./gradlew :airbyte-commons-worker:jmh`.
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets["main"].output + sourceSets["test"].output
+    runtimeClasspath += sourceSets["main"].output + sourceSets["test"].output
+}
+
+configurations["jmhImplementation"].extendsFrom(configurations["testImplementation"])
+configurations["jmhRuntimeOnly"].extendsFrom(configurations["testRuntimeOnly"])
+
 dependencies {
     annotationProcessor(platform(libs.micronaut.bom))
     annotationProcessor(libs.bundles.micronaut.annotation.processor)
@@ -93,6 +103,9 @@ dependencies {
     testImplementation(libs.assertj.core)
     testImplementation(libs.junit.pioneer)
     testImplementation(libs.mockk)
+
+    "jmhImplementation"(libs.jmh.core)
+    "jmhAnnotationProcessor"(libs.jmh.annotations)
 }
 
 tasks.named<Test>("test") {
@@ -103,6 +116,22 @@ tasks.named<Test>("test") {
     }
 }
 
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks. Use -PjmhIncludes=<regex> to select benchmarks."
+    group = "verification"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    val resultFile = layout.buildDirectory.file("reports/jmh/results.json").get().asFile
+    args = listOf(
+        (project.findProperty("jmhIncludes") ?: ".*").toString(),
+        "-rf", "json",
+        "-rff", resultFile.absolutePath,
+    )
+    doFirst {
+        resultFile.parentFile.mkdirs()
+    }
+}
+
 // The DuplicatesStrategy will be required while this module is mixture of kotlin and java _with_ lombok dependencies.)
 // Kapt, by default, runs all annotation(processors and disables annotation(processing by javac, however)
 // this default behavior(breaks the lombok java annotation(processor.  To avoid(lombok breaking, kapt(has)
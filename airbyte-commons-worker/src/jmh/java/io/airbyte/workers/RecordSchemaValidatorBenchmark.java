@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.workers.test_utils.BenchmarkRecords;
+import io.airbyte.workers.test_utils.BenchmarkRecords.Shape;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures json schema validation of records, reported per record. Validation runs on the calling
+ * thread so that the cost of the validation itself is measured rather than the hand-off to the
+ * validation executor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecordSchemaValidatorBenchmark {
+
+  private static final int RECORD_COUNT = 1_000;
+
+  @Param({"THIN", "FAT"})
+  private Shape shape;
+
+  private RecordSchemaValidator recordSchemaValidator;
+  private List<AirbyteMessage> records;
+  private ConcurrentHashMap<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors;
+
+  @Setup
+  public void setup() {
+    recordSchemaValidator = new RecordSchemaValidator(Map.of(BenchmarkRecords.STREAM, BenchmarkRecords.schema(shape, 1.0)),
+        MoreExecutors.newDirectExecutorService());
+    records = BenchmarkRecords.records(shape, RECORD_COUNT);
+    validationErrors = new ConcurrentHashMap<>();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    recordSchemaValidator.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORD_COUNT)
+  public ConcurrentHashMap<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validateSchema() {
+    for (final AirbyteMessage record : records) {
+      recordSchemaValidator.validateSchema(record.getRecord(), BenchmarkRecords.STREAM, validationErrors);
+    }
+    return validationErrors;
+  }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import io.airbyte.commons.concurrency.BoundedConcurrentLinkedQueue;
+import io.airbyte.commons.concurrency.ClosableLinkedBlockingQueue;
+import io.airbyte.commons.concurrency.ClosableQueue;
+import io.airbyte.commons.concurrency.RingBufferClosableQueue;
+import io.airbyte.commons.concurrency.RingBufferClosableQueue.WaitStrategy;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.test_utils.BenchmarkRecords;
+import io.airbyte.workers.test_utils.BenchmarkRecords.Shape;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures handing off messages from one thread to another through the queues the
+ * {@link BufferedReplicationWorker} can use, reported per message. The benchmark thread is the
+ * consumer and a dedicated thread is the producer, like the processMessage and readFromSource
+ * stages. Messages are handed off as batches of one, as the worker does with the default batch size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClosableQueueBenchmark {
+
+  private static final int MESSAGE_COUNT = 100_000;
+  private static final int QUEUE_SIZE = 1000;
+  private static final long OFF_HEAP_MEMORY_BYTES = 16L * 1024 * 1024;
+  private static final long OFF_HEAP_SPILL_BYTES = 64L * 1024 * 1024;
+
+  @Param({"BUFFERED", "BUFFERED_WITH_LINKED_BLOCKING_QUEUE", "BUFFERED_WITH_RING_BUFFER", "BUFFERED_WITH_OFF_HEAP_QUEUE"})
+  private BufferedReplicationWorkerType queueType;
+
+  private ExecutorService producerExecutor;
+  private List<AirbyteMessage> batch;
+
+  @Setup
+  public void setup() {
+    producerExecutor = Executors.newSingleThreadExecutor();
+    batch = List.of(BenchmarkRecords.record(Shape.THIN, 0));
+  }
+
+  @TearDown
+  public void tearDown() {
+    producerExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MESSAGE_COUNT)
+  public void handOff(final Blackhole blackhole) throws InterruptedException, ExecutionException {
+    final ClosableQueue<List<AirbyteMessage>> queue = createQueue();
+    final Future<?> producer = producerExecutor.submit(() -> {
+      try {
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+          while (!queue.add(batch)) {
+            Thread.onSpinWait();
+          }
+        }
+      } finally {
+        queue.close();
+      }
+      return null;
+    });
+
+    while (!queue.isDone()) {
+      final List<AirbyteMessage> polled = queue.poll();
+      if (polled != null) {
+        blackhole.consume(polled);
+      }
+    }
+    producer.get();
+  }
+
+  private ClosableQueue<List<AirbyteMessage>> createQueue() {
+    return switch (queueType) {
+      case BUFFERED -> new BoundedConcurrentLinkedQueue<>(QUEUE_SIZE);
+      case BUFFERED_WITH_LINKED_BLOCKING_QUEUE -> new ClosableLinkedBlockingQueue<>(QUEUE_SIZE, OptionalInt.empty());
+      case BUFFERED_WITH_RING_BUFFER -> new RingBufferClosableQueue<>(QUEUE_SIZE, WaitStrategy.PARK);
+      case BUFFERED_WITH_OFF_HEAP_QUEUE -> new OffHeapMessageQueue(OFF_HEAP_MEMORY_BYTES, OFF_HEAP_SPILL_BYTES);
+    };
+  }
+
+}
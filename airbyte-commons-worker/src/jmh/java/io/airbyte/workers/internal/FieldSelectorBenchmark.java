@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.metrics.lib.NotImplementedMetricClient;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.RecordSchemaValidator;
+import io.airbyte.workers.WorkerMetricReporter;
+import io.airbyte.workers.test_utils.BenchmarkRecords;
+import io.airbyte.workers.test_utils.BenchmarkRecords.Shape;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures field selection on records, reported per record. Field selection mutates the records, so
+ * a fresh copy of the records is made before each invocation, outside of the measurement.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldSelectorBenchmark {
+
+  private static final int RECORD_COUNT = 1_000;
+
+  @Param({"THIN", "FAT"})
+  private Shape shape;
+
+  @Param({"0.5", "1.0"})
+  private double selectedFieldRatio;
+
+  private RecordSchemaValidator recordSchemaValidator;
+  private FieldSelector fieldSelector;
+  private List<AirbyteMessage> records;
+  private List<AirbyteMessage> recordsToFilter;
+
+  @Setup
+  public void setup() {
+    recordSchemaValidator = new RecordSchemaValidator(
+        Map.of(BenchmarkRecords.STREAM, BenchmarkRecords.schema(shape, selectedFieldRatio)),
+        MoreExecutors.newDirectExecutorService());
+    fieldSelector = new FieldSelector(recordSchemaValidator, new WorkerMetricReporter(new NotImplementedMetricClient(), "benchmark"), true, false);
+    fieldSelector.populateFields(BenchmarkRecords.catalog(shape, selectedFieldRatio));
+    records = BenchmarkRecords.records(shape, RECORD_COUNT);
+  }
+
+  @Setup(Level.Invocation)
+  public void copyRecords() {
+    recordsToFilter = new ArrayList<>(RECORD_COUNT);
+    for (final AirbyteMessage record : records) {
+      recordsToFilter.add(Jsons.clone(record));
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    recordSchemaValidator.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORD_COUNT)
+  public List<AirbyteMessage> filterSelectedFields() {
+    for (final AirbyteMessage record : recordsToFilter) {
+      fieldSelector.filterSelectedFields(record);
+    }
+    return recordsToFilter;
+  }
+
+}
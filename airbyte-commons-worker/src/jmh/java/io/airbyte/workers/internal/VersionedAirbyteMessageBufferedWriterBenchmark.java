@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.test_utils.BenchmarkProtocol;
+import io.airbyte.workers.test_utils.BenchmarkRecords;
+import io.airbyte.workers.test_utils.BenchmarkRecords.Shape;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures serializing AirbyteMessages for the destination, reported per record. The output is
+ * discarded so only the serialization and buffering cost is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VersionedAirbyteMessageBufferedWriterBenchmark {
+
+  private static final int RECORD_COUNT = 1_000;
+
+  @Param({"THIN", "FAT"})
+  private Shape shape;
+
+  // 0 writes through a BufferedWriter, otherwise the size of the output buffer of the byte writer.
+  @Param({"0", "65536"})
+  private int outputBufferSize;
+
+  private AirbyteMessageBufferedWriter writer;
+  private List<AirbyteMessage> records;
+
+  @Setup
+  public void setup() throws IOException {
+    final VersionedAirbyteMessageBufferedWriterFactory factory = new VersionedAirbyteMessageBufferedWriterFactory(
+        BenchmarkProtocol.serDeProvider(), BenchmarkProtocol.migratorFactory(), BenchmarkProtocol.PROTOCOL_VERSION, Optional.empty(),
+        outputBufferSize);
+    writer = outputBufferSize > 0
+        ? factory.createWriter(OutputStream.nullOutputStream())
+        : factory.createWriter(new BufferedWriter(Writer.nullWriter()));
+    records = BenchmarkRecords.records(shape, RECORD_COUNT);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORD_COUNT)
+  public void write() throws IOException {
+    for (final AirbyteMessage record : records) {
+      writer.write(record);
+    }
+    writer.flush();
+  }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import io.airbyte.workers.helper.GsonPksExtractor;
+import io.airbyte.workers.test_utils.BenchmarkProtocol;
+import io.airbyte.workers.test_utils.BenchmarkRecords;
+import io.airbyte.workers.test_utils.BenchmarkRecords.Shape;
+import java.io.ByteArrayInputStream;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures parsing the output of a source into AirbyteMessages, reported per record.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VersionedAirbyteStreamFactoryBenchmark {
+
+  private static final int RECORD_COUNT = 10_000;
+
+  @Param({"THIN", "FAT"})
+  private Shape shape;
+
+  @Param({"false", "true"})
+  private boolean streamingParser;
+
+  private VersionedAirbyteStreamFactory<?> streamFactory;
+  private byte[] sourceOutput;
+
+  @Setup
+  public void setup() {
+    streamFactory = new VersionedAirbyteStreamFactory<>(BenchmarkProtocol.serDeProvider(), BenchmarkProtocol.migratorFactory(),
+        BenchmarkProtocol.PROTOCOL_VERSION, Optional.empty(), Optional.empty(), Optional.empty(),
+        new VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration(false, false),
+        new GsonPksExtractor())
+            .withStreamingParser(streamingParser);
+    sourceOutput = BenchmarkRecords.serializedRecords(shape, RECORD_COUNT);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORD_COUNT)
+  public void parse(final Blackhole blackhole) {
+    streamFactory.create(new ByteArrayInputStream(sourceOutput)).forEach(blackhole::consume);
+  }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.bookkeeping;
+
+import static org.mockito.Mockito.mock;
+
+import io.airbyte.analytics.TrackingClient;
+import io.airbyte.featureflag.TestClient;
+import io.airbyte.metrics.lib.NotImplementedMetricClient;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.workers.test_utils.BenchmarkRecords;
+import io.airbyte.workers.test_utils.BenchmarkRecords.Shape;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures record stats tracking, reported per record, both one record at a time and in batches.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelStreamStatsTrackerBenchmark {
+
+  private static final int RECORD_COUNT = 1_000;
+
+  @Param({"THIN", "FAT"})
+  private Shape shape;
+
+  private ParallelStreamStatsTracker statsTracker;
+  private List<AirbyteRecordMessage> records;
+
+  @Setup
+  public void setup() {
+    statsTracker = new ParallelStreamStatsTracker(new NotImplementedMetricClient(), mock(TrackingClient.class), new TestClient(Map.of()),
+        UUID.randomUUID(), UUID.randomUUID(), 1L, 0);
+    records = BenchmarkRecords.records(shape, RECORD_COUNT).stream().map(AirbyteMessage::getRecord).toList();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORD_COUNT)
+  public void updateStats() {
+    for (final AirbyteRecordMessage record : records) {
+      statsTracker.updateStats(record);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORD_COUNT)
+  public void updateStatsInBatch() {
+    statsTracker.updateStats(records);
+  }
+
+}
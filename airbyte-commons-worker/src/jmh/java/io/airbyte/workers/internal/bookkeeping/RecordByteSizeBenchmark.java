@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.bookkeeping;
+
+import static org.mockito.Mockito.mock;
+
+import io.airbyte.analytics.TrackingClient;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.featureflag.TestClient;
+import io.airbyte.metrics.lib.NotImplementedMetricClient;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.workers.internal.RawRecordData;
+import io.airbyte.workers.test_utils.BenchmarkRecords;
+import io.airbyte.workers.test_utils.BenchmarkRecords.Shape;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures record stats tracking, reported per record, for records whose data was parsed into a
+ * tree, which are serialized to measure their size, and for raw records, which carry the size of the
+ * bytes they were parsed from.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecordByteSizeBenchmark {
+
+  private static final int RECORD_COUNT = 1_000;
+
+  @Param({"THIN", "FAT"})
+  private Shape shape;
+
+  @Param({"false", "true"})
+  private boolean raw;
+
+  private ParallelStreamStatsTracker statsTracker;
+  private List<AirbyteRecordMessage> records;
+
+  @Setup
+  public void setup() {
+    statsTracker = new ParallelStreamStatsTracker(new NotImplementedMetricClient(), mock(TrackingClient.class), new TestClient(Map.of()),
+        UUID.randomUUID(), UUID.randomUUID(), 1L, 0);
+    records = BenchmarkRecords.records(shape, RECORD_COUNT).stream()
+        .map(message -> raw ? toRaw(message) : message)
+        .map(AirbyteMessage::getRecord)
+        .toList();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORD_COUNT)
+  public void updateStats() {
+    for (final AirbyteRecordMessage record : records) {
+      statsTracker.updateStats(record);
+    }
+  }
+
+  private static AirbyteMessage toRaw(final AirbyteMessage message) {
+    final byte[] bytes = Jsons.serialize(message).getBytes(StandardCharsets.UTF_8);
+    return RawRecordData.tryParseRecord(bytes, bytes.length).orElseThrow();
+  }
+
+}
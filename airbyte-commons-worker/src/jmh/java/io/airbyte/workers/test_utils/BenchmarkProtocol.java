@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.test_utils;
+
+import io.airbyte.commons.protocol.AirbyteMessageMigrator;
+import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
+import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
+import io.airbyte.commons.protocol.ConfiguredAirbyteCatalogMigrator;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Deserializer;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Serializer;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV1Deserializer;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV1Serializer;
+import io.airbyte.commons.version.Version;
+import java.util.List;
+
+/**
+ * Protocol serde and migration setup for the benchmarks, wired the same way as in production.
+ */
+public final class BenchmarkProtocol {
+
+  public static final Version PROTOCOL_VERSION = new Version("0.2.0");
+
+  private BenchmarkProtocol() {}
+
+  public static AirbyteMessageSerDeProvider serDeProvider() {
+    final AirbyteMessageSerDeProvider serDeProvider = new AirbyteMessageSerDeProvider(
+        List.of(new AirbyteMessageV0Deserializer(), new AirbyteMessageV1Deserializer()),
+        List.of(new AirbyteMessageV0Serializer(), new AirbyteMessageV1Serializer()));
+    serDeProvider.initialize();
+    return serDeProvider;
+  }
+
+  public static AirbyteProtocolVersionedMigratorFactory migratorFactory() {
+    final AirbyteMessageMigrator airbyteMessageMigrator = new AirbyteMessageMigrator(List.of());
+    airbyteMessageMigrator.initialize();
+    final ConfiguredAirbyteCatalogMigrator configuredAirbyteCatalogMigrator = new ConfiguredAirbyteCatalogMigrator(List.of());
+    configuredAirbyteCatalogMigrator.initialize();
+    return new AirbyteProtocolVersionedMigratorFactory(airbyteMessageMigrator, configuredAirbyteCatalogMigrator);
+  }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.test_utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
+import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.SyncMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Record fixtures shared by the benchmarks. THIN records mirror
+ * {@link io.airbyte.workers.general.LimitedThinRecordSourceProcess}, FAT records have many long
+ * string fields and a nested object, similar to what
+ * {@link io.airbyte.workers.general.LimitedFatRecordSourceProcess} emits.
+ */
+public final class BenchmarkRecords {
+
+  public static final String STREAM_NAME = "s1";
+  public static final String NAMESPACE = "public";
+  public static final AirbyteStreamNameNamespacePair STREAM = new AirbyteStreamNameNamespacePair(STREAM_NAME, NAMESPACE);
+
+  private static final int FAT_RECORD_STRING_FIELDS = 20;
+  private static final String FAT_VALUE =
+      "This is a fairly long sentence to provide some bytes here. More bytes is better as it helps us measure performance.";
+
+  /**
+   * Shape of the generated records.
+   */
+  public enum Shape {
+    THIN,
+    FAT
+  }
+
+  private BenchmarkRecords() {}
+
+  public static AirbyteMessage record(final Shape shape, final int index) {
+    final AirbyteMessage message = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, data(shape, index), Instant.EPOCH);
+    message.getRecord().setNamespace(NAMESPACE);
+    return message;
+  }
+
+  public static List<AirbyteMessage> records(final Shape shape, final int count) {
+    final List<AirbyteMessage> records = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      records.add(record(shape, i));
+    }
+    return records;
+  }
+
+  /**
+   * Serialized records, one per line, as a source would emit them on STDOUT.
+   */
+  public static byte[] serializedRecords(final Shape shape, final int count) {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      sb.append(Jsons.serialize(record(shape, i))).append('\n');
+    }
+    return sb.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Json schema of the records, only declaring the first {@code selectedFieldRatio} of the top-level
+   * fields so that field selection has something to drop.
+   */
+  public static JsonNode schema(final Shape shape, final double selectedFieldRatio) {
+    final ObjectNode properties = JsonNodeFactory.instance.objectNode();
+    final List<String> fieldNames = new ArrayList<>();
+    data(shape, 0).fieldNames().forEachRemaining(fieldNames::add);
+    final int selectedFields = Math.max(1, (int) Math.round(fieldNames.size() * selectedFieldRatio));
+    for (final String fieldName : fieldNames.subList(0, selectedFields)) {
+      properties.set(fieldName, fieldSchema(fieldName));
+    }
+    return Jsons.jsonNode(Map.of("type", "object", "properties", properties));
+  }
+
+  public static ConfiguredAirbyteCatalog catalog(final Shape shape, final double selectedFieldRatio) {
+    return new ConfiguredAirbyteCatalog().withStreams(List.of(new ConfiguredAirbyteStream()
+        .withStream(new AirbyteStream()
+            .withName(STREAM_NAME)
+            .withNamespace(NAMESPACE)
+            .withJsonSchema(schema(shape, selectedFieldRatio))
+            .withSupportedSyncModes(List.of(SyncMode.FULL_REFRESH)))
+        .withSyncMode(SyncMode.FULL_REFRESH)
+        .withDestinationSyncMode(DestinationSyncMode.APPEND)));
+  }
+
+  private static ObjectNode data(final Shape shape, final int index) {
+    final ObjectNode data = JsonNodeFactory.instance.objectNode();
+    data.put("id", index);
+    switch (shape) {
+      case THIN -> data.put("data", "value " + index);
+      case FAT -> {
+        for (int i = 0; i < FAT_RECORD_STRING_FIELDS; i++) {
+          data.put("field_" + i, FAT_VALUE + index);
+        }
+        final ObjectNode nested = data.putObject("nested");
+        nested.put("updated_at", "2024-01-01T00:00:00Z");
+        nested.put("score", index * 1.5);
+        nested.putArray("tags").add("a").add("b").add("c");
+      }
+      default -> throw new IllegalArgumentException("Unexpected shape " + shape);
+    }
+    return data;
+  }
+
+  private static JsonNode fieldSchema(final String fieldName) {
+    return switch (fieldName) {
+      case "id" -> Jsons.jsonNode(Map.of("type", "integer"));
+      case "nested" -> Jsons.jsonNode(Map.of("type", "object"));
+      default -> Jsons.jsonNode(Map.of("type", "string"));
+    };
+  }
+
+}
@@ -10,27 +10,66 @@ import com.google.common.annotations.VisibleForTesting;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.validation.json.JsonSchemaValidator;
+import io.airbyte.workers.internal.RawRecordData;
+import io.airbyte.workers.internal.StreamIndex;
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 
 /**
  * Validates that AirbyteRecordMessage data conforms to the JSON schema defined by the source's
  * configured catalog.
+ * <p>
+ * Validation runs asynchronously on the validation executor. With a sample rate of N, only every
+ * Nth record of each stream is validated, so that the validation cost of high volume streams stays
+ * bounded.
+ * <p>
+ * Records carrying raw data (see {@link RawRecordData}) are materialized on the calling thread
+ * before being validated. Only the sampled records are, the others keep their raw data.
  */
+@Slf4j
 public class RecordSchemaValidator implements Closeable {
 
+  /**
+   * What to do with a record when the validation queue is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * Validate the record on the calling thread, which slows down the replication until the
+     * validation threads catch up.
+     */
+    BLOCK,
+    /**
+     * Skip the validation of the record.
+     */
+    DROP
+  }
+
+  private static final int DEFAULT_SAMPLE_RATE = 1;
+
   private final JsonSchemaValidator validator;
   private final ExecutorService validationExecutor;
   private final Map<AirbyteStreamNameNamespacePair, JsonNode> streams;
+  private final int sampleRate;
+  // Schema names and sampling counters of the streams of the catalog, indexed by stream id.
+  private final StreamIndex streamIndex;
+  private final String[] schemaNames;
+  private final AtomicLong[] recordsSeenPerStream;
+  private final Map<AirbyteStreamNameNamespacePair, AtomicLong> recordsSeenPerUnknownStream = new ConcurrentHashMap<>();
+  private final AtomicLong droppedValidations = new AtomicLong();
 
   /**
    * Creates a RecordSchemaValidator.
@@ -41,6 +80,34 @@ public class RecordSchemaValidator implements Closeable {
     this(streamNamesToSchemas, Executors.newFixedThreadPool(1));
   }
 
+  /**
+   * Creates a RecordSchemaValidator backed by a bounded validation pool.
+   *
+   * @param streamNamesToSchemas Name of streams.
+   * @param maxThreads maximum number of validation threads. The pool has one thread per available
+   *        processor, capped to maxThreads if positive.
+   * @param queueSize maximum number of records waiting to be validated.
+   * @param overflowPolicy what to do with a record when the queue is full.
+   * @param sampleRate validate only every Nth record of each stream.
+   */
+  public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
+                               final int maxThreads,
+                               final int queueSize,
+                               final OverflowPolicy overflowPolicy,
+                               final int sampleRate) {
+    this(streamNamesToSchemas, new JsonSchemaValidator(), maxThreads, queueSize, overflowPolicy, sampleRate);
+  }
+
+  @VisibleForTesting
+  RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
+                        final JsonSchemaValidator jsonSchemaValidator,
+                        final int maxThreads,
+                        final int queueSize,
+                        final OverflowPolicy overflowPolicy,
+                        final int sampleRate) {
+    this(streamNamesToSchemas, null, jsonSchemaValidator, sampleRate, maxThreads, queueSize, overflowPolicy);
+  }
+
   @VisibleForTesting
   public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas, final ExecutorService validationExecutor) {
     this(streamNamesToSchemas, validationExecutor, new JsonSchemaValidator());
@@ -50,18 +117,43 @@ public class RecordSchemaValidator implements Closeable {
   public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
                                final ExecutorService validationExecutor,
                                final JsonSchemaValidator jsonSchemaValidator) {
+    this(streamNamesToSchemas, validationExecutor, jsonSchemaValidator, DEFAULT_SAMPLE_RATE);
+  }
+
+  @VisibleForTesting
+  public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
+                               final ExecutorService validationExecutor,
+                               final JsonSchemaValidator jsonSchemaValidator,
+                               final int sampleRate) {
+    this(streamNamesToSchemas, validationExecutor, jsonSchemaValidator, sampleRate, 0, 0, null);
+  }
+
+  private RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
+                                final ExecutorService validationExecutor,
+                                final JsonSchemaValidator jsonSchemaValidator,
+                                final int sampleRate,
+                                final int maxThreads,
+                                final int queueSize,
+                                final OverflowPolicy overflowPolicy) {
     // streams is Map of a stream source namespace + name mapped to the stream schema
     // for easy access when we check each record's schema
     this.streams = streamNamesToSchemas;
-    this.validationExecutor = validationExecutor;
+    this.validationExecutor = validationExecutor != null ? validationExecutor : createValidationExecutor(maxThreads, queueSize, overflowPolicy);
     this.validator = jsonSchemaValidator;
+    this.sampleRate = Math.max(1, sampleRate);
+    this.streamIndex = StreamIndex.of(streamNamesToSchemas.keySet());
+    this.schemaNames = new String[streamIndex.size()];
+    this.recordsSeenPerStream = new AtomicLong[streamIndex.size()];
     // initialize schema validator to avoid creating validators each time.
-    for (final AirbyteStreamNameNamespacePair stream : streamNamesToSchemas.keySet()) {
+    for (int i = 0; i < streamIndex.size(); i++) {
+      final AirbyteStreamNameNamespacePair stream = streamIndex.streamAt(i);
       // We must choose a JSON validator version for validating the schema
       // Rather than allowing connectors to use any version, we enforce validation using V7
       final var schema = streams.get(stream);
       ((ObjectNode) schema).put("$schema", "http://json-schema.org/draft-07/schema#");
-      validator.initializeSchemaValidator(stream.toString(), schema);
+      schemaNames[i] = stream.toString();
+      recordsSeenPerStream[i] = new AtomicLong();
+      validator.initializeSchemaValidator(schemaNames[i], schema);
     }
   }
 
@@ -73,8 +165,14 @@ public class RecordSchemaValidator implements Closeable {
                              final AirbyteRecordMessage message,
                              final AirbyteStreamNameNamespacePair airbyteStream,
                              final ConcurrentHashMap<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors) {
+    final int streamId = streamIndex.indexOf(airbyteStream);
+    if (!isSampled(airbyteStream, streamId)) {
+      return;
+    }
+    final String schemaName = getSchemaName(airbyteStream, streamId);
+    final JsonNode data = RawRecordData.materialize(message);
     validationExecutor.execute(() -> {
-      Set<String> errorMessages = validator.validateInitializedSchema(airbyteStream.toString(), message.getData());
+      Set<String> errorMessages = validator.validateInitializedSchema(schemaName, data);
       if (!errorMessages.isEmpty()) {
         updateValidationErrors(errorMessages, airbyteStream, validationErrors);
       }
@@ -89,14 +187,57 @@ public class RecordSchemaValidator implements Closeable {
                                             final AirbyteRecordMessage message,
                                             final AirbyteStreamNameNamespacePair airbyteStream,
                                             final ConcurrentHashMap<AirbyteStreamNameNamespacePair, Set<String>> validationErrors) {
+    final int streamId = streamIndex.indexOf(airbyteStream);
+    if (!isSampled(airbyteStream, streamId)) {
+      return;
+    }
+    final String schemaName = getSchemaName(airbyteStream, streamId);
+    final JsonNode data = RawRecordData.materialize(message);
     validationExecutor.execute(() -> {
-      final Set<String> errorMessages = validator.validateInitializedSchema(airbyteStream.toString(), message.getData());
+      final Set<String> errorMessages = validator.validateInitializedSchema(schemaName, data);
       if (!errorMessages.isEmpty()) {
-        validationErrors.computeIfAbsent(airbyteStream, k -> new HashSet<>()).addAll(errorMessages);
+        // The set may be updated by several validation threads at once.
+        validationErrors.computeIfAbsent(airbyteStream, k -> ConcurrentHashMap.newKeySet()).addAll(errorMessages);
       }
     });
   }
 
+  /**
+   * Number of records which were not validated because the validation queue was full.
+   */
+  public long getDroppedValidationCount() {
+    return droppedValidations.get();
+  }
+
+  private boolean isSampled(final AirbyteStreamNameNamespacePair airbyteStream, final int streamId) {
+    if (sampleRate == 1) {
+      return true;
+    }
+    final AtomicLong recordsSeen = streamId == StreamIndex.UNKNOWN_STREAM
+        ? recordsSeenPerUnknownStream.computeIfAbsent(airbyteStream, k -> new AtomicLong())
+        : recordsSeenPerStream[streamId];
+    return recordsSeen.getAndIncrement() % sampleRate == 0;
+  }
+
+  private String getSchemaName(final AirbyteStreamNameNamespacePair airbyteStream, final int streamId) {
+    return streamId == StreamIndex.UNKNOWN_STREAM ? airbyteStream.toString() : schemaNames[streamId];
+  }
+
+  private ExecutorService createValidationExecutor(final int maxThreads, final int queueSize, final OverflowPolicy overflowPolicy) {
+    final int poolSize = validationPoolSize(Runtime.getRuntime().availableProcessors(), maxThreads);
+    final RejectedExecutionHandler rejectionHandler = switch (overflowPolicy) {
+      case BLOCK -> new ThreadPoolExecutor.CallerRunsPolicy();
+      case DROP -> (task, executor) -> droppedValidations.incrementAndGet();
+    };
+    log.info("Validating record schemas with {} threads, a queue of {} records and the {} overflow policy", poolSize, queueSize, overflowPolicy);
+    return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(1, queueSize)), rejectionHandler);
+  }
+
+  @VisibleForTesting
+  static int validationPoolSize(final int availableProcessors, final int maxThreads) {
+    return maxThreads > 0 ? Math.min(availableProcessors, maxThreads) : availableProcessors;
+  }
+
   private void updateValidationErrors(final Set<String> errorMessages,
                                       final AirbyteStreamNameNamespacePair airbyteStream,
                                       final ConcurrentHashMap<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors) {
@@ -116,6 +257,9 @@ public class RecordSchemaValidator implements Closeable {
    */
   @Override
   public void close() throws IOException {
+    if (droppedValidations.get() > 0) {
+      log.warn("Skipped the schema validation of {} records because the validation queue was full.", droppedValidations.get());
+    }
     validationExecutor.shutdownNow();
   }
 
@@ -10,6 +10,8 @@ import datadog.trace.api.Trace;
 import io.airbyte.commons.concurrency.BoundedConcurrentLinkedQueue;
 import io.airbyte.commons.concurrency.ClosableLinkedBlockingQueue;
 import io.airbyte.commons.concurrency.ClosableQueue;
+import io.airbyte.commons.concurrency.RingBufferClosableQueue;
+import io.airbyte.commons.concurrency.RingBufferClosableQueue.WaitStrategy;
 import io.airbyte.commons.io.LineGobbler;
 import io.airbyte.commons.timer.Stopwatch;
 import io.airbyte.config.PerformanceMetrics;
@@ -35,6 +37,8 @@ import io.airbyte.workers.internal.exception.DestinationException;
 import io.airbyte.workers.internal.exception.SourceException;
 import io.airbyte.workers.internal.syncpersistence.SyncPersistence;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
@@ -67,8 +71,17 @@ public class BufferedReplicationWorker implements ReplicationWorker {
   private final RecordSchemaValidator recordSchemaValidator;
   private final SyncPersistence syncPersistence;
   private final HeartbeatTimeoutChaperone srcHeartbeatTimeoutChaperone;
+  // Messages are handed off between stages one at a time unless batchMessages is set, only the
+  // queues of the mode in use are created. fromSourceQueue and forDestinationQueue are the ones in
+  // use, for the checks that do not depend on the mode.
   private final ClosableQueue<AirbyteMessage> messagesFromSourceQueue;
   private final ClosableQueue<AirbyteMessage> messagesForDestinationQueue;
+  private final ClosableQueue<List<AirbyteMessage>> batchesFromSourceQueue;
+  private final ClosableQueue<List<AirbyteMessage>> batchesForDestinationQueue;
+  private final ClosableQueue<?> fromSourceQueue;
+  private final ClosableQueue<?> forDestinationQueue;
+  private final int messageBatchSize;
+  private final boolean batchMessages;
   private final ExecutorService executors;
   private final DestinationTimeoutMonitor destinationTimeoutMonitor;
 
@@ -84,7 +97,10 @@ public class BufferedReplicationWorker implements ReplicationWorker {
   private static final int sourceMaxBufferSize = 1000;
   private static final int destinationMaxBufferSize = 1000;
   private static final int observabilityMetricsPeriodInSeconds = 1;
+  private static final long maxMessageBatchDelayInNanos = TimeUnit.MILLISECONDS.toNanos(100);
   private static final int executorShutdownGracePeriodInSeconds = 10;
+  private static final long defaultOffHeapQueueMemoryBytes = 64L * 1024 * 1024;
+  private static final long offHeapQueueMaxSpillBytes = 1024L * 1024 * 1024;
 
   public BufferedReplicationWorker(final String jobId,
                                    final int attempt,
@@ -113,6 +129,56 @@ public class BufferedReplicationWorker implements ReplicationWorker {
                                    final DestinationTimeoutMonitor destinationTimeoutMonitor,
                                    final BufferedReplicationWorkerType bufferedReplicationWorkerType,
                                    final OptionalInt pollTimeOutDurationForQueue) {
+    this(jobId, attempt, source, destination, syncPersistence, recordSchemaValidator, srcHeartbeatTimeoutChaperone, replicationFeatureFlagReader,
+        replicationWorkerHelper, destinationTimeoutMonitor, bufferedReplicationWorkerType, pollTimeOutDurationForQueue, WaitStrategy.PARK, 1);
+  }
+
+  public BufferedReplicationWorker(final String jobId,
+                                   final int attempt,
+                                   final AirbyteSource source,
+                                   final AirbyteDestination destination,
+                                   final SyncPersistence syncPersistence,
+                                   final RecordSchemaValidator recordSchemaValidator,
+                                   final HeartbeatTimeoutChaperone srcHeartbeatTimeoutChaperone,
+                                   final ReplicationFeatureFlagReader replicationFeatureFlagReader,
+                                   final ReplicationWorkerHelper replicationWorkerHelper,
+                                   final DestinationTimeoutMonitor destinationTimeoutMonitor,
+                                   final BufferedReplicationWorkerType bufferedReplicationWorkerType,
+                                   final OptionalInt pollTimeOutDurationForQueue,
+                                   final WaitStrategy ringBufferWaitStrategy,
+                                   final int messageBatchSize) {
+    this(jobId, attempt, source, destination, syncPersistence, recordSchemaValidator, srcHeartbeatTimeoutChaperone, replicationFeatureFlagReader,
+        replicationWorkerHelper, destinationTimeoutMonitor, bufferedReplicationWorkerType, pollTimeOutDurationForQueue,
+        ringBufferWaitStrategy, messageBatchSize, defaultOffHeapQueueMemoryBytes);
+  }
+
+  /**
+   * Create a BufferedReplicationWorker.
+   *
+   * @param messageBatchSize maximum number of messages handed off at once between the
+   *        readFromSource, processMessage and writeToDestination stages. A batch is also handed off
+   *        after maxMessageBatchDelayInNanos or when it contains a STATE message, so that a slow
+   *        source does not hold back checkpoints. With the default of 1, messages are handed off
+   *        on their own rather than in batches of one.
+   * @param offHeapQueueMemoryBytes memory budget of the BUFFERED_WITH_OFF_HEAP_QUEUE queues, split
+   *        between the queue from the source and the queue to the destination. Batches beyond that
+   *        budget spill to a memory-mapped file.
+   */
+  public BufferedReplicationWorker(final String jobId,
+                                   final int attempt,
+                                   final AirbyteSource source,
+                                   final AirbyteDestination destination,
+                                   final SyncPersistence syncPersistence,
+                                   final RecordSchemaValidator recordSchemaValidator,
+                                   final HeartbeatTimeoutChaperone srcHeartbeatTimeoutChaperone,
+                                   final ReplicationFeatureFlagReader replicationFeatureFlagReader,
+                                   final ReplicationWorkerHelper replicationWorkerHelper,
+                                   final DestinationTimeoutMonitor destinationTimeoutMonitor,
+                                   final BufferedReplicationWorkerType bufferedReplicationWorkerType,
+                                   final OptionalInt pollTimeOutDurationForQueue,
+                                   final WaitStrategy ringBufferWaitStrategy,
+                                   final int messageBatchSize,
+                                   final long offHeapQueueMemoryBytes) {
     this.jobId = jobId;
     this.attempt = attempt;
     this.source = source;
@@ -123,12 +189,32 @@ public class BufferedReplicationWorker implements ReplicationWorker {
     this.recordSchemaValidator = recordSchemaValidator;
     this.syncPersistence = syncPersistence;
     this.srcHeartbeatTimeoutChaperone = srcHeartbeatTimeoutChaperone;
-    this.messagesFromSourceQueue =
-        bufferedReplicationWorkerType == BufferedReplicationWorkerType.BUFFERED ? new BoundedConcurrentLinkedQueue<>(sourceMaxBufferSize)
-            : new ClosableLinkedBlockingQueue<>(sourceMaxBufferSize, pollTimeOutDurationForQueue);
-    this.messagesForDestinationQueue =
-        bufferedReplicationWorkerType == BufferedReplicationWorkerType.BUFFERED ? new BoundedConcurrentLinkedQueue<>(destinationMaxBufferSize)
-            : new ClosableLinkedBlockingQueue<>(destinationMaxBufferSize, pollTimeOutDurationForQueue);
+    this.messageBatchSize = Math.max(1, messageBatchSize);
+    // The off-heap queue serializes whatever it is handed, it always gets batches.
+    this.batchMessages =
+        this.messageBatchSize > 1 || bufferedReplicationWorkerType == BufferedReplicationWorkerType.BUFFERED_WITH_OFF_HEAP_QUEUE;
+    if (batchMessages) {
+      // Queues hold batches, keep the same bound on the number of buffered messages.
+      this.batchesFromSourceQueue = createBatchQueue(bufferedReplicationWorkerType,
+          Math.max(1, sourceMaxBufferSize / this.messageBatchSize), pollTimeOutDurationForQueue, ringBufferWaitStrategy,
+          offHeapQueueMemoryBytes / 2);
+      this.batchesForDestinationQueue = createBatchQueue(bufferedReplicationWorkerType,
+          Math.max(1, destinationMaxBufferSize / this.messageBatchSize), pollTimeOutDurationForQueue, ringBufferWaitStrategy,
+          offHeapQueueMemoryBytes / 2);
+      this.messagesFromSourceQueue = null;
+      this.messagesForDestinationQueue = null;
+      this.fromSourceQueue = batchesFromSourceQueue;
+      this.forDestinationQueue = batchesForDestinationQueue;
+    } else {
+      this.messagesFromSourceQueue = createQueue(bufferedReplicationWorkerType, sourceMaxBufferSize, pollTimeOutDurationForQueue,
+          ringBufferWaitStrategy);
+      this.messagesForDestinationQueue = createQueue(bufferedReplicationWorkerType, destinationMaxBufferSize, pollTimeOutDurationForQueue,
+          ringBufferWaitStrategy);
+      this.batchesFromSourceQueue = null;
+      this.batchesForDestinationQueue = null;
+      this.fromSourceQueue = messagesFromSourceQueue;
+      this.forDestinationQueue = messagesForDestinationQueue;
+    }
     // readFromSource + processMessage + writeToDestination + readFromDestination +
     // source heartbeat + dest timeout monitor + workload heartbeat = 7 threads
     this.executors = Executors.newFixedThreadPool(7);
@@ -142,6 +228,38 @@ public class BufferedReplicationWorker implements ReplicationWorker {
     this.processFromDestStopwatch = new Stopwatch();
   }
 
+  /**
+   * Both queues have a single producer and a single consumer: readFromSource feeds processMessage
+   * through fromSourceQueue and processMessage feeds writeToDestination through
+   * forDestinationQueue, which is what makes the lock-free ring buffer usable here.
+   */
+  private static <T> ClosableQueue<T> createQueue(final BufferedReplicationWorkerType bufferedReplicationWorkerType,
+                                                  final int maxBufferSize,
+                                                  final OptionalInt pollTimeOutDurationForQueue,
+                                                  final WaitStrategy ringBufferWaitStrategy) {
+    return switch (bufferedReplicationWorkerType) {
+      case BUFFERED -> new BoundedConcurrentLinkedQueue<>(maxBufferSize);
+      case BUFFERED_WITH_LINKED_BLOCKING_QUEUE -> new ClosableLinkedBlockingQueue<>(maxBufferSize, pollTimeOutDurationForQueue);
+      case BUFFERED_WITH_RING_BUFFER -> new RingBufferClosableQueue<>(maxBufferSize, ringBufferWaitStrategy);
+      case BUFFERED_WITH_OFF_HEAP_QUEUE -> throw new IllegalArgumentException("The off-heap queue only holds batches of messages");
+    };
+  }
+
+  /**
+   * The off-heap queue is bounded by its memory budget rather than by maxBufferSize, as the size of
+   * the buffered batches depends on how fat the records are.
+   */
+  private static ClosableQueue<List<AirbyteMessage>> createBatchQueue(final BufferedReplicationWorkerType bufferedReplicationWorkerType,
+                                                                      final int maxBufferSize,
+                                                                      final OptionalInt pollTimeOutDurationForQueue,
+                                                                      final WaitStrategy ringBufferWaitStrategy,
+                                                                      final long offHeapQueueMemoryBytes) {
+    if (bufferedReplicationWorkerType == BufferedReplicationWorkerType.BUFFERED_WITH_OFF_HEAP_QUEUE) {
+      return new OffHeapMessageQueue(offHeapQueueMemoryBytes, offHeapQueueMaxSpillBytes);
+    }
+    return createQueue(bufferedReplicationWorkerType, maxBufferSize, pollTimeOutDurationForQueue, ringBufferWaitStrategy);
+  }
+
   @Trace(operationName = WORKER_OPERATION_NAME)
   @Override
   public ReplicationOutput run(final ReplicationInput replicationInput, final Path jobRoot) throws WorkerException {
@@ -239,7 +357,7 @@ public class BufferedReplicationWorker implements ReplicationWorker {
         srcHeartbeatTimeoutChaperone.runWithHeartbeatThread(runnableFuture);
       } catch (final HeartbeatTimeoutChaperone.HeartbeatTimeoutException e) {
         // TODO need to close to queue for the other threads to stop
-        messagesFromSourceQueue.close();
+        fromSourceQueue.close();
         throw e;
       } catch (final CompletionException | ExecutionException e) {
         // We only want to report source heartbeat failures, the rest is noise
@@ -259,7 +377,7 @@ public class BufferedReplicationWorker implements ReplicationWorker {
       try {
         destinationTimeoutMonitor.runWithTimeoutThread(runnableFuture);
       } catch (final DestinationTimeoutMonitor.TimeoutException e) {
-        messagesFromSourceQueue.close();
+        fromSourceQueue.close();
         throw e;
       } catch (final CompletionException | ExecutionException e) {
         ApmTraceUtils.addExceptionToTrace(e);
@@ -342,15 +460,33 @@ public class BufferedReplicationWorker implements ReplicationWorker {
     try {
       LOGGER.info("readFromSource: start");
 
-      while (!replicationWorkerHelper.getShouldAbort() && !(sourceIsFinished = sourceIsFinished()) && !messagesFromSourceQueue.isClosed()) {
+      List<AirbyteMessage> batch = new ArrayList<>(messageBatchSize);
+      long batchStartedAt = 0;
+      while (!replicationWorkerHelper.getShouldAbort() && !(sourceIsFinished = sourceIsFinished()) && !fromSourceQueue.isClosed()) {
         final Optional<AirbyteMessage> messageOptional = source.attemptRead();
+        if (!batchMessages) {
+          if (messageOptional.isPresent()) {
+            addToSourceQueue(messagesFromSourceQueue, messageOptional.get());
+          }
+          continue;
+        }
+
         if (messageOptional.isPresent()) {
-          while (!replicationWorkerHelper.getShouldAbort() && !messagesFromSourceQueue.add(messageOptional.get())
-              && !messagesFromSourceQueue.isClosed()) {
-            Thread.sleep(100);
+          if (batch.isEmpty()) {
+            batchStartedAt = System.nanoTime();
           }
+          batch.add(messageOptional.get());
+        }
+
+        if (!batch.isEmpty() && (batch.size() >= messageBatchSize || messageOptional.map(m -> m.getType() == Type.STATE).orElse(false)
+            || System.nanoTime() - batchStartedAt >= maxMessageBatchDelayInNanos)) {
+          addToSourceQueue(batchesFromSourceQueue, batch);
+          batch = new ArrayList<>(messageBatchSize);
         }
       }
+      if (!batch.isEmpty()) {
+        addToSourceQueue(batchesFromSourceQueue, batch);
+      }
 
       if (replicationWorkerHelper.isWorkerV2TestEnabled() && replicationWorkerHelper.getShouldAbort()) {
         source.cancel();
@@ -372,35 +508,27 @@ public class BufferedReplicationWorker implements ReplicationWorker {
       LOGGER.info("readFromSource: exception caught", e);
       throw new SourceException("Source process read attempt failed", e);
     } finally {
-      LOGGER.info("readFromSource: done. (source.isFinished:{}, fromSource.isClosed:{})", sourceIsFinished, messagesFromSourceQueue.isClosed());
-      messagesFromSourceQueue.close();
+      LOGGER.info("readFromSource: done. (source.isFinished:{}, fromSource.isClosed:{})", sourceIsFinished, fromSourceQueue.isClosed());
+      fromSourceQueue.close();
     }
 
   }
 
+  private <T> void addToSourceQueue(final ClosableQueue<T> queue, final T element) throws InterruptedException {
+    while (!replicationWorkerHelper.getShouldAbort() && !queue.add(element) && !queue.isClosed()) {
+      Thread.sleep(100);
+    }
+  }
+
   private void processMessage() {
     try {
       LOGGER.info("processMessage: start");
 
-      while (!replicationWorkerHelper.getShouldAbort() && !messagesFromSourceQueue.isDone() && !messagesForDestinationQueue.isClosed()) {
-        final AirbyteMessage message;
-        message = messagesFromSourceQueue.poll();
-        if (message == null) {
-          continue;
-        }
-
-        final Optional<AirbyteMessage> processedMessageOpt;
-        try (final var t = processFromSourceStopwatch.start()) {
-          processedMessageOpt = replicationWorkerHelper.processMessageFromSource(message);
-        }
-        if (processedMessageOpt.isPresent()) {
-          final AirbyteMessage m = processedMessageOpt.get();
-          // TODO this check should move to the processMessageFromSource
-          if (m.getType() == Type.RECORD || m.getType() == Type.STATE) {
-            while (!messagesForDestinationQueue.add(m) && !messagesForDestinationQueue.isClosed()) {
-              Thread.sleep(100);
-            }
-          }
+      while (!replicationWorkerHelper.getShouldAbort() && !fromSourceQueue.isDone() && !forDestinationQueue.isClosed()) {
+        if (batchMessages) {
+          processNextBatch();
+        } else {
+          processNextMessage();
         }
       }
 
@@ -413,9 +541,56 @@ public class BufferedReplicationWorker implements ReplicationWorker {
       throw e;
     } finally {
       LOGGER.info("processMessage: done. (fromSource.isDone:{}, forDest.isClosed:{})",
-          messagesFromSourceQueue.isDone(), messagesForDestinationQueue.isClosed());
-      messagesFromSourceQueue.close();
-      messagesForDestinationQueue.close();
+          fromSourceQueue.isDone(), forDestinationQueue.isClosed());
+      fromSourceQueue.close();
+      forDestinationQueue.close();
+    }
+  }
+
+  private void processNextMessage() throws InterruptedException {
+    final AirbyteMessage message;
+    message = messagesFromSourceQueue.poll();
+    if (message == null) {
+      return;
+    }
+
+    final Optional<AirbyteMessage> processedMessageOpt;
+    try (final var t = processFromSourceStopwatch.start()) {
+      processedMessageOpt = replicationWorkerHelper.processMessageFromSource(message);
+    }
+    if (processedMessageOpt.isPresent()) {
+      final AirbyteMessage m = processedMessageOpt.get();
+      // TODO this check should move to the processMessageFromSource
+      if (m.getType() == Type.RECORD || m.getType() == Type.STATE) {
+        while (!messagesForDestinationQueue.add(m) && !messagesForDestinationQueue.isClosed()) {
+          Thread.sleep(100);
+        }
+      }
+    }
+  }
+
+  private void processNextBatch() throws InterruptedException {
+    final List<AirbyteMessage> batch;
+    batch = batchesFromSourceQueue.poll();
+    if (batch == null) {
+      return;
+    }
+
+    final List<AirbyteMessage> processedMessages;
+    try (final var t = processFromSourceStopwatch.start()) {
+      processedMessages = replicationWorkerHelper.processMessagesFromSource(batch);
+    }
+    // TODO this check should move to the processMessageFromSource
+    final List<AirbyteMessage> messagesForDestination = new ArrayList<>(processedMessages.size());
+    for (final AirbyteMessage m : processedMessages) {
+      if (m.getType() == Type.RECORD || m.getType() == Type.STATE) {
+        messagesForDestination.add(m);
+      }
+    }
+    if (!messagesForDestination.isEmpty()) {
+      while (!batchesForDestinationQueue.add(messagesForDestination) && !batchesForDestinationQueue.isClosed()) {
+        Thread.sleep(100);
+      }
     }
   }
 
@@ -423,15 +598,11 @@ public class BufferedReplicationWorker implements ReplicationWorker {
     try {
       LOGGER.info("writeToDestination: start");
       try {
-        while (!replicationWorkerHelper.getShouldAbort() && !messagesForDestinationQueue.isDone() && isReadFromDestRunning) {
-          final AirbyteMessage message;
-          message = messagesForDestinationQueue.poll();
-          if (message == null) {
-            continue;
-          }
-
-          try (final var t = writeToDestStopwatch.start()) {
-            destination.accept(message);
+        while (!replicationWorkerHelper.getShouldAbort() && !forDestinationQueue.isDone() && isReadFromDestRunning) {
+          if (batchMessages) {
+            writeNextBatch();
+          } else {
+            writeNextMessage();
           }
         }
       } finally {
@@ -443,8 +614,32 @@ public class BufferedReplicationWorker implements ReplicationWorker {
       LOGGER.info("writeToDestination: exception caught", e);
       throw new DestinationException("Destination process message delivery failed", e);
     } finally {
-      LOGGER.info("writeToDestination: done. (forDest.isDone:{}, isDestRunning:{})", messagesForDestinationQueue.isDone(), isReadFromDestRunning);
-      messagesForDestinationQueue.close();
+      LOGGER.info("writeToDestination: done. (forDest.isDone:{}, isDestRunning:{})", forDestinationQueue.isDone(), isReadFromDestRunning);
+      forDestinationQueue.close();
+    }
+  }
+
+  private void writeNextMessage() throws Exception {
+    final AirbyteMessage message;
+    message = messagesForDestinationQueue.poll();
+    if (message == null) {
+      return;
+    }
+
+    try (final var t = writeToDestStopwatch.start()) {
+      destination.accept(message);
+    }
+  }
+
+  private void writeNextBatch() throws Exception {
+    final List<AirbyteMessage> batch;
+    batch = batchesForDestinationQueue.poll();
+    if (batch == null) {
+      return;
+    }
+
+    try (final var t = writeToDestStopwatch.start()) {
+      destination.acceptBatch(batch);
     }
   }
 
@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.commons.concurrency.ClosableQueue;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.internal.RawRecordData;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A queue of message batches bounded by the memory they take rather than by their count.
+ * <p>
+ * Batches are serialized when added and stored outside of the heap, in a direct buffer of
+ * maxMemoryBytes. When the buffer is full, batches spill to a memory-mapped temporary file of at
+ * most maxSpillBytes, so the page cache holds them rather than the heap. The queue is only full
+ * once both are, and batches are always polled in the order they were added whatever their storage.
+ * <p>
+ * The heap only holds one batch being serialized or deserialized per thread, which lets the
+ * orchestrator buffer fat records with a small heap. A batch larger than both buffers is kept on the
+ * heap, but only once the queue is empty, so that at most one such batch is held at a time.
+ * <p>
+ * Raw record data (see {@link RawRecordData}) stays raw through the queue.
+ */
+public class OffHeapMessageQueue implements ClosableQueue<List<AirbyteMessage>> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OffHeapMessageQueue.class);
+
+  private static final byte PARSED_MESSAGE = 0;
+  private static final byte RAW_RECORD = 1;
+  // kind (1 byte) + length (4 bytes)
+  private static final int MESSAGE_HEADER_SIZE = 5;
+  private static final long POLL_TIMEOUT_MILLIS = 10;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Deque<Frame> frames = new ArrayDeque<>();
+  private final ByteRing memory;
+  private final long maxSpillBytes;
+  private ByteRing spill;
+  private volatile boolean closed;
+
+  // only used to serialize batches, which happens on the producer thread
+  private final FrameBuffer frameBuffer = new FrameBuffer();
+
+  public OffHeapMessageQueue(final long maxMemoryBytes, final long maxSpillBytes) {
+    LOGGER.info("Using OffHeapMessageQueue (max memory: {} bytes, max spill: {} bytes)", maxMemoryBytes, maxSpillBytes);
+    this.memory = new ByteRing(ByteBuffer.allocateDirect(Math.toIntExact(maxMemoryBytes)));
+    this.maxSpillBytes = Math.min(maxSpillBytes, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Retrieves and removes the head of this queue, waiting briefly for a batch if the queue is empty.
+   *
+   * @return the head of this queue, or null if this queue is empty
+   */
+  @Override
+  public List<AirbyteMessage> poll() throws InterruptedException {
+    final byte[] bytes;
+    lock.lock();
+    try {
+      if (frames.isEmpty()) {
+        notEmpty.await(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      }
+      final Frame frame = frames.poll();
+      if (frame == null) {
+        return null;
+      }
+      bytes = frame.read();
+      frame.release();
+    } finally {
+      lock.unlock();
+    }
+    return deserialize(bytes);
+  }
+
+  /**
+   * Inserts a batch if there is room for it in memory or in the spill file.
+   *
+   * @param batch the batch to add
+   * @return true if the batch was added, false if the queue is closed or full
+   */
+  @Override
+  public boolean add(final List<AirbyteMessage> batch) {
+    if (closed) {
+      return false;
+    }
+
+    synchronized (frameBuffer) {
+      serialize(batch, frameBuffer);
+      lock.lock();
+      try {
+        // same as the other queues, don't add to the queue while it is being closed
+        if (closed) {
+          return false;
+        }
+        final Frame frame = allocate(frameBuffer.size());
+        if (frame == null) {
+          return false;
+        }
+        frame.write(frameBuffer.buffer(), frameBuffer.size());
+        frames.add(frame);
+        notEmpty.signal();
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    lock.lock();
+    try {
+      return frames.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns true if the queue is done. A queue is done when closed and empty.
+   */
+  @Override
+  public boolean isDone() {
+    lock.lock();
+    try {
+      return closed && frames.isEmpty();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      closed = true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @VisibleForTesting
+  boolean hasSpilled() {
+    return spill != null;
+  }
+
+  private Frame allocate(final int length) {
+    final int memoryOffset = memory.allocate(length);
+    if (memoryOffset >= 0) {
+      return new RingFrame(memory, memoryOffset, length);
+    }
+
+    if (length <= maxSpillBytes) {
+      final int spillOffset = spillRing().allocate(length);
+      if (spillOffset >= 0) {
+        return new RingFrame(spill, spillOffset, length);
+      }
+    }
+
+    if (length > memory.capacity() && length > maxSpillBytes && frames.isEmpty()) {
+      LOGGER.warn("Keeping a batch of {} bytes on the heap as it does not fit in the off-heap buffers", length);
+      return new HeapFrame(length);
+    }
+    return null;
+  }
+
+  private ByteRing spillRing() {
+    if (spill == null) {
+      spill = new ByteRing(mapSpillFile(Math.toIntExact(maxSpillBytes)));
+    }
+    return spill;
+  }
+
+  /**
+   * Map a temporary file. The file is deleted right away: the mapping keeps it alive until it is
+   * garbage collected along with the queue, so nothing is left behind if the orchestrator dies.
+   */
+  private static MappedByteBuffer mapSpillFile(final int size) {
+    try {
+      final Path path = Files.createTempFile("replication-queue-", ".spill");
+      LOGGER.info("OffHeapMessageQueue is full, spilling to {}", path);
+      try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        return channel.map(MapMode.READ_WRITE, 0, size);
+      } finally {
+        Files.deleteIfExists(path);
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Failed to create the spill file of the replication queue", e);
+    }
+  }
+
+  /**
+   * Frame layout: message count, then for each message its kind, its length and its JSON bytes.
+   */
+  private static void serialize(final List<AirbyteMessage> batch, final FrameBuffer frameBuffer) {
+    frameBuffer.reset();
+    frameBuffer.writeInt(batch.size());
+    try {
+      for (final AirbyteMessage message : batch) {
+        final boolean raw = message.getRecord() != null && RawRecordData.isRaw(message.getRecord().getData());
+        final int headerPosition = frameBuffer.size();
+        frameBuffer.write(raw ? RAW_RECORD : PARSED_MESSAGE);
+        frameBuffer.writeInt(0);
+        try (final JsonGenerator generator = Jsons.createGenerator(frameBuffer)) {
+          Jsons.serialize(message, generator);
+        }
+        frameBuffer.setInt(headerPosition + 1, frameBuffer.size() - headerPosition - MESSAGE_HEADER_SIZE);
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Failed to serialize messages for the replication queue", e);
+    }
+  }
+
+  private static List<AirbyteMessage> deserialize(final byte[] bytes) {
+    final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    final int count = buffer.getInt();
+    final List<AirbyteMessage> batch = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final byte kind = buffer.get();
+      final int length = buffer.getInt();
+      final int offset = buffer.position();
+      final AirbyteMessage message = kind == RAW_RECORD
+          ? RawRecordData.tryParseRecord(Arrays.copyOfRange(bytes, offset, offset + length), length).orElse(null)
+          : parseMessage(bytes, offset, length);
+      if (message == null) {
+        throw new IllegalStateException("Failed to deserialize a message from the replication queue");
+      }
+      batch.add(message);
+      buffer.position(offset + length);
+    }
+    return batch;
+  }
+
+  /**
+   * Records are measured while they are parsed, as they were when read from the source.
+   */
+  private static AirbyteMessage parseMessage(final byte[] bytes, final int offset, final int length) {
+    return RawRecordData.tryParseMeasuredRecord(bytes, offset, length)
+        .or(() -> Jsons.tryDeserializeExact(bytes, offset, length, AirbyteMessage.class))
+        .orElse(null);
+  }
+
+  /**
+   * Output stream whose buffer is reused across batches and can be patched in place.
+   */
+  private static final class FrameBuffer extends ByteArrayOutputStream {
+
+    FrameBuffer() {
+      super(8192);
+    }
+
+    byte[] buffer() {
+      return buf;
+    }
+
+    void writeInt(final int value) {
+      write(value >>> 24);
+      write(value >>> 16);
+      write(value >>> 8);
+      write(value);
+    }
+
+    void setInt(final int position, final int value) {
+      buf[position] = (byte) (value >>> 24);
+      buf[position + 1] = (byte) (value >>> 16);
+      buf[position + 2] = (byte) (value >>> 8);
+      buf[position + 3] = (byte) value;
+    }
+
+    @Override
+    public void close() {
+      // the generators close the stream, keep the buffer usable
+    }
+
+  }
+
+  private interface Frame {
+
+    void write(byte[] bytes, int size);
+
+    byte[] read();
+
+    void release();
+
+  }
+
+  private record RingFrame(ByteRing ring, int offset, int length) implements Frame {
+
+    @Override
+    public void write(final byte[] bytes, final int size) {
+      ring.buffer.put(offset, bytes, 0, size);
+    }
+
+    @Override
+    public byte[] read() {
+      final byte[] bytes = new byte[length];
+      ring.buffer.get(offset, bytes);
+      return bytes;
+    }
+
+    @Override
+    public void release() {
+      ring.release(offset, length);
+    }
+
+  }
+
+  private static final class HeapFrame implements Frame {
+
+    private byte[] bytes;
+
+    HeapFrame(final int length) {
+      this.bytes = new byte[length];
+    }
+
+    @Override
+    public void write(final byte[] source, final int size) {
+      System.arraycopy(source, 0, bytes, 0, size);
+    }
+
+    @Override
+    public byte[] read() {
+      return bytes;
+    }
+
+    @Override
+    public void release() {
+      bytes = null;
+    }
+
+  }
+
+  /**
+   * Circular allocator over a buffer. Regions are released in the order they were allocated, which
+   * holds as the queue is FIFO, so the live regions always are [head, tail) or, once the ring
+   * wrapped, [head, end of the last region before wrapping) and [0, tail).
+   */
+  @VisibleForTesting
+  static final class ByteRing {
+
+    private final ByteBuffer buffer;
+    private int head;
+    private int tail;
+    private boolean wrapped;
+    private int regions;
+
+    ByteRing(final ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    int capacity() {
+      return buffer.capacity();
+    }
+
+    /**
+     * Allocate a contiguous region.
+     *
+     * @return the offset of the region, or -1 if there isn't enough contiguous free space
+     */
+    int allocate(final int length) {
+      final int offset;
+      if (regions == 0) {
+        head = 0;
+        tail = 0;
+        wrapped = false;
+        offset = length <= capacity() ? 0 : -1;
+      } else if (!wrapped) {
+        if (tail + length <= capacity()) {
+          offset = tail;
+        } else if (length <= head) {
+          wrapped = true;
+          offset = 0;
+        } else {
+          offset = -1;
+        }
+      } else {
+        offset = tail + length <= head ? tail : -1;
+      }
+
+      if (offset >= 0) {
+        tail = offset + length;
+        regions++;
+      }
+      return offset;
+    }
+
+    /**
+     * Release the oldest allocated region.
+     */
+    void release(final int offset, final int length) {
+      if (wrapped && offset == 0) {
+        // all the regions allocated before wrapping were released
+        wrapped = false;
+      }
+      head = offset + length;
+      regions--;
+    }
+
+  }
+
+}
@@ -6,6 +6,8 @@ package io.airbyte.workers.general;
 
 import static io.airbyte.workers.general.BufferedReplicationWorkerType.BUFFERED;
 import static io.airbyte.workers.general.BufferedReplicationWorkerType.BUFFERED_WITH_LINKED_BLOCKING_QUEUE;
+import static io.airbyte.workers.general.BufferedReplicationWorkerType.BUFFERED_WITH_OFF_HEAP_QUEUE;
+import static io.airbyte.workers.general.BufferedReplicationWorkerType.BUFFERED_WITH_RING_BUFFER;
 
 import io.airbyte.analytics.TrackingClient;
 import io.airbyte.api.client.AirbyteApiClient;
@@ -15,6 +17,7 @@ import io.airbyte.api.client.generated.SourceDefinitionApi;
 import io.airbyte.api.client.invoker.generated.ApiException;
 import io.airbyte.api.client.model.generated.SourceDefinitionIdRequestBody;
 import io.airbyte.api.client.model.generated.SourceIdRequestBody;
+import io.airbyte.commons.concurrency.RingBufferClosableQueue.WaitStrategy;
 import io.airbyte.commons.concurrency.VoidCallable;
 import io.airbyte.commons.converters.ThreadedTimeTracker;
 import io.airbyte.commons.features.FeatureFlags;
@@ -27,7 +30,15 @@ import io.airbyte.featureflag.FeatureFlagClient;
 import io.airbyte.featureflag.FieldSelectionEnabled;
 import io.airbyte.featureflag.Multi;
 import io.airbyte.featureflag.RemoveValidationLimit;
+import io.airbyte.featureflag.ReplicationMessageBatchSize;
+import io.airbyte.featureflag.ReplicationOffHeapQueueMaxMemoryMb;
+import io.airbyte.featureflag.ReplicationRingBufferWaitStrategy;
 import io.airbyte.featureflag.ReplicationWorkerImpl;
+import io.airbyte.featureflag.SchemaValidationMaxErrorsPerStream;
+import io.airbyte.featureflag.SchemaValidationMaxThreads;
+import io.airbyte.featureflag.SchemaValidationOverflowPolicy;
+import io.airbyte.featureflag.SchemaValidationQueueSize;
+import io.airbyte.featureflag.SchemaValidationSampleRate;
 import io.airbyte.featureflag.ShouldFailSyncOnDestinationTimeout;
 import io.airbyte.featureflag.Source;
 import io.airbyte.featureflag.SourceDefinition;
@@ -41,6 +52,7 @@ import io.airbyte.persistence.job.models.IntegrationLauncherConfig;
 import io.airbyte.persistence.job.models.JobRunConfig;
 import io.airbyte.persistence.job.models.ReplicationInput;
 import io.airbyte.workers.RecordSchemaValidator;
+import io.airbyte.workers.RecordSchemaValidator.OverflowPolicy;
 import io.airbyte.workers.WorkerMetricReporter;
 import io.airbyte.workers.WorkerUtils;
 import io.airbyte.workers.helper.AirbyteMessageDataExtractor;
@@ -66,8 +78,10 @@ import jakarta.inject.Singleton;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
@@ -145,7 +159,7 @@ public class ReplicationWorkerFactory {
     final HeartbeatTimeoutChaperone heartbeatTimeoutChaperone = createHeartbeatTimeoutChaperone(heartbeatMonitor,
         featureFlagClient, replicationInput, sourceLauncherConfig.getDockerImage(), metricClient);
     final DestinationTimeoutMonitor destinationTimeout = createDestinationTimeout(featureFlagClient, replicationInput, metricClient);
-    final RecordSchemaValidator recordSchemaValidator = createRecordSchemaValidator(replicationInput);
+    final RecordSchemaValidator recordSchemaValidator = createRecordSchemaValidator(replicationInput, featureFlagClient);
 
     // Enable concurrent stream reads for testing purposes
     maybeEnableConcurrentStreamReads(sourceLauncherConfig, replicationInput);
@@ -155,7 +169,8 @@ public class ReplicationWorkerFactory {
     final var airbyteSource = replicationInput.getIsReset()
         ? new EmptyAirbyteSource()
         : airbyteIntegrationLauncherFactory.createAirbyteSource(sourceLauncherConfig,
-            replicationInput.getSyncResourceRequirements(), replicationInput.getCatalog(), heartbeatMonitor);
+            replicationInput.getSyncResourceRequirements(), replicationInput.getCatalog(), heartbeatMonitor,
+            destinationLauncherConfig.getProtocolVersion());
 
     log.info("Setting up destination...");
     final var airbyteDestination = airbyteIntegrationLauncherFactory.createAirbyteDestination(destinationLauncherConfig,
@@ -279,8 +294,27 @@ public class ReplicationWorkerFactory {
   /**
    * Create RecordSchemaValidator.
    */
-  private static RecordSchemaValidator createRecordSchemaValidator(final ReplicationInput replicationInput) {
-    return new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()));
+  private static RecordSchemaValidator createRecordSchemaValidator(final ReplicationInput replicationInput,
+                                                                   final FeatureFlagClient featureFlagClient) {
+    final Context flagContext = getFeatureFlagContext(replicationInput);
+    return new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()),
+        featureFlagClient.intVariation(SchemaValidationMaxThreads.INSTANCE, flagContext),
+        featureFlagClient.intVariation(SchemaValidationQueueSize.INSTANCE, flagContext),
+        schemaValidationOverflowPolicy(featureFlagClient.stringVariation(SchemaValidationOverflowPolicy.INSTANCE, flagContext)),
+        featureFlagClient.intVariation(SchemaValidationSampleRate.INSTANCE, flagContext));
+  }
+
+  private static OverflowPolicy schemaValidationOverflowPolicy(final String overflowPolicy) {
+    if (overflowPolicy == null || overflowPolicy.isBlank()) {
+      return OverflowPolicy.BLOCK;
+    }
+
+    try {
+      return OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase(Locale.ROOT));
+    } catch (final IllegalArgumentException e) {
+      log.warn("Unknown schema validation overflow policy {}, defaulting to {}", overflowPolicy, OverflowPolicy.BLOCK);
+      return OverflowPolicy.BLOCK;
+    }
   }
 
   private static FieldSelector createFieldSelector(final RecordSchemaValidator recordSchemaValidator,
@@ -292,7 +326,9 @@ public class ReplicationWorkerFactory {
         List.of(new Workspace(workspaceId), new SourceDefinition(sourceDefinitionId))));
     final boolean removeValidationLimit =
         workspaceId != null && featureFlagClient.boolVariation(RemoveValidationLimit.INSTANCE, new Workspace(workspaceId));
-    return new FieldSelector(recordSchemaValidator, metricReporter, fieldSelectionEnabled, removeValidationLimit);
+    final int maxValidationErrorsPerStream = featureFlagClient.intVariation(SchemaValidationMaxErrorsPerStream.INSTANCE,
+        workspaceId != null ? new Workspace(workspaceId) : new SourceDefinition(sourceDefinitionId));
+    return new FieldSelector(recordSchemaValidator, metricReporter, fieldSelectionEnabled, removeValidationLimit, maxValidationErrorsPerStream);
   }
 
   /**
@@ -319,8 +355,16 @@ public class ReplicationWorkerFactory {
                                                            final Optional<String> workloadId) {
     final Context flagContext = getFeatureFlagContext(replicationInput);
     final String workerImpl = featureFlagClient.stringVariation(ReplicationWorkerImpl.INSTANCE, flagContext);
+    final WaitStrategy ringBufferWaitStrategy =
+        ringBufferWaitStrategy(featureFlagClient.stringVariation(ReplicationRingBufferWaitStrategy.INSTANCE, flagContext));
+    final int messageBatchSize = featureFlagClient.intVariation(ReplicationMessageBatchSize.INSTANCE, flagContext);
+    final long offHeapQueueMemoryBytes =
+        featureFlagClient.intVariation(ReplicationOffHeapQueueMaxMemoryMb.INSTANCE, flagContext) * 1024L * 1024L;
     return buildReplicationWorkerInstance(
         workerImpl,
+        ringBufferWaitStrategy,
+        messageBatchSize,
+        offHeapQueueMemoryBytes,
         jobRunConfig.getJobId(),
         Math.toIntExact(jobRunConfig.getAttemptId()),
         source,
@@ -369,6 +413,9 @@ public class ReplicationWorkerFactory {
   }
 
   private static ReplicationWorker buildReplicationWorkerInstance(final String workerImpl,
+                                                                  final WaitStrategy ringBufferWaitStrategy,
+                                                                  final int messageBatchSize,
+                                                                  final long offHeapQueueMemoryBytes,
                                                                   final String jobId,
                                                                   final int attempt,
                                                                   final AirbyteSource source,
@@ -399,7 +446,8 @@ public class ReplicationWorkerFactory {
       metricClient.count(OssMetricsRegistry.REPLICATION_WORKER_CREATED, 1, new MetricAttribute(MetricTags.IMPLEMENTATION, workerImpl));
       return new BufferedReplicationWorker(jobId, attempt, source, destination, syncPersistence, recordSchemaValidator,
           srcHeartbeatTimeoutChaperone, replicationFeatureFlagReader, replicationWorkerHelper, destinationTimeout,
-          bufferedReplicationWorkerType.get());
+          bufferedReplicationWorkerType.get(), OptionalInt.empty(), ringBufferWaitStrategy, messageBatchSize,
+          offHeapQueueMemoryBytes);
     } else {
       metricClient.count(OssMetricsRegistry.REPLICATION_WORKER_CREATED, 1, new MetricAttribute(MetricTags.IMPLEMENTATION, "default"));
       return new DefaultReplicationWorker(jobId, attempt, source, destination, syncPersistence, recordSchemaValidator,
@@ -416,10 +464,27 @@ public class ReplicationWorkerFactory {
       return Optional.of(BUFFERED);
     } else if (workerImpl.equals(BUFFERED_WITH_LINKED_BLOCKING_QUEUE.workerType)) {
       return Optional.of(BUFFERED_WITH_LINKED_BLOCKING_QUEUE);
+    } else if (workerImpl.equals(BUFFERED_WITH_RING_BUFFER.workerType)) {
+      return Optional.of(BUFFERED_WITH_RING_BUFFER);
+    } else if (workerImpl.equals(BUFFERED_WITH_OFF_HEAP_QUEUE.workerType)) {
+      return Optional.of(BUFFERED_WITH_OFF_HEAP_QUEUE);
     }
     return Optional.empty();
   }
 
+  private static WaitStrategy ringBufferWaitStrategy(final String waitStrategy) {
+    if (waitStrategy == null || waitStrategy.isBlank()) {
+      return WaitStrategy.PARK;
+    }
+
+    try {
+      return WaitStrategy.valueOf(waitStrategy.trim().toUpperCase(Locale.ROOT));
+    } catch (final IllegalArgumentException e) {
+      log.warn("Unknown ring buffer wait strategy {}, defaulting to {}", waitStrategy, WaitStrategy.PARK);
+      return WaitStrategy.PARK;
+    }
+  }
+
   /**
    * Create SyncPersistence.
    */
@@ -4,8 +4,10 @@
 
 package io.airbyte.workers.internal;
 
+import io.airbyte.commons.io.IOs;
 import io.airbyte.protocol.models.AirbyteMessage;
 import java.io.BufferedReader;
+import java.io.InputStream;
 import java.util.stream.Stream;
 
 /**
@@ -15,4 +17,12 @@ public interface AirbyteStreamFactory {
 
   Stream<AirbyteMessage> create(BufferedReader bufferedReader);
 
+  /**
+   * Create the AirbyteMessage stream directly from the raw bytes of an InputStream. Implementations
+   * that can parse bytes without decoding them to Strings first should override this.
+   */
+  default Stream<AirbyteMessage> create(final InputStream inputStream) {
+    return create(IOs.newBufferedReader(inputStream));
+  }
+
 }
@@ -4,6 +4,7 @@
 
 package io.airbyte.workers.internal;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.Iterables;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
@@ -71,8 +72,9 @@ public class BasicAirbyteMessageValidator {
                   record.getStream(), record.getNamespace()));
             }
 
+            final JsonNode data = RawRecordData.materialize(record);
             final boolean containsAtLeastOneNonNullPk = Iterables.tryFind(pksList,
-                pks -> AirbyteMessageExtractor.containsNonNullPK(pks, record.getData())).isPresent();
+                pks -> AirbyteMessageExtractor.containsNonNullPK(pks, data)).isPresent();
 
             if (!containsAtLeastOneNonNullPk) {
               throw new SourceException(String.format("All the defined primary keys are null, the primary keys are: %s",
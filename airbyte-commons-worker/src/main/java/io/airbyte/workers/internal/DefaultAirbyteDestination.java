@@ -5,7 +5,6 @@
 package io.airbyte.workers.internal;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
 import io.airbyte.commons.constants.WorkerConstants;
 import io.airbyte.commons.io.IOs;
@@ -28,13 +27,13 @@ import io.airbyte.workers.WorkerUtils;
 import io.airbyte.workers.exception.WorkerException;
 import io.airbyte.workers.helper.GsonPksExtractor;
 import io.airbyte.workers.process.IntegrationLauncher;
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.net.SocketException;
 import java.nio.file.Path;
+import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -122,7 +121,7 @@ public class DefaultAirbyteDestination implements AirbyteDestination {
     // stdout logs are logged elsewhere since stdout also contains data
     LineGobbler.gobble(destinationProcess.getErrorStream(), LOGGER::error, "airbyte-destination", CONTAINER_LOG_MDC_BUILDER);
 
-    writer = messageWriterFactory.createWriter(new BufferedWriter(new OutputStreamWriter(destinationProcess.getOutputStream(), Charsets.UTF_8)));
+    writer = messageWriterFactory.createWriter(destinationProcess.getOutputStream());
 
     final List<Type> acceptedMessageTypes = List.of(Type.STATE, Type.TRACE, Type.CONTROL);
     messageIterator = streamFactory.create(IOs.newBufferedReader(destinationProcess.getInputStream()))
@@ -143,6 +142,33 @@ public class DefaultAirbyteDestination implements AirbyteDestination {
     destinationTimeoutMonitor.resetAcceptTimer();
   }
 
+  @Override
+  public void acceptBatch(final List<AirbyteMessage> messages) throws IOException {
+    if (messages.isEmpty()) {
+      return;
+    }
+
+    final Map<Type, Long> countsByType = new EnumMap<>(Type.class);
+    for (final AirbyteMessage message : messages) {
+      countsByType.merge(message.getType(), 1L, Long::sum);
+    }
+    countsByType.forEach((type, count) -> {
+      final MetricAttribute typeAttribute = new MetricAttribute(MetricTags.MESSAGE_TYPE, type.toString());
+      if (connectionAttribute != null) {
+        metricClient.count(OssMetricsRegistry.WORKER_DESTINATION_MESSAGE_SENT, count, connectionAttribute, typeAttribute);
+      } else {
+        metricClient.count(OssMetricsRegistry.WORKER_DESTINATION_MESSAGE_SENT, count, typeAttribute);
+      }
+    });
+
+    // Each message gets the same accept budget as with accept(), the batch as a whole does not.
+    for (final AirbyteMessage message : messages) {
+      destinationTimeoutMonitor.startAcceptTimer();
+      acceptWithNoTimeoutMonitor(message);
+      destinationTimeoutMonitor.resetAcceptTimer();
+    }
+  }
+
   public void acceptWithNoTimeoutMonitor(final AirbyteMessage message) throws IOException {
     Preconditions.checkState(destinationProcess != null && !inputHasEnded.get());
 
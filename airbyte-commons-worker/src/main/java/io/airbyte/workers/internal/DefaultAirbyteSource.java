@@ -13,7 +13,6 @@ import com.google.common.base.Preconditions;
 import datadog.trace.api.Trace;
 import io.airbyte.commons.constants.WorkerConstants;
 import io.airbyte.commons.features.FeatureFlags;
-import io.airbyte.commons.io.IOs;
 import io.airbyte.commons.io.LineGobbler;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.logging.LoggingHelper;
@@ -108,7 +107,7 @@ public class DefaultAirbyteSource implements AirbyteSource {
     logInitialStateAsJSON(sourceConfig);
 
     final List<Type> acceptedMessageTypes = List.of(Type.RECORD, STATE, Type.TRACE, Type.CONTROL);
-    messageIterator = streamFactory.create(IOs.newBufferedReader(sourceProcess.getInputStream()))
+    messageIterator = streamFactory.create(sourceProcess.getInputStream())
         .peek(message -> {
           if (shouldBeat(message.getType())) {
             heartbeatMonitor.beat();
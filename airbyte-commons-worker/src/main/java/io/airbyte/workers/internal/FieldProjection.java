@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A projection of the fields of a stream's records, compiled once from the selected field paths.
+ * <p>
+ * Each level maps a field name to the projection of its value, or to null when the whole value is
+ * selected. Applying the projection builds the projected object directly in a single pass over the
+ * record's fields, keeping their order, and {@link #read(JsonParser, ObjectMapper)} skips the
+ * unselected fields while parsing so they are never materialized.
+ */
+public final class FieldProjection {
+
+  private final Map<String, FieldProjection> fields;
+
+  private FieldProjection(final Map<String, FieldProjection> fields) {
+    this.fields = fields;
+  }
+
+  /**
+   * Compile a projection from field paths. If both a field and some of its nested fields are
+   * selected, the whole field is kept.
+   *
+   * @param fieldPaths selected field paths, e.g. [["id"], ["address", "city"]].
+   * @return the projection.
+   */
+  public static FieldProjection compile(final Collection<List<String>> fieldPaths) {
+    final FieldProjection root = new FieldProjection(new HashMap<>());
+    for (final List<String> path : fieldPaths) {
+      if (path.isEmpty()) {
+        throw new IllegalArgumentException("Selected field paths must not be empty");
+      }
+      root.add(path, 0);
+    }
+    return root;
+  }
+
+  /**
+   * Project an object.
+   *
+   * @param data the object to project, left untouched.
+   * @return a new object holding only the selected fields.
+   */
+  public ObjectNode apply(final ObjectNode data) {
+    final ObjectNode projected = JsonNodeFactory.instance.objectNode();
+    final Iterator<Map.Entry<String, JsonNode>> it = data.fields();
+    while (it.hasNext()) {
+      final Map.Entry<String, JsonNode> field = it.next();
+      if (!fields.containsKey(field.getKey())) {
+        continue;
+      }
+      final FieldProjection nested = fields.get(field.getKey());
+      final JsonNode value = field.getValue();
+      // A value which is not an object where nested fields are selected does not match the schema, it is
+      // kept as is and reported by the schema validation.
+      projected.set(field.getKey(), nested != null && value.isObject() ? nested.apply((ObjectNode) value) : value);
+    }
+    return projected;
+  }
+
+  /**
+   * Read a projected object from a parser.
+   *
+   * @param parser parser whose current token is the START_OBJECT of the object to read.
+   * @param mapper mapper used to read the selected values.
+   * @return the projected object. The parser is left on the matching END_OBJECT.
+   */
+  public ObjectNode read(final JsonParser parser, final ObjectMapper mapper) throws IOException {
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      throw new IOException("Expected an object but got " + parser.currentToken());
+    }
+    final ObjectNode projected = JsonNodeFactory.instance.objectNode();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = parser.getCurrentName();
+      final JsonToken token = parser.nextToken();
+      if (!fields.containsKey(fieldName)) {
+        parser.skipChildren();
+        continue;
+      }
+      final FieldProjection nested = fields.get(fieldName);
+      if (nested != null && token == JsonToken.START_OBJECT) {
+        projected.set(fieldName, nested.read(parser, mapper));
+      } else {
+        projected.set(fieldName, mapper.readTree(parser));
+      }
+    }
+    return projected;
+  }
+
+  private void add(final List<String> path, final int depth) {
+    final String fieldName = path.get(depth);
+    if (depth == path.size() - 1) {
+      fields.put(fieldName, null);
+      return;
+    }
+    if (fields.containsKey(fieldName) && fields.get(fieldName) == null) {
+      // the whole field is already selected
+      return;
+    }
+    fields.computeIfAbsent(fieldName, k -> new FieldProjection(new HashMap<>())).add(path, depth + 1);
+  }
+
+}
@@ -31,35 +31,51 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 @Slf4j
 public class FieldSelector {
 
+  private static final int DEFAULT_MAX_VALIDATION_ERRORS_PER_STREAM = 10;
+  private static final FieldProjection EMPTY_PROJECTION = FieldProjection.compile(List.of());
+
   /*
    * validationErrors must be a ConcurrentHashMap as they are updated and read in different threads
    * concurrently for performance.
    */
   private final ConcurrentHashMap<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors = new ConcurrentHashMap<>();
   private final ConcurrentHashMap<AirbyteStreamNameNamespacePair, Set<String>> uncountedValidationErrors = new ConcurrentHashMap<>();
-  private final Map<AirbyteStreamNameNamespacePair, List<String>> streamToSelectedFields = new HashMap<>();
-  private final Map<AirbyteStreamNameNamespacePair, Set<String>> streamToAllFields = new HashMap<>();
+  // Per-stream configuration, indexed by the id of the stream in streamIndex.
+  private StreamIndex streamIndex = StreamIndex.EMPTY;
+  private FieldProjection[] streamProjections = new FieldProjection[0];
+  private List<Set<String>> streamFields = List.of();
   private final Map<AirbyteStreamNameNamespacePair, Set<String>> unexpectedFields = new HashMap<>();
 
   private final RecordSchemaValidator recordSchemaValidator;
   private final WorkerMetricReporter metricReporter;
   private final boolean fieldSelectionEnabled;
   private final boolean removeValidationLimit;
+  private final int maxValidationErrorsPerStream;
 
   public FieldSelector(final RecordSchemaValidator recordSchemaValidator,
                        final WorkerMetricReporter metricReporter,
                        final boolean fieldSelectionEnabled,
                        final boolean removeValidationLimit) {
+    this(recordSchemaValidator, metricReporter, fieldSelectionEnabled, removeValidationLimit, DEFAULT_MAX_VALIDATION_ERRORS_PER_STREAM);
+  }
+
+  public FieldSelector(final RecordSchemaValidator recordSchemaValidator,
+                       final WorkerMetricReporter metricReporter,
+                       final boolean fieldSelectionEnabled,
+                       final boolean removeValidationLimit,
+                       final int maxValidationErrorsPerStream) {
     this.recordSchemaValidator = recordSchemaValidator;
     this.metricReporter = metricReporter;
     this.fieldSelectionEnabled = fieldSelectionEnabled;
     this.removeValidationLimit = removeValidationLimit;
+    this.maxValidationErrorsPerStream = maxValidationErrorsPerStream;
   }
 
   /**
    * Initialize the FieldSelector instance with the fields from the catalog.
    */
   public void populateFields(final ConfiguredAirbyteCatalog catalog) {
+    streamIndex = StreamIndex.fromCatalog(catalog);
     if (fieldSelectionEnabled) {
       populatedStreamToSelectedFields(catalog);
     }
@@ -96,11 +112,15 @@ public class FieldSelector {
       return;
     }
 
-    final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
-    final List<String> selectedFields = streamToSelectedFields.getOrDefault(messageStream, Collections.emptyList());
+    final int streamId = streamIndex.indexOf(record.getStream(), record.getNamespace());
+    final FieldProjection projection = streamId == StreamIndex.UNKNOWN_STREAM ? EMPTY_PROJECTION : streamProjections[streamId];
+    if (RawRecordData.isRaw(record.getData())) {
+      RawRecordData.materialize(record, projection);
+      return;
+    }
     final JsonNode data = record.getData();
     if (data.isObject()) {
-      ((ObjectNode) data).retain(selectedFields);
+      record.setData(projection.apply((ObjectNode) data));
     } else {
       throw new RuntimeException(String.format("Unexpected data in record: %s", data.toString()));
     }
@@ -119,7 +139,7 @@ public class FieldSelector {
         metricReporter.trackSchemaValidationErrors(stream, errors);
       });
     } else {
-      log.info("Schema validation was performed to a max of 10 records with errors per stream.");
+      log.info("Schema validation was performed to a max of {} records with errors per stream.", maxValidationErrorsPerStream);
       validationErrors.forEach((stream, errorPair) -> {
         log.warn("Schema validation errors found for stream {}. Error messages: {}", stream, errorPair.getLeft());
         metricReporter.trackSchemaValidationErrors(stream, errorPair.getLeft());
@@ -134,32 +154,36 @@ public class FieldSelector {
   }
 
   /**
-   * Generates a map from stream -> the explicit list of fields included for that stream, according to
-   * the configured catalog. Since the configured catalog only includes the selected fields, this lets
-   * us filter records to only the fields explicitly requested.
+   * Generates the projection of the fields included for each stream, according to the configured
+   * catalog. Since the configured catalog only includes the selected fields, this lets us filter
+   * records to only the fields explicitly requested. Field selection only applies to top-level
+   * fields: the configured catalog does not carry nested selections, and nested schemas usually allow
+   * additional properties, so nested objects are kept as a whole.
    *
    * @param catalog catalog
    */
   private void populatedStreamToSelectedFields(final ConfiguredAirbyteCatalog catalog) {
+    streamProjections = new FieldProjection[streamIndex.size()];
     for (final var s : catalog.getStreams()) {
-      final List<String> selectedFields = new ArrayList<>();
+      final List<List<String>> selectedFields = new ArrayList<>();
       final JsonNode propertiesNode = s.getStream().getJsonSchema().findPath("properties");
       if (propertiesNode.isObject()) {
-        propertiesNode.fieldNames().forEachRemaining((fieldName) -> selectedFields.add(fieldName));
+        propertiesNode.fieldNames().forEachRemaining((fieldName) -> selectedFields.add(List.of(fieldName)));
       } else {
         throw new RuntimeException("No properties node in stream schema");
       }
-      streamToSelectedFields.put(AirbyteStreamNameNamespacePair.fromConfiguredAirbyteSteam(s), selectedFields);
+      streamProjections[streamIndex.indexOf(AirbyteStreamNameNamespacePair.fromConfiguredAirbyteSteam(s))] = FieldProjection.compile(selectedFields);
     }
   }
 
   /**
-   * Populates a map for stream -> all the top-level fields in the catalog. Used to identify any
+   * Populates all the top-level fields in the catalog for each stream. Used to identify any
    * unexpected top-level fields in the records.
    *
    * @param catalog catalog
    */
   private void populateStreamToAllFields(final ConfiguredAirbyteCatalog catalog) {
+    streamFields = new ArrayList<>(Collections.nCopies(streamIndex.size(), null));
     for (final var s : catalog.getStreams()) {
       final Set<String> fields = new HashSet<>();
       final JsonNode propertiesNode = s.getStream().getJsonSchema().findPath("properties");
@@ -168,7 +192,7 @@ public class FieldSelector {
       } else {
         throw new RuntimeException("No properties node in stream schema");
       }
-      streamToAllFields.put(AirbyteStreamNameNamespacePair.fromConfiguredAirbyteSteam(s), fields);
+      streamFields.set(streamIndex.indexOf(AirbyteStreamNameNamespacePair.fromConfiguredAirbyteSteam(s)), fields);
     }
   }
 
@@ -178,10 +202,11 @@ public class FieldSelector {
     }
 
     final AirbyteRecordMessage record = message.getRecord();
-    final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
+    final int streamId = streamIndex.indexOf(record.getStream(), record.getNamespace());
+    final AirbyteStreamNameNamespacePair messageStream = getStream(record, streamId);
 
     recordSchemaValidator.validateSchemaWithoutCounting(record, messageStream, uncountedValidationErrors);
-    final Set<String> unexpectedFieldNames = getUnexpectedFieldNames(record, streamToAllFields.get(messageStream));
+    final Set<String> unexpectedFieldNames = getUnexpectedFieldNames(record, getFields(streamId));
     if (!unexpectedFieldNames.isEmpty()) {
       unexpectedFields.computeIfAbsent(messageStream, k -> ConcurrentHashMap.newKeySet()).addAll(unexpectedFieldNames);
     }
@@ -193,25 +218,47 @@ public class FieldSelector {
     }
 
     final AirbyteRecordMessage record = message.getRecord();
-    final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
-    // avoid noise by validating only if the stream has less than 10 records with validation errors
-    final boolean streamHasLessThenTenErrs = validationErrors.get(messageStream) == null || validationErrors.get(messageStream).getRight() < 10;
-    if (streamHasLessThenTenErrs) {
+    final int streamId = streamIndex.indexOf(record.getStream(), record.getNamespace());
+    final AirbyteStreamNameNamespacePair messageStream = getStream(record, streamId);
+    // avoid noise by validating only if the stream has less than the max number of records with
+    // validation errors
+    final ImmutablePair<Set<String>, Integer> streamErrors = validationErrors.get(messageStream);
+    final boolean streamHasLessThanMaxErrs = streamErrors == null || streamErrors.getRight() < maxValidationErrorsPerStream;
+    if (streamHasLessThanMaxErrs) {
       recordSchemaValidator.validateSchema(record, messageStream, validationErrors);
-      final Set<String> unexpectedFieldNames = getUnexpectedFieldNames(record, streamToAllFields.get(messageStream));
+      final Set<String> unexpectedFieldNames = getUnexpectedFieldNames(record, getFields(streamId));
       if (!unexpectedFieldNames.isEmpty()) {
         unexpectedFields.computeIfAbsent(messageStream, k -> new HashSet<>()).addAll(unexpectedFieldNames);
       }
     }
   }
 
+  /**
+   * Get the shared pair of a catalog stream rather than building a new one for each record.
+   */
+  private AirbyteStreamNameNamespacePair getStream(final AirbyteRecordMessage record, final int streamId) {
+    return streamId == StreamIndex.UNKNOWN_STREAM ? AirbyteStreamNameNamespacePair.fromRecordMessage(record) : streamIndex.streamAt(streamId);
+  }
+
+  private Set<String> getFields(final int streamId) {
+    return streamId == StreamIndex.UNKNOWN_STREAM ? null : streamFields.get(streamId);
+  }
+
   private static Set<String> getUnexpectedFieldNames(final AirbyteRecordMessage record,
                                                      final Set<String> fieldsInCatalog) {
     Set<String> unexpectedFieldNames = new HashSet<>();
     final JsonNode data = record.getData();
-    // If it's not an object it's malformed, but we tolerate it here - it will be logged as an error by
-    // the validation.
-    if (data.isObject()) {
+    // Raw data is only materialized for the records sampled by the schema validation, the field names
+    // of the others are read from their bytes.
+    if (RawRecordData.isRaw(data)) {
+      for (final String fieldName : RawRecordData.fieldNames(data)) {
+        if (!fieldsInCatalog.contains(fieldName)) {
+          unexpectedFieldNames.add(fieldName);
+        }
+      }
+    } else if (data.isObject()) {
+      // If it's not an object it's malformed, but we tolerate it here - it will be logged as an error by
+      // the validation.
       final Iterator<String> fieldNamesInRecord = data.fieldNames();
       while (fieldNamesInRecord.hasNext()) {
         final String fieldName = fieldNamesInRecord.next();
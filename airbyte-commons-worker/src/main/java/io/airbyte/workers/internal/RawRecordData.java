@@ -0,0 +1,480 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.POJONode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.airbyte.commons.jackson.MoreMappers;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lazy record payloads.
+ * <p>
+ * Parses only the envelope of a RECORD message (type, stream, namespace, emitted_at) and keeps the
+ * record data as the raw JSON bytes read from the source. The raw data is exposed as a
+ * {@link POJONode} wrapping a {@link RawValue}, so Jackson writes the bytes back verbatim when the
+ * message is serialized for the destination or measured for stats.
+ * <p>
+ * Anything that needs to inspect the record data (field selection, primary key checks, schema
+ * validation) must call {@link #materialize(AirbyteRecordMessage)} first, which replaces the raw
+ * payload with a regular JsonNode tree.
+ * <p>
+ * Records which are not kept raw go through the same envelope parsing with
+ * {@link #tryParseMeasuredRecord(byte[], int, int)}, which reads their data as a regular JsonNode
+ * tree and measures it from the bytes it was read from.
+ */
+public final class RawRecordData {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  // Same configuration as the exact mapper of Jsons, used to read record data.
+  private static final ObjectMapper EXACT_MAPPER = MoreMappers.initMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+  private static final String RECORD_TYPE = AirbyteMessage.Type.RECORD.value();
+
+  private RawRecordData() {}
+
+  /**
+   * Parse a RECORD message keeping its data as raw bytes.
+   *
+   * @param bytes buffer holding the UTF-8 encoded message.
+   * @param length number of bytes of the message in the buffer.
+   * @return the parsed message, or an empty optional if the message is not a RECORD or contains
+   *         anything besides the known envelope fields. In that case the caller should fall back to
+   *         the regular deserialization.
+   */
+  public static Optional<AirbyteMessage> tryParseRecord(final byte[] bytes, final int length) {
+    return tryParseRecord(bytes, 0, length, true);
+  }
+
+  /**
+   * Parse a RECORD message into a regular JsonNode tree, measuring the estimated byte size of its data
+   * (see {@link #estimatedByteSize(AirbyteRecordMessage)}) from the bytes it is parsed from, so that
+   * stats don't have to serialize the data again.
+   *
+   * @param bytes buffer holding the UTF-8 encoded message.
+   * @param offset offset of the message in the buffer.
+   * @param length number of bytes of the message in the buffer.
+   * @return the parsed message, or an empty optional in the same cases as
+   *         {@link #tryParseRecord(byte[], int)}.
+   */
+  public static Optional<AirbyteMessage> tryParseMeasuredRecord(final byte[] bytes, final int offset, final int length) {
+    return tryParseRecord(bytes, offset, length, false);
+  }
+
+  private static Optional<AirbyteMessage> tryParseRecord(final byte[] bytes, final int offset, final int length, final boolean keepRaw) {
+    try (final JsonParser parser = JSON_FACTORY.createParser(bytes, offset, length)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return Optional.empty();
+      }
+
+      boolean isRecord = false;
+      AirbyteRecordMessage record = null;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String fieldName = parser.getCurrentName();
+        final JsonToken token = parser.nextToken();
+        switch (fieldName) {
+          case "type" -> {
+            if (token != JsonToken.VALUE_STRING || !RECORD_TYPE.equals(parser.getText())) {
+              return Optional.empty();
+            }
+            isRecord = true;
+          }
+          case "record" -> {
+            record = parseRecord(parser, bytes, offset, keepRaw);
+            if (record == null) {
+              return Optional.empty();
+            }
+          }
+          default -> {
+            return Optional.empty();
+          }
+        }
+      }
+
+      if (!isRecord || record == null || record.getStream() == null || record.getData() == null) {
+        return Optional.empty();
+      }
+      return Optional.of(new AirbyteMessage().withType(AirbyteMessage.Type.RECORD).withRecord(record));
+    } catch (final IOException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Wrap a slice of UTF-8 encoded JSON so that it is serialized as-is.
+   */
+  public static JsonNode wrap(final byte[] bytes, final int offset, final int length) {
+    return JsonNodeFactory.instance.rawValueNode(new RawValue(new RawJsonBytes(Arrays.copyOfRange(bytes, offset, offset + length))));
+  }
+
+  /**
+   * Check whether a JsonNode is a raw payload created by this class.
+   */
+  public static boolean isRaw(final JsonNode data) {
+    return data instanceof POJONode pojoNode
+        && pojoNode.getPojo() instanceof RawValue rawValue
+        && rawValue.rawValue() instanceof RawJsonBytes;
+  }
+
+  /**
+   * Estimated byte size of a raw payload created by this class, with the same meaning as
+   * {@link Jsons#getEstimatedByteSize(JsonNode)} for the parsed data: the length in chars of the
+   * compact JSON. It is computed from the raw bytes without serializing them again, so whitespace
+   * between tokens is not counted and multi-byte UTF-8 sequences count as one char (two for
+   * supplementary characters).
+   * <p>
+   * It only differs from the size of the parsed data when the source wrote a value differently than
+   * Jackson would, e.g. an escaped non-ASCII character or a float with trailing zeros.
+   *
+   * @param data record data.
+   * @return the estimated size of the raw payload, or -1 if the data is not raw.
+   */
+  public static long estimatedByteSize(final JsonNode data) {
+    if (data instanceof POJONode pojoNode
+        && pojoNode.getPojo() instanceof RawValue rawValue
+        && rawValue.rawValue() instanceof RawJsonBytes raw) {
+      return raw.compactCharLength();
+    }
+    return -1;
+  }
+
+  /**
+   * Estimated byte size of the data of a record, with the same meaning as
+   * {@link #estimatedByteSize(JsonNode)}, for raw data as well as for data parsed by
+   * {@link #tryParseMeasuredRecord(byte[], int, int)}.
+   *
+   * @param record the record.
+   * @return the estimated size of the record data, or -1 if it was not measured when parsed, e.g.
+   *         because it has been replaced since.
+   */
+  public static long estimatedByteSize(final AirbyteRecordMessage record) {
+    if (record instanceof MeasuredRecordMessage measured && measured.getData() == measured.measuredData) {
+      return measured.measuredByteSize;
+    }
+    return estimatedByteSize(record.getData());
+  }
+
+  /**
+   * Names of the top-level fields of a raw payload created by this class, read from its bytes without
+   * materializing it.
+   *
+   * @param data raw record data.
+   * @return the names of the top-level fields, in the order of the payload.
+   */
+  public static List<String> fieldNames(final JsonNode data) {
+    final RawJsonBytes raw = (RawJsonBytes) ((RawValue) ((POJONode) data).getPojo()).rawValue();
+    final List<String> fieldNames = new ArrayList<>();
+    try (final JsonParser parser = JSON_FACTORY.createParser(raw.bytes)) {
+      if (parser.nextToken() == JsonToken.START_OBJECT) {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          fieldNames.add(parser.getCurrentName());
+          parser.nextToken();
+          parser.skipChildren();
+        }
+      }
+    } catch (final IOException e) {
+      throw new IllegalStateException("Unable to read raw record data", e);
+    }
+    return fieldNames;
+  }
+
+  /**
+   * Replace the raw payload of a record, if any, with the projection of its data. Unselected fields
+   * are skipped while parsing instead of being deserialized and dropped afterwards.
+   *
+   * @param record to materialize.
+   * @param projection fields to keep.
+   * @return the projected record data, or the data as is if it was not raw.
+   */
+  public static JsonNode materialize(final AirbyteRecordMessage record, final FieldProjection projection) {
+    final JsonNode data = record.getData();
+    if (isRaw(data)) {
+      final RawJsonBytes raw = (RawJsonBytes) ((RawValue) ((POJONode) data).getPojo()).rawValue();
+      try (final JsonParser parser = EXACT_MAPPER.createParser(raw.bytes)) {
+        parser.nextToken();
+        final JsonNode materialized = projection.read(parser, EXACT_MAPPER);
+        record.setData(materialized);
+        return materialized;
+      } catch (final IOException e) {
+        throw new IllegalStateException("Unable to deserialize raw record data", e);
+      }
+    }
+    return data;
+  }
+
+  /**
+   * Replace the raw payload of a record, if any, with the deserialized JsonNode.
+   *
+   * @param record to materialize.
+   * @return the record data as a JsonNode tree.
+   */
+  public static JsonNode materialize(final AirbyteRecordMessage record) {
+    final JsonNode data = record.getData();
+    if (isRaw(data)) {
+      final RawJsonBytes raw = (RawJsonBytes) ((RawValue) ((POJONode) data).getPojo()).rawValue();
+      final JsonNode materialized = Jsons.tryDeserializeExact(raw.bytes, 0, raw.bytes.length, JsonNode.class)
+          .orElseThrow(() -> new IllegalStateException("Unable to deserialize raw record data"));
+      record.setData(materialized);
+      return materialized;
+    }
+    return data;
+  }
+
+  /**
+   * Token locations are relative to the offset the parser was created with.
+   */
+  private static AirbyteRecordMessage parseRecord(final JsonParser parser, final byte[] bytes, final int offset, final boolean keepRaw)
+      throws IOException {
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      return null;
+    }
+
+    final AirbyteRecordMessage record = keepRaw ? new AirbyteRecordMessage() : new MeasuredRecordMessage();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = parser.getCurrentName();
+      final JsonToken token = parser.nextToken();
+      switch (fieldName) {
+        case "stream" -> {
+          if (token != JsonToken.VALUE_STRING) {
+            return null;
+          }
+          record.setStream(parser.getText());
+        }
+        case "namespace" -> {
+          if (token == JsonToken.VALUE_STRING) {
+            record.setNamespace(parser.getText());
+          } else if (token != JsonToken.VALUE_NULL) {
+            return null;
+          }
+        }
+        case "emitted_at" -> {
+          if (token != JsonToken.VALUE_NUMBER_INT) {
+            return null;
+          }
+          record.setEmittedAt(parser.getLongValue());
+        }
+        case "data" -> {
+          if (token != JsonToken.START_OBJECT) {
+            return null;
+          }
+          final int start = offset + (int) parser.getTokenLocation().getByteOffset();
+          if (keepRaw) {
+            parser.skipChildren();
+            final int end = offset + (int) parser.getCurrentLocation().getByteOffset();
+            record.setData(wrap(bytes, start, end - start));
+          } else {
+            final JsonNode data = EXACT_MAPPER.readTree(parser);
+            final int end = offset + (int) parser.getCurrentLocation().getByteOffset();
+            ((MeasuredRecordMessage) record).measure(data, compactCharLength(bytes, start, end));
+          }
+        }
+        default -> {
+          // e.g. meta, we do not want to silently drop fields we do not know about.
+          return null;
+        }
+      }
+    }
+    return record;
+  }
+
+  /**
+   * Length in UTF-16 chars of the JSON held in {@code bytes[start, end)}, without the whitespace
+   * between tokens.
+   */
+  private static int compactCharLength(final byte[] bytes, final int start, final int end) {
+    int length = 0;
+    boolean inString = false;
+    boolean escaped = false;
+    for (int i = start; i < end; i++) {
+      final byte b = bytes[i];
+      if (inString) {
+        if (escaped) {
+          escaped = false;
+        } else if (b == '\\') {
+          escaped = true;
+        } else if (b == '"') {
+          inString = false;
+        }
+      } else if (b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+        continue;
+      } else if (b == '"') {
+        inString = true;
+      }
+      // Continuation bytes belong to the char of their lead byte, 4-byte sequences are surrogate pairs.
+      if ((b & 0xC0) == 0x80) {
+        continue;
+      }
+      length += (b & 0xF8) == 0xF0 ? 2 : 1;
+    }
+    return length;
+  }
+
+  /**
+   * A record parsed by {@link #tryParseMeasuredRecord(byte[], int, int)}, along with the estimated byte
+   * size of the data it was parsed with. The size no longer applies once the data is replaced, e.g. by
+   * field selection. It is not a property, so it is never serialized.
+   */
+  private static final class MeasuredRecordMessage extends AirbyteRecordMessage {
+
+    private JsonNode measuredData;
+    private long measuredByteSize;
+
+    void measure(final JsonNode data, final long byteSize) {
+      setData(data);
+      measuredData = data;
+      measuredByteSize = byteSize;
+    }
+
+  }
+
+  /**
+   * UTF-8 encoded JSON written verbatim by Jackson generators through
+   * {@link com.fasterxml.jackson.core.JsonGenerator#writeRawValue(SerializableString)}. Only the
+   * unquoted methods are on the serialization path, the quoted ones are implemented for completeness.
+   */
+  private static final class RawJsonBytes implements SerializableString {
+
+    private final byte[] bytes;
+    private String value;
+    private int compactCharLength = -1;
+
+    RawJsonBytes(final byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    /**
+     * Length in UTF-16 chars of the JSON without the whitespace between tokens.
+     */
+    int compactCharLength() {
+      if (compactCharLength < 0) {
+        compactCharLength = RawRecordData.compactCharLength(bytes, 0, bytes.length);
+      }
+      return compactCharLength;
+    }
+
+    @Override
+    public String getValue() {
+      if (value == null) {
+        value = new String(bytes, StandardCharsets.UTF_8);
+      }
+      return value;
+    }
+
+    @Override
+    public int charLength() {
+      return getValue().length();
+    }
+
+    @Override
+    public char[] asQuotedChars() {
+      return JsonStringEncoder.getInstance().quoteAsString(getValue());
+    }
+
+    @Override
+    public byte[] asUnquotedUTF8() {
+      return bytes;
+    }
+
+    @Override
+    public byte[] asQuotedUTF8() {
+      return JsonStringEncoder.getInstance().quoteAsUTF8(getValue());
+    }
+
+    @Override
+    public int appendQuotedUTF8(final byte[] buffer, final int offset) {
+      return append(asQuotedUTF8(), buffer, offset);
+    }
+
+    @Override
+    public int appendQuoted(final char[] buffer, final int offset) {
+      final char[] quoted = asQuotedChars();
+      if (offset + quoted.length > buffer.length) {
+        return -1;
+      }
+      System.arraycopy(quoted, 0, buffer, offset, quoted.length);
+      return quoted.length;
+    }
+
+    @Override
+    public int appendUnquotedUTF8(final byte[] buffer, final int offset) {
+      return append(bytes, buffer, offset);
+    }
+
+    @Override
+    public int appendUnquoted(final char[] buffer, final int offset) {
+      final String str = getValue();
+      final int length = str.length();
+      if (offset + length > buffer.length) {
+        return -1;
+      }
+      str.getChars(0, length, buffer, offset);
+      return length;
+    }
+
+    @Override
+    public int writeQuotedUTF8(final OutputStream out) throws IOException {
+      final byte[] quoted = asQuotedUTF8();
+      out.write(quoted);
+      return quoted.length;
+    }
+
+    @Override
+    public int writeUnquotedUTF8(final OutputStream out) throws IOException {
+      out.write(bytes);
+      return bytes.length;
+    }
+
+    @Override
+    public int putQuotedUTF8(final ByteBuffer buffer) {
+      return put(asQuotedUTF8(), buffer);
+    }
+
+    @Override
+    public int putUnquotedUTF8(final ByteBuffer buffer) {
+      return put(bytes, buffer);
+    }
+
+    @Override
+    public String toString() {
+      return getValue();
+    }
+
+    private static int append(final byte[] source, final byte[] buffer, final int offset) {
+      if (offset + source.length > buffer.length) {
+        return -1;
+      }
+      System.arraycopy(source, 0, buffer, offset, source.length);
+      return source.length;
+    }
+
+    private static int put(final byte[] source, final ByteBuffer buffer) {
+      if (source.length > buffer.remaining()) {
+        return -1;
+      }
+      buffer.put(source);
+      return source.length;
+    }
+
+  }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Assigns dense integer ids to the streams of a catalog, so that per-stream state can be kept in
+ * arrays indexed by stream id.
+ * <p>
+ * Looking up the id of a record's stream neither allocates nor hashes a
+ * {@link AirbyteStreamNameNamespacePair}, only the stream name is hashed. The pairs returned by
+ * {@link #streamAt(int)} are shared instances which can be used as map keys instead of building a
+ * new pair per record. A StreamIndex is immutable and can be shared between threads.
+ */
+public final class StreamIndex {
+
+  /**
+   * Id returned for streams which are not in the index.
+   */
+  public static final int UNKNOWN_STREAM = -1;
+
+  public static final StreamIndex EMPTY = new StreamIndex(List.of());
+
+  private final AirbyteStreamNameNamespacePair[] streams;
+  // Streams by name, streams with the same name and a different namespace are chained.
+  private final Map<String, Entry> entriesByName = new HashMap<>();
+
+  private StreamIndex(final Collection<AirbyteStreamNameNamespacePair> streams) {
+    final List<AirbyteStreamNameNamespacePair> indexedStreams = new ArrayList<>(streams.size());
+    for (final AirbyteStreamNameNamespacePair stream : streams) {
+      if (indexOf(stream.getName(), stream.getNamespace()) != UNKNOWN_STREAM) {
+        continue;
+      }
+      final int id = indexedStreams.size();
+      indexedStreams.add(stream);
+      entriesByName.put(stream.getName(), new Entry(stream.getNamespace(), id, entriesByName.get(stream.getName())));
+    }
+    this.streams = indexedStreams.toArray(new AirbyteStreamNameNamespacePair[0]);
+  }
+
+  /**
+   * Index the streams of a catalog, in the order of the catalog.
+   */
+  public static StreamIndex fromCatalog(final ConfiguredAirbyteCatalog catalog) {
+    return new StreamIndex(catalog.getStreams().stream().map(AirbyteStreamNameNamespacePair::fromConfiguredAirbyteSteam).toList());
+  }
+
+  /**
+   * Index the given streams, duplicates are ignored.
+   */
+  public static StreamIndex of(final Collection<AirbyteStreamNameNamespacePair> streams) {
+    return new StreamIndex(streams);
+  }
+
+  /**
+   * Get the id of a stream.
+   *
+   * @param name name of the stream.
+   * @param namespace namespace of the stream, may be null.
+   * @return the id of the stream, or {@link #UNKNOWN_STREAM} if it is not part of the index.
+   */
+  public int indexOf(final String name, final String namespace) {
+    Entry entry = entriesByName.get(name);
+    while (entry != null) {
+      if (Objects.equals(entry.namespace, namespace)) {
+        return entry.id;
+      }
+      entry = entry.next;
+    }
+    return UNKNOWN_STREAM;
+  }
+
+  public int indexOf(final AirbyteStreamNameNamespacePair stream) {
+    return indexOf(stream.getName(), stream.getNamespace());
+  }
+
+  /**
+   * Get the stream with the given id.
+   */
+  public AirbyteStreamNameNamespacePair streamAt(final int id) {
+    return streams[id];
+  }
+
+  /**
+   * Number of indexed streams, ids range from 0 to size - 1.
+   */
+  public int size() {
+    return streams.length;
+  }
+
+  private record Entry(String namespace, int id, Entry next) {}
+
+}
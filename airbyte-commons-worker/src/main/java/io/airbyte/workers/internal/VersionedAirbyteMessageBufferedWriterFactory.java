@@ -9,12 +9,17 @@ import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
 import io.airbyte.commons.version.Version;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Factory for creating a writer that writes protocol messages in a specific protocol version.
+ * <p>
+ * When an output buffer size is set, writers created on top of an output stream serialize messages
+ * directly into a byte buffer of that size, see {@link VersionedAirbyteMessageOutputStreamWriter}.
  */
 public class VersionedAirbyteMessageBufferedWriterFactory implements AirbyteMessageBufferedWriterFactory {
 
@@ -24,24 +29,32 @@ public class VersionedAirbyteMessageBufferedWriterFactory implements AirbyteMess
   private final AirbyteProtocolVersionedMigratorFactory migratorFactory;
   private final Version protocolVersion;
   private final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog;
+  // Size of the byte buffer of writers created on an output stream, 0 to write through a
+  // BufferedWriter.
+  private final int outputBufferSizeBytes;
 
   public VersionedAirbyteMessageBufferedWriterFactory(final AirbyteMessageSerDeProvider serDeProvider,
                                                       final AirbyteProtocolVersionedMigratorFactory migratorFactory,
                                                       final Version protocolVersion,
                                                       final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog) {
+    this(serDeProvider, migratorFactory, protocolVersion, configuredAirbyteCatalog, 0);
+  }
+
+  public VersionedAirbyteMessageBufferedWriterFactory(final AirbyteMessageSerDeProvider serDeProvider,
+                                                      final AirbyteProtocolVersionedMigratorFactory migratorFactory,
+                                                      final Version protocolVersion,
+                                                      final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog,
+                                                      final int outputBufferSizeBytes) {
     this.serDeProvider = serDeProvider;
     this.migratorFactory = migratorFactory;
     this.protocolVersion = protocolVersion;
     this.configuredAirbyteCatalog = configuredAirbyteCatalog;
+    this.outputBufferSizeBytes = outputBufferSizeBytes;
   }
 
   @Override
   public AirbyteMessageBufferedWriter createWriter(BufferedWriter bufferedWriter) {
-    final boolean needMigration = !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
-    LOGGER.info(
-        "Writing messages to protocol version {}{}",
-        protocolVersion.serialize(),
-        needMigration ? ", messages will be downgraded from protocol version " + migratorFactory.getMostRecentVersion().serialize() : "");
+    logProtocolVersion();
     return new VersionedAirbyteMessageBufferedWriter<>(
         bufferedWriter,
         serDeProvider.getSerializer(protocolVersion).orElseThrow(),
@@ -49,4 +62,26 @@ public class VersionedAirbyteMessageBufferedWriterFactory implements AirbyteMess
         configuredAirbyteCatalog);
   }
 
+  @Override
+  public AirbyteMessageBufferedWriter createWriter(final OutputStream outputStream) throws IOException {
+    if (outputBufferSizeBytes <= 0) {
+      return AirbyteMessageBufferedWriterFactory.super.createWriter(outputStream);
+    }
+    logProtocolVersion();
+    return new VersionedAirbyteMessageOutputStreamWriter<>(
+        outputStream,
+        outputBufferSizeBytes,
+        serDeProvider.getSerializer(protocolVersion).orElseThrow(),
+        migratorFactory.getAirbyteMessageMigrator(protocolVersion),
+        configuredAirbyteCatalog);
+  }
+
+  private void logProtocolVersion() {
+    final boolean needMigration = !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
+    LOGGER.info(
+        "Writing messages to protocol version {}{}",
+        protocolVersion.serialize(),
+        needMigration ? ", messages will be downgraded from protocol version " + migratorFactory.getMostRecentVersion().serialize() : "");
+  }
+
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.protocol.AirbyteMessageVersionedMigrator;
+import io.airbyte.commons.protocol.serde.AirbyteMessageSerializer;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/**
+ * Write protocol objects in a specified version, serializing them as UTF-8 bytes directly into the
+ * output stream.
+ * <p>
+ * Unlike {@link VersionedAirbyteMessageBufferedWriter}, messages are not serialized to a String
+ * which is then encoded back to bytes by a Writer. The generator writes into a reusable byte
+ * buffer, which is written to the output stream once it holds more than the flush threshold, or
+ * when the writer is flushed.
+ *
+ * @param <T> type of protocol object.
+ */
+public class VersionedAirbyteMessageOutputStreamWriter<T> implements AirbyteMessageBufferedWriter {
+
+  private final JsonGenerator generator;
+  private final AirbyteMessageSerializer<T> serializer;
+  private final AirbyteMessageVersionedMigrator<T> migrator;
+  private final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog;
+
+  public VersionedAirbyteMessageOutputStreamWriter(final OutputStream outputStream,
+                                                   final int flushThresholdBytes,
+                                                   final AirbyteMessageSerializer<T> serializer,
+                                                   final AirbyteMessageVersionedMigrator<T> migrator,
+                                                   final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog)
+      throws IOException {
+    this.generator = Jsons.createGenerator(new BufferedOutputStream(outputStream, flushThresholdBytes));
+    // Messages are separated by new lines rather than by the default root value separator.
+    this.generator.setRootValueSeparator(null);
+    this.serializer = serializer;
+    this.migrator = migrator;
+    this.configuredAirbyteCatalog = configuredAirbyteCatalog;
+  }
+
+  @Override
+  public void write(final AirbyteMessage message) throws IOException {
+    final T downgradedMessage = migrator.downgrade(message, configuredAirbyteCatalog);
+    serializer.serialize(downgradedMessage, generator);
+    generator.writeRaw('\n');
+  }
+
+  @Override
+  public void flush() throws IOException {
+    generator.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    generator.close();
+  }
+
+}
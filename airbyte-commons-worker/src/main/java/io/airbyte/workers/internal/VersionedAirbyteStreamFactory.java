@@ -7,6 +7,7 @@ package io.airbyte.workers.internal;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import io.airbyte.commons.io.IOs;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.logging.MdcScope;
 import io.airbyte.commons.protocol.AirbyteMessageMigrator;
@@ -22,6 +23,7 @@ import io.airbyte.commons.protocol.serde.AirbyteMessageV1Serializer;
 import io.airbyte.commons.version.AirbyteProtocolVersion;
 import io.airbyte.commons.version.Version;
 import io.airbyte.metrics.lib.MetricAttribute;
+import io.airbyte.metrics.lib.MetricClient;
 import io.airbyte.metrics.lib.MetricClientFactory;
 import io.airbyte.metrics.lib.MetricTags;
 import io.airbyte.metrics.lib.OssMetricsRegistry;
@@ -31,15 +33,24 @@ import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.workers.helper.GsonPksExtractor;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.StandardCharsets;
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +66,14 @@ import org.slf4j.LoggerFactory;
  *
  * Handles parsing and validation from a specific version of the Airbyte Protocol as well as
  * upgrading messages to the current version.
+ *
+ * When the streaming parser is enabled, {@link #create(InputStream)} splits the raw bytes on new
+ * lines itself and hands each line to Jackson as a byte slice, so well-formed messages never go
+ * through an intermediate String. Lines that fail to parse are decoded lazily to keep the existing
+ * logging and too-long record handling.
+ *
+ * On top of the streaming parser, raw record data can be enabled to only parse the envelope of
+ * RECORD messages and carry their data as raw bytes, see {@link RawRecordData}.
  */
 @SuppressWarnings("PMD.MoreThanOneLogger")
 public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
@@ -79,6 +98,10 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
   private static final int MESSAGES_LOOK_AHEAD_FOR_DETECTION = 10;
   private static final String TYPE_FIELD_NAME = "type";
   private static final int MAXIMUM_CHARACTERS_ALLOWED = 5_000_000;
+  // Size of the chunks read from the InputStream and initial size of the line buffer when using the
+  // streaming parser. The line buffer grows to fit the longest line seen.
+  private static final int STREAMING_READ_CHUNK_SIZE = 64 * 1024;
+  private static final int STREAMING_INITIAL_LINE_SIZE = 8 * 1024;
 
   // BASIC PROCESSING FIELDS
   protected final Logger logger;
@@ -97,6 +120,8 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
   private Version protocolVersion;
 
   private boolean shouldDetectVersion = false;
+  private boolean useStreamingParser = false;
+  private boolean useRawRecordData = false;
 
   private final InvalidLineFailureConfiguration invalidLineFailureConfiguration;
   private final GsonPksExtractor gsonPksExtractor;
@@ -203,13 +228,41 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
   @Override
   public Stream<AirbyteMessage> create(final BufferedReader bufferedReader) {
     detectAndInitialiseMigrators(bufferedReader);
-    final boolean needMigration = !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
+    logProtocolVersion();
+
+    return addLineReadLogic(bufferedReader);
+  }
+
+  /**
+   * Create the AirbyteMessage stream from the raw bytes of the InputStream.
+   *
+   * Version detection relies on BufferedReader mark/reset, so if it is enabled or if the streaming
+   * parser is disabled, this falls back to {@link #create(BufferedReader)}.
+   */
+  @Override
+  public Stream<AirbyteMessage> create(final InputStream inputStream) {
+    if (!useStreamingParser || shouldDetectVersion) {
+      return create(IOs.newBufferedReader(inputStream));
+    }
+    logProtocolVersion();
+
+    return addByteLineReadLogic(inputStream);
+  }
+
+  private boolean needsMigration() {
+    return needsMigration(protocolVersion);
+  }
+
+  private boolean needsMigration(final Version version) {
+    return !version.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
+  }
+
+  private void logProtocolVersion() {
+    final boolean needMigration = needsMigration();
     logger.info(
         "Reading messages from protocol version {}{}",
         protocolVersion.serialize(),
         needMigration ? ", messages will be upgraded to protocol version " + migratorFactory.getMostRecentVersion().serialize() : "");
-
-    return addLineReadLogic(bufferedReader);
   }
 
   private void detectAndInitialiseMigrators(final BufferedReader bufferedReader) {
@@ -235,28 +288,38 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
     final var metricClient = MetricClientFactory.getMetricClient();
     return bufferedReader
         .lines()
-        .peek(str -> {
-          final long messageSize = str.getBytes(StandardCharsets.UTF_8).length;
-          metricClient.distribution(OssMetricsRegistry.JSON_STRING_LENGTH, messageSize);
-
-          if (exceptionClass.isPresent()) {
-            if (messageSize > maxMemory * MAX_SIZE_RATIO) {
-              connectionId.ifPresent(id -> metricClient.count(OssMetricsRegistry.RECORD_SIZE_ERROR, 1,
-                  new MetricAttribute(MetricTags.CONNECTION_ID, id.toString())));
-              final String errorMessage = String.format(
-                  "Airbyte has received a message at %s UTC which is larger than %s (size: %s). "
-                      + "The sync has been failed to prevent running out of memory.",
-                  DateTime.now(),
-                  humanReadableByteCountSI(maxMemory),
-                  humanReadableByteCountSI(messageSize));
-              throwExceptionClass(errorMessage);
-            }
-          }
-        })
+        .peek(str -> checkMessageSize(metricClient, str.getBytes(StandardCharsets.UTF_8).length))
         .flatMap(this::toAirbyteMessage)
         .filter(this::filterLog);
   }
 
+  private Stream<AirbyteMessage> addByteLineReadLogic(final InputStream inputStream) {
+    final var metricClient = MetricClientFactory.getMetricClient();
+    final Iterator<RawLine> lines = new RawLineIterator(inputStream);
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(lines, Spliterator.ORDERED | Spliterator.NONNULL), false)
+        .peek(line -> checkMessageSize(metricClient, line.length()))
+        .flatMap(line -> toAirbyteMessage(line.bytes(), line.length()))
+        .filter(this::filterLog);
+  }
+
+  private void checkMessageSize(final MetricClient metricClient, final long messageSize) {
+    metricClient.distribution(OssMetricsRegistry.JSON_STRING_LENGTH, messageSize);
+
+    if (exceptionClass.isPresent()) {
+      if (messageSize > maxMemory * MAX_SIZE_RATIO) {
+        connectionId.ifPresent(id -> metricClient.count(OssMetricsRegistry.RECORD_SIZE_ERROR, 1,
+            new MetricAttribute(MetricTags.CONNECTION_ID, id.toString())));
+        final String errorMessage = String.format(
+            "Airbyte has received a message at %s UTC which is larger than %s (size: %s). "
+                + "The sync has been failed to prevent running out of memory.",
+            DateTime.now(),
+            humanReadableByteCountSI(maxMemory),
+            humanReadableByteCountSI(messageSize));
+        throwExceptionClass(errorMessage);
+      }
+    }
+  }
+
   /**
    * Attempt to detect the version by scanning the stream
    *
@@ -311,6 +374,25 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
     return this;
   }
 
+  public VersionedAirbyteStreamFactory<T> withStreamingParser(final boolean useStreamingParser) {
+    this.useStreamingParser = useStreamingParser;
+    return this;
+  }
+
+  /**
+   * Keep the data of RECORD messages as raw bytes. Only effective with the streaming parser and when
+   * messages do not need to be migrated, since migrations may rewrite record data. This applies to
+   * both ends: the messages read here are downgraded for the destination if it speaks an older
+   * protocol version, so raw record data is only kept if the destination needs no migration either.
+   *
+   * @param useRawRecordData whether the sync opted into raw record data.
+   * @param destinationProtocolVersion protocol version of the destination the messages are sent to.
+   */
+  public VersionedAirbyteStreamFactory<T> withRawRecordData(final boolean useRawRecordData, final Version destinationProtocolVersion) {
+    this.useRawRecordData = useRawRecordData && destinationProtocolVersion != null && !needsMigration(destinationProtocolVersion);
+    return this;
+  }
+
   protected final void initializeForProtocolVersion(final Version protocolVersion) {
     this.deserializer = (AirbyteMessageDeserializer<AirbyteMessage>) serDeProvider.getDeserializer(protocolVersion).orElseThrow();
     this.migrator = migratorFactory.getAirbyteMessageMigrator(protocolVersion);
@@ -366,21 +448,49 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
    * 3. upgrade the message to the platform version, if needed.
    */
   protected Stream<AirbyteMessage> toAirbyteMessage(final String line) {
-    Optional<AirbyteMessage> m = deserializer.deserializeExact(line);
+    final Optional<AirbyteMessage> m = deserializer.deserializeExact(line);
 
     if (m.isPresent()) {
-      m = BasicAirbyteMessageValidator.validate(m.get(), configuredAirbyteCatalog);
+      return validateAndUpgrade(m.get(), () -> line);
+    }
 
-      if (m.isEmpty()) {
-        logger.error("Validation failed: {}", Jsons.serialize(line));
-        return m.stream();
-      }
+    handleCannotDeserialize(line);
+    return Stream.empty();
+  }
+
+  /**
+   * Same as {@link #toAirbyteMessage(String)} for a line held as UTF-8 bytes in the first
+   * {@code length} bytes of {@code line}. The line is only decoded to a String if it cannot be
+   * handled as a valid message.
+   */
+  protected Stream<AirbyteMessage> toAirbyteMessage(final byte[] line, final int length) {
+    Optional<AirbyteMessage> m = Optional.empty();
+    if (!needsMigration()) {
+      // Records parsed here don't need to be serialized again to measure them for stats.
+      m = useRawRecordData ? RawRecordData.tryParseRecord(line, length) : RawRecordData.tryParseMeasuredRecord(line, 0, length);
+    }
+    if (m.isEmpty()) {
+      m = deserializer.deserializeExact(line, 0, length);
+    }
+    final Supplier<String> lineAsString = () -> new String(line, 0, length, StandardCharsets.UTF_8);
 
-      return upgradeMessage(m.get());
+    if (m.isPresent()) {
+      return validateAndUpgrade(m.get(), lineAsString);
     }
 
-    handleCannotDeserialize(line);
-    return m.stream();
+    handleCannotDeserialize(lineAsString.get());
+    return Stream.empty();
+  }
+
+  private Stream<AirbyteMessage> validateAndUpgrade(final AirbyteMessage message, final Supplier<String> line) {
+    final Optional<AirbyteMessage> m = BasicAirbyteMessageValidator.validate(message, configuredAirbyteCatalog);
+
+    if (m.isEmpty()) {
+      logger.error("Validation failed: {}", Jsons.serialize(line.get()));
+      return Stream.empty();
+    }
+
+    return upgradeMessage(m.get());
   }
 
   /**
@@ -453,4 +563,96 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
     }
   }
 
+  /**
+   * A line read by {@link RawLineIterator}. The backing array is reused for the next line, so it is
+   * only valid until the iterator is advanced.
+   */
+  private record RawLine(byte[] bytes, int length) {}
+
+  /**
+   * Splits an InputStream on new lines without decoding it, following the same line semantics as
+   * {@link BufferedReader#lines()}: the line terminator ("\n" or "\r\n") is dropped and a last
+   * line without a terminator is still returned.
+   */
+  private static final class RawLineIterator implements Iterator<RawLine> {
+
+    private final InputStream inputStream;
+    private final byte[] chunk = new byte[STREAMING_READ_CHUNK_SIZE];
+    private int chunkPosition = 0;
+    private int chunkLimit = 0;
+
+    private byte[] line = new byte[STREAMING_INITIAL_LINE_SIZE];
+    private int lineLength = 0;
+    private boolean hasPendingLine = false;
+    private boolean endOfStream = false;
+
+    RawLineIterator(final InputStream inputStream) {
+      this.inputStream = inputStream;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (!hasPendingLine && !endOfStream) {
+        try {
+          hasPendingLine = readLine();
+        } catch (final IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      return hasPendingLine;
+    }
+
+    @Override
+    public RawLine next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      hasPendingLine = false;
+      return new RawLine(line, lineLength);
+    }
+
+    private boolean readLine() throws IOException {
+      lineLength = 0;
+      boolean readAnything = false;
+      while (true) {
+        if (chunkPosition == chunkLimit) {
+          final int read = inputStream.read(chunk);
+          if (read == -1) {
+            endOfStream = true;
+            break;
+          }
+          chunkPosition = 0;
+          chunkLimit = read;
+        }
+        readAnything = true;
+
+        final int start = chunkPosition;
+        while (chunkPosition < chunkLimit && chunk[chunkPosition] != '\n') {
+          chunkPosition++;
+        }
+        append(start, chunkPosition - start);
+
+        if (chunkPosition < chunkLimit) {
+          // skip the new line character
+          chunkPosition++;
+          break;
+        }
+      }
+
+      if (lineLength > 0 && line[lineLength - 1] == '\r') {
+        lineLength--;
+      }
+      return readAnything;
+    }
+
+    private void append(final int start, final int length) {
+      if (lineLength + length > line.length) {
+        line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+      }
+      System.arraycopy(chunk, start, line, lineLength, length);
+      lineLength += length;
+    }
+
+  }
+
 }
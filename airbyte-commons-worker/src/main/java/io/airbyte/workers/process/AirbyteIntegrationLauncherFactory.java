@@ -9,12 +9,16 @@ import io.airbyte.commons.logging.MdcScope;
 import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
 import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
 import io.airbyte.commons.protocol.VersionedProtocolSerializer;
+import io.airbyte.commons.version.Version;
 import io.airbyte.config.SyncResourceRequirements;
 import io.airbyte.featureflag.Connection;
+import io.airbyte.featureflag.DestinationOutputBufferSize;
 import io.airbyte.featureflag.FailSyncIfTooBig;
 import io.airbyte.featureflag.FeatureFlagClient;
 import io.airbyte.featureflag.Multi;
 import io.airbyte.featureflag.PrintLongRecordPks;
+import io.airbyte.featureflag.UseRawRecordPassThrough;
+import io.airbyte.featureflag.UseStreamingMessageParser;
 import io.airbyte.featureflag.Workspace;
 import io.airbyte.metrics.lib.MetricClient;
 import io.airbyte.persistence.job.models.IntegrationLauncherConfig;
@@ -22,7 +26,6 @@ import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.workers.helper.GsonPksExtractor;
 import io.airbyte.workers.internal.AirbyteDestination;
 import io.airbyte.workers.internal.AirbyteSource;
-import io.airbyte.workers.internal.AirbyteStreamFactory;
 import io.airbyte.workers.internal.DefaultAirbyteDestination;
 import io.airbyte.workers.internal.DefaultAirbyteSource;
 import io.airbyte.workers.internal.DestinationTimeoutMonitor;
@@ -99,12 +102,15 @@ public class AirbyteIntegrationLauncherFactory {
    * @param sourceLauncherConfig the configuration of the source.
    * @param configuredAirbyteCatalog the configuredAirbyteCatalog of the Connection the source.
    * @param heartbeatMonitor an instance of HeartbeatMonitor to use for the AirbyteSource.
+   * @param destinationProtocolVersion the protocol version of the destination the source messages
+   *        are sent to.
    * @return an AirbyteSource.
    */
   public AirbyteSource createAirbyteSource(final IntegrationLauncherConfig sourceLauncherConfig,
                                            final SyncResourceRequirements syncResourceRequirements,
                                            final ConfiguredAirbyteCatalog configuredAirbyteCatalog,
-                                           final HeartbeatMonitor heartbeatMonitor) {
+                                           final HeartbeatMonitor heartbeatMonitor,
+                                           final Version destinationProtocolVersion) {
     final IntegrationLauncher sourceLauncher = createIntegrationLauncher(sourceLauncherConfig, syncResourceRequirements);
 
     final boolean failTooLongRecords = featureFlagClient.boolVariation(FailSyncIfTooBig.INSTANCE,
@@ -117,11 +123,23 @@ public class AirbyteIntegrationLauncherFactory {
             new Connection(sourceLauncherConfig.getConnectionId()),
             new Workspace(sourceLauncherConfig.getWorkspaceId()))));
 
+    final boolean useStreamingParser = featureFlagClient.boolVariation(UseStreamingMessageParser.INSTANCE,
+        new Multi(List.of(
+            new Connection(sourceLauncherConfig.getConnectionId()),
+            new Workspace(sourceLauncherConfig.getWorkspaceId()))));
+
+    final boolean useRawRecordData = featureFlagClient.boolVariation(UseRawRecordPassThrough.INSTANCE,
+        new Multi(List.of(
+            new Connection(sourceLauncherConfig.getConnectionId()),
+            new Workspace(sourceLauncherConfig.getWorkspaceId()))));
+
     return new DefaultAirbyteSource(sourceLauncher,
         getStreamFactory(sourceLauncherConfig, configuredAirbyteCatalog, SourceException.class, DefaultAirbyteSource.CONTAINER_LOG_MDC_BUILDER,
             new VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration(
                 failTooLongRecords,
-                printLongRecordPks)),
+                printLongRecordPks))
+                    .withStreamingParser(useStreamingParser || useRawRecordData)
+                    .withRawRecordData(useRawRecordData, destinationProtocolVersion),
         heartbeatMonitor,
         getProtocolSerializer(sourceLauncherConfig),
         featureFlags,
@@ -141,6 +159,12 @@ public class AirbyteIntegrationLauncherFactory {
                                                      final DestinationTimeoutMonitor destinationTimeoutMonitor) {
 
     final IntegrationLauncher destinationLauncher = createIntegrationLauncher(destinationLauncherConfig, syncResourceRequirements);
+
+    final int outputBufferSize = featureFlagClient.intVariation(DestinationOutputBufferSize.INSTANCE,
+        new Multi(List.of(
+            new Connection(destinationLauncherConfig.getConnectionId()),
+            new Workspace(destinationLauncherConfig.getWorkspaceId()))));
+
     return new DefaultAirbyteDestination(destinationLauncher,
         getStreamFactory(destinationLauncherConfig,
             configuredAirbyteCatalog,
@@ -148,7 +172,7 @@ public class AirbyteIntegrationLauncherFactory {
             DefaultAirbyteDestination.CONTAINER_LOG_MDC_BUILDER,
             new VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration(false, false)),
         new VersionedAirbyteMessageBufferedWriterFactory(serDeProvider, migratorFactory, destinationLauncherConfig.getProtocolVersion(),
-            Optional.of(configuredAirbyteCatalog)),
+            Optional.of(configuredAirbyteCatalog), outputBufferSize),
         getProtocolSerializer(destinationLauncherConfig),
         destinationTimeoutMonitor,
         metricClient);
@@ -158,7 +182,7 @@ public class AirbyteIntegrationLauncherFactory {
     return migratorFactory.getProtocolSerializer(launcherConfig.getProtocolVersion());
   }
 
-  private AirbyteStreamFactory getStreamFactory(final IntegrationLauncherConfig launcherConfig,
+  private VersionedAirbyteStreamFactory<?> getStreamFactory(final IntegrationLauncherConfig launcherConfig,
                                                 final ConfiguredAirbyteCatalog configuredAirbyteCatalog,
                                                 final Class<? extends RuntimeException> exceptionClass,
                                                 final MdcScope.Builder mdcScopeBuilder,
@@ -44,6 +44,7 @@ import io.airbyte.workers.internal.AnalyticsMessageTracker
 import io.airbyte.workers.internal.DestinationTimeoutMonitor
 import io.airbyte.workers.internal.FieldSelector
 import io.airbyte.workers.internal.HeartbeatTimeoutChaperone
+import io.airbyte.workers.internal.StreamIndex
 import io.airbyte.workers.internal.bookkeeping.AirbyteMessageOrigin
 import io.airbyte.workers.internal.bookkeeping.AirbyteMessageTracker
 import io.airbyte.workers.internal.bookkeeping.events.ReplicationAirbyteMessageEvent
@@ -208,7 +209,10 @@ class ReplicationWorkerHelper(
 
     val sourceConfig =
       WorkerUtils.syncToWorkerSourceConfig(replicationInput)
-        .also { fieldSelector.populateFields(it.catalog) }
+        .also {
+          fieldSelector.populateFields(it.catalog)
+          messageTracker.syncStatsTracker.setStreamIndex(StreamIndex.fromCatalog(it.catalog))
+        }
 
     try {
       source.start(sourceConfig, jobRoot, ctx?.connectionId)
@@ -422,6 +426,53 @@ class ReplicationWorkerHelper(
       .let { Optional.of(it) }
   }
 
+  /**
+   * Batch version of [processMessageFromSource], messages are processed and returned in order.
+   *
+   * Runs of RECORD messages are handed over to the message tracker as a whole so that stats are
+   * updated once per stream instead of once per record. Any other message flushes the pending
+   * records first, so stats stay consistent with the order in which the source emitted messages.
+   */
+  fun processMessagesFromSource(sourceRawMessages: List<AirbyteMessage>): List<AirbyteMessage> {
+    if (sourceRawMessages.size == 1) {
+      return listOf(processMessageFromSource(sourceRawMessages[0]).get())
+    }
+
+    val pendingRecords = ArrayList<AirbyteMessage>(sourceRawMessages.size)
+    for (sourceRawMessage in sourceRawMessages) {
+      if (sourceRawMessage.type == Type.RECORD) {
+        fieldSelector.filterSelectedFields(sourceRawMessage)
+        fieldSelector.validateSchema(sourceRawMessage)
+        pendingRecords.add(sourceRawMessage)
+      } else {
+        acceptRecordsFromSource(pendingRecords)
+        internalProcessMessageFromSource(sourceRawMessage)
+      }
+    }
+    acceptRecordsFromSource(pendingRecords)
+
+    // As in processMessageFromSource, messages are only mapped once they have been tracked.
+    return sourceRawMessages.map { mapper.mapMessage(it) }
+  }
+
+  private fun acceptRecordsFromSource(records: MutableList<AirbyteMessage>) {
+    if (records.isEmpty()) {
+      return
+    }
+
+    messageTracker.acceptRecordsFromSource(records)
+
+    val previousRecordsRead = recordsRead
+    recordsRead += records.size
+    if (previousRecordsRead / 5000 != recordsRead / 5000) {
+      logger.info {
+        val bytes = FileUtils.byteCountToDisplaySize(messageTracker.syncStatsTracker.getTotalBytesEmitted())
+        "Records read: $recordsRead ($bytes)"
+      }
+    }
+    records.clear()
+  }
+
   fun isWorkerV2TestEnabled(): Boolean {
     return workloadEnabled
   }
@@ -48,6 +48,18 @@ class AirbyteMessageTracker(
     }
   }
 
+  /**
+   * Accepts a batch of RECORD messages emitted from a source. Equivalent to calling
+   * [acceptFromSource] on each message, but lets the stats tracker update its counters once per
+   * stream.
+   *
+   * @param msgs record messages to derive metadata from.
+   */
+  fun acceptRecordsFromSource(msgs: List<AirbyteMessage>) {
+    msgs.forEach { logMsgAsJson("source", it) }
+    syncStatsTracker.updateStats(msgs.map { it.record })
+  }
+
   /**
    * Accepts an AirbyteMessage emitted from a destination and tracks any metadata about it that is
    * required by the Platform.
@@ -22,6 +22,7 @@ import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair
 import io.airbyte.protocol.models.StreamDescriptor
 import io.airbyte.workers.context.ReplicationFeatureFlags
 import io.airbyte.workers.exception.InvalidChecksumException
+import io.airbyte.workers.internal.StreamIndex
 import io.github.oshai.kotlinlogging.KotlinLogging
 import io.micronaut.context.annotation.Parameter
 import io.micronaut.context.annotation.Prototype
@@ -32,6 +33,17 @@ import java.util.concurrent.atomic.AtomicLong
 
 private val logger = KotlinLogging.logger { }
 
+/**
+ * Stream trackers of the streams of the catalog, indexed by stream id. Trackers are still created
+ * lazily on the first message of a stream so that streams without any data are not reported.
+ */
+private class IndexedStreamTrackers(
+  val streamIndex: StreamIndex,
+) {
+  // Racing writes are harmless, they store the same tracker which is owned by streamTrackers.
+  val trackers: Array<StreamStatsTracker?> = arrayOfNulls(streamIndex.size())
+}
+
 private data class SyncStatsCounters(
   val estimatedRecordCount: AtomicLong = AtomicLong(),
   val estimatedBytesCount: AtomicLong = AtomicLong(),
@@ -49,6 +61,9 @@ class ParallelStreamStatsTracker(
   @param:Parameter private val attemptNumber: Int,
 ) : SyncStatsTracker {
   private val streamTrackers: MutableMap<AirbyteStreamNameNamespacePair, StreamStatsTracker> = ConcurrentHashMap()
+
+  @Volatile
+  private var indexedStreamTrackers = IndexedStreamTrackers(StreamIndex.EMPTY)
   private val syncStatsCounters = SyncStatsCounters()
   private var expectedEstimateType: Type? = null
   private var replicationFeatureFlags: ReplicationFeatureFlags? = null
@@ -69,11 +84,30 @@ class ParallelStreamStatsTracker(
     const val CHECKSUM_SOURCE_PLATFORM_MISMATCH = "source-platform-mismatch"
   }
 
+  override fun setStreamIndex(streamIndex: StreamIndex) {
+    indexedStreamTrackers = IndexedStreamTrackers(streamIndex)
+  }
+
   override fun updateStats(recordMessage: AirbyteRecordMessage) {
-    getOrCreateStreamStatsTracker(getNameNamespacePair(recordMessage))
+    getOrCreateStreamStatsTracker(recordMessage)
       .trackRecord(recordMessage)
   }
 
+  override fun updateStats(recordMessages: List<AirbyteRecordMessage>) {
+    // Records usually come in long runs of the same stream, track each run with a single update.
+    var start = 0
+    while (start < recordMessages.size) {
+      val first = recordMessages[start]
+      var end = start + 1
+      while (end < recordMessages.size && recordMessages[end].stream == first.stream && recordMessages[end].namespace == first.namespace) {
+        end++
+      }
+      getOrCreateStreamStatsTracker(first)
+        .trackRecords(recordMessages.subList(start, end))
+      start = end
+    }
+  }
+
   override fun updateEstimates(estimate: AirbyteEstimateTraceMessage) {
     if (hasEstimatesErrors) {
       return
@@ -339,11 +373,16 @@ class ParallelStreamStatsTracker(
    *        completed, emitted counts/bytes will be used as committed counts/bytes.
    * TODO make internal?
    */
-  fun getTotalStats(hasReplicationCompleted: Boolean = false): SyncStats {
+  fun getTotalStats(hasReplicationCompleted: Boolean = false): SyncStats = sumStreamSyncStats(getAllStreamSyncStats(hasReplicationCompleted))
+
+  /**
+   * Sum up the stats of the given streams into the [SyncStats] of the sync.
+   */
+  private fun sumStreamSyncStats(allStreamSyncStats: List<StreamSyncStats>): SyncStats {
     // For backwards compatibility with existing code which treats null and 0 differently,
     // if [getAllStreamSyncStats] is empty then treat it as a null itself.
     // [sumOf] methods handle null values as 0, which is a change that we don't want to make at this time.
-    val streamSyncStats = getAllStreamSyncStats(hasReplicationCompleted).takeIf { it.isNotEmpty() }
+    val streamSyncStats = allStreamSyncStats.takeIf { it.isNotEmpty() }
     val bytesCommitted = streamSyncStats?.sumOf { it.stats.bytesCommitted }
     val recordsCommitted = streamSyncStats?.sumOf { it.stats.recordsCommitted }
     val bytesEmitted = streamSyncStats?.sumOf { it.stats.bytesEmitted }
@@ -397,6 +436,52 @@ class ParallelStreamStatsTracker(
       .map { it.toStreamSyncStats(hasReplicationCompleted) }
   }
 
+  /**
+   * Read the counters of each stream once and build both the total and the per-stream stats from
+   * them, rather than going through the per-stream maps for every stream. The stats have the same
+   * shape as the ones built by [getTotalStats] and [getPerStreamStats] from the tracker's accessors.
+   */
+  override fun getStatsSnapshot(hasReplicationCompleted: Boolean): SyncStatsSnapshot {
+    val allStreamSyncStats = getAllStreamSyncStats(hasReplicationCompleted)
+    val summedStats = sumStreamSyncStats(allStreamSyncStats)
+
+    val totalStats =
+      SyncStats()
+        .withRecordsEmitted(summedStats.recordsEmitted ?: 0)
+        .withBytesEmitted(summedStats.bytesEmitted ?: 0)
+        .withSourceStateMessagesEmitted(getTotalSourceStateMessagesEmitted())
+        .withDestinationStateMessagesEmitted(getTotalDestinationStateMessagesEmitted())
+        .withMaxSecondsBeforeSourceStateMessageEmitted(getMaxSecondsToReceiveSourceStateMessage())
+        .withMeanSecondsBeforeSourceStateMessageEmitted(getMeanSecondsToReceiveSourceStateMessage())
+        .withMaxSecondsBetweenStateMessageEmittedandCommitted(getMaxSecondsBetweenStateMessageEmittedAndCommitted())
+        .withMeanSecondsBetweenStateMessageEmittedandCommitted(getMeanSecondsBetweenStateMessageEmittedAndCommitted())
+        .apply {
+          if (hasReplicationCompleted) {
+            bytesCommitted = bytesEmitted
+            recordsCommitted = recordsEmitted
+          } else {
+            bytesCommitted = summedStats.bytesCommitted
+            recordsCommitted = summedStats.recordsCommitted
+          }
+        }
+
+    val streamStats =
+      allStreamSyncStats.map {
+        StreamSyncStats()
+          .withStreamName(it.streamName)
+          .withStreamNamespace(it.streamNamespace)
+          .withStats(
+            SyncStats()
+              .withBytesEmitted(it.stats.bytesEmitted)
+              .withRecordsEmitted(it.stats.recordsEmitted)
+              .withBytesCommitted(it.stats.bytesCommitted)
+              .withRecordsCommitted(it.stats.recordsCommitted),
+          )
+      }
+
+    return SyncStatsSnapshot(totalStats = totalStats, streamStats = streamStats)
+  }
+
   override fun getStreamToCommittedBytes(): Map<AirbyteStreamNameNamespacePair, Long> =
     streamTrackers
       .filterValues { it.nameNamespacePair.name != null }
@@ -410,12 +495,12 @@ class ParallelStreamStatsTracker(
   override fun getStreamToEmittedBytes(): Map<AirbyteStreamNameNamespacePair, Long> =
     streamTrackers
       .filterValues { it.nameNamespacePair.name != null }
-      .mapValues { it.value.streamStats.emittedBytesCount.get() }
+      .mapValues { it.value.streamStats.emittedBytesCount.sum() }
 
   override fun getStreamToEmittedRecords(): Map<AirbyteStreamNameNamespacePair, Long> =
     streamTrackers
       .filterValues { it.nameNamespacePair.name != null }
-      .mapValues { it.value.streamStats.emittedRecordsCount.get() }
+      .mapValues { it.value.streamStats.emittedRecordsCount.sum() }
 
   override fun getStreamToEstimatedRecords(): Map<AirbyteStreamNameNamespacePair, Long> =
     if (hasEstimatesErrors) {
@@ -499,12 +584,12 @@ class ParallelStreamStatsTracker(
       .withStreamNamespace(nameNamespacePair.namespace)
       .withStats(
         SyncStats()
-          .withBytesEmitted(streamStats.emittedBytesCount.get())
-          .withRecordsEmitted(streamStats.emittedRecordsCount.get())
+          .withBytesEmitted(streamStats.emittedBytesCount.sum())
+          .withRecordsEmitted(streamStats.emittedRecordsCount.sum())
           .apply {
             if (hasReplicationCompleted) {
-              withBytesCommitted(streamStats.emittedBytesCount.get())
-              withRecordsCommitted(streamStats.emittedRecordsCount.get())
+              withBytesCommitted(streamStats.emittedBytesCount.sum())
+              withRecordsCommitted(streamStats.emittedRecordsCount.sum())
             } else {
               withBytesCommitted(streamStats.committedBytesCount.get())
               withRecordsCommitted(streamStats.committedRecordsCount.get())
@@ -521,6 +606,19 @@ class ParallelStreamStatsTracker(
       )
   }
 
+  /**
+   * Look up the tracker of a record's stream by stream id, without building a pair for each record.
+   */
+  private fun getOrCreateStreamStatsTracker(recordMessage: AirbyteRecordMessage): StreamStatsTracker {
+    val indexed = indexedStreamTrackers
+    val streamId = indexed.streamIndex.indexOf(recordMessage.stream, recordMessage.namespace)
+    if (streamId == StreamIndex.UNKNOWN_STREAM) {
+      return getOrCreateStreamStatsTracker(getNameNamespacePair(recordMessage))
+    }
+    return indexed.trackers[streamId]
+      ?: getOrCreateStreamStatsTracker(indexed.streamIndex.streamAt(streamId)).also { indexed.trackers[streamId] = it }
+  }
+
   /**
    * Get the [StreamStatsTracker] for a given stream. If this tracker doesn't exist, create it.
    */
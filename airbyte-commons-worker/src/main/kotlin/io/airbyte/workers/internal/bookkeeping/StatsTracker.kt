@@ -10,6 +10,7 @@ import io.airbyte.protocol.models.AirbyteEstimateTraceMessage
 import io.airbyte.protocol.models.AirbyteRecordMessage
 import io.airbyte.protocol.models.AirbyteStateMessage
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair
+import io.airbyte.workers.internal.RawRecordData
 import io.github.oshai.kotlinlogging.KotlinLogging
 import java.time.LocalDateTime
 import java.time.temporal.ChronoUnit
@@ -18,6 +19,7 @@ import java.util.concurrent.ConcurrentLinkedQueue
 import java.util.concurrent.atomic.AtomicBoolean
 import java.util.concurrent.atomic.AtomicLong
 import java.util.concurrent.atomic.LongAccumulator
+import java.util.concurrent.atomic.LongAdder
 
 /**
  * Track Stats for a specific stream.
@@ -32,13 +34,15 @@ import java.util.concurrent.atomic.LongAccumulator
  *
  * Data class for tracking stats of a given stream, this is also how stats are returned to the outside.
  *
- * All the counters are implemented as AtomicLong to avoid race conditions on updates.
+ * All the counters are implemented as AtomicLong to avoid race conditions on updates. The emitted
+ * counts are updated for every record, possibly from several threads, they are LongAdder to avoid
+ * contention on a single cache line. Their value is only summed up when stats are read.
  *
  * TODO: Make internal when [ParallelStreamStatsTracker] has converted.
  */
 data class StreamStatsCounters(
-  val emittedRecordsCount: AtomicLong = AtomicLong(),
-  val emittedBytesCount: AtomicLong = AtomicLong(),
+  val emittedRecordsCount: LongAdder = LongAdder(),
+  val emittedBytesCount: LongAdder = LongAdder(),
   val committedRecordsCount: AtomicLong = AtomicLong(),
   val committedBytesCount: AtomicLong = AtomicLong(),
   val estimatedRecordsCount: AtomicLong = AtomicLong(),
@@ -60,8 +64,8 @@ data class StreamStatsCounters(
  * once the state is acked by the destination.
  */
 data class EmittedStatsCounters(
-  val remittedRecordsCount: AtomicLong = AtomicLong(),
-  val emittedBytesCount: AtomicLong = AtomicLong(),
+  val remittedRecordsCount: LongAdder = LongAdder(),
+  val emittedBytesCount: LongAdder = LongAdder(),
 )
 
 /**
@@ -111,7 +115,7 @@ class StreamStatsTracker(
    * avoid having to traverse the map to get the global count.
    */
   fun trackRecord(recordMessage: AirbyteRecordMessage) {
-    val estimatedBytesSize: Long = Jsons.getEstimatedByteSize(recordMessage.data).toLong()
+    val estimatedBytesSize: Long = recordByteSize(recordMessage)
 
     // Update the current emitted stats
     // We do a local copy of the reference to emittedStats to ensure all the stats are
@@ -121,14 +125,41 @@ class StreamStatsTracker(
     // acquire the write.
     val emittedStatsToUpdate = emittedStats
     with(emittedStatsToUpdate) {
-      remittedRecordsCount.incrementAndGet()
-      emittedBytesCount.addAndGet(estimatedBytesSize)
+      remittedRecordsCount.increment()
+      emittedBytesCount.add(estimatedBytesSize)
     }
 
     // Update the global stream stats
     with(streamStats) {
-      emittedRecordsCount.incrementAndGet()
-      emittedBytesCount.addAndGet(estimatedBytesSize)
+      emittedRecordsCount.increment()
+      emittedBytesCount.add(estimatedBytesSize)
+    }
+  }
+
+  /**
+   * Bookkeeping for a batch of record messages read from the same stream.
+   *
+   * Equivalent to calling [trackRecord] for each record, but only updates the shared counters once
+   * for the whole batch.
+   */
+  fun trackRecords(recordMessages: List<AirbyteRecordMessage>) {
+    if (recordMessages.isEmpty()) {
+      return
+    }
+
+    val recordCount = recordMessages.size.toLong()
+    val estimatedBytesSize: Long = recordMessages.sumOf { recordByteSize(it) }
+
+    // See trackRecord on why we keep a local reference to emittedStats.
+    val emittedStatsToUpdate = emittedStats
+    with(emittedStatsToUpdate) {
+      remittedRecordsCount.add(recordCount)
+      emittedBytesCount.add(estimatedBytesSize)
+    }
+
+    with(streamStats) {
+      emittedRecordsCount.add(recordCount)
+      emittedBytesCount.add(estimatedBytesSize)
     }
   }
 
@@ -242,8 +273,8 @@ class StreamStatsTracker(
       stateHashes.remove(stagedStats.stateHash)
 
       // Increment committed stats as we are un-staging stats
-      streamStats.committedBytesCount.addAndGet(stagedStats.emittedStatsCounters.emittedBytesCount.get())
-      streamStats.committedRecordsCount.addAndGet(stagedStats.emittedStatsCounters.remittedRecordsCount.get())
+      streamStats.committedBytesCount.addAndGet(stagedStats.emittedStatsCounters.emittedBytesCount.sum())
+      streamStats.committedRecordsCount.addAndGet(stagedStats.emittedStatsCounters.remittedRecordsCount.sum())
 
       if (stagedStats.stateHash == stateHash) {
         break
@@ -273,7 +304,7 @@ class StreamStatsTracker(
     }
 
   fun getTrackedEmittedRecordsSinceLastStateMessage(): Long {
-    return previousEmittedStats.remittedRecordsCount.get()
+    return previousEmittedStats.remittedRecordsCount.sum()
   }
 
   fun getTrackedCommittedRecordsSinceLastStateMessage(stateMessage: AirbyteStateMessage): Long {
@@ -282,7 +313,7 @@ class StreamStatsTracker(
     if (stagedStats == null) {
       logger.warn { "Could not find the state message with hash $stateHashCode in the stagedStatsList" }
     }
-    return stagedStats?.emittedStatsCounters?.remittedRecordsCount?.get() ?: 0
+    return stagedStats?.emittedStatsCounters?.remittedRecordsCount?.sum() ?: 0
   }
 
   fun areStreamStatsReliable(): Boolean {
@@ -298,6 +329,17 @@ fun AirbyteStateMessage.getStateHashCode(hashFunction: HashFunction): Int =
     else -> hashFunction.hashBytes(Jsons.serialize(data).toByteArray()).hashCode()
   }
 
+/**
+ * Estimated size of the record data, see [Jsons.getEstimatedByteSize]. Records read from a source are
+ * measured from the bytes they were parsed from, with the same meaning, whether their data was kept
+ * raw or not; records whose data was replaced since (e.g. projected by field selection) or which
+ * were not parsed from bytes are serialized to estimate it.
+ */
+private fun recordByteSize(recordMessage: AirbyteRecordMessage): Long {
+  val parsedByteSize = RawRecordData.estimatedByteSize(recordMessage)
+  return if (parsedByteSize >= 0) parsedByteSize else Jsons.getEstimatedByteSize(recordMessage.data).toLong()
+}
+
 private fun updateMean(
   previousMean: Double,
   previousCount: Long,
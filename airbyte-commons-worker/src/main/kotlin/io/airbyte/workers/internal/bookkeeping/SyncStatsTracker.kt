@@ -3,11 +3,14 @@
  */
 package io.airbyte.workers.internal.bookkeeping
 
+import io.airbyte.config.StreamSyncStats
+import io.airbyte.config.SyncStats
 import io.airbyte.protocol.models.AirbyteEstimateTraceMessage
 import io.airbyte.protocol.models.AirbyteRecordMessage
 import io.airbyte.protocol.models.AirbyteStateMessage
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair
 import io.airbyte.workers.context.ReplicationFeatureFlags
+import io.airbyte.workers.internal.StreamIndex
 
 /**
  * Track stats during a sync.
@@ -18,6 +21,13 @@ interface SyncStatsTracker {
    */
   fun updateStats(recordMessage: AirbyteRecordMessage)
 
+  /**
+   * Update the stats count with data from a batch of record messages, in order.
+   */
+  fun updateStats(recordMessages: List<AirbyteRecordMessage>) {
+    recordMessages.forEach { updateStats(it) }
+  }
+
   /**
    * There are several assumptions here:
    *
@@ -153,4 +163,31 @@ interface SyncStatsTracker {
   fun getUnreliableStateTimingMetrics(): Boolean
 
   fun setReplicationFeatureFlags(replicationFeatureFlags: ReplicationFeatureFlags?): Unit
+
+  /**
+   * Set the ids of the streams of the catalog, so that per-stream stats can be looked up by stream id
+   * rather than by name and namespace.
+   */
+  fun setStreamIndex(streamIndex: StreamIndex) = Unit
+
+  /**
+   * Get the total and per-stream stats of the sync at once.
+   *
+   * @param hasReplicationCompleted defines whether the replication has completed. If it has, emitted
+   *        counts/bytes are used as committed counts/bytes.
+   */
+  fun getStatsSnapshot(hasReplicationCompleted: Boolean): SyncStatsSnapshot =
+    SyncStatsSnapshot(
+      totalStats = getTotalStats(hasReplicationCompleted),
+      streamStats = getPerStreamStats(hasReplicationCompleted),
+    )
 }
+
+/**
+ * Stats of a sync at a point in time, the total stats are computed from the same reads of the
+ * counters as the per-stream stats.
+ */
+data class SyncStatsSnapshot(
+  val totalStats: SyncStats,
+  val streamStats: List<StreamSyncStats>,
+)
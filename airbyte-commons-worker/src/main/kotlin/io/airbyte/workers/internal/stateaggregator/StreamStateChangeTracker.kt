@@ -0,0 +1,68 @@
+package io.airbyte.workers.internal.stateaggregator
+
+import com.fasterxml.jackson.databind.JsonNode
+import io.airbyte.config.StateType
+import io.airbyte.config.StateWrapper
+import io.airbyte.protocol.models.AirbyteGlobalState
+import io.airbyte.protocol.models.AirbyteStateMessage
+import io.airbyte.protocol.models.AirbyteStreamState
+import io.airbyte.protocol.models.StreamDescriptor
+
+/**
+ * Tracks the per-stream states which were successfully flushed, so that a flush only sends the
+ * streams whose state changed since then.
+ *
+ * The state buffer of a flush only holds the streams which emitted a state since the previous
+ * successful flush. A stream can still emit the same state again, and a GLOBAL state always carries
+ * the state of every stream. Persisting only the changed streams is safe because the persistence
+ * only writes the streams it receives.
+ */
+class StreamStateChangeTracker {
+  private val flushedStreamStates = mutableMapOf<StreamDescriptor, JsonNode?>()
+
+  /**
+   * Remove the streams whose state is the same as the last flushed one.
+   *
+   * @return the state to flush, or null if none of the streams changed. LEGACY states are returned
+   * as is.
+   */
+  fun getChanges(stateWrapper: StateWrapper): StateWrapper? =
+    when (stateWrapper.stateType) {
+      StateType.STREAM -> {
+        val changedMessages = stateWrapper.stateMessages.filter { hasChanged(it.stream) }
+        changedMessages.takeIf { it.isNotEmpty() }?.let {
+          StateWrapper().withStateType(StateType.STREAM).withStateMessages(it)
+        }
+      }
+      StateType.GLOBAL -> {
+        val global = stateWrapper.global.global
+        // The shared state is always sent, it holds the position of the source.
+        StateWrapper()
+          .withStateType(StateType.GLOBAL)
+          .withGlobal(
+            AirbyteStateMessage()
+              .withType(stateWrapper.global.type)
+              .withGlobal(
+                AirbyteGlobalState()
+                  .withSharedState(global.sharedState)
+                  .withStreamStates(global.streamStates?.filter { hasChanged(it) }),
+              ),
+          )
+      }
+      else -> stateWrapper
+    }
+
+  /**
+   * Record the streams of a state which was successfully flushed.
+   */
+  fun onFlushed(stateWrapper: StateWrapper) {
+    when (stateWrapper.stateType) {
+      StateType.STREAM -> stateWrapper.stateMessages.forEach { flushedStreamStates[it.stream.streamDescriptor] = it.stream.streamState }
+      StateType.GLOBAL -> stateWrapper.global.global.streamStates?.forEach { flushedStreamStates[it.streamDescriptor] = it.streamState }
+      else -> {}
+    }
+  }
+
+  private fun hasChanged(streamState: AirbyteStreamState): Boolean =
+    !flushedStreamStates.containsKey(streamState.streamDescriptor) || flushedStreamStates[streamState.streamDescriptor] != streamState.streamState
+}
@@ -28,10 +28,9 @@ import io.airbyte.protocol.models.AirbyteStateMessage
 import io.airbyte.protocol.models.CatalogHelpers
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog
 import io.airbyte.workers.internal.bookkeeping.SyncStatsTracker
-import io.airbyte.workers.internal.bookkeeping.getPerStreamStats
-import io.airbyte.workers.internal.bookkeeping.getTotalStats
 import io.airbyte.workers.internal.stateaggregator.StateAggregator
 import io.airbyte.workers.internal.stateaggregator.StateAggregatorFactory
+import io.airbyte.workers.internal.stateaggregator.StreamStateChangeTracker
 import io.github.oshai.kotlinlogging.KotlinLogging
 import io.micronaut.context.annotation.Parameter
 import io.micronaut.context.annotation.Prototype
@@ -86,6 +85,7 @@ class SyncPersistenceImpl
     private var onlyFlushAtTheEnd = false
     private var isReceivingStats = false
     private var stateToFlush: StateAggregator? = null
+    private val streamStateChangeTracker = StreamStateChangeTracker()
     private var statsToPersist: SaveStatsRequestBody? = null
     private var retryWithJitterConfig: RetryWithJitterConfig? = null
 
@@ -314,12 +314,19 @@ class SyncPersistenceImpl
       val state = stateToFlush?.getAggregated() ?: return
       val maybeStateWrapper = StateMessageHelper.getTypedState(state.state).getOrNull() ?: return
 
+      // Only send the streams whose state changed since the last successful flush.
+      val changedStateWrapper = streamStateChangeTracker.getChanges(maybeStateWrapper)
+      if (changedStateWrapper == null) {
+        stateToFlush = null
+        return
+      }
+
       metricClient.count(OssMetricsRegistry.STATE_COMMIT_ATTEMPT, 1)
 
       val stateApiRequest =
         ConnectionStateCreateOrUpdate()
           .connectionId(connectionId)
-          .connectionState(StateConverter.toClient(connectionId, maybeStateWrapper))
+          .connectionState(StateConverter.toClient(connectionId, changedStateWrapper))
 
       try {
         stateApi.createOrUpdateState(stateApiRequest)
@@ -330,6 +337,7 @@ class SyncPersistenceImpl
 
       // Only reset stateToFlush if the API call was successful
       stateToFlush = null
+      streamStateChangeTracker.onFlushed(changedStateWrapper)
       metricClient.count(OssMetricsRegistry.STATE_COMMIT_ATTEMPT_SUCCESSFUL, 1)
     }
 
@@ -396,6 +404,11 @@ class SyncPersistenceImpl
       syncStatsTracker.updateStats(recordMessage)
     }
 
+    override fun updateStats(recordMessages: List<AirbyteRecordMessage>) {
+      isReceivingStats = true
+      syncStatsTracker.updateStats(recordMessages)
+    }
+
     override fun updateEstimates(estimate: AirbyteEstimateTraceMessage) {
       isReceivingStats = true
       syncStatsTracker.updateEstimates(estimate)
@@ -419,8 +432,7 @@ private fun buildSaveStatsRequest(
   jobId: Long,
   attemptNumber: Int,
 ): SaveStatsRequestBody {
-  val totalSyncStats = syncStatsTracker.getTotalStats(false)
-  val streamSyncStats = syncStatsTracker.getPerStreamStats(false)
+  val (totalSyncStats, streamSyncStats) = syncStatsTracker.getStatsSnapshot(false)
 
   return SaveStatsRequestBody()
     .jobId(jobId)
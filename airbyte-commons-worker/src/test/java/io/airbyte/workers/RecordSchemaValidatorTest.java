@@ -5,19 +5,32 @@
 package io.airbyte.workers;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.StandardSync;
 import io.airbyte.persistence.job.models.ReplicationInput;
 import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.validation.json.JsonSchemaValidator;
+import io.airbyte.workers.RecordSchemaValidator.OverflowPolicy;
+import io.airbyte.workers.internal.RawRecordData;
 import io.airbyte.workers.test_utils.AirbyteMessageUtils;
 import io.airbyte.workers.test_utils.TestConfigHelpers;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.tuple.ImmutablePair;
@@ -96,4 +109,110 @@ class RecordSchemaValidatorTest {
     assertEquals(2, uncountedValidationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).size());
   }
 
+  @Test
+  void testValidateOnlySampledRecords() throws InterruptedException {
+    final ExecutorService executorService = Executors.newFixedThreadPool(1);
+    final var recordSchemaValidator =
+        new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()), executorService,
+            new JsonSchemaValidator(), 2);
+    final List<AirbyteMessage> messagesToValidate = List.of(INVALID_RECORD_1, INVALID_RECORD_2, INVALID_RECORD_1, INVALID_RECORD_2, INVALID_RECORD_1);
+
+    messagesToValidate.forEach(message -> recordSchemaValidator.validateSchema(
+        message.getRecord(),
+        AIRBYTE_STREAM_NAME_NAMESPACE_PAIR,
+        validationErrors));
+    executorService.shutdown();
+    executorService.awaitTermination(3, TimeUnit.SECONDS);
+
+    // records 0, 2 and 4 are validated
+    assertEquals(3, (int) validationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).getRight());
+  }
+
+  @Test
+  void testValidationPoolIsSizedToTheProcessorsUpToTheMaxThreads() {
+    assertEquals(8, RecordSchemaValidator.validationPoolSize(8, 0));
+    assertEquals(4, RecordSchemaValidator.validationPoolSize(8, 4));
+    assertEquals(2, RecordSchemaValidator.validationPoolSize(2, 4));
+  }
+
+  @Test
+  void testValidateRawRecordData() throws InterruptedException {
+    final ExecutorService executorService = Executors.newFixedThreadPool(1);
+    final var recordSchemaValidator =
+        new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()), executorService,
+            new JsonSchemaValidator(), 2);
+    final AirbyteRecordMessage sampled = toRawRecord(INVALID_RECORD_1);
+    final AirbyteRecordMessage skipped = toRawRecord(INVALID_RECORD_1);
+
+    recordSchemaValidator.validateSchema(sampled, AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors);
+    recordSchemaValidator.validateSchema(skipped, AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors);
+    executorService.shutdown();
+    executorService.awaitTermination(3, TimeUnit.SECONDS);
+
+    // raw data is validated like any other data, and only materialized for the sampled records
+    assertEquals(1, (int) validationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).getRight());
+    assertFalse(RawRecordData.isRaw(sampled.getData()));
+    assertEquals(INVALID_RECORD_1.getRecord().getData(), sampled.getData());
+    assertTrue(RawRecordData.isRaw(skipped.getData()));
+  }
+
+  @Test
+  void testValidateWithPoolValidatesOnCallerWhenQueueIsFull() throws Exception {
+    final CountDownLatch validationStarted = new CountDownLatch(1);
+    final CountDownLatch releaseValidation = new CountDownLatch(1);
+    final Set<Thread> validationThreads = ConcurrentHashMap.newKeySet();
+    final JsonSchemaValidator jsonSchemaValidator = mock(JsonSchemaValidator.class);
+    when(jsonSchemaValidator.validateInitializedSchema(any(), any())).thenAnswer(invocation -> {
+      validationThreads.add(Thread.currentThread());
+      if (validationStarted.getCount() > 0) {
+        validationStarted.countDown();
+        releaseValidation.await();
+      }
+      return Set.of();
+    });
+
+    try (final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()),
+        jsonSchemaValidator, 1, 1, OverflowPolicy.BLOCK, 1)) {
+      // the first record blocks the only validation thread, the second one fills the queue
+      recordSchemaValidator.validateSchema(VALID_RECORD.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors);
+      validationStarted.await(3, TimeUnit.SECONDS);
+      recordSchemaValidator.validateSchema(VALID_RECORD.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors);
+      recordSchemaValidator.validateSchema(VALID_RECORD.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors);
+
+      assertTrue(validationThreads.contains(Thread.currentThread()));
+      assertEquals(0, recordSchemaValidator.getDroppedValidationCount());
+      releaseValidation.countDown();
+    }
+  }
+
+  @Test
+  void testValidateWithPoolDropsRecordsWhenQueueIsFull() throws Exception {
+    final CountDownLatch validationStarted = new CountDownLatch(1);
+    final CountDownLatch releaseValidation = new CountDownLatch(1);
+    final JsonSchemaValidator jsonSchemaValidator = mock(JsonSchemaValidator.class);
+    when(jsonSchemaValidator.validateInitializedSchema(any(), any())).thenAnswer(invocation -> {
+      validationStarted.countDown();
+      releaseValidation.await();
+      return Set.of();
+    });
+
+    try (final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()),
+        jsonSchemaValidator, 1, 1, OverflowPolicy.DROP, 1)) {
+      // the first record blocks the only validation thread, the second one fills the queue
+      recordSchemaValidator.validateSchema(VALID_RECORD.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors);
+      validationStarted.await(3, TimeUnit.SECONDS);
+      recordSchemaValidator.validateSchema(VALID_RECORD.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors);
+      recordSchemaValidator.validateSchema(VALID_RECORD.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors);
+      recordSchemaValidator.validateSchema(VALID_RECORD.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors);
+
+      assertEquals(2, recordSchemaValidator.getDroppedValidationCount());
+      releaseValidation.countDown();
+    }
+  }
+
+  private static AirbyteRecordMessage toRawRecord(final AirbyteMessage message) {
+    final byte[] bytes = Jsons.serialize(message).getBytes(StandardCharsets.UTF_8);
+    return RawRecordData.tryParseRecord(bytes, bytes.length).orElseThrow().getRecord();
+  }
+
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import io.airbyte.protocol.models.AirbyteMessage;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+
+public class BatchedBufferedReplicationWorkerTest extends BufferedReplicationWorkerTest {
+
+  @BeforeEach
+  void setUpBatchedMessageTracker() {
+    // Batches of records go through acceptRecordsFromSource, route them to acceptFromSource so that
+    // the shared tests stubbing acceptFromSource still apply.
+    doAnswer(invocation -> {
+      final List<AirbyteMessage> messages = invocation.getArgument(0);
+      for (final AirbyteMessage message : messages) {
+        messageTracker.acceptFromSource(message);
+      }
+      return null;
+    }).when(messageTracker).acceptRecordsFromSource(any());
+  }
+
+  @Override
+  public int getMessageBatchSize() {
+    return 10;
+  }
+
+}
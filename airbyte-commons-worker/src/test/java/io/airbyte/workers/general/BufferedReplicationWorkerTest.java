@@ -10,6 +10,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.spy;
 
+import io.airbyte.commons.concurrency.RingBufferClosableQueue.WaitStrategy;
 import io.airbyte.commons.converters.ThreadedTimeTracker;
 import io.airbyte.config.ReplicationOutput;
 import io.airbyte.config.StandardSyncSummary.ReplicationStatus;
@@ -42,13 +43,19 @@ class BufferedReplicationWorkerTest extends ReplicationWorkerTest {
         replicationWorkerHelper,
         destinationTimeoutMonitor,
         getQueueType(),
-        OptionalInt.of(1));
+        OptionalInt.of(1),
+        WaitStrategy.PARK,
+        getMessageBatchSize());
   }
 
   public BufferedReplicationWorkerType getQueueType() {
     return BufferedReplicationWorkerType.BUFFERED_WITH_LINKED_BLOCKING_QUEUE;
   }
 
+  public int getMessageBatchSize() {
+    return 1;
+  }
+
   // BufferedReplicationWorkerTests.
   // Tests in this class should be implementation specific, general behavior tests should be added to
   // the ReplicationWorkerTest.
@@ -0,0 +1,14 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+public class OffHeapBufferedReplicationWorkerTest extends BufferedReplicationWorkerTest {
+
+  @Override
+  public BufferedReplicationWorkerType getQueueType() {
+    return BufferedReplicationWorkerType.BUFFERED_WITH_OFF_HEAP_QUEUE;
+  }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.protocol.models.AirbyteStateMessage;
+import io.airbyte.workers.general.OffHeapMessageQueue.ByteRing;
+import io.airbyte.workers.internal.RawRecordData;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class OffHeapMessageQueueTest {
+
+  private static final String RAW_RECORD =
+      "{\"type\":\"RECORD\",\"record\":{\"stream\":\"users\","
+          + "\"data\":{\"name\":\"élève\",\"score\":1.50},\"emitted_at\":1695224525688}}";
+
+  private static AirbyteMessage record(final int id) {
+    return new AirbyteMessage().withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage().withStream("users").withData(Jsons.jsonNode(Map.of("id", id))).withEmittedAt(1L));
+  }
+
+  private static List<AirbyteMessage> batch(final int... ids) {
+    final List<AirbyteMessage> batch = new ArrayList<>();
+    for (final int id : ids) {
+      batch.add(record(id));
+    }
+    return batch;
+  }
+
+  @Test
+  void testBasicAddPoll() throws InterruptedException {
+    final OffHeapMessageQueue queue = new OffHeapMessageQueue(1024, 1024);
+    final AirbyteMessage state = new AirbyteMessage().withType(Type.STATE)
+        .withState(new AirbyteStateMessage().withData(Jsons.jsonNode(Map.of("cursor", 5))));
+
+    assertEquals(0, queue.size());
+    assertTrue(queue.add(batch(1, 2)));
+    assertTrue(queue.add(List.of(state)));
+    assertEquals(2, queue.size());
+
+    assertEquals(batch(1, 2), queue.poll());
+    assertEquals(List.of(state), queue.poll());
+    assertEquals(0, queue.size());
+    assertNull(queue.poll());
+  }
+
+  @Test
+  void testRawRecordDataStaysRaw() throws InterruptedException {
+    final byte[] bytes = RAW_RECORD.getBytes(StandardCharsets.UTF_8);
+    final AirbyteMessage raw = RawRecordData.tryParseRecord(bytes, bytes.length).orElseThrow();
+    final OffHeapMessageQueue queue = new OffHeapMessageQueue(1024, 1024);
+
+    assertTrue(queue.add(List.of(raw)));
+    final AirbyteMessage polled = queue.poll().get(0);
+
+    assertTrue(RawRecordData.isRaw(polled.getRecord().getData()));
+    assertEquals(Jsons.serialize(raw), Jsons.serialize(polled));
+  }
+
+  @Test
+  void testSpillsWhenMemoryIsFullAndKeepsOrder() throws InterruptedException {
+    final OffHeapMessageQueue queue = new OffHeapMessageQueue(256, 64 * 1024);
+
+    for (int i = 0; i < 100; i++) {
+      assertTrue(queue.add(batch(i)));
+    }
+    assertTrue(queue.hasSpilled());
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals(batch(i), queue.poll());
+    }
+    assertNull(queue.poll());
+  }
+
+  @Test
+  void testAddReturnsFalseWhenFull() throws InterruptedException {
+    final OffHeapMessageQueue queue = new OffHeapMessageQueue(256, 256);
+
+    int added = 0;
+    while (queue.add(batch(added))) {
+      added++;
+    }
+    assertTrue(added > 0);
+
+    // room is made by polling
+    assertEquals(batch(0), queue.poll());
+    assertTrue(queue.add(batch(added)));
+  }
+
+  @Test
+  void testBatchLargerThanTheBuffersIsOnlyAddedToAnEmptyQueue() throws InterruptedException {
+    final OffHeapMessageQueue queue = new OffHeapMessageQueue(64, 64);
+    final List<AirbyteMessage> largeBatch = batch(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+    assertTrue(queue.add(largeBatch));
+    assertFalse(queue.add(largeBatch));
+    assertEquals(largeBatch, queue.poll());
+    assertTrue(queue.add(largeBatch));
+  }
+
+  @Test
+  void testClose() throws InterruptedException {
+    final OffHeapMessageQueue queue = new OffHeapMessageQueue(1024, 1024);
+
+    assertTrue(queue.add(batch(1)));
+    queue.close();
+
+    assertTrue(queue.isClosed());
+    assertFalse(queue.isDone());
+    assertFalse(queue.add(batch(2)));
+    assertEquals(batch(1), queue.poll());
+    assertTrue(queue.isDone());
+  }
+
+  @Test
+  void testByteRingReusesReleasedSpace() {
+    final ByteRing ring = new ByteRing(ByteBuffer.allocate(10));
+
+    assertEquals(0, ring.allocate(4));
+    assertEquals(4, ring.allocate(4));
+    // not enough contiguous space at the end nor at the start
+    assertEquals(-1, ring.allocate(4));
+
+    ring.release(0, 4);
+    // wraps around to the released space
+    assertEquals(0, ring.allocate(4));
+    assertEquals(-1, ring.allocate(1));
+
+    ring.release(4, 4);
+    ring.release(0, 4);
+    assertEquals(0, ring.allocate(10));
+  }
+
+}
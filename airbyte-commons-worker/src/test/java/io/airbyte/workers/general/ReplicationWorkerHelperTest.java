@@ -10,6 +10,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -39,12 +40,15 @@ import io.airbyte.workers.internal.bookkeeping.AirbyteMessageTracker;
 import io.airbyte.workers.internal.bookkeeping.SyncStatsTracker;
 import io.airbyte.workers.internal.bookkeeping.events.ReplicationAirbyteMessageEventPublishingHelper;
 import io.airbyte.workers.internal.syncpersistence.SyncPersistence;
+import io.airbyte.workers.test_utils.AirbyteMessageUtils;
 import io.airbyte.workload.api.client.generated.WorkloadApi;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
 class ReplicationWorkerHelperTest {
 
@@ -155,6 +159,27 @@ class ReplicationWorkerHelperTest {
     assertEquals(Optional.of(mappedSourceMessage), processedMessageFromSource);
   }
 
+  @Test
+  void testBatchOfMessagesIsTrackedInOrder() {
+    final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage("stream", "field", "1");
+    final AirbyteMessage record2 = AirbyteMessageUtils.createRecordMessage("stream", "field", "2");
+    final AirbyteMessage state = AirbyteMessageUtils.createStateMessage("stream", "checkpoint", "1");
+    final AirbyteMessage record3 = AirbyteMessageUtils.createRecordMessage("stream", "field", "3");
+    final AirbyteMessage mappedRecord3 = AirbyteMessageUtils.createRecordMessage("mapped_stream", "field", "3");
+
+    doReturn(state).when(replicationWorkerHelper).internalProcessMessageFromSource(state);
+    when(mapper.mapMessage(any())).thenAnswer(i -> i.getArgument(0));
+    when(mapper.mapMessage(record3)).thenReturn(mappedRecord3);
+
+    final List<AirbyteMessage> processedMessages = replicationWorkerHelper.processMessagesFromSource(List.of(record1, record2, state, record3));
+
+    assertEquals(List.of(record1, record2, state, mappedRecord3), processedMessages);
+    final InOrder inOrder = inOrder(messageTracker, replicationWorkerHelper);
+    inOrder.verify(messageTracker).acceptRecordsFromSource(List.of(record1, record2));
+    inOrder.verify(replicationWorkerHelper).internalProcessMessageFromSource(state);
+    inOrder.verify(messageTracker).acceptRecordsFromSource(List.of(record3));
+  }
+
   @Test
   void testMessageMapIsRevertedBeforeProcessing() {
     final AirbyteMessage destinationRawMessage = mock(AirbyteMessage.class);
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FieldProjectionTest {
+
+  private static final String DATA = """
+                                     {"id":1,"name":"a","address":{"city":"Paris","zip":"75001","geo":{"lat":1.5,"lon":2.5}},"tags":["x"],"note":null}
+                                     """;
+
+  @Test
+  void testProjectTopLevelFields() {
+    final FieldProjection projection = FieldProjection.compile(List.of(List.of("id"), List.of("address"), List.of("missing")));
+
+    assertEquals(Jsons.deserialize("""
+                                   {"id":1,"address":{"city":"Paris","zip":"75001","geo":{"lat":1.5,"lon":2.5}}}
+                                   """), projection.apply(data()));
+  }
+
+  @Test
+  void testProjectNestedFields() {
+    final FieldProjection projection = FieldProjection.compile(List.of(List.of("address", "city"), List.of("address", "geo", "lat"), List.of("note")));
+
+    assertEquals(Jsons.deserialize("""
+                                   {"address":{"city":"Paris","geo":{"lat":1.5}},"note":null}
+                                   """), projection.apply(data()));
+  }
+
+  @Test
+  void testSelectingAFieldKeepsAllOfItsNestedFields() {
+    final FieldProjection projection = FieldProjection.compile(List.of(List.of("address", "city"), List.of("address")));
+    final FieldProjection reversed = FieldProjection.compile(List.of(List.of("address"), List.of("address", "city")));
+
+    final JsonNode expected = Jsons.deserialize("""
+                                                {"address":{"city":"Paris","zip":"75001","geo":{"lat":1.5,"lon":2.5}}}
+                                                """);
+    assertEquals(expected, projection.apply(data()));
+    assertEquals(expected, reversed.apply(data()));
+  }
+
+  @Test
+  void testNonObjectValuesAreKeptWhenNestedFieldsAreSelected() {
+    final FieldProjection projection = FieldProjection.compile(List.of(List.of("tags", "a"), List.of("name", "b")));
+
+    assertEquals(Jsons.deserialize("""
+                                   {"name":"a","tags":["x"]}
+                                   """), projection.apply(data()));
+  }
+
+  @Test
+  void testApplyLeavesTheInputUntouched() {
+    final ObjectNode data = data();
+    FieldProjection.compile(List.of(List.of("id"))).apply(data);
+
+    assertEquals(data(), data);
+  }
+
+  @Test
+  void testEmptyPathsAreRejected() {
+    assertThrows(IllegalArgumentException.class, () -> FieldProjection.compile(List.of(List.of())));
+  }
+
+  private static ObjectNode data() {
+    return (ObjectNode) Jsons.deserialize(DATA);
+  }
+
+}
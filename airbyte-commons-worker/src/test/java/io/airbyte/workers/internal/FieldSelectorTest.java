@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
+import io.airbyte.workers.RecordSchemaValidator;
+import io.airbyte.workers.WorkerMetricReporter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FieldSelectorTest {
+
+  private static final String STREAM_NAME = "users";
+  // name is not selected. address.zip and address.geo.lon are not declared, but nested objects are kept
+  // whole.
+  private static final String SCHEMA = """
+                                       {"type":"object","properties":{
+                                         "id":{"type":"integer"},
+                                         "address":{"type":["null","object"],"properties":{
+                                           "city":{"type":"string"},
+                                           "geo":{"type":"object","properties":{"lat":{"type":"number"}}}}},
+                                         "tags":{"type":"object"}}}
+                                       """;
+  private static final String RECORD = """
+                                       {"type":"RECORD","record":{"stream":"users","emitted_at":1,"data":{"id":1,"name":"a",
+                                       "address":{"city":"Paris","zip":"75001","geo":{"lat":1.5,"lon":2.5}},"tags":{"a":1,"b":2}}}}
+                                       """;
+  private static final String SELECTED_DATA = """
+                                              {"id":1,"address":{"city":"Paris","zip":"75001","geo":{"lat":1.5,"lon":2.5}},
+                                              "tags":{"a":1,"b":2}}
+                                              """;
+
+  private WorkerMetricReporter metricReporter;
+  private FieldSelector fieldSelector;
+
+  @BeforeEach
+  void setup() {
+    metricReporter = mock(WorkerMetricReporter.class);
+    fieldSelector = new FieldSelector(mock(RecordSchemaValidator.class), metricReporter, true, false);
+    fieldSelector.populateFields(new ConfiguredAirbyteCatalog().withStreams(List.of(
+        new ConfiguredAirbyteStream().withStream(new AirbyteStream().withName(STREAM_NAME).withJsonSchema(Jsons.deserialize(SCHEMA))))));
+  }
+
+  @Test
+  void testFilterSelectedFieldsKeepsNestedObjectsWhole() {
+    final AirbyteMessage message = Jsons.deserialize(RECORD, AirbyteMessage.class);
+
+    fieldSelector.filterSelectedFields(message);
+
+    assertEquals(Jsons.deserialize(SELECTED_DATA), message.getRecord().getData());
+  }
+
+  @Test
+  void testFilterSelectedFieldsOfRawRecordDataKeepsNestedObjectsWhole() {
+    final byte[] bytes = RECORD.strip().getBytes(StandardCharsets.UTF_8);
+    final AirbyteMessage message = RawRecordData.tryParseRecord(bytes, bytes.length).orElseThrow();
+
+    fieldSelector.filterSelectedFields(message);
+
+    final AirbyteRecordMessage record = message.getRecord();
+    assertEquals(Jsons.deserialize(SELECTED_DATA), record.getData());
+  }
+
+  @Test
+  void testUnexpectedFieldsOfRawRecordDataAreReported() {
+    final byte[] bytes = RECORD.strip().getBytes(StandardCharsets.UTF_8);
+    final AirbyteMessage message = RawRecordData.tryParseRecord(bytes, bytes.length).orElseThrow();
+
+    // the mocked validator does not materialize the data, as for a record which is not sampled
+    fieldSelector.validateSchema(message);
+    fieldSelector.reportMetrics(UUID.randomUUID());
+
+    assertTrue(RawRecordData.isRaw(message.getRecord().getData()));
+    verify(metricReporter).trackUnexpectedFields(new AirbyteStreamNameNamespacePair(STREAM_NAME, null), Set.of("name"));
+  }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class RawRecordDataTest {
+
+  private static final String RECORD =
+      "{\"type\":\"RECORD\",\"record\":{\"namespace\":\"public\",\"stream\":\"users\","
+          + "\"data\":{\"name\":\"élève\",\"score\":1.50,\"tags\":[{\"a\":null}]},\"emitted_at\":1695224525688}}";
+
+  @Test
+  void testParseKeepsDataRaw() {
+    final AirbyteMessage message = parse(RECORD).orElseThrow();
+    final AirbyteRecordMessage record = message.getRecord();
+
+    assertEquals(AirbyteMessage.Type.RECORD, message.getType());
+    assertEquals("users", record.getStream());
+    assertEquals("public", record.getNamespace());
+    assertEquals(1695224525688L, record.getEmittedAt());
+    assertTrue(RawRecordData.isRaw(record.getData()));
+  }
+
+  @Test
+  void testEstimatedByteSizeIsTheLengthOfTheCompactData() {
+    final AirbyteMessage raw = parse(RECORD).orElseThrow();
+    final String data = "{\"name\":\"élève\",\"score\":1.50,\"tags\":[{\"a\":null}]}";
+
+    assertEquals(data.length(), RawRecordData.estimatedByteSize(raw.getRecord().getData()));
+    assertEquals(-1, RawRecordData.estimatedByteSize(Jsons.deserialize(data)));
+  }
+
+  @Test
+  void testEstimatedByteSizeMatchesTheParsedData() {
+    final String line = """
+                        {"type": "RECORD", "record": {"stream": "users", "emitted_at": 1, "data": {
+                          "name" : "élève 🎓",
+                          "quote" : "a \\"b\\" \\\\ c",
+                          "tags" : [ {"a" : null}, "\\t" ]
+                        }}}
+                        """;
+    final AirbyteMessage raw = parse(line).orElseThrow();
+    final AirbyteMessage parsed = Jsons.deserialize(line, AirbyteMessage.class);
+
+    assertEquals(Jsons.getEstimatedByteSize(parsed.getRecord().getData()), RawRecordData.estimatedByteSize(raw.getRecord().getData()));
+  }
+
+  @Test
+  void testSerializationWritesRawDataVerbatim() {
+    final AirbyteMessage raw = parse(RECORD).orElseThrow();
+    final AirbyteMessage parsed = Jsons.tryDeserializeExact(RECORD, AirbyteMessage.class).orElseThrow();
+
+    assertEquals(Jsons.serialize(parsed), Jsons.serialize(raw));
+    assertEquals(Jsons.getEstimatedByteSize(parsed.getRecord().getData()), Jsons.getEstimatedByteSize(raw.getRecord().getData()));
+  }
+
+  @Test
+  void testMaterialize() {
+    final AirbyteRecordMessage record = parse(RECORD).orElseThrow().getRecord();
+    final AirbyteRecordMessage expected = Jsons.tryDeserializeExact(RECORD, AirbyteMessage.class).orElseThrow().getRecord();
+
+    final JsonNode data = RawRecordData.materialize(record);
+
+    assertFalse(RawRecordData.isRaw(record.getData()));
+    assertEquals(expected.getData(), data);
+    assertEquals(expected, record);
+  }
+
+  @Test
+  void testMaterializeWithProjection() {
+    final AirbyteRecordMessage record = parse(RECORD).orElseThrow().getRecord();
+    final FieldProjection projection = FieldProjection.compile(List.of(List.of("score"), List.of("tags")));
+
+    final JsonNode data = RawRecordData.materialize(record, projection);
+
+    assertFalse(RawRecordData.isRaw(record.getData()));
+    assertEquals(Jsons.tryDeserializeExact("{\"score\":1.50,\"tags\":[{\"a\":null}]}", JsonNode.class).orElseThrow(), data);
+    // floats are read exactly, as with the regular deserialization
+    assertEquals(new BigDecimal("1.50"), data.get("score").decimalValue());
+    assertEquals(data, record.getData());
+  }
+
+  @Test
+  void testMaterializeIsNoopOnRegularData() {
+    final AirbyteRecordMessage record = Jsons.tryDeserializeExact(RECORD, AirbyteMessage.class).orElseThrow().getRecord();
+    final JsonNode data = record.getData();
+
+    assertEquals(data, RawRecordData.materialize(record));
+    assertFalse(RawRecordData.isRaw(data));
+  }
+
+  @Test
+  void testParseMeasuredRecordMatchesTheRegularDeserialization() {
+    final byte[] bytes = ("garbage" + RECORD).getBytes(StandardCharsets.UTF_8);
+    final int offset = "garbage".length();
+    final AirbyteMessage measured = RawRecordData.tryParseMeasuredRecord(bytes, offset, bytes.length - offset).orElseThrow();
+    final AirbyteMessage parsed = Jsons.tryDeserializeExact(RECORD, AirbyteMessage.class).orElseThrow();
+
+    assertFalse(RawRecordData.isRaw(measured.getRecord().getData()));
+    assertEquals(parsed, measured);
+    // the measured size is not serialized
+    assertEquals(Jsons.serialize(parsed), Jsons.serialize(measured));
+    assertEquals(Jsons.getEstimatedByteSize(parsed.getRecord().getData()), RawRecordData.estimatedByteSize(measured.getRecord()));
+  }
+
+  @Test
+  void testMeasuredSizeIsDroppedWhenTheDataIsReplaced() {
+    final byte[] bytes = RECORD.getBytes(StandardCharsets.UTF_8);
+    final AirbyteRecordMessage record = RawRecordData.tryParseMeasuredRecord(bytes, 0, bytes.length).orElseThrow().getRecord();
+    final FieldProjection projection = FieldProjection.compile(List.of(List.of("score")));
+
+    record.setData(projection.apply((ObjectNode) record.getData()));
+
+    assertEquals(-1, RawRecordData.estimatedByteSize(record));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+    "{\"type\":\"STATE\",\"state\":{\"data\":{}}}",
+    "{\"type\":\"RECORD\",\"record\":{\"stream\":\"users\",\"data\":{},\"emitted_at\":1,\"meta\":{\"changes\":[]}}}",
+    "{\"type\":\"RECORD\",\"record\":{\"stream\":\"users\",\"data\":\"not an object\",\"emitted_at\":1}}",
+    "{\"type\":\"RECORD\",\"record\":{\"stream\":\"users\",\"emitted_at\":1}}",
+    "{\"type\":\"RECORD\",\"record\":{\"stream\":\"users\",\"data\":{},\"emitted_at\":1.5}}",
+    "{\"type\":\"RECORD\",\"record\":{\"stream\":\"users\",\"data\":{\"a\":1}",
+    "not json at all"})
+  void testFallsBackOnAnythingElse(final String line) {
+    assertTrue(parse(line).isEmpty());
+  }
+
+  private static Optional<AirbyteMessage> parse(final String line) {
+    final byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+    return RawRecordData.tryParseRecord(bytes, bytes.length);
+  }
+
+}
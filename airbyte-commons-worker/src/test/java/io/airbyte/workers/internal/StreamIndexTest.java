@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class StreamIndexTest {
+
+  private static final AirbyteStreamNameNamespacePair USERS = new AirbyteStreamNameNamespacePair("users", "public");
+  private static final AirbyteStreamNameNamespacePair OTHER_USERS = new AirbyteStreamNameNamespacePair("users", "other");
+  private static final AirbyteStreamNameNamespacePair USERS_WITHOUT_NAMESPACE = new AirbyteStreamNameNamespacePair("users", null);
+  private static final AirbyteStreamNameNamespacePair ORDERS = new AirbyteStreamNameNamespacePair("orders", "public");
+
+  @Test
+  void testStreamsAreIndexedInOrder() {
+    final StreamIndex index = StreamIndex.of(List.of(USERS, OTHER_USERS, USERS_WITHOUT_NAMESPACE, ORDERS));
+
+    assertEquals(4, index.size());
+    assertEquals(0, index.indexOf("users", "public"));
+    assertEquals(1, index.indexOf("users", "other"));
+    assertEquals(2, index.indexOf("users", null));
+    assertEquals(3, index.indexOf(ORDERS));
+    assertSame(OTHER_USERS, index.streamAt(1));
+  }
+
+  @Test
+  void testUnknownStreams() {
+    final StreamIndex index = StreamIndex.of(List.of(USERS, ORDERS));
+
+    assertEquals(StreamIndex.UNKNOWN_STREAM, index.indexOf("users", null));
+    assertEquals(StreamIndex.UNKNOWN_STREAM, index.indexOf("users", "other"));
+    assertEquals(StreamIndex.UNKNOWN_STREAM, index.indexOf("customers", "public"));
+    assertEquals(StreamIndex.UNKNOWN_STREAM, StreamIndex.EMPTY.indexOf(USERS));
+  }
+
+  @Test
+  void testDuplicatesAreIgnored() {
+    final StreamIndex index = StreamIndex.of(List.of(USERS, ORDERS, new AirbyteStreamNameNamespacePair("users", "public")));
+
+    assertEquals(2, index.size());
+    assertEquals(0, index.indexOf(USERS));
+  }
+
+  @Test
+  void testFromCatalog() {
+    final ConfiguredAirbyteCatalog catalog = new ConfiguredAirbyteCatalog().withStreams(List.of(
+        new ConfiguredAirbyteStream().withStream(new AirbyteStream().withName("orders").withNamespace("public")),
+        new ConfiguredAirbyteStream().withStream(new AirbyteStream().withName("users").withNamespace("public"))));
+
+    final StreamIndex index = StreamIndex.fromCatalog(catalog);
+
+    assertEquals(2, index.size());
+    assertEquals(ORDERS, index.streamAt(0));
+    assertEquals(1, index.indexOf("users", "public"));
+  }
+
+}
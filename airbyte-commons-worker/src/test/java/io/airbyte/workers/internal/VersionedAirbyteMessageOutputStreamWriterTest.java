@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.protocol.AirbyteMessageMigrator;
+import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
+import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
+import io.airbyte.commons.protocol.ConfiguredAirbyteCatalogMigrator;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Deserializer;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Serializer;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV1Deserializer;
+import io.airbyte.commons.protocol.serde.AirbyteMessageV1Serializer;
+import io.airbyte.commons.version.Version;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.test_utils.AirbyteMessageUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VersionedAirbyteMessageOutputStreamWriterTest {
+
+  private static final String STREAM_NAME = "user_preferences";
+  private static final String FIELD_NAME = "favorite_color";
+  private static final Version PROTOCOL_VERSION = new Version("0.2.0");
+
+  private AirbyteMessageSerDeProvider serDeProvider;
+  private AirbyteProtocolVersionedMigratorFactory migratorFactory;
+
+  @BeforeEach
+  void setup() {
+    serDeProvider = new AirbyteMessageSerDeProvider(
+        List.of(new AirbyteMessageV0Deserializer(), new AirbyteMessageV1Deserializer()),
+        List.of(new AirbyteMessageV0Serializer(), new AirbyteMessageV1Serializer()));
+    serDeProvider.initialize();
+
+    final AirbyteMessageMigrator airbyteMessageMigrator = new AirbyteMessageMigrator(List.of());
+    airbyteMessageMigrator.initialize();
+    final ConfiguredAirbyteCatalogMigrator configuredAirbyteCatalogMigrator = new ConfiguredAirbyteCatalogMigrator(List.of());
+    configuredAirbyteCatalogMigrator.initialize();
+    migratorFactory = new AirbyteProtocolVersionedMigratorFactory(airbyteMessageMigrator, configuredAirbyteCatalogMigrator);
+  }
+
+  @Test
+  void testWritesTheSameOutputAsTheBufferedWriter() throws IOException {
+    final byte[] rawData = "{\"id\":1,\"name\":\"café\"}".getBytes(StandardCharsets.UTF_8);
+    final List<AirbyteMessage> messages = List.of(
+        AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green"),
+        AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, new BigDecimal("1234567890.1234567890")),
+        AirbyteMessageUtils.createStateMessage(STREAM_NAME, FIELD_NAME, "blue"),
+        AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "red"));
+    messages.get(3).getRecord().setData(RawRecordData.wrap(rawData, 0, rawData.length));
+
+    final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    writeAll(createFactory(0).createWriter(expected), messages);
+
+    final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+    writeAll(createFactory(64).createWriter(actual), messages);
+
+    assertEquals(expected.toString(StandardCharsets.UTF_8), actual.toString(StandardCharsets.UTF_8));
+    assertEquals(messages.size(), actual.toString(StandardCharsets.UTF_8).lines().count());
+  }
+
+  @Test
+  void testBuffersMessagesUntilTheFlushThreshold() throws IOException {
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    final AirbyteMessageBufferedWriter writer = createFactory(1024 * 1024).createWriter(outputStream);
+
+    final AirbyteMessage message = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+    writer.write(message);
+    assertEquals(0, outputStream.size());
+
+    writer.flush();
+    assertEquals(Jsons.serialize(message) + "\n", outputStream.toString(StandardCharsets.UTF_8));
+  }
+
+  private VersionedAirbyteMessageBufferedWriterFactory createFactory(final int outputBufferSizeBytes) {
+    return new VersionedAirbyteMessageBufferedWriterFactory(serDeProvider, migratorFactory, PROTOCOL_VERSION, Optional.empty(),
+        outputBufferSizeBytes);
+  }
+
+  private static void writeAll(final AirbyteMessageBufferedWriter writer, final List<AirbyteMessage> messages) throws IOException {
+    for (final AirbyteMessage message : messages) {
+      writer.write(message);
+    }
+    writer.close();
+  }
+
+}
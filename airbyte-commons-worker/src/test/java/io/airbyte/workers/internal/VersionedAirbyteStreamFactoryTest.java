@@ -5,7 +5,9 @@
 package io.airbyte.workers.internal;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
@@ -18,10 +20,12 @@ import io.airbyte.commons.protocol.AirbyteMessageMigrator;
 import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
 import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
 import io.airbyte.commons.protocol.ConfiguredAirbyteCatalogMigrator;
+import io.airbyte.commons.protocol.migrations.v1.AirbyteMessageMigrationV1;
 import io.airbyte.commons.protocol.serde.AirbyteMessageV0Deserializer;
 import io.airbyte.commons.protocol.serde.AirbyteMessageV0Serializer;
 import io.airbyte.commons.protocol.serde.AirbyteMessageV1Deserializer;
 import io.airbyte.commons.protocol.serde.AirbyteMessageV1Serializer;
+import io.airbyte.commons.version.AirbyteProtocolVersion;
 import io.airbyte.commons.version.Version;
 import io.airbyte.protocol.models.AirbyteLogMessage;
 import io.airbyte.protocol.models.AirbyteMessage;
@@ -38,6 +42,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -244,6 +249,98 @@ class VersionedAirbyteStreamFactoryTest {
       Assertions.assertThat(getFactory(false).toAirbyteMessage(messageLine)).isEmpty();
     }
 
+    @Test
+    void testStreamingParserValid() {
+      final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+      final AirbyteMessage record2 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "yellow");
+
+      final Stream<AirbyteMessage> messageStream =
+          bytesToMessageStream(Jsons.serialize(record1) + "\r\n" + Jsons.serialize(record2));
+
+      assertEquals(List.of(record1, record2), messageStream.collect(Collectors.toList()));
+    }
+
+    @Test
+    void testStreamingParserValidBigDecimal() {
+      final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME,
+          new BigDecimal("1234567890.1234567890"));
+
+      final Stream<AirbyteMessage> messageStream = bytesToMessageStream(Jsons.serialize(record) + "\n");
+
+      assertEquals(List.of(record), messageStream.collect(Collectors.toList()));
+    }
+
+    @Test
+    void testStreamingParserLineLongerThanReadChunk() {
+      final String longValue = "a".repeat(70_000);
+      final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, longValue);
+
+      final Stream<AirbyteMessage> messageStream = bytesToMessageStream(Jsons.serialize(record) + "\n" + Jsons.serialize(record));
+
+      assertEquals(List.of(record, record), messageStream.collect(Collectors.toList()));
+    }
+
+    @Test
+    void testStreamingParserLoggingLine() {
+      final String invalidRecord = "invalid line";
+
+      final Stream<AirbyteMessage> messageStream = bytesToMessageStream(invalidRecord);
+
+      assertEquals(Collections.emptyList(), messageStream.collect(Collectors.toList()));
+      verify(logger).info(invalidRecord);
+    }
+
+    @Test
+    void testStreamingParserLoggingLevel() {
+      final AirbyteMessage logMessage = AirbyteMessageUtils.createLogMessage(AirbyteLogMessage.Level.WARN, "warning");
+
+      final Stream<AirbyteMessage> messageStream = bytesToMessageStream(Jsons.serialize(logMessage));
+
+      assertEquals(Collections.emptyList(), messageStream.collect(Collectors.toList()));
+      verify(logger).warn("warning");
+    }
+
+    @Test
+    void testStreamingParserMalformedRecordShouldOnlyDebugLog() {
+      final String invalidRecord = "{\"type\":\"RECORD\", \"record\": {\"stream\": \"transactions\", \"data\": {\"amount\": \"100.00\"";
+
+      bytesToMessageStream(invalidRecord).collect(Collectors.toList());
+      verify(logger).debug(invalidRecord);
+    }
+
+    @Test
+    void testStreamingParserFailsSize() {
+      final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+
+      final InputStream inputStream = new ByteArrayInputStream(Jsons.serialize(record1).getBytes(StandardCharsets.UTF_8));
+
+      final Stream<AirbyteMessage> messageStream =
+          VersionedAirbyteStreamFactory
+              .noMigrationVersionedAirbyteStreamFactory(logger, new Builder(), Optional.of(RuntimeException.class), 1L,
+                  new VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration(false, false), gsonPksExtractor)
+              .withStreamingParser(true)
+              .create(inputStream);
+
+      assertThrows(RuntimeException.class, () -> messageStream.toList());
+    }
+
+    @Test
+    void testToAirbyteMessageFromBytesVeryLongMessageFail() {
+      final String messageLine = String.format(VALID_MESSAGE_TEMPLATE, "a".repeat(25_000_000));
+      final byte[] bytes = messageLine.getBytes(StandardCharsets.UTF_8);
+      assertThrows(RuntimeException.class, () -> getFactory(true).toAirbyteMessage(bytes, bytes.length));
+    }
+
+    private Stream<AirbyteMessage> bytesToMessageStream(final String inputString) {
+      final InputStream inputStream = new ByteArrayInputStream(inputString.getBytes(StandardCharsets.UTF_8));
+      return VersionedAirbyteStreamFactory
+          .noMigrationVersionedAirbyteStreamFactory(logger, new Builder(), Optional.of(RuntimeException.class), 100000L,
+              new VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration(false, false),
+              gsonPksExtractor)
+          .withStreamingParser(true)
+          .create(inputStream);
+    }
+
     private Stream<AirbyteMessage> stringToMessageStream(final String inputString) {
       final InputStream inputStream = new ByteArrayInputStream(inputString.getBytes(StandardCharsets.UTF_8));
       final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
@@ -343,6 +440,42 @@ class VersionedAirbyteStreamFactoryTest {
       assertEquals(2, messageCount);
     }
 
+    @Test
+    void testRawRecordDataWithDestinationOnTheSameVersion() {
+      final List<AirbyteMessage> messages = readWithRawRecordData(AirbyteProtocolVersion.V1);
+
+      assertEquals(1, messages.size());
+      assertTrue(RawRecordData.isRaw(messages.get(0).getRecord().getData()));
+    }
+
+    @Test
+    void testRawRecordDataIsDisabledForV0Destination() {
+      final List<AirbyteMessage> messages = readWithRawRecordData(AirbyteProtocolVersion.V0);
+
+      // the messages are downgraded for the destination, which needs the data as a tree
+      assertEquals(1, messages.size());
+      assertFalse(RawRecordData.isRaw(messages.get(0).getRecord().getData()));
+      assertEquals(Jsons.jsonNode(Map.of("favorite_color", "green")), messages.get(0).getRecord().getData());
+    }
+
+    private List<AirbyteMessage> readWithRawRecordData(final Version destinationProtocolVersion) {
+      final AirbyteMessageMigrator airbyteMessageMigrator = new AirbyteMessageMigrator(List.of(new AirbyteMessageMigrationV1()));
+      airbyteMessageMigrator.initialize();
+      final ConfiguredAirbyteCatalogMigrator configuredAirbyteCatalogMigrator = new ConfiguredAirbyteCatalogMigrator(List.of());
+      configuredAirbyteCatalogMigrator.initialize();
+      final AirbyteProtocolVersionedMigratorFactory v1MigratorFactory =
+          new AirbyteProtocolVersionedMigratorFactory(airbyteMessageMigrator, configuredAirbyteCatalogMigrator);
+      final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage("user_preferences", "favorite_color", "green");
+
+      final VersionedAirbyteStreamFactory<?> streamFactory =
+          new VersionedAirbyteStreamFactory<>(serDeProvider, v1MigratorFactory, AirbyteProtocolVersion.V1, Optional.empty(), Optional.empty(),
+              Optional.empty(), new VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration(false, false), gsonPksExtractor)
+                  .withStreamingParser(true)
+                  .withRawRecordData(true, destinationProtocolVersion);
+
+      return streamFactory.create(new ByteArrayInputStream(Jsons.serialize(record).getBytes(StandardCharsets.UTF_8))).toList();
+    }
+
     BufferedReader getBuffereredReader(final String resourceFile) {
       return new BufferedReader(
           new InputStreamReader(
@@ -11,6 +11,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.clearInvocations;
@@ -30,6 +31,7 @@ import io.airbyte.api.client.model.generated.ConnectionStateCreateOrUpdate;
 import io.airbyte.api.client.model.generated.ConnectionStateType;
 import io.airbyte.api.client.model.generated.StreamState;
 import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.SyncStats;
 import io.airbyte.protocol.models.AirbyteEstimateTraceMessage;
 import io.airbyte.protocol.models.AirbyteGlobalState;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
@@ -40,6 +42,7 @@ import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.ConfiguredAirbyteStream;
 import io.airbyte.protocol.models.StreamDescriptor;
 import io.airbyte.protocol.models.SyncMode;
+import io.airbyte.workers.internal.bookkeeping.SyncStatsSnapshot;
 import io.airbyte.workers.internal.bookkeeping.SyncStatsTracker;
 import io.airbyte.workers.internal.stateaggregator.StateAggregatorFactory;
 import java.util.List;
@@ -88,6 +91,7 @@ class SyncPersistenceImplTest {
         .thenReturn(mock(ScheduledFuture.class));
 
     syncStatsTracker = mock(SyncStatsTracker.class);
+    when(syncStatsTracker.getStatsSnapshot(anyBoolean())).thenReturn(new SyncStatsSnapshot(new SyncStats(), List.of()));
 
     // Setting syncPersistence
     stateApi = mock(StateApi.class);
@@ -138,6 +142,30 @@ class SyncPersistenceImplTest {
     verify(executorService, never()).scheduleAtFixedRate(any(), anyLong(), anyLong(), any());
   }
 
+  @Test
+  void testUnchangedStreamStatesAreNotFlushedAgain() throws ApiException {
+    final AirbyteStateMessage stateA1 = getStreamState("A", 1);
+    final AirbyteStateMessage stateB1 = getStreamState("B", 1);
+    syncPersistence.persist(connectionId, stateA1);
+    syncPersistence.persist(connectionId, stateB1);
+    actualFlushMethod.getValue().run();
+    verifyStateUpdateApiCall(List.of(stateA1, stateB1));
+    clearInvocations(stateApi);
+
+    // Only B changed since the last flush
+    final AirbyteStateMessage stateB2 = getStreamState("B", 2);
+    syncPersistence.persist(connectionId, getStreamState("A", 1));
+    syncPersistence.persist(connectionId, stateB2);
+    actualFlushMethod.getValue().run();
+    verifyStateUpdateApiCall(List.of(stateB2));
+    clearInvocations(stateApi);
+
+    // Nothing changed since the last flush
+    syncPersistence.persist(connectionId, getStreamState("B", 2));
+    actualFlushMethod.getValue().run();
+    verify(stateApi, never()).createOrUpdateState(any());
+  }
+
   @Test
   void testPersistWithApiFailures() throws ApiException {
     final AirbyteStateMessage stateF1 = getStreamState("F", 1);
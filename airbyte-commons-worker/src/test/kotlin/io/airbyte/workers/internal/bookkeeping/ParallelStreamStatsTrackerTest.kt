@@ -15,6 +15,7 @@ import io.airbyte.metrics.lib.MetricClient
 import io.airbyte.metrics.lib.OssMetricsRegistry
 import io.airbyte.protocol.models.AirbyteEstimateTraceMessage
 import io.airbyte.protocol.models.AirbyteGlobalState
+import io.airbyte.protocol.models.AirbyteMessage
 import io.airbyte.protocol.models.AirbyteRecordMessage
 import io.airbyte.protocol.models.AirbyteStateMessage
 import io.airbyte.protocol.models.AirbyteStateStats
@@ -23,6 +24,8 @@ import io.airbyte.protocol.models.AirbyteStreamState
 import io.airbyte.protocol.models.StreamDescriptor
 import io.airbyte.workers.context.ReplicationFeatureFlags
 import io.airbyte.workers.exception.InvalidChecksumException
+import io.airbyte.workers.internal.RawRecordData
+import io.airbyte.workers.internal.StreamIndex
 import io.airbyte.workers.test_utils.AirbyteMessageUtils
 import io.github.oshai.kotlinlogging.KotlinLogging
 import io.mockk.every
@@ -106,6 +109,160 @@ class ParallelStreamStatsTrackerTest {
     assertStreamSyncStatsCoreStatsEquals(expectedStreamSyncStats, actualStreamSyncStats)
   }
 
+  @Test
+  fun testBatchedStreamStatsTrackingMatchesSerialTracking() {
+    val serialStatsTracker =
+      ParallelStreamStatsTracker(metricClient, trackingClient, featureFlagClient, CONNECTION_ID, WORKSPACE_ID, JOB_ID, ATTEMPT_NUMBER)
+    val s1State1 = createStreamState(STREAM1_NAME, 2)
+
+    listOf(stream1Message1, stream1Message2).forEach { serialStatsTracker.updateStats(it) }
+    serialStatsTracker.updateSourceStatesStats(s1State1)
+    serialStatsTracker.updateDestinationStateStats(s1State1)
+    listOf(stream1Message3, stream2Message1, stream1Message1, stream2Message2, stream2Message3).forEach { serialStatsTracker.updateStats(it) }
+
+    statsTracker.updateStats(listOf(stream1Message1, stream1Message2))
+    statsTracker.updateSourceStatesStats(s1State1)
+    statsTracker.updateDestinationStateStats(s1State1)
+    statsTracker.updateStats(listOf(stream1Message3, stream2Message1, stream1Message1, stream2Message2, stream2Message3))
+
+    assertSyncStatsCoreStatsEquals(buildSyncStats(7L, 2L), statsTracker.getTotalStats(false))
+    assertSyncStatsCoreStatsEquals(serialStatsTracker.getTotalStats(false), statsTracker.getTotalStats(false))
+    assertStreamSyncStatsCoreStatsEquals(serialStatsTracker.getAllStreamSyncStats(false), statsTracker.getAllStreamSyncStats(false))
+    Assertions.assertEquals(serialStatsTracker.getTotalBytesEmitted(), statsTracker.getTotalBytesEmitted())
+  }
+
+  @Test
+  fun testRawRecordsAreTrackedWithTheSizeOfTheirBytes() {
+    val parsedStatsTracker =
+      ParallelStreamStatsTracker(metricClient, trackingClient, featureFlagClient, CONNECTION_ID, WORKSPACE_ID, JOB_ID, ATTEMPT_NUMBER)
+    val parsedRecords = listOf(stream1Message1, stream1Message2, stream2Message1)
+    val rawRecords =
+      parsedRecords.map {
+        val bytes = Jsons.serialize(AirbyteMessage().withType(AirbyteMessage.Type.RECORD).withRecord(it)).toByteArray()
+        RawRecordData.tryParseRecord(bytes, bytes.size).orElseThrow().record
+      }
+
+    parsedRecords.forEach { parsedStatsTracker.updateStats(it) }
+    statsTracker.updateStats(rawRecords.take(1))
+    rawRecords.drop(1).forEach { statsTracker.updateStats(it) }
+
+    Assertions.assertTrue(rawRecords.all { RawRecordData.isRaw(it.data) })
+    Assertions.assertEquals(3 * MESSAGE_SIZE, statsTracker.getTotalBytesEmitted())
+    Assertions.assertEquals(parsedStatsTracker.getTotalBytesEmitted(), statsTracker.getTotalBytesEmitted())
+  }
+
+  @Test
+  fun testRawRecordsAreTrackedWithTheSizeOfTheirCompactData() {
+    val parsedStatsTracker =
+      ParallelStreamStatsTracker(metricClient, trackingClient, featureFlagClient, CONNECTION_ID, WORKSPACE_ID, JOB_ID, ATTEMPT_NUMBER)
+    // Pretty-printed, with multi-byte and supplementary characters and whitespace within strings.
+    val message =
+      """
+      {"type": "RECORD", "record": {"stream": "$STREAM1_NAME", "emitted_at": 1, "data": {
+        "name" : "élève 🎓",
+        "quote" : "a \"b\" c",
+        "values" : [ 1, 2 ]
+      }}}
+      """.trimIndent()
+    val bytes = message.toByteArray()
+    val rawRecord = RawRecordData.tryParseRecord(bytes, bytes.size).orElseThrow().record
+    val parsedRecord = Jsons.deserialize(message, AirbyteMessage::class.java).record
+
+    parsedStatsTracker.updateStats(parsedRecord)
+    statsTracker.updateStats(rawRecord)
+
+    Assertions.assertTrue(RawRecordData.isRaw(rawRecord.data))
+    Assertions.assertEquals(Jsons.getEstimatedByteSize(parsedRecord.data).toLong(), statsTracker.getTotalBytesEmitted())
+    Assertions.assertEquals(parsedStatsTracker.getTotalBytesEmitted(), statsTracker.getTotalBytesEmitted())
+  }
+
+  @Test
+  fun testMeasuredRecordsAreTrackedWithoutSerializingTheirData() {
+    val parsedStatsTracker =
+      ParallelStreamStatsTracker(metricClient, trackingClient, featureFlagClient, CONNECTION_ID, WORKSPACE_ID, JOB_ID, ATTEMPT_NUMBER)
+    val message =
+      """
+      {"type": "RECORD", "record": {"stream": "$STREAM1_NAME", "emitted_at": 1, "data": {
+        "name" : "élève 🎓",
+        "values" : [ 1, 2 ]
+      }}}
+      """.trimIndent()
+    val bytes = message.toByteArray()
+    val measuredRecord = RawRecordData.tryParseMeasuredRecord(bytes, 0, bytes.size).orElseThrow().record
+    val parsedRecord = Jsons.deserialize(message, AirbyteMessage::class.java).record
+
+    parsedStatsTracker.updateStats(parsedRecord)
+    statsTracker.updateStats(measuredRecord)
+
+    Assertions.assertEquals(Jsons.getEstimatedByteSize(parsedRecord.data).toLong(), RawRecordData.estimatedByteSize(measuredRecord))
+    Assertions.assertEquals(parsedStatsTracker.getTotalBytesEmitted(), statsTracker.getTotalBytesEmitted())
+  }
+
+  @Test
+  fun testIndexedStreamStatsTrackingMatchesUnindexedTracking() {
+    val unindexedStatsTracker =
+      ParallelStreamStatsTracker(metricClient, trackingClient, featureFlagClient, CONNECTION_ID, WORKSPACE_ID, JOB_ID, ATTEMPT_NUMBER)
+    // stream2 is not part of the index and falls back to the lookup by name and namespace
+    statsTracker.setStreamIndex(StreamIndex.of(listOf(AirbyteStreamNameNamespacePair(STREAM1_NAME, null))))
+    val s1State1 = createStreamState(STREAM1_NAME, 3)
+
+    listOf(statsTracker, unindexedStatsTracker).forEach { tracker ->
+      tracker.updateStats(stream1Message1)
+      tracker.updateStats(stream2Message1)
+      tracker.updateStats(listOf(stream1Message2, stream1Message3, stream2Message2))
+      tracker.updateSourceStatesStats(s1State1)
+      tracker.updateDestinationStateStats(s1State1)
+    }
+
+    assertSyncStatsCoreStatsEquals(buildSyncStats(5L, 3L), statsTracker.getTotalStats(false))
+    assertSyncStatsCoreStatsEquals(unindexedStatsTracker.getTotalStats(false), statsTracker.getTotalStats(false))
+    assertStreamSyncStatsCoreStatsEquals(unindexedStatsTracker.getAllStreamSyncStats(false), statsTracker.getAllStreamSyncStats(false))
+    Assertions.assertEquals(unindexedStatsTracker.getStreamToEmittedRecords(), statsTracker.getStreamToEmittedRecords())
+  }
+
+  @Test
+  fun testStatsSnapshotMatchesTrackerAccessors() {
+    statsTracker.updateStats(stream1Message1)
+    statsTracker.updateStats(stream2Message1)
+    statsTracker.updateStats(stream1Message2)
+    val s1State1 = createStreamState(STREAM1_NAME, 2)
+    statsTracker.updateSourceStatesStats(s1State1)
+    statsTracker.updateDestinationStateStats(s1State1)
+    statsTracker.updateStats(stream1Message3)
+
+    // Going through the interface to use the stats built from the tracker's accessors.
+    val tracker: SyncStatsTracker = statsTracker
+    listOf(false, true).forEach { hasReplicationCompleted ->
+      val snapshot = statsTracker.getStatsSnapshot(hasReplicationCompleted)
+      Assertions.assertEquals(tracker.getTotalStats(hasReplicationCompleted), snapshot.totalStats)
+      Assertions.assertEquals(tracker.getPerStreamStats(hasReplicationCompleted), snapshot.streamStats)
+    }
+  }
+
+  @Test
+  fun testConcurrentStreamStatsTracking() {
+    val threadCount = 4
+    val recordsPerThread = 1000
+    val threads =
+      (0 until threadCount).map {
+        Thread {
+          repeat(recordsPerThread) {
+            statsTracker.updateStats(stream1Message1)
+            statsTracker.updateStats(listOf(stream2Message1, stream2Message2))
+          }
+        }
+      }
+    threads.forEach { it.start() }
+    threads.forEach { it.join() }
+
+    val expectedRecords = threadCount.toLong() * recordsPerThread
+    Assertions.assertEquals(
+      mapOf(stream1 to expectedRecords, stream2 to 2 * expectedRecords),
+      statsTracker.getStreamToEmittedRecords(),
+    )
+    Assertions.assertEquals(3 * expectedRecords * MESSAGE_SIZE, statsTracker.getTotalBytesEmitted())
+  }
+
   @Test
   fun testSerialStreamStatsTrackingOnSingleStream() {
     val s1State1 = createStreamState(STREAM1_NAME, 1)
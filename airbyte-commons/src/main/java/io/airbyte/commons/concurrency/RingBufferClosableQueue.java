@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.concurrency;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pre-allocated, bounded, single-producer/single-consumer ring buffer implementing
+ * {@link ClosableQueue}.
+ * <p>
+ * Unlike {@link BoundedConcurrentLinkedQueue} and {@link ClosableLinkedBlockingQueue}, adding and
+ * polling neither lock nor CAS: the producer and the consumer each own one sequence and publish it
+ * with an ordered write, and each side caches the other side's sequence to only re-read it when the
+ * buffer looks full or empty. This follows the Disruptor design and is only correct if there is a
+ * single thread calling {@link #add(Object)} and a single thread calling {@link #poll()} or
+ * {@link #drainTo(Collection, int)}.
+ * <p>
+ * When the buffer is full or empty, the calling thread waits according to the {@link WaitStrategy}
+ * for at most {@code maxWaitNanos} before giving up, so callers can keep checking for
+ * cancellation. Closing the queue is meant to be done by the producer to signal the end of input; if
+ * another thread closes it to tear down a pipeline, an element being added concurrently may be
+ * dropped.
+ */
+public class RingBufferClosableQueue<T> implements ClosableQueue<T> {
+
+  /**
+   * How a thread waits for the other side of the ring buffer to make progress.
+   */
+  public enum WaitStrategy {
+    /**
+     * Spin on the CPU. Lowest latency, but keeps a core busy while idle.
+     */
+    BUSY_SPIN,
+    /**
+     * Spin for a short while, then yield the CPU to other threads.
+     */
+    YIELD,
+    /**
+     * Spin, then yield, then park for short periods. Best suited when the pipeline is often idle.
+     */
+    PARK
+  }
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RingBufferClosableQueue.class);
+  private static final long DEFAULT_MAX_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final int SPIN_TRIES = 100;
+  private static final int YIELD_TRIES = 100;
+  private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final Object[] buffer;
+  private final int mask;
+  private final int capacity;
+  private final WaitStrategy waitStrategy;
+  private final long maxWaitNanos;
+
+  // Next sequence to write, only written by the producer.
+  private final PaddedSequence producerSequence = new PaddedSequence();
+  // Next sequence to read, only written by the consumer.
+  private final PaddedSequence consumerSequence = new PaddedSequence();
+  // Last value of the consumer sequence seen by the producer.
+  private long cachedConsumerSequence = 0;
+  // Last value of the producer sequence seen by the consumer.
+  private long cachedProducerSequence = 0;
+
+  private volatile boolean closed = false;
+
+  public RingBufferClosableQueue(final int maxSize, final WaitStrategy waitStrategy) {
+    this(maxSize, waitStrategy, DEFAULT_MAX_WAIT_NANOS);
+  }
+
+  public RingBufferClosableQueue(final int maxSize, final WaitStrategy waitStrategy, final long maxWaitNanos) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be positive, got " + maxSize);
+    }
+    LOGGER.info("Using RingBufferClosableQueue with {} wait strategy", waitStrategy);
+    // Round up to a power of two so the index can be computed with a mask.
+    this.capacity = maxSize == 1 ? 1 : Integer.highestOneBit(maxSize - 1) << 1;
+    this.mask = capacity - 1;
+    this.buffer = new Object[capacity];
+    this.waitStrategy = waitStrategy;
+    this.maxWaitNanos = maxWaitNanos;
+  }
+
+  /**
+   * Retrieves and removes the head of this queue, waiting for an element if the queue is empty.
+   *
+   * @return the head of this queue, or null if the queue is still empty after waiting or if it is
+   *         closed and empty
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T poll() throws InterruptedException {
+    if (!awaitElements()) {
+      return null;
+    }
+    final long sequence = consumerSequence.getPlain();
+    final int index = (int) sequence & mask;
+    final T e = (T) buffer[index];
+    buffer[index] = null;
+    consumerSequence.lazySet(sequence + 1);
+    return e;
+  }
+
+  /**
+   * Removes up to {@code maxElements} available elements and adds them to the given collection,
+   * waiting for at least one element if the queue is empty. Publishing the consumer sequence once for
+   * the whole batch is cheaper than polling elements one by one.
+   *
+   * @param target the collection to transfer elements into
+   * @param maxElements the maximum number of elements to transfer
+   * @return the number of elements transferred
+   */
+  @SuppressWarnings("unchecked")
+  public int drainTo(final Collection<? super T> target, final int maxElements) throws InterruptedException {
+    if (maxElements <= 0 || !awaitElements()) {
+      return 0;
+    }
+    final long sequence = consumerSequence.getPlain();
+    final int count = (int) Math.min(maxElements, cachedProducerSequence - sequence);
+    for (int i = 0; i < count; i++) {
+      final int index = (int) (sequence + i) & mask;
+      target.add((T) buffer[index]);
+      buffer[index] = null;
+    }
+    consumerSequence.lazySet(sequence + count);
+    return count;
+  }
+
+  /**
+   * Inserts the specified element into this queue, waiting for space if the queue is full.
+   *
+   * @param e the element to add
+   * @return true if the insertion was successful, false if the queue is closed or still full after
+   *         waiting
+   */
+  @Override
+  public boolean add(final T e) throws InterruptedException {
+    Objects.requireNonNull(e);
+    if (closed) {
+      return false;
+    }
+
+    final long sequence = producerSequence.getPlain();
+    final long wrapPoint = sequence - capacity;
+    if (cachedConsumerSequence <= wrapPoint) {
+      cachedConsumerSequence = consumerSequence.get();
+      int tries = 0;
+      final long deadline = System.nanoTime() + maxWaitNanos;
+      while (cachedConsumerSequence <= wrapPoint) {
+        if (closed || System.nanoTime() - deadline >= 0) {
+          return false;
+        }
+        tries = idle(tries);
+        cachedConsumerSequence = consumerSequence.get();
+      }
+    }
+
+    buffer[(int) sequence & mask] = e;
+    producerSequence.lazySet(sequence + 1);
+    return true;
+  }
+
+  @Override
+  public int size() {
+    // Read the consumer first so that the result is never negative.
+    final long consumer = consumerSequence.get();
+    final long producer = producerSequence.get();
+    return (int) Math.max(0, Math.min(capacity, producer - consumer));
+  }
+
+  /**
+   * Returns true if the queue is done. A queue is done when closed and empty.
+   */
+  @Override
+  public boolean isDone() {
+    // The producer publishes its last element before closing, so reading closed first guarantees we
+    // see that element.
+    return closed && size() == 0;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  /**
+   * Wait until at least one element is available to the consumer.
+   *
+   * @return false if the queue is empty and either closed or we waited for longer than maxWaitNanos.
+   */
+  private boolean awaitElements() throws InterruptedException {
+    final long sequence = consumerSequence.getPlain();
+    if (sequence < cachedProducerSequence) {
+      return true;
+    }
+
+    cachedProducerSequence = producerSequence.get();
+    int tries = 0;
+    long deadline = 0;
+    while (sequence >= cachedProducerSequence) {
+      if (closed) {
+        // Re-read in case the producer published right before closing.
+        cachedProducerSequence = producerSequence.get();
+        return sequence < cachedProducerSequence;
+      }
+      if (tries == 0) {
+        deadline = System.nanoTime() + maxWaitNanos;
+      } else if (System.nanoTime() - deadline >= 0) {
+        return false;
+      }
+      tries = idle(tries);
+      cachedProducerSequence = producerSequence.get();
+    }
+    return true;
+  }
+
+  private int idle(final int tries) throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+
+    switch (waitStrategy) {
+      case BUSY_SPIN -> Thread.onSpinWait();
+      case YIELD -> {
+        if (tries < SPIN_TRIES) {
+          Thread.onSpinWait();
+        } else {
+          Thread.yield();
+        }
+      }
+      case PARK -> {
+        if (tries < SPIN_TRIES) {
+          Thread.onSpinWait();
+        } else if (tries < SPIN_TRIES + YIELD_TRIES) {
+          Thread.yield();
+        } else {
+          LockSupport.parkNanos(PARK_NANOS);
+        }
+      }
+      default -> throw new IllegalStateException("Unexpected wait strategy: " + waitStrategy);
+    }
+    return tries == Integer.MAX_VALUE ? tries : tries + 1;
+  }
+
+  /**
+   * An AtomicLong padded to its own cache line, so that the producer and consumer sequences do not
+   * invalidate each other's cache line on every update.
+   */
+  @SuppressWarnings("unused")
+  private static final class PaddedSequence extends AtomicLong {
+
+    private long p1;
+    private long p2;
+    private long p3;
+    private long p4;
+    private long p5;
+    private long p6;
+    private long p7;
+
+  }
+
+}
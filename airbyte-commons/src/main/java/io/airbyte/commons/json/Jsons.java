@@ -7,6 +7,8 @@ package io.airbyte.commons.json;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toMap;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
@@ -15,6 +17,7 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -24,6 +27,7 @@ import com.google.common.base.Preconditions;
 import io.airbyte.commons.jackson.MoreMappers;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -58,6 +62,8 @@ public class Jsons {
   }
 
   private static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writer(new JsonPrettyPrinter());
+  // Leaves flushing to the owner of the generator, so that values can be buffered.
+  private static final ObjectWriter GENERATOR_WRITER = OBJECT_MAPPER.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
 
   /**
    * Serialize an object to a JSON string.
@@ -74,6 +80,28 @@ public class Jsons {
     }
   }
 
+  /**
+   * Create a generator writing UTF-8 encoded JSON to an output stream, to serialize objects with
+   * {@link #serialize(Object, JsonGenerator)} without building intermediate strings.
+   *
+   * @param outputStream to write to, closed when the generator is closed
+   * @return generator
+   */
+  public static JsonGenerator createGenerator(final OutputStream outputStream) throws IOException {
+    return OBJECT_MAPPER.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+  }
+
+  /**
+   * Serialize an object with a generator. The generator is not flushed.
+   *
+   * @param object to serialize
+   * @param generator to write to
+   * @param <T> type of object
+   */
+  public static <T> void serialize(final T object, final JsonGenerator generator) throws IOException {
+    GENERATOR_WRITER.writeValue(generator, object);
+  }
+
   /**
    * Deserialize a JSON string to an object with a type.
    *
@@ -183,6 +211,25 @@ public class Jsons {
     }
   }
 
+  /**
+   * Deserialize a slice of UTF-8 encoded bytes to a JSON object using the exact ObjectMapper. The
+   * bytes are streamed straight into the target type without building an intermediate String.
+   *
+   * @param bytes buffer holding the UTF-8 encoded JSON.
+   * @param offset of the first byte to read.
+   * @param length number of bytes to read.
+   * @param klass to deserialize to.
+   * @param <T> type of input object.
+   * @return optional as type T.
+   */
+  public static <T> Optional<T> tryDeserializeExact(final byte[] bytes, final int offset, final int length, final Class<T> klass) {
+    try {
+      return Optional.of(OBJECT_MAPPER_EXACT.readValue(bytes, offset, length, klass));
+    } catch (final Throwable e) {
+      return Optional.empty();
+    }
+  }
+
   /**
    * Convert an object to {@link JsonNode}.
    *
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.commons.concurrency.RingBufferClosableQueue.WaitStrategy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class RingBufferClosableQueueTest {
+
+  private static final long SHORT_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private record Record(int value) {}
+
+  private final Record record1 = new Record(1);
+  private final Record record2 = new Record(2);
+  private final Record record3 = new Record(3);
+
+  private RingBufferClosableQueue<Record> getQueue(final int maxSize) {
+    return new RingBufferClosableQueue<>(maxSize, WaitStrategy.YIELD, SHORT_WAIT_NANOS);
+  }
+
+  @Test
+  void testCapacityIsRoundedUpToAPowerOfTwo() {
+    assertEquals(1, getQueue(1).capacity());
+    assertEquals(4, getQueue(3).capacity());
+    assertEquals(4, getQueue(4).capacity());
+    assertEquals(1024, getQueue(1000).capacity());
+    assertThrows(IllegalArgumentException.class, () -> getQueue(0));
+  }
+
+  @Test
+  void testBasicAddPoll() throws InterruptedException {
+    final RingBufferClosableQueue<Record> queue = getQueue(2);
+
+    assertEquals(0, queue.size());
+    assertTrue(queue.add(record1));
+    assertEquals(1, queue.size());
+    assertTrue(queue.add(record2));
+    assertEquals(2, queue.size());
+
+    assertEquals(record1, queue.poll());
+    assertEquals(1, queue.size());
+    assertEquals(record2, queue.poll());
+    assertEquals(0, queue.size());
+
+    assertNull(queue.poll());
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  void testAddReturnsFalseIfQueueIsStillFullAfterWaiting() throws InterruptedException {
+    final RingBufferClosableQueue<Record> queue = getQueue(2);
+
+    assertTrue(queue.add(record1));
+    assertTrue(queue.add(record2));
+    assertFalse(queue.add(record3));
+    assertEquals(2, queue.size());
+
+    queue.poll();
+    assertTrue(queue.add(record3));
+    assertEquals(List.of(record2, record3), List.of(queue.poll(), queue.poll()));
+  }
+
+  @Test
+  void testDrainTo() throws InterruptedException {
+    final RingBufferClosableQueue<Record> queue = getQueue(4);
+    queue.add(record1);
+    queue.add(record2);
+    queue.add(record3);
+
+    final List<Record> batch = new ArrayList<>();
+    assertEquals(2, queue.drainTo(batch, 2));
+    assertEquals(List.of(record1, record2), batch);
+
+    assertEquals(1, queue.drainTo(batch, 10));
+    assertEquals(List.of(record1, record2, record3), batch);
+
+    assertEquals(0, queue.drainTo(batch, 10));
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  void testAQueueIsDoneIfItIsEmptyAndClosed() throws InterruptedException {
+    final RingBufferClosableQueue<Record> queue = getQueue(2);
+
+    queue.add(record1);
+    assertFalse(queue.isDone());
+    queue.poll();
+    assertFalse(queue.isDone());
+
+    queue.add(record2);
+    assertFalse(queue.isClosed());
+    queue.close();
+    assertTrue(queue.isClosed());
+    assertFalse(queue.isDone());
+
+    assertEquals(record2, queue.poll());
+    assertTrue(queue.isDone());
+    assertNull(queue.poll());
+  }
+
+  @Test
+  void testAddToClosedQueueFails() throws InterruptedException {
+    final RingBufferClosableQueue<Record> queue = getQueue(2);
+
+    assertTrue(queue.add(record1));
+    queue.close();
+    assertFalse(queue.add(record2));
+    assertEquals(1, queue.size());
+  }
+
+  @Test
+  void testAddingNullFails() throws InterruptedException {
+    final RingBufferClosableQueue<Record> queue = getQueue(2);
+
+    queue.add(record1);
+    assertThrows(NullPointerException.class, () -> queue.add(null));
+    assertEquals(1, queue.size());
+  }
+
+  @Test
+  void testWaitIsInterruptible() {
+    final RingBufferClosableQueue<Record> queue =
+        new RingBufferClosableQueue<>(2, WaitStrategy.BUSY_SPIN, TimeUnit.SECONDS.toNanos(30));
+
+    Thread.currentThread().interrupt();
+    assertThrows(InterruptedException.class, queue::poll);
+  }
+
+  @ParameterizedTest
+  @EnumSource(WaitStrategy.class)
+  void testSingleProducerSingleConsumerKeepsOrder(final WaitStrategy waitStrategy) throws Exception {
+    final int recordCount = 10_000;
+    final RingBufferClosableQueue<Record> queue = new RingBufferClosableQueue<>(64, waitStrategy);
+
+    final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+      try {
+        for (int i = 0; i < recordCount; i++) {
+          while (!queue.add(new Record(i))) {
+            // retry until the consumer catches up
+          }
+        }
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      } finally {
+        queue.close();
+      }
+    });
+
+    final List<Record> received = new ArrayList<>(recordCount);
+    final List<Record> batch = new ArrayList<>();
+    while (!queue.isDone()) {
+      if (received.size() % 2 == 0) {
+        final Record r = queue.poll();
+        if (r != null) {
+          received.add(r);
+        }
+      } else {
+        queue.drainTo(batch, 16);
+        received.addAll(batch);
+        batch.clear();
+      }
+    }
+    producer.get(30, TimeUnit.SECONDS);
+
+    assertEquals(recordCount, received.size());
+    for (int i = 0; i < recordCount; i++) {
+      assertEquals(i, received.get(i).value());
+    }
+  }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.helpers;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reads the objects making up a cloud log with ranged reads, keeping a few of them in flight so the
+ * latency of one read overlaps with the others.
+ * <p>
+ * The ranges are always consumed in order, so at most {@code parallelism + 1} ranges are held in
+ * memory whatever the size of the log.
+ */
+final class CloudLogRangeReader {
+
+  /**
+   * Size of the ranges read when downloading a whole log.
+   */
+  static final long DOWNLOAD_RANGE_SIZE = 8 * 1024 * 1024;
+  /**
+   * Size of the ranges read when tailing a log. Smaller than the download ranges so short tails only
+   * read the end of the newest object.
+   */
+  static final long TAIL_RANGE_SIZE = 1024 * 1024;
+  static final int PARALLELISM = 4;
+
+  private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4 * PARALLELISM,
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("cloud-log-reader-%d").build());
+
+  /**
+   * An object of the log and its size in bytes.
+   */
+  record LogObject(String key, long size) {}
+
+  /**
+   * Reads the bytes in [start, end) of the object with the given key.
+   */
+  @FunctionalInterface
+  interface RangeReader {
+
+    byte[] read(String key, long start, long end) throws IOException;
+
+  }
+
+  private record Range(LogObject object, long start, long end) {}
+
+  private CloudLogRangeReader() {}
+
+  /**
+   * Write the content of all the objects, in the given order, to the output stream.
+   */
+  static void copy(final List<LogObject> objects, final RangeReader reader, final OutputStream os) throws IOException {
+    copy(objects, reader, os, DOWNLOAD_RANGE_SIZE, PARALLELISM);
+  }
+
+  @VisibleForTesting
+  static void copy(final List<LogObject> objects,
+                   final RangeReader reader,
+                   final OutputStream os,
+                   final long rangeSize,
+                   final int parallelism)
+      throws IOException {
+    final List<Range> ranges = new ArrayList<>();
+    for (final LogObject object : objects) {
+      for (long start = 0; start < object.size(); start += rangeSize) {
+        ranges.add(new Range(object, start, Math.min(start + rangeSize, object.size())));
+      }
+    }
+
+    try (final var prefetcher = new Prefetcher(ranges, reader, parallelism)) {
+      while (prefetcher.hasNext()) {
+        os.write(prefetcher.next());
+      }
+    }
+  }
+
+  /**
+   * Assume the objects, in ascending order, form one log file and return its last numLines lines.
+   * Objects are read backwards from their end, so only the bytes holding the returned lines (rounded
+   * up to the range size) are read.
+   */
+  static List<String> tail(final List<LogObject> ascendingObjects, final RangeReader reader, final int numLines) throws IOException {
+    return tail(ascendingObjects, reader, numLines, TAIL_RANGE_SIZE, PARALLELISM);
+  }
+
+  @VisibleForTesting
+  static List<String> tail(final List<LogObject> ascendingObjects,
+                           final RangeReader reader,
+                           final int numLines,
+                           final long rangeSize,
+                           final int parallelism)
+      throws IOException {
+    final Deque<String> lines = new ArrayDeque<>();
+    if (numLines <= 0) {
+      return new ArrayList<>(lines);
+    }
+
+    final List<Range> descendingRanges = new ArrayList<>();
+    for (int i = ascendingObjects.size() - 1; i >= 0; i--) {
+      final LogObject object = ascendingObjects.get(i);
+      for (long end = object.size(); end > 0; end -= rangeSize) {
+        descendingRanges.add(new Range(object, Math.max(0, end - rangeSize), end));
+      }
+    }
+
+    try (final var prefetcher = new Prefetcher(descendingRanges, reader, parallelism)) {
+      // bytes of the line which started before the range which was just read
+      byte[] carry = new byte[0];
+      while (prefetcher.hasNext() && lines.size() < numLines) {
+        final Range range = prefetcher.peek();
+        final byte[] chunk = concat(prefetcher.next(), carry);
+
+        int lineEnd = chunk.length;
+        // the trailing line feed of an object doesn't start a new line
+        if (range.end() == range.object().size() && lineEnd > 0 && chunk[lineEnd - 1] == '\n') {
+          lineEnd--;
+        }
+        for (int i = lineEnd - 1; i >= 0 && lines.size() < numLines; i--) {
+          if (chunk[i] == '\n') {
+            lines.addFirst(decodeLine(chunk, i + 1, lineEnd));
+            lineEnd = i;
+          }
+        }
+
+        if (range.start() == 0) {
+          // each object holds whole lines, so what is left is the first line of the object
+          if (lines.size() < numLines) {
+            lines.addFirst(decodeLine(chunk, 0, lineEnd));
+          }
+          carry = new byte[0];
+        } else {
+          carry = Arrays.copyOf(chunk, lineEnd);
+        }
+      }
+    }
+    return new ArrayList<>(lines);
+  }
+
+  private static byte[] concat(final byte[] first, final byte[] second) {
+    if (second.length == 0) {
+      return first;
+    }
+    final byte[] result = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, result, first.length, second.length);
+    return result;
+  }
+
+  private static String decodeLine(final byte[] bytes, final int start, final int end) {
+    final int trimmedEnd = end > start && bytes[end - 1] == '\r' ? end - 1 : end;
+    return new String(bytes, start, trimmedEnd - start, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Hands out the content of the ranges in order while the next ones are read in the background.
+   */
+  private static final class Prefetcher implements AutoCloseable {
+
+    private final List<Range> ranges;
+    private final RangeReader reader;
+    private final int parallelism;
+    private final Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+    private int nextToSubmit;
+    private int nextToReturn;
+
+    Prefetcher(final List<Range> ranges, final RangeReader reader, final int parallelism) {
+      this.ranges = ranges;
+      this.reader = reader;
+      this.parallelism = Math.max(1, parallelism);
+      fill();
+    }
+
+    boolean hasNext() {
+      return nextToReturn < ranges.size();
+    }
+
+    Range peek() {
+      return ranges.get(nextToReturn);
+    }
+
+    byte[] next() throws IOException {
+      final Future<byte[]> future = inFlight.poll();
+      nextToReturn++;
+      fill();
+      try {
+        return future.get();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while reading cloud logs");
+      } catch (final ExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        throw new IOException("Failed to read cloud logs", e.getCause());
+      }
+    }
+
+    private void fill() {
+      while (nextToSubmit < ranges.size() && inFlight.size() < parallelism) {
+        final Range range = ranges.get(nextToSubmit++);
+        inFlight.add(EXECUTOR.submit(() -> reader.read(range.object().key(), range.start(), range.end())));
+      }
+    }
+
+    @Override
+    public void close() {
+      inFlight.forEach(future -> future.cancel(true));
+      inFlight.clear();
+    }
+
+  }
+
+}
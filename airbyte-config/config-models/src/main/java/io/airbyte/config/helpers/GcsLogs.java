@@ -5,18 +5,22 @@
 package io.airbyte.config.helpers;
 
 import com.google.api.gax.paging.Page;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.Blob.BlobSourceOption;
+import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.Storage;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Lists;
 import io.airbyte.commons.string.Strings;
-import java.io.ByteArrayOutputStream;
+import io.airbyte.config.helpers.CloudLogRangeReader.LogObject;
+import io.airbyte.config.helpers.CloudLogRangeReader.RangeReader;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
@@ -48,23 +52,32 @@ public class GcsLogs implements CloudLogs {
 
   @VisibleForTesting
   static File getFile(final Storage gcsClient, final LogConfigs configs, final String logPath, final int pageSize) throws IOException {
+    final var randomName = Strings.addRandomSuffix("logs", "-", 5);
+    final var tmpOutputFile = new File("/tmp/" + randomName);
+    try (final var os = new FileOutputStream(tmpOutputFile)) {
+      streamCloudLog(gcsClient, configs, logPath, pageSize, os);
+    }
+    return tmpOutputFile;
+  }
+
+  private static void streamCloudLog(final Storage gcsClient,
+                                     final LogConfigs configs,
+                                     final String logPath,
+                                     final int pageSize,
+                                     final OutputStream outputStream)
+      throws IOException {
     LOGGER.debug("Retrieving logs from GCS path: {}", logPath);
 
+    final var bucket = configs.getStorageConfig().getBuckets().getLog();
     LOGGER.debug("Start GCS list request.");
-    final Page<Blob> blobs = gcsClient.list(
-        configs.getStorageConfig().getBuckets().getLog(),
+    final List<LogObject> objects = getAscendingObjects(gcsClient.list(
+        bucket,
         Storage.BlobListOption.prefix(logPath),
-        Storage.BlobListOption.pageSize(pageSize));
+        Storage.BlobListOption.pageSize(pageSize)));
 
-    final var randomName = Strings.addRandomSuffix("logs", "-", 5);
-    final var tmpOutputFile = new File("/tmp/" + randomName);
-    final var os = new FileOutputStream(tmpOutputFile);
     LOGGER.debug("Start getting GCS objects.");
-    // Objects are returned in lexicographical order.
-    blobs.iterateAll().forEach(blob -> blob.downloadTo(os));
-    os.close();
+    CloudLogRangeReader.copy(objects, rangeReader(gcsClient, bucket), outputStream);
     LOGGER.debug("Done retrieving GCS logs: {}.", logPath);
-    return tmpOutputFile;
   }
 
   @Override
@@ -72,44 +85,17 @@ public class GcsLogs implements CloudLogs {
     LOGGER.debug("Tailing logs from GCS path: {}", logPath);
     final Storage gcsClient = getOrCreateGcsClient();
 
+    final var bucket = configs.getStorageConfig().getBuckets().getLog();
     LOGGER.debug("Start GCS list request.");
-
-    final var ascendingTimestampBlobs = new ArrayList<Blob>();
-    gcsClient.list(
-        configs.getStorageConfig().getBuckets().getLog(),
-        Storage.BlobListOption.prefix(logPath))
-        .iterateAll()
-        .forEach(ascendingTimestampBlobs::add);
-
-    final var lines = new ArrayList<String>();
+    final List<LogObject> ascendingTimestampObjects = getAscendingObjects(gcsClient.list(
+        bucket,
+        Storage.BlobListOption.prefix(logPath)));
 
     LOGGER.debug("Start getting GCS objects.");
-    final var inMemoryData = new ByteArrayOutputStream();
-    // iterate through blobs in descending order (oldest first)
-    for (var i = ascendingTimestampBlobs.size() - 1; i >= 0; i--) {
-      inMemoryData.reset();
-
-      final var blob = ascendingTimestampBlobs.get(i);
-      blob.downloadTo(inMemoryData);
-
-      final String[] currFileLines = inMemoryData.toString(StandardCharsets.UTF_8).split("\n");
-      // Iterate through the lines in reverse order. This ensures we keep the newer messages over the
-      // older messages if we hit the numLines limit.
-      for (var j = currFileLines.length - 1; j >= 0; j--) {
-        lines.add(currFileLines[j]);
-        if (lines.size() >= numLines) {
-          break;
-        }
-      }
-
-      if (lines.size() >= numLines) {
-        break;
-      }
-    }
+    final List<String> lines = CloudLogRangeReader.tail(ascendingTimestampObjects, rangeReader(gcsClient, bucket), numLines);
 
     LOGGER.debug("Done retrieving GCS logs: {}.", logPath);
-    // finally reverse the lines so they're returned in ascending order
-    return Lists.reverse(lines);
+    return lines;
   }
 
   @Override
@@ -130,6 +116,29 @@ public class GcsLogs implements CloudLogs {
     return gcs;
   }
 
+  private static List<LogObject> getAscendingObjects(final Page<Blob> blobs) {
+    final var ascendingTimestampObjects = new ArrayList<LogObject>();
+    // Objects are returned in lexicographical order.
+    blobs.iterateAll().forEach(blob -> ascendingTimestampObjects.add(new LogObject(blob.getName(), blob.getSize())));
+    return ascendingTimestampObjects;
+  }
+
+  private static RangeReader rangeReader(final Storage gcsClient, final String bucket) {
+    return (key, start, end) -> {
+      try (final ReadChannel reader = gcsClient.reader(BlobId.of(bucket, key))) {
+        reader.seek(start);
+        reader.limit(end);
+        final ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+        int read = 0;
+        // a read returns at most a chunk of the channel, keep reading until the range is complete
+        while (buffer.hasRemaining() && read >= 0) {
+          read = reader.read(buffer);
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+      }
+    };
+  }
+
   /**
    * This method exists only for unit testing purposes.
    */
@@ -5,15 +5,13 @@
 package io.airbyte.config.helpers;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Lists;
 import io.airbyte.commons.string.Strings;
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
+import io.airbyte.config.helpers.CloudLogRangeReader.LogObject;
+import io.airbyte.config.helpers.CloudLogRangeReader.RangeReader;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Supplier;
@@ -54,32 +52,29 @@ public class S3Logs implements CloudLogs {
 
   @VisibleForTesting
   static File getFile(final S3Client s3Client, final LogConfigs configs, final String logPath, final int pageSize) throws IOException {
-    LOGGER.debug("Retrieving logs from S3 path: {}", logPath);
-
-    final var s3Bucket = configs.getStorageConfig().getBuckets().getLog();
     final var randomName = Strings.addRandomSuffix("logs", "-", 5);
     final var tmpOutputFile = new File("/tmp/" + randomName);
-    final var os = new FileOutputStream(tmpOutputFile);
+    try (final var os = new FileOutputStream(tmpOutputFile)) {
+      streamCloudLog(s3Client, configs, logPath, pageSize, os);
+    }
+    return tmpOutputFile;
+  }
 
+  private static void streamCloudLog(final S3Client s3Client,
+                                     final LogConfigs configs,
+                                     final String logPath,
+                                     final int pageSize,
+                                     final OutputStream outputStream)
+      throws IOException {
+    LOGGER.debug("Retrieving logs from S3 path: {}", logPath);
+
+    final var s3Bucket = configs.getStorageConfig().getBuckets().getLog();
     LOGGER.debug("Start S3 list request.");
-    final var listObjReq = ListObjectsV2Request.builder().bucket(s3Bucket)
-        .prefix(logPath).maxKeys(pageSize).build();
+    final List<LogObject> objects = getAscendingObjects(s3Client, logPath, s3Bucket, pageSize);
     LOGGER.debug("Start getting S3 objects.");
-    // Objects are returned in lexicographical order.
-    for (final var page : s3Client.listObjectsV2Paginator(listObjReq)) {
-      for (final var objMetadata : page.contents()) {
-        final var getObjReq = GetObjectRequest.builder()
-            .key(objMetadata.key())
-            .bucket(s3Bucket)
-            .build();
-        final var data = s3Client.getObjectAsBytes(getObjReq).asByteArray();
-        os.write(data);
-      }
-    }
-    os.close();
+    CloudLogRangeReader.copy(objects, rangeReader(s3Client, s3Bucket), outputStream);
 
     LOGGER.debug("Done retrieving S3 logs: {}.", logPath);
-    return tmpOutputFile;
   }
 
   @Override
@@ -89,24 +84,10 @@ public class S3Logs implements CloudLogs {
 
     final var s3Bucket = configs.getStorageConfig().getBuckets().getLog();
     LOGGER.debug("Start making S3 list request.");
-    final List<String> ascendingTimestampKeys = getAscendingObjectKeys(s3Client, logPath, s3Bucket);
-    final var descendingTimestampKeys = Lists.reverse(ascendingTimestampKeys);
-
-    final var lines = new ArrayList<String>();
-    int linesRead = 0;
+    final List<LogObject> ascendingTimestampObjects = getAscendingObjects(s3Client, logPath, s3Bucket, LogClientSingleton.DEFAULT_PAGE_SIZE);
 
     LOGGER.debug("Start getting S3 objects.");
-    while (linesRead <= numLines && !descendingTimestampKeys.isEmpty()) {
-      final var poppedKey = descendingTimestampKeys.remove(0);
-      final List<String> currFileLinesReversed = Lists.reverse(getCurrFile(s3Client, s3Bucket, poppedKey));
-      for (final var line : currFileLinesReversed) {
-        if (linesRead == numLines) {
-          break;
-        }
-        lines.add(0, line);
-        linesRead++;
-      }
-    }
+    final List<String> lines = CloudLogRangeReader.tail(ascendingTimestampObjects, rangeReader(s3Client, s3Bucket), numLines);
 
     LOGGER.debug("Done retrieving S3 logs: {}.", logPath);
     return lines;
@@ -141,35 +122,34 @@ public class S3Logs implements CloudLogs {
   }
 
   private static List<String> getAscendingObjectKeys(final S3Client s3Client, final String logPath, final String s3Bucket) {
-    final var listObjReq = ListObjectsV2Request.builder().bucket(s3Bucket).prefix(logPath).build();
-    final var ascendingTimestampObjs = new ArrayList<String>();
+    return getAscendingObjects(s3Client, logPath, s3Bucket, LogClientSingleton.DEFAULT_PAGE_SIZE)
+        .stream().map(LogObject::key)
+        .collect(Collectors.toList());
+  }
+
+  private static List<LogObject> getAscendingObjects(final S3Client s3Client, final String logPath, final String s3Bucket, final int pageSize) {
+    final var listObjReq = ListObjectsV2Request.builder().bucket(s3Bucket).prefix(logPath).maxKeys(pageSize).build();
+    final var ascendingTimestampObjs = new ArrayList<LogObject>();
 
     // Objects are returned in lexicographical order.
     for (final var page : s3Client.listObjectsV2Paginator(listObjReq)) {
       for (final var objMetadata : page.contents()) {
-        ascendingTimestampObjs.add(objMetadata.key());
+        ascendingTimestampObjs.add(new LogObject(objMetadata.key(), objMetadata.size()));
       }
     }
     return ascendingTimestampObjs;
   }
 
-  private static List<String> getCurrFile(final S3Client s3Client, final String s3Bucket, final String poppedKey) throws IOException {
-    final var getObjReq = GetObjectRequest.builder()
-        .key(poppedKey)
-        .bucket(s3Bucket)
-        .build();
-
-    final var data = s3Client.getObjectAsBytes(getObjReq).asByteArray();
-    final var is = new ByteArrayInputStream(data);
-    final var currentFileLines = new ArrayList<String>();
-    try (final var reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
-      String temp = reader.readLine();
-      while (temp != null) {
-        currentFileLines.add(temp);
-        temp = reader.readLine();
-      }
-    }
-    return currentFileLines;
+  private static RangeReader rangeReader(final S3Client s3Client, final String s3Bucket) {
+    return (key, start, end) -> {
+      final var getObjReq = GetObjectRequest.builder()
+          .key(key)
+          .bucket(s3Bucket)
+          // the end of an http range is inclusive
+          .range("bytes=" + start + "-" + (end - 1))
+          .build();
+      return s3Client.getObjectAsBytes(getObjReq).asByteArray();
+    };
   }
 
 }
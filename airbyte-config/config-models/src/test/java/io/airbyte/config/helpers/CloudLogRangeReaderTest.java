@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.airbyte.config.helpers.CloudLogRangeReader.LogObject;
+import io.airbyte.config.helpers.CloudLogRangeReader.RangeReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class CloudLogRangeReaderTest {
+
+  private static final Map<String, String> OBJECTS = Map.of(
+      "1-file", "line 1\nline 2\nline 3\n",
+      "2-file", "line 4\nsomewhat longer line 5\nline 6\n",
+      "3-file", "line 7\n\nline 9");
+  private static final List<LogObject> ASCENDING_OBJECTS = OBJECTS.keySet().stream()
+      .sorted()
+      .map(key -> new LogObject(key, OBJECTS.get(key).getBytes(StandardCharsets.UTF_8).length))
+      .toList();
+
+  private final Map<String, Long> bytesRead = new ConcurrentHashMap<>();
+  private final RangeReader reader = (key, start, end) -> {
+    bytesRead.merge(key, end - start, Long::sum);
+    return Arrays.copyOfRange(OBJECTS.get(key).getBytes(StandardCharsets.UTF_8), (int) start, (int) end);
+  };
+
+  @Test
+  void testCopyKeepsTheObjectsInOrder() throws IOException {
+    final var os = new ByteArrayOutputStream();
+    CloudLogRangeReader.copy(ASCENDING_OBJECTS, reader, os, 5, 3);
+
+    final String expected = ASCENDING_OBJECTS.stream().map(object -> OBJECTS.get(object.key())).collect(Collectors.joining());
+    assertEquals(expected, os.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testTailAcrossRangesAndObjects() throws IOException {
+    final List<String> allLines = List.of("line 1", "line 2", "line 3", "line 4", "somewhat longer line 5", "line 6", "line 7", "", "line 9");
+
+    for (final int rangeSize : List.of(1, 4, 7, 1024)) {
+      for (final int numLines : IntStream.rangeClosed(1, allLines.size() + 2).boxed().toList()) {
+        final List<String> expected = allLines.subList(Math.max(0, allLines.size() - numLines), allLines.size());
+        assertEquals(expected, CloudLogRangeReader.tail(ASCENDING_OBJECTS, reader, numLines, rangeSize, 2),
+            "range size " + rangeSize + ", " + numLines + " lines");
+      }
+    }
+  }
+
+  @Test
+  void testTailOnlyReadsTheEndOfTheNewestObject() throws IOException {
+    assertEquals(List.of("", "line 9"), CloudLogRangeReader.tail(ASCENDING_OBJECTS, reader, 2, 8, 1));
+
+    assertEquals(Collections.singleton("3-file"), bytesRead.keySet());
+  }
+
+  @Test
+  void testTailWithoutObjects() throws IOException {
+    assertEquals(List.of(), CloudLogRangeReader.tail(List.of(), reader, 10));
+  }
+
+  @Test
+  void testReadFailuresArePropagated() {
+    final RangeReader failingReader = (key, start, end) -> {
+      throw new IOException("read failed");
+    };
+    assertThrows(IOException.class, () -> CloudLogRangeReader.copy(ASCENDING_OBJECTS, failingReader, new ByteArrayOutputStream()));
+  }
+
+}
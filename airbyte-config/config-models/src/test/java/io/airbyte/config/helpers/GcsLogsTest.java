@@ -12,15 +12,18 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.api.gax.paging.Page;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.Blob.BlobSourceOption;
+import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.Storage;
 import com.google.common.io.Files;
 import io.airbyte.config.storage.GcsStorageConfig;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -69,11 +72,6 @@ class GcsLogsTest {
 
   @Test
   void testTailCloudLog() throws IOException {
-    final var blob1 = mock(Blob.class);
-    final var blob2 = mock(Blob.class);
-    final var blob3 = mock(Blob.class);
-
-    // Ensure the Blob mocks write to the outputstream that is passed to their downloadTo method.
     // The first blob will contain the file contents:
     // line 1
     // line 2
@@ -86,20 +84,9 @@ class GcsLogsTest {
     // line 7
     // line 8
     // line 9
-    doAnswer(i -> {
-      ((OutputStream) i.getArgument(0)).write("line 1\nline 2\nline 3\n".getBytes(StandardCharsets.UTF_8));
-      return null;
-    }).when(blob1).downloadTo(Mockito.any(OutputStream.class));
-
-    doAnswer(i -> {
-      ((OutputStream) i.getArgument(0)).write("line 4\nline 5\nline 6\n".getBytes(StandardCharsets.UTF_8));
-      return null;
-    }).when(blob2).downloadTo(Mockito.any(OutputStream.class));
-
-    doAnswer(i -> {
-      ((OutputStream) i.getArgument(0)).write("line 7\nline 8\nline 9\n".getBytes(StandardCharsets.UTF_8));
-      return null;
-    }).when(blob3).downloadTo(Mockito.any(OutputStream.class));
+    final var blob1 = mockBlob("blob1", "line 1\nline 2\nline 3\n");
+    final var blob2 = mockBlob("blob2", "line 4\nline 5\nline 6\n");
+    final var blob3 = mockBlob("blob3", "line 7\nline 8\nline 9\n");
 
     when(storage.list(bucketName, Storage.BlobListOption.prefix(logPath))).thenReturn(page);
     when(page.iterateAll()).thenReturn(iterable);
@@ -152,11 +139,6 @@ class GcsLogsTest {
 
   @Test
   void testDownloadCloudLog() throws IOException {
-    final var blob1 = mock(Blob.class);
-    final var blob2 = mock(Blob.class);
-    final var blob3 = mock(Blob.class);
-
-    // Ensure the Blob mocks write to the outputstream that is passed to their downloadTo method.
     // The first blob will contain the file contents:
     // line 1
     // line 2
@@ -169,20 +151,9 @@ class GcsLogsTest {
     // line 7
     // line 8
     // line 9
-    doAnswer(i -> {
-      ((OutputStream) i.getArgument(0)).write("line 1\nline 2\nline 3\n".getBytes(StandardCharsets.UTF_8));
-      return null;
-    }).when(blob1).downloadTo(Mockito.any(OutputStream.class));
-
-    doAnswer(i -> {
-      ((OutputStream) i.getArgument(0)).write("line 4\nline 5\nline 6\n".getBytes(StandardCharsets.UTF_8));
-      return null;
-    }).when(blob2).downloadTo(Mockito.any(OutputStream.class));
-
-    doAnswer(i -> {
-      ((OutputStream) i.getArgument(0)).write("line 7\nline 8\nline 9\n".getBytes(StandardCharsets.UTF_8));
-      return null;
-    }).when(blob3).downloadTo(Mockito.any(OutputStream.class));
+    final var blob1 = mockBlob("blob1", "line 1\nline 2\nline 3\n");
+    final var blob2 = mockBlob("blob2", "line 4\nline 5\nline 6\n");
+    final var blob3 = mockBlob("blob3", "line 7\nline 8\nline 9\n");
 
     when(storage.list(
         bucketName,
@@ -206,4 +177,41 @@ class GcsLogsTest {
     assertEquals(expected, Files.readLines(logs, StandardCharsets.UTF_8));
   }
 
+  /**
+   * Mock a blob whose content can be read with ranged reads through the storage client.
+   */
+  private Blob mockBlob(final String name, final String content) {
+    final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+    final var blob = mock(Blob.class);
+    when(blob.getName()).thenReturn(name);
+    when(blob.getSize()).thenReturn((long) bytes.length);
+    when(storage.reader(BlobId.of(bucketName, name))).thenAnswer(i -> readChannel(bytes));
+    return blob;
+  }
+
+  private static ReadChannel readChannel(final byte[] bytes) throws IOException {
+    final var channel = mock(ReadChannel.class);
+    final var position = new AtomicLong();
+    final var limit = new AtomicLong(bytes.length);
+    doAnswer(i -> {
+      position.set(i.<Long>getArgument(0));
+      return null;
+    }).when(channel).seek(Mockito.anyLong());
+    when(channel.limit(Mockito.anyLong())).thenAnswer(i -> {
+      limit.set(Math.min(i.<Long>getArgument(0), bytes.length));
+      return channel;
+    });
+    when(channel.read(Mockito.any(ByteBuffer.class))).thenAnswer(i -> {
+      final ByteBuffer buffer = i.getArgument(0);
+      final int length = (int) Math.min(buffer.remaining(), limit.get() - position.get());
+      if (length <= 0) {
+        return -1;
+      }
+      buffer.put(bytes, (int) position.get(), length);
+      position.addAndGet(length);
+      return length;
+    });
+    return channel;
+  }
+
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.persistence;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.ActorDefinitionVersion;
+import io.airbyte.config.StandardDestinationDefinition;
+import io.airbyte.config.StandardSourceDefinition;
+import io.airbyte.metrics.lib.MetricAttribute;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricTags;
+import io.airbyte.metrics.lib.NotImplementedMetricClient;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-process cache of the actor definitions and actor definition versions, which are read for every
+ * sync, check and discover but only change when the connector registry is applied or a custom
+ * connector is updated.
+ * <p>
+ * Writes going through the {@link ConfigRepository} or the {@code ApplyDefinitionsHelper} invalidate
+ * the cache of their process. Entries expire after the ttl, which bounds how long other processes
+ * serve a definition after it changed.
+ * <p>
+ * Cached configs are copied in and out of the cache, so callers can't modify them.
+ */
+@Singleton
+public class ActorDefinitionCache {
+
+  private static final String SOURCE_DEFINITION = "source_definition";
+  private static final String DESTINATION_DEFINITION = "destination_definition";
+  private static final String ACTOR_DEFINITION_VERSION = "actor_definition_version";
+
+  private final Cache<UUID, StandardSourceDefinition> sourceDefinitions;
+  private final Cache<UUID, StandardDestinationDefinition> destinationDefinitions;
+  private final Cache<UUID, ActorDefinitionVersion> actorDefinitionVersions;
+  private final MetricClient metricClient;
+
+  public ActorDefinitionCache(@Value("${airbyte.config-cache.max-size:1000}") final long maxSize,
+                              @Value("${airbyte.config-cache.ttl:PT5M}") final Duration ttl,
+                              final MetricClient metricClient) {
+    this.sourceDefinitions = buildCache(maxSize, ttl);
+    this.destinationDefinitions = buildCache(maxSize, ttl);
+    this.actorDefinitionVersions = buildCache(maxSize, ttl);
+    this.metricClient = metricClient;
+  }
+
+  /**
+   * Cache which never keeps any config, for the callers which must always read from the database.
+   *
+   * @return disabled cache
+   */
+  public static ActorDefinitionCache disabled() {
+    return new ActorDefinitionCache(0, Duration.ZERO, new NotImplementedMetricClient());
+  }
+
+  public Optional<StandardSourceDefinition> getSourceDefinition(final UUID sourceDefinitionId) {
+    return get(sourceDefinitions, sourceDefinitionId, SOURCE_DEFINITION);
+  }
+
+  public void putSourceDefinition(final StandardSourceDefinition sourceDefinition) {
+    sourceDefinitions.put(sourceDefinition.getSourceDefinitionId(), Jsons.clone(sourceDefinition));
+  }
+
+  public Optional<StandardDestinationDefinition> getDestinationDefinition(final UUID destinationDefinitionId) {
+    return get(destinationDefinitions, destinationDefinitionId, DESTINATION_DEFINITION);
+  }
+
+  public void putDestinationDefinition(final StandardDestinationDefinition destinationDefinition) {
+    destinationDefinitions.put(destinationDefinition.getDestinationDefinitionId(), Jsons.clone(destinationDefinition));
+  }
+
+  public Optional<ActorDefinitionVersion> getActorDefinitionVersion(final UUID actorDefinitionVersionId) {
+    return get(actorDefinitionVersions, actorDefinitionVersionId, ACTOR_DEFINITION_VERSION);
+  }
+
+  public void putActorDefinitionVersion(final ActorDefinitionVersion actorDefinitionVersion) {
+    actorDefinitionVersions.put(actorDefinitionVersion.getVersionId(), Jsons.clone(actorDefinitionVersion));
+  }
+
+  /**
+   * Drop all the cached configs. Definition writes can change the default version of a definition as
+   * well as the versions, so the whole cache is dropped rather than tracking what a write touched.
+   */
+  public void invalidateAll() {
+    sourceDefinitions.invalidateAll();
+    destinationDefinitions.invalidateAll();
+    actorDefinitionVersions.invalidateAll();
+  }
+
+  @VisibleForTesting
+  long size() {
+    return sourceDefinitions.size() + destinationDefinitions.size() + actorDefinitionVersions.size();
+  }
+
+  private <T> Optional<T> get(final Cache<UUID, T> cache, final UUID id, final String cacheName) {
+    final T cached = cache.getIfPresent(id);
+    metricClient.count(cached != null ? OssMetricsRegistry.CONFIG_CACHE_HIT : OssMetricsRegistry.CONFIG_CACHE_MISS, 1,
+        new MetricAttribute(MetricTags.CACHE_NAME, cacheName));
+    return Optional.ofNullable(cached).map(Jsons::clone);
+  }
+
+  private static <T> Cache<UUID, T> buildCache(final long maxSize, final Duration ttl) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl)
+        .build();
+  }
+
+}
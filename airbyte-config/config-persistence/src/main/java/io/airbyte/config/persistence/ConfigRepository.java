@@ -149,6 +149,7 @@ public class ConfigRepository {
   private final OperationService operationService;
   private final SourceService sourceService;
   private final WorkspaceService workspaceService;
+  private final ActorDefinitionCache actorDefinitionCache;
 
   @SuppressWarnings("ParameterName")
   @VisibleForTesting
@@ -161,6 +162,21 @@ public class ConfigRepository {
                           final OperationService operationService,
                           final SourceService sourceService,
                           final WorkspaceService workspaceService) {
+    this(actorDefinitionService, catalogService, connectionService, connectorBuilderService, destinationService, oAuthService, operationService,
+        sourceService, workspaceService, ActorDefinitionCache.disabled());
+  }
+
+  @SuppressWarnings("ParameterName")
+  public ConfigRepository(final ActorDefinitionService actorDefinitionService,
+                          final CatalogService catalogService,
+                          final ConnectionService connectionService,
+                          final ConnectorBuilderService connectorBuilderService,
+                          final DestinationService destinationService,
+                          final OAuthService oAuthService,
+                          final OperationService operationService,
+                          final SourceService sourceService,
+                          final WorkspaceService workspaceService,
+                          final ActorDefinitionCache actorDefinitionCache) {
     this.actorDefinitionService = actorDefinitionService;
     this.catalogService = catalogService;
     this.connectionService = connectionService;
@@ -170,6 +186,7 @@ public class ConfigRepository {
     this.operationService = operationService;
     this.sourceService = sourceService;
     this.workspaceService = workspaceService;
+    this.actorDefinitionCache = actorDefinitionCache;
   }
 
   /**
@@ -322,8 +339,14 @@ public class ConfigRepository {
   @Deprecated
   public StandardSourceDefinition getStandardSourceDefinition(final UUID sourceDefinitionId)
       throws JsonValidationException, IOException, ConfigNotFoundException {
+    final Optional<StandardSourceDefinition> cached = actorDefinitionCache.getSourceDefinition(sourceDefinitionId);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
     try {
-      return sourceService.getStandardSourceDefinition(sourceDefinitionId);
+      final StandardSourceDefinition sourceDefinition = sourceService.getStandardSourceDefinition(sourceDefinitionId);
+      actorDefinitionCache.putSourceDefinition(sourceDefinition);
+      return sourceDefinition;
     } catch (final io.airbyte.data.exceptions.ConfigNotFoundException e) {
       throw new ConfigNotFoundException(e.getType(), e.getConfigId());
     }
@@ -466,6 +489,7 @@ public class ConfigRepository {
       throws IOException, JsonValidationException, ConfigNotFoundException {
     try {
       sourceService.updateStandardSourceDefinition(sourceDefinition);
+      actorDefinitionCache.invalidateAll();
     } catch (final io.airbyte.data.exceptions.ConfigNotFoundException e) {
       throw new ConfigNotFoundException(e.getType(), e.getConfigId());
     }
@@ -480,7 +504,9 @@ public class ConfigRepository {
    */
   @Deprecated
   public int updateActorDefinitionsDockerImageTag(final List<UUID> actorDefinitionIds, final String targetImageTag) throws IOException {
-    return actorDefinitionService.updateActorDefinitionsDockerImageTag(actorDefinitionIds, targetImageTag);
+    final int updatedCount = actorDefinitionService.updateActorDefinitionsDockerImageTag(actorDefinitionIds, targetImageTag);
+    actorDefinitionCache.invalidateAll();
+    return updatedCount;
   }
 
   /**
@@ -495,8 +521,14 @@ public class ConfigRepository {
   @Deprecated
   public StandardDestinationDefinition getStandardDestinationDefinition(final UUID destinationDefinitionId)
       throws JsonValidationException, IOException, ConfigNotFoundException {
+    final Optional<StandardDestinationDefinition> cached = actorDefinitionCache.getDestinationDefinition(destinationDefinitionId);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
     try {
-      return destinationService.getStandardDestinationDefinition(destinationDefinitionId);
+      final StandardDestinationDefinition destinationDefinition = destinationService.getStandardDestinationDefinition(destinationDefinitionId);
+      actorDefinitionCache.putDestinationDefinition(destinationDefinition);
+      return destinationDefinition;
     } catch (final io.airbyte.data.exceptions.ConfigNotFoundException e) {
       throw new ConfigNotFoundException(e.getType(), e.getConfigId());
     }
@@ -588,6 +620,7 @@ public class ConfigRepository {
       throws IOException, JsonValidationException, ConfigNotFoundException {
     try {
       destinationService.updateStandardDestinationDefinition(destinationDefinition);
+      actorDefinitionCache.invalidateAll();
     } catch (final io.airbyte.data.exceptions.ConfigNotFoundException e) {
       throw new ConfigNotFoundException(e.getType(), e.getConfigId());
     }
@@ -610,6 +643,7 @@ public class ConfigRepository {
                                      final List<ActorDefinitionBreakingChange> breakingChangesForDefinition)
       throws IOException {
     destinationService.writeConnectorMetadata(destinationDefinition, actorDefinitionVersion, breakingChangesForDefinition);
+    actorDefinitionCache.invalidateAll();
   }
 
   /**
@@ -628,6 +662,7 @@ public class ConfigRepository {
                                      final ActorDefinitionVersion actorDefinitionVersion)
       throws IOException {
     destinationService.writeConnectorMetadata(destinationDefinition, actorDefinitionVersion, List.of());
+    actorDefinitionCache.invalidateAll();
   }
 
   /**
@@ -647,6 +682,7 @@ public class ConfigRepository {
                                      final List<ActorDefinitionBreakingChange> breakingChangesForDefinition)
       throws IOException {
     sourceService.writeConnectorMetadata(sourceDefinition, actorDefinitionVersion, breakingChangesForDefinition);
+    actorDefinitionCache.invalidateAll();
   }
 
   /**
@@ -665,6 +701,7 @@ public class ConfigRepository {
                                      final ActorDefinitionVersion actorDefinitionVersion)
       throws IOException {
     sourceService.writeConnectorMetadata(sourceDefinition, actorDefinitionVersion, List.of());
+    actorDefinitionCache.invalidateAll();
   }
 
   /**
@@ -684,6 +721,7 @@ public class ConfigRepository {
                                            final io.airbyte.config.ScopeType scopeType)
       throws IOException {
     destinationService.writeCustomConnectorMetadata(destinationDefinition, defaultVersion, scopeId, scopeType);
+    actorDefinitionCache.invalidateAll();
   }
 
   /**
@@ -703,6 +741,7 @@ public class ConfigRepository {
                                            final io.airbyte.config.ScopeType scopeType)
       throws IOException {
     sourceService.writeCustomConnectorMetadata(sourceDefinition, defaultVersion, scopeId, scopeType);
+    actorDefinitionCache.invalidateAll();
   }
 
   /**
@@ -1838,6 +1877,7 @@ public class ConfigRepository {
                                                        final ConnectorSpecification connectorSpecification)
       throws IOException {
     connectorBuilderService.createDeclarativeManifestAsActiveVersion(declarativeManifest, configInjection, connectorSpecification);
+    actorDefinitionCache.invalidateAll();
   }
 
   /**
@@ -1881,6 +1921,7 @@ public class ConfigRepository {
                                                 final ConnectorSpecification connectorSpecification)
       throws IOException {
     connectorBuilderService.setDeclarativeSourceActiveVersion(sourceDefinitionId, version, configInjection, connectorSpecification);
+    actorDefinitionCache.invalidateAll();
   }
 
   /**
@@ -2002,7 +2043,9 @@ public class ConfigRepository {
    */
   @Deprecated
   public ActorDefinitionVersion writeActorDefinitionVersion(final ActorDefinitionVersion actorDefinitionVersion) throws IOException {
-    return actorDefinitionService.writeActorDefinitionVersion(actorDefinitionVersion);
+    final ActorDefinitionVersion writtenVersion = actorDefinitionService.writeActorDefinitionVersion(actorDefinitionVersion);
+    actorDefinitionCache.invalidateAll();
+    return writtenVersion;
   }
 
   /**
@@ -2032,8 +2075,14 @@ public class ConfigRepository {
    */
   @Deprecated
   public ActorDefinitionVersion getActorDefinitionVersion(final UUID actorDefinitionVersionId) throws IOException, ConfigNotFoundException {
+    final Optional<ActorDefinitionVersion> cached = actorDefinitionCache.getActorDefinitionVersion(actorDefinitionVersionId);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
     try {
-      return actorDefinitionService.getActorDefinitionVersion(actorDefinitionVersionId);
+      final ActorDefinitionVersion actorDefinitionVersion = actorDefinitionService.getActorDefinitionVersion(actorDefinitionVersionId);
+      actorDefinitionCache.putActorDefinitionVersion(actorDefinitionVersion);
+      return actorDefinitionVersion;
     } catch (final io.airbyte.data.exceptions.ConfigNotFoundException e) {
       throw new ConfigNotFoundException(e.getType(), e.getConfigId());
     }
@@ -2098,6 +2147,7 @@ public class ConfigRepository {
                                                      final ActorDefinitionVersion.SupportState supportState)
       throws IOException {
     actorDefinitionService.setActorDefinitionVersionSupportStates(actorDefinitionVersionIds, supportState);
+    actorDefinitionCache.invalidateAll();
   }
 
   /**
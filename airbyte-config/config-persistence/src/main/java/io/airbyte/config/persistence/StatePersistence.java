@@ -64,7 +64,7 @@ public class StatePersistence {
       return Optional.empty();
     }
 
-    return switch (getStateType(connectionId, records)) {
+    return switch (getStateType(connectionId, records.stream().map(r -> r.type).collect(Collectors.toSet()))) {
       case GLOBAL -> Optional.of(buildGlobalState(records));
       case STREAM -> Optional.of(buildStreamState(records));
       default -> Optional.of(buildLegacyState(records));
@@ -84,14 +84,15 @@ public class StatePersistence {
    */
   public void updateOrCreateState(final UUID connectionId, final StateWrapper state)
       throws IOException {
-    final Optional<StateWrapper> previousState = getCurrentState(connectionId);
+    // Only the type of the previous state is needed, there is no need to read the states themselves.
+    final Optional<StateType> previousStateType = getCurrentStateType(connectionId);
     final StateType currentStateType = state.getStateType();
-    final boolean isMigration = StateMessageHelper.isMigration(currentStateType, previousState);
+    final boolean isMigration = StateMessageHelper.isMigration(currentStateType, previousStateType.orElse(null));
 
     // The only case where we allow a state migration is moving from LEGACY.
     // We expect any other migration to go through an explicit reset.
-    if (!isMigration && previousState.isPresent() && previousState.get().getStateType() != currentStateType) {
-      throw new IllegalStateException("Unexpected type migration from '" + previousState.get().getStateType() + "' to '" + currentStateType
+    if (!isMigration && previousStateType.isPresent() && previousStateType.get() != currentStateType) {
+      throw new IllegalStateException("Unexpected type migration from '" + previousStateType.get() + "' to '" + currentStateType
           + "'. Migration of StateType need to go through an explicit reset.");
     }
 
@@ -113,13 +114,14 @@ public class StatePersistence {
 
   private static void clearLegacyState(final DSLContext ctx, final UUID connectionId) {
     final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
-    writeStateToDb(ctx, connectionId, null, null, StateType.LEGACY, null, stateUpdateBatch);
+    writeStateToDb(ctx, connectionId, null, null, StateType.LEGACY, null, Set.of(), stateUpdateBatch);
     stateUpdateBatch.save(ctx);
   }
 
   private static void saveGlobalState(final DSLContext ctx, final UUID connectionId, final AirbyteGlobalState globalState) {
+    final Set<StreamKey> existingStreams = getExistingStreams(ctx, connectionId);
     final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
-    writeStateToDb(ctx, connectionId, null, null, StateType.GLOBAL, globalState.getSharedState(), stateUpdateBatch);
+    writeStateToDb(ctx, connectionId, null, null, StateType.GLOBAL, globalState.getSharedState(), existingStreams, stateUpdateBatch);
     for (final AirbyteStreamState streamState : globalState.getStreamStates()) {
       writeStateToDb(ctx,
           connectionId,
@@ -127,12 +129,14 @@ public class StatePersistence {
           streamState.getStreamDescriptor().getNamespace(),
           StateType.GLOBAL,
           streamState.getStreamState(),
+          existingStreams,
           stateUpdateBatch);
     }
     stateUpdateBatch.save(ctx);
   }
 
   private static void saveStreamState(final DSLContext ctx, final UUID connectionId, final List<AirbyteStateMessage> stateMessages) {
+    final Set<StreamKey> existingStreams = getExistingStreams(ctx, connectionId);
     final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
     for (final AirbyteStateMessage stateMessage : stateMessages) {
       final AirbyteStreamState streamState = stateMessage.getStream();
@@ -142,6 +146,7 @@ public class StatePersistence {
           streamState.getStreamDescriptor().getNamespace(),
           StateType.STREAM,
           streamState.getStreamState(),
+          existingStreams,
           stateUpdateBatch);
     }
     stateUpdateBatch.save(ctx);
@@ -149,14 +154,28 @@ public class StatePersistence {
 
   private static void saveLegacyState(final DSLContext ctx, final UUID connectionId, final JsonNode state) {
     final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
-    writeStateToDb(ctx, connectionId, null, null, StateType.LEGACY, state, stateUpdateBatch);
+    writeStateToDb(ctx, connectionId, null, null, StateType.LEGACY, state, getExistingStreams(ctx, connectionId), stateUpdateBatch);
     stateUpdateBatch.save(ctx);
   }
 
+  /**
+   * Get the stream name and namespace of the state records of a connection, without reading the
+   * states.
+   */
+  private static Set<StreamKey> getExistingStreams(final DSLContext ctx, final UUID connectionId) {
+    return ctx.select(STATE.STREAM_NAME, STATE.NAMESPACE)
+        .from(STATE)
+        .where(STATE.CONNECTION_ID.eq(connectionId))
+        .fetch(record -> new StreamKey(record.value1(), record.value2()))
+        .stream()
+        .collect(Collectors.toSet());
+  }
+
   /**
    * Performs the actual SQL operation depending on the state.
    *
-   * If the state is null, it will delete the row, otherwise do an insert or update on conflict
+   * If the state is null, it will delete the row, otherwise do an insert, or an update if the state
+   * changed. All the operations are added to the batch, which executes them together.
    */
   static void writeStateToDb(final DSLContext ctx,
                              final UUID connectionId,
@@ -164,12 +183,10 @@ public class StatePersistence {
                              final String namespace,
                              final StateType stateType,
                              final JsonNode state,
+                             final Set<StreamKey> existingStreams,
                              final StateUpdateBatch stateUpdateBatch) {
     if (state != null) {
-      final boolean hasState = ctx.fetchExists(STATE,
-          STATE.CONNECTION_ID.eq(connectionId),
-          PersistenceHelpers.isNullOrEquals(STATE.STREAM_NAME, streamName),
-          PersistenceHelpers.isNullOrEquals(STATE.NAMESPACE, namespace));
+      final boolean hasState = existingStreams.contains(new StreamKey(streamName, namespace));
 
       // NOTE: the legacy code was storing a State object instead of just the State data field. We kept
       // the same behavior for consistency.
@@ -206,7 +223,9 @@ public class StatePersistence {
                 .where(
                     STATE.CONNECTION_ID.eq(connectionId),
                     PersistenceHelpers.isNullOrEquals(STATE.STREAM_NAME, streamName),
-                    PersistenceHelpers.isNullOrEquals(STATE.NAMESPACE, namespace)));
+                    PersistenceHelpers.isNullOrEquals(STATE.NAMESPACE, namespace),
+                    // Unchanged states are not rewritten
+                    STATE.STATE_.isDistinctFrom(jsonbState)));
       }
 
     } else {
@@ -221,20 +240,37 @@ public class StatePersistence {
   }
 
   /**
-   * Get the StateType for a given list of StateRecords.
+   * Get the StateType of the current State of a Connection.
+   *
+   * @param connectionId connection id
+   * @return the StateType of the current state, empty if there is no state for the connection
+   * @throws IllegalStateException If the state records have inconsistent types
+   */
+  private Optional<StateType> getCurrentStateType(final UUID connectionId) throws IOException {
+    final Set<io.airbyte.db.instance.configs.jooq.generated.enums.StateType> types = this.database.query(ctx -> ctx.selectDistinct(STATE.TYPE)
+        .from(STATE)
+        .where(STATE.CONNECTION_ID.eq(connectionId))
+        .fetchSet(STATE.TYPE));
+
+    if (types.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(Enums.convertTo(getStateType(connectionId, types), StateType.class));
+  }
+
+  /**
+   * Get the StateType for the types of a list of StateRecords.
    *
    * @param connectionId The connectionId of the records, used to add more debugging context if an
    *        error is detected
-   * @param records The list of StateRecords to process, must not be empty
+   * @param types The types of the StateRecords to process, must not be empty
    * @return the StateType of the records
    * @throws IllegalStateException If StateRecords have inconsistent types
    */
   @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
   private static io.airbyte.db.instance.configs.jooq.generated.enums.StateType getStateType(
                                                                                             final UUID connectionId,
-                                                                                            final List<StateRecord> records) {
-    final Set<io.airbyte.db.instance.configs.jooq.generated.enums.StateType> types =
-        records.stream().map(r -> r.type).collect(Collectors.toSet());
+                                                                                            final Set<io.airbyte.db.instance.configs.jooq.generated.enums.StateType> types) {
     if (types.size() == 1) {
       return types.stream().findFirst().get();
     }
@@ -327,6 +363,8 @@ public class StatePersistence {
         Jsons.deserialize(record.get(STATE.STATE_).data()));
   }
 
+  record StreamKey(String streamName, String namespace) {}
+
   private record StateRecord(
                              io.airbyte.db.instance.configs.jooq.generated.enums.StateType type,
                              String streamName,
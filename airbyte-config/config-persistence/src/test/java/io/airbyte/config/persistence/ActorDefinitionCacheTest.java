@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.airbyte.config.ActorDefinitionVersion;
+import io.airbyte.config.StandardDestinationDefinition;
+import io.airbyte.config.StandardSourceDefinition;
+import io.airbyte.metrics.lib.MetricAttribute;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ActorDefinitionCacheTest {
+
+  private MetricClient metricClient;
+  private ActorDefinitionCache cache;
+
+  @BeforeEach
+  void setup() {
+    metricClient = mock(MetricClient.class);
+    cache = new ActorDefinitionCache(100, Duration.ofMinutes(5), metricClient);
+  }
+
+  @Test
+  void testGetReturnsWhatWasPut() {
+    final StandardSourceDefinition sourceDefinition = new StandardSourceDefinition()
+        .withSourceDefinitionId(UUID.randomUUID())
+        .withName("source");
+    final StandardDestinationDefinition destinationDefinition = new StandardDestinationDefinition()
+        .withDestinationDefinitionId(UUID.randomUUID())
+        .withName("destination");
+    final ActorDefinitionVersion actorDefinitionVersion = new ActorDefinitionVersion()
+        .withVersionId(UUID.randomUUID())
+        .withDockerImageTag("1.0.0");
+
+    cache.putSourceDefinition(sourceDefinition);
+    cache.putDestinationDefinition(destinationDefinition);
+    cache.putActorDefinitionVersion(actorDefinitionVersion);
+
+    assertEquals(sourceDefinition, cache.getSourceDefinition(sourceDefinition.getSourceDefinitionId()).orElseThrow());
+    assertEquals(destinationDefinition, cache.getDestinationDefinition(destinationDefinition.getDestinationDefinitionId()).orElseThrow());
+    assertEquals(actorDefinitionVersion, cache.getActorDefinitionVersion(actorDefinitionVersion.getVersionId()).orElseThrow());
+    verify(metricClient, times(3)).count(eq(OssMetricsRegistry.CONFIG_CACHE_HIT), eq(1L), any(MetricAttribute.class));
+  }
+
+  @Test
+  void testMiss() {
+    assertTrue(cache.getSourceDefinition(UUID.randomUUID()).isEmpty());
+    verify(metricClient).count(eq(OssMetricsRegistry.CONFIG_CACHE_MISS), eq(1L), any(MetricAttribute.class));
+  }
+
+  @Test
+  void testCachedConfigsAreCopied() {
+    final StandardSourceDefinition sourceDefinition = new StandardSourceDefinition()
+        .withSourceDefinitionId(UUID.randomUUID())
+        .withName("source");
+    cache.putSourceDefinition(sourceDefinition);
+    sourceDefinition.setName("modified after put");
+
+    final StandardSourceDefinition cached = cache.getSourceDefinition(sourceDefinition.getSourceDefinitionId()).orElseThrow();
+    assertEquals("source", cached.getName());
+    cached.setName("modified after get");
+
+    final StandardSourceDefinition cachedAgain = cache.getSourceDefinition(sourceDefinition.getSourceDefinitionId()).orElseThrow();
+    assertNotSame(cached, cachedAgain);
+    assertEquals("source", cachedAgain.getName());
+  }
+
+  @Test
+  void testInvalidateAll() {
+    cache.putSourceDefinition(new StandardSourceDefinition().withSourceDefinitionId(UUID.randomUUID()));
+    cache.putDestinationDefinition(new StandardDestinationDefinition().withDestinationDefinitionId(UUID.randomUUID()));
+    cache.putActorDefinitionVersion(new ActorDefinitionVersion().withVersionId(UUID.randomUUID()));
+    assertEquals(3, cache.size());
+
+    cache.invalidateAll();
+
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void testDisabledCacheKeepsNothing() {
+    final ActorDefinitionCache disabled = ActorDefinitionCache.disabled();
+    final UUID sourceDefinitionId = UUID.randomUUID();
+    disabled.putSourceDefinition(new StandardSourceDefinition().withSourceDefinitionId(sourceDefinitionId));
+
+    assertTrue(disabled.getSourceDefinition(sourceDefinitionId).isEmpty());
+    assertEquals(0, disabled.size());
+  }
+
+}
@@ -44,6 +44,7 @@ import io.airbyte.test.utils.BaseConfigDatabaseTest;
 import io.airbyte.validation.json.JsonValidationException;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -484,6 +485,35 @@ class StatePersistenceTest extends BaseConfigDatabaseTest {
         partialResetResult);
   }
 
+  @Test
+  void testUnchangedStreamStatesAreNotRewritten() throws IOException, SQLException {
+    final StateWrapper state0 = new StateWrapper()
+        .withStateType(StateType.STREAM)
+        .withStateMessages(Arrays.asList(
+            new AirbyteStateMessage()
+                .withType(AirbyteStateType.STREAM)
+                .withStream(new AirbyteStreamState()
+                    .withStreamDescriptor(new StreamDescriptor().withName("s1").withNamespace("n1"))
+                    .withStreamState(Jsons.deserialize(STATE_WITH_NAMESPACE))),
+            new AirbyteStateMessage()
+                .withType(AirbyteStateType.STREAM)
+                .withStream(new AirbyteStreamState()
+                    .withStreamDescriptor(new StreamDescriptor().withName("s2"))
+                    .withStreamState(Jsons.deserialize(STREAM_STATE_2)))));
+    statePersistence.updateOrCreateState(connectionId, state0);
+    final OffsetDateTime s1UpdatedAt = getUpdatedAt("s1");
+    final OffsetDateTime s2UpdatedAt = getUpdatedAt("s2");
+
+    // Only s2 changed
+    final StateWrapper state1 = clone(state0);
+    state1.getStateMessages().get(1).getStream().withStreamState(Jsons.deserialize("\"updated state s2\""));
+    statePersistence.updateOrCreateState(connectionId, state1);
+
+    assertEquals(state1, statePersistence.getCurrentState(connectionId).orElseThrow());
+    Assertions.assertEquals(s1UpdatedAt, getUpdatedAt("s1"));
+    Assertions.assertNotEquals(s2UpdatedAt, getUpdatedAt("s2"));
+  }
+
   @Test
   void testStreamFullReset() throws IOException {
     final StateWrapper state0 = new StateWrapper()
@@ -594,6 +624,13 @@ class StatePersistenceTest extends BaseConfigDatabaseTest {
     Assertions.assertEquals(readStates.get(0).getState(), stateWrapper.getLegacyState());
   }
 
+  private OffsetDateTime getUpdatedAt(final String streamName) throws SQLException {
+    return database.query(ctx -> ctx.select(DSL.field("updated_at", OffsetDateTime.class))
+        .from(DSL.table(STATE))
+        .where(DSL.field("connection_id").eq(connectionId), DSL.field("stream_name").eq(streamName))
+        .fetchOne(0, OffsetDateTime.class));
+  }
+
   private StateWrapper clone(final StateWrapper state) {
     return switch (state.getStateType()) {
       case LEGACY -> new StateWrapper()
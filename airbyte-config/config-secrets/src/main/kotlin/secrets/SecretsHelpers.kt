@@ -175,6 +175,8 @@ object SecretsHelpers {
    * Replaces {"_secret": "full_coordinate"} objects in the partial config with the string secret
    * payloads loaded from the secret persistence at those coordinates.
    *
+   * All the secrets of the config are loaded with a single [ReadOnlySecretPersistence.readMany] call.
+   *
    * @param partialConfig configuration containing secret coordinates (references to secrets)
    * @param secretPersistence secret storage mechanism
    * @return full config including actual secret values
@@ -184,33 +186,63 @@ object SecretsHelpers {
     secretPersistence: ReadOnlySecretPersistence,
   ): JsonNode {
     return if (partialConfig != null) {
-      val config = partialConfig.deepCopy<JsonNode>()
+      val coordinates = mutableSetOf<SecretCoordinate>()
+      collectCoordinates(partialConfig, coordinates)
+      val secrets = if (coordinates.isEmpty()) emptyMap() else secretPersistence.readMany(coordinates)
+      combineConfig(partialConfig.deepCopy(), secrets)
+    } else {
+      JsonNodeFactory.instance.objectNode()
+    }
+  }
 
-      // if the entire config is a secret coordinate object
-      if (config.has(COORDINATE_FIELD)) {
-        val coordinateNode = config[COORDINATE_FIELD]
-        val coordinate: SecretCoordinate =
-          getCoordinateFromTextNode(coordinateNode)
-        return TextNode(getOrThrowSecretValue(secretPersistence, coordinate))
-      }
+  private fun combineConfig(
+    config: JsonNode,
+    secrets: Map<SecretCoordinate, String>,
+  ): JsonNode {
+    // if the entire config is a secret coordinate object
+    if (config.has(COORDINATE_FIELD)) {
+      val coordinateNode = config[COORDINATE_FIELD]
+      val coordinate: SecretCoordinate =
+        getCoordinateFromTextNode(coordinateNode)
+      return TextNode(getOrThrowSecretValue(secrets[coordinate] ?: "", coordinate))
+    }
 
-      // otherwise iterate through all object fields
-      config.fields().forEachRemaining { (fieldName, fieldNode): Map.Entry<String, JsonNode> ->
-        if (fieldNode is ArrayNode) {
-          for (i in 0 until fieldNode.size()) {
-            fieldNode[i] =
-              combineConfig(fieldNode[i], secretPersistence)
-          }
-        } else if (fieldNode is ObjectNode) {
-          (config as ObjectNode).replace(
-            fieldName,
-            combineConfig(fieldNode, secretPersistence),
-          )
+    // otherwise iterate through all object fields
+    config.fields().forEachRemaining { (fieldName, fieldNode): Map.Entry<String, JsonNode> ->
+      if (fieldNode is ArrayNode) {
+        for (i in 0 until fieldNode.size()) {
+          fieldNode[i] =
+            combineConfig(fieldNode[i], secrets)
         }
+      } else if (fieldNode is ObjectNode) {
+        (config as ObjectNode).replace(
+          fieldName,
+          combineConfig(fieldNode, secrets),
+        )
+      }
+    }
+    return config
+  }
+
+  /**
+   * Collects the coordinates of all the {"_secret": "full_coordinate"} objects of the config, following
+   * the same walk as [combineConfig].
+   */
+  private fun collectCoordinates(
+    config: JsonNode,
+    coordinates: MutableSet<SecretCoordinate>,
+  ) {
+    if (config.has(COORDINATE_FIELD)) {
+      coordinates.add(getCoordinateFromTextNode(config[COORDINATE_FIELD]))
+      return
+    }
+
+    config.fields().forEachRemaining { (_, fieldNode): Map.Entry<String, JsonNode> ->
+      if (fieldNode is ArrayNode) {
+        fieldNode.forEach { collectCoordinates(it, coordinates) }
+      } else if (fieldNode is ObjectNode) {
+        collectCoordinates(fieldNode, coordinates)
       }
-      config
-    } else {
-      JsonNodeFactory.instance.objectNode()
     }
   }
 
@@ -397,7 +429,14 @@ object SecretsHelpers {
     secretPersistence: ReadOnlySecretPersistence,
     coordinate: SecretCoordinate,
   ): String {
-    val secret: String = secretPersistence.read(coordinate)
+    return getOrThrowSecretValue(secretPersistence.read(coordinate), coordinate)
+  }
+
+  @Throws(RuntimeException::class)
+  private fun getOrThrowSecretValue(
+    secret: String,
+    coordinate: SecretCoordinate,
+  ): String {
     if (secret.isNotBlank()) {
       return secret
     } else {
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.secrets.hydration
+
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import io.airbyte.config.secrets.SecretCoordinate
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import java.security.SecureRandom
+import java.time.Duration
+import javax.crypto.Cipher
+import javax.crypto.KeyGenerator
+import javax.crypto.SecretKey
+import javax.crypto.spec.GCMParameterSpec
+
+private const val CIPHER = "AES/GCM/NoPadding"
+private const val KEY_SIZE_BITS = 256
+private const val IV_SIZE_BYTES = 12
+private const val TAG_SIZE_BITS = 128
+
+/**
+ * Short-lived in-memory cache of secret payloads, keyed by full coordinate (base and version).
+ *
+ * Payloads are kept encrypted with a key which is generated when the cache is created and never
+ * leaves the process, so cached secrets don't appear in clear text in heap dumps. Secrets which
+ * don't exist are not cached, so a secret is visible as soon as it has been written.
+ */
+class EncryptedSecretCache(ttl: Duration, maxSize: Long) {
+  private val enabled = !ttl.isZero && !ttl.isNegative && maxSize > 0
+  private val cache: Cache<SecretCoordinate, ByteArray> =
+    CacheBuilder.newBuilder()
+      .maximumSize(maxSize.coerceAtLeast(0))
+      .expireAfterWrite(if (enabled) ttl else Duration.ZERO)
+      .build()
+  private val key: SecretKey = KeyGenerator.getInstance("AES").apply { init(KEY_SIZE_BITS) }.generateKey()
+  private val random = SecureRandom()
+
+  fun get(coordinate: SecretCoordinate): String? {
+    return cache.getIfPresent(coordinate)?.let { decrypt(it) }
+  }
+
+  fun put(
+    coordinate: SecretCoordinate,
+    payload: String,
+  ) {
+    if (enabled && payload.isNotBlank()) {
+      cache.put(coordinate, encrypt(payload))
+    }
+  }
+
+  fun invalidateAll() {
+    cache.invalidateAll()
+  }
+
+  private fun encrypt(payload: String): ByteArray {
+    val iv = ByteArray(IV_SIZE_BYTES).also { random.nextBytes(it) }
+    val cipher = Cipher.getInstance(CIPHER).apply { init(Cipher.ENCRYPT_MODE, key, GCMParameterSpec(TAG_SIZE_BITS, iv)) }
+    val encrypted = cipher.doFinal(payload.toByteArray(StandardCharsets.UTF_8))
+    return ByteBuffer.allocate(iv.size + encrypted.size).put(iv).put(encrypted).array()
+  }
+
+  private fun decrypt(entry: ByteArray): String {
+    val cipher =
+      Cipher.getInstance(CIPHER).apply {
+        init(Cipher.DECRYPT_MODE, key, GCMParameterSpec(TAG_SIZE_BITS, entry, 0, IV_SIZE_BYTES))
+      }
+    return String(cipher.doFinal(entry, IV_SIZE_BYTES, entry.size - IV_SIZE_BYTES), StandardCharsets.UTF_8)
+  }
+}
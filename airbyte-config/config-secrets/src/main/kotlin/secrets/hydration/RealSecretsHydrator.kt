@@ -5,20 +5,34 @@
 package io.airbyte.config.secrets.hydration
 
 import com.fasterxml.jackson.databind.JsonNode
+import io.airbyte.config.secrets.SecretCoordinate
 import io.airbyte.config.secrets.SecretsHelpers
+import io.airbyte.config.secrets.persistence.ReadOnlySecretPersistence
 import io.airbyte.config.secrets.persistence.RuntimeSecretPersistence
 import io.airbyte.config.secrets.persistence.SecretPersistence
 import io.micronaut.context.annotation.Requires
+import io.micronaut.context.annotation.Value
 import jakarta.inject.Singleton
+import java.time.Duration
 
 /**
  * Adds secrets to a partial config based off a persistence.
+ *
+ * Secrets read from the default secret persistence are kept in a short-lived [EncryptedSecretCache],
+ * as the same connector configs get hydrated for every check, discover and sync. Runtime secret
+ * persistences are built per request from a customer provided config and are never cached.
  */
 @Requires(bean = SecretPersistence::class)
 @Singleton
-class RealSecretsHydrator(private val secretPersistence: SecretPersistence) : SecretsHydrator {
+class RealSecretsHydrator(
+  private val secretPersistence: SecretPersistence,
+  @Value("\${airbyte.secret.cache.ttl:PT1M}") cacheTtl: Duration = Duration.ofMinutes(1),
+  @Value("\${airbyte.secret.cache.max-size:10000}") cacheMaxSize: Long = 10000,
+) : SecretsHydrator {
+  private val cachedSecretPersistence = CachedSecretPersistence(secretPersistence, EncryptedSecretCache(cacheTtl, cacheMaxSize))
+
   override fun hydrateFromDefaultSecretPersistence(partialConfig: JsonNode): JsonNode {
-    return SecretsHelpers.combineConfig(partialConfig, secretPersistence)
+    return SecretsHelpers.combineConfig(partialConfig, cachedSecretPersistence)
   }
 
   override fun hydrateFromRuntimeSecretPersistence(
@@ -29,7 +43,7 @@ class RealSecretsHydrator(private val secretPersistence: SecretPersistence) : Se
   }
 
   override fun hydrateSecretCoordinateFromDefaultSecretPersistence(secretCoordinate: JsonNode): JsonNode {
-    return SecretsHelpers.hydrateSecretCoordinate(secretCoordinate, secretPersistence)
+    return SecretsHelpers.hydrateSecretCoordinate(secretCoordinate, cachedSecretPersistence)
   }
 
   override fun hydrateSecretCoordinateFromRuntimeSecretPersistence(
@@ -38,4 +52,37 @@ class RealSecretsHydrator(private val secretPersistence: SecretPersistence) : Se
   ): JsonNode {
     return SecretsHelpers.hydrateSecretCoordinate(secretCoordinate, runtimeSecretPersistence)
   }
+
+  /**
+   * Serves the secrets from the cache and only reads the missing ones from the persistence.
+   */
+  private class CachedSecretPersistence(
+    private val delegate: SecretPersistence,
+    private val cache: EncryptedSecretCache,
+  ) : ReadOnlySecretPersistence {
+    override fun read(coordinate: SecretCoordinate): String {
+      return cache.get(coordinate) ?: delegate.read(coordinate).also { cache.put(coordinate, it) }
+    }
+
+    override fun readMany(coordinates: Collection<SecretCoordinate>): Map<SecretCoordinate, String> {
+      val secrets = mutableMapOf<SecretCoordinate, String>()
+      val missingCoordinates = mutableListOf<SecretCoordinate>()
+      coordinates.distinct().forEach { coordinate ->
+        val cached = cache.get(coordinate)
+        if (cached != null) {
+          secrets[coordinate] = cached
+        } else {
+          missingCoordinates.add(coordinate)
+        }
+      }
+
+      if (missingCoordinates.isNotEmpty()) {
+        delegate.readMany(missingCoordinates).forEach { (coordinate, payload) ->
+          cache.put(coordinate, payload)
+          secrets[coordinate] = payload
+        }
+      }
+      return secrets
+    }
+  }
 }
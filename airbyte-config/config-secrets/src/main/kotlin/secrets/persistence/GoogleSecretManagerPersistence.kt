@@ -45,12 +45,27 @@ class GoogleSecretManagerPersistence(
   private val googleSecretManagerServiceClient: GoogleSecretManagerServiceClient,
 ) : SecretPersistence {
   override fun read(coordinate: SecretCoordinate): String {
+    return googleSecretManagerServiceClient.createClient().use { client -> read(client, coordinate) }
+  }
+
+  /**
+   * Secret Manager has no batch access, but creating a client is much more expensive than reading a
+   * secret, so all the secrets are read concurrently through a single client.
+   */
+  override fun readMany(coordinates: Collection<SecretCoordinate>): Map<SecretCoordinate, String> {
+    return googleSecretManagerServiceClient.createClient().use { client ->
+      readConcurrently(coordinates) { coordinate -> read(client, coordinate) }
+    }
+  }
+
+  private fun read(
+    client: SecretManagerServiceClient,
+    coordinate: SecretCoordinate,
+  ): String {
     try {
-      googleSecretManagerServiceClient.createClient().use { client ->
-        val secretVersionName = SecretVersionName.of(gcpProjectId, coordinate.fullCoordinate, LATEST)
-        val response = client.accessSecretVersion(secretVersionName)
-        return response.payload.data.toStringUtf8()
-      }
+      val secretVersionName = SecretVersionName.of(gcpProjectId, coordinate.fullCoordinate, LATEST)
+      val response = client.accessSecretVersion(secretVersionName)
+      return response.payload.data.toStringUtf8()
     } catch (e: NotFoundException) {
       logger.warn(e) { "Unable to locate secret for coordinate ${coordinate.fullCoordinate}." }
       return ""
@@ -65,7 +80,7 @@ class GoogleSecretManagerPersistence(
     payload: String,
   ) {
     googleSecretManagerServiceClient.createClient().use { client ->
-      if (read(coordinate).isEmpty()) {
+      if (read(client, coordinate).isEmpty()) {
         val secretBuilder = Secret.newBuilder().setReplication(replicationPolicy)
         client.createSecret(ProjectName.of(gcpProjectId), coordinate.fullCoordinate, secretBuilder.build())
       }
@@ -45,6 +45,18 @@ open class LocalTestingSecretPersistence(
     }
   }
 
+  @Throws(DataAccessException::class)
+  @Transactional
+  @TransactionalAdvice("local-secrets")
+  override fun readMany(coordinates: Collection<SecretCoordinate>): Map<SecretCoordinate, String> {
+    initialize()
+    val fullCoordinates = coordinates.map { it.fullCoordinate }.distinct()
+    val payloads =
+      dslContext.fetch("SELECT coordinate, payload FROM secrets WHERE coordinate = ANY(?);", fullCoordinates.toTypedArray())
+        .associate { it.getValue(0, String::class.java) to (it.getValue(1, String::class.java) ?: "") }
+    return coordinates.distinct().associateWith { payloads[it.fullCoordinate] ?: "" }
+  }
+
   @Transactional
   @TransactionalAdvice("local-secrets")
   override fun write(
@@ -67,6 +67,11 @@ class RuntimeSecretPersistence(private val secretPersistenceConfig: SecretPersis
     return secretPersistence.read(coordinate)
   }
 
+  override fun readMany(coordinates: Collection<SecretCoordinate>): Map<SecretCoordinate, String> {
+    val secretPersistence = buildSecretPersistence(secretPersistenceConfig)
+    return secretPersistence.readMany(coordinates)
+  }
+
   override fun write(
     coordinate: SecretCoordinate,
     payload: String,
@@ -4,7 +4,20 @@
 
 package io.airbyte.config.secrets.persistence
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder
 import io.airbyte.config.secrets.SecretCoordinate
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+private const val MAX_CONCURRENT_READS = 8
+
+private val readExecutor: ExecutorService =
+  Executors.newFixedThreadPool(
+    MAX_CONCURRENT_READS,
+    ThreadFactoryBuilder().setDaemon(true).setNameFormat("secret-persistence-read-%d").build(),
+  )
 
 /**
  * Provides a read-only interface to a backing secrets store similar to [SecretPersistence].
@@ -12,6 +25,44 @@ import io.airbyte.config.secrets.SecretCoordinate
  */
 fun interface ReadOnlySecretPersistence {
   fun read(coordinate: SecretCoordinate): String
+
+  /**
+   * Reads several secrets at once. The returned map holds an entry for each requested coordinate,
+   * which is empty if the secret doesn't exist, like for [read].
+   *
+   * By default, the secrets are read concurrently with [read]. Persistences which can read several
+   * secrets in one call to their backing store should override it.
+   */
+  fun readMany(coordinates: Collection<SecretCoordinate>): Map<SecretCoordinate, String> {
+    return readConcurrently(coordinates, this::read)
+  }
+}
+
+/**
+ * Calls [read] for each distinct coordinate on a shared pool, so the latency of the calls to the
+ * backing store overlap.
+ */
+internal fun readConcurrently(
+  coordinates: Collection<SecretCoordinate>,
+  read: (SecretCoordinate) -> String,
+): Map<SecretCoordinate, String> {
+  val distinctCoordinates = coordinates.distinct()
+  if (distinctCoordinates.size <= 1) {
+    return distinctCoordinates.associateWith(read)
+  }
+
+  val futures = distinctCoordinates.associateWith { coordinate -> readExecutor.submit(Callable { read(coordinate) }) }
+  try {
+    return futures.mapValues { (_, future) ->
+      try {
+        future.get()
+      } catch (e: ExecutionException) {
+        throw e.cause ?: e
+      }
+    }
+  } finally {
+    futures.values.forEach { it.cancel(true) }
+  }
 }
 
 /**
@@ -21,6 +21,7 @@ import io.airbyte.validation.json.JsonSchemaValidator
 import io.airbyte.validation.json.JsonValidationException
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.verify
 import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.params.ParameterizedTest
@@ -144,6 +145,38 @@ internal class SecretsHelpersTest {
     Assertions.assertEquals(inputPartialConfigCopy, inputPartialConfig)
   }
 
+  @Test
+  fun testCombineReadsAllSecretsAtOnce() {
+    val testCase = NestedObjectTestCase()
+    val memorySecretPersistence = MemorySecretPersistence()
+    testCase.persistenceUpdater.accept(memorySecretPersistence)
+    val secretPersistence: ReadOnlySecretPersistence = mockk()
+    every { secretPersistence.readMany(any()) } answers {
+      firstArg<Collection<SecretCoordinate>>().associateWith { memorySecretPersistence.read(it) }
+    }
+
+    val actualCombinedConfig: JsonNode = SecretsHelpers.combineConfig(testCase.partialConfig, secretPersistence)
+
+    Assertions.assertEquals(testCase.fullConfig, actualCombinedConfig)
+    verify(exactly = 1) { secretPersistence.readMany(memorySecretPersistence.map.keys) }
+    verify(exactly = 0) { secretPersistence.read(any()) }
+  }
+
+  @Test
+  fun testDefaultReadManyReadsEachSecret() {
+    val secretPersistence = MemorySecretPersistence()
+    val coordinates = (1..5).map { SecretCoordinate("secret_$it", 1) }
+    coordinates.forEach { secretPersistence.write(it, "payload of ${it.coordinateBase}") }
+    val missingCoordinate = SecretCoordinate("missing", 1)
+
+    val secrets = secretPersistence.readMany(coordinates + coordinates + missingCoordinate)
+
+    Assertions.assertEquals(
+      coordinates.associateWith { "payload of ${it.coordinateBase}" } + (missingCoordinate to ""),
+      secrets,
+    )
+  }
+
   @Test
   fun testCombineNullPartialConfig() {
     val secretPersistence = MemorySecretPersistence()
@@ -158,7 +191,7 @@ internal class SecretsHelpersTest {
   fun testMissingSecretShouldThrowException() {
     val testCase = SimpleTestCase()
     val secretPersistence: ReadOnlySecretPersistence = mockk()
-    every { secretPersistence.read(any()) } returns ""
+    every { secretPersistence.readMany(any()) } answers { firstArg<Collection<SecretCoordinate>>().associateWith { "" } }
 
     Assertions.assertThrows(
       RuntimeException::class.java,
@@ -5,11 +5,14 @@
 package io.airbyte.config.secrets.hydration
 
 import io.airbyte.commons.json.Jsons
+import io.airbyte.config.secrets.SecretCoordinate
 import io.airbyte.config.secrets.persistence.SecretPersistence
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.verify
 import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.Test
+import java.time.Duration
 
 class RealSecretsHydratorTest {
   @Test
@@ -17,7 +20,7 @@ class RealSecretsHydratorTest {
     val coordinate = "secret_coordinate_v1"
     val secretValue = "secret_value"
     val secretPersistence: SecretPersistence = mockk()
-    every { secretPersistence.read(any()) } returns secretValue
+    every { secretPersistence.readMany(any()) } answers { firstArg<Collection<SecretCoordinate>>().associateWith { secretValue } }
     val hydrator = RealSecretsHydrator(secretPersistence)
     val partialConfig = Jsons.jsonNode(mapOf("_secret" to coordinate))
     val hydratedConfig = hydrator.hydrateFromDefaultSecretPersistence(partialConfig)
@@ -36,4 +39,49 @@ class RealSecretsHydratorTest {
     val hydratedCoordinate = hydrator.hydrateSecretCoordinateFromDefaultSecretPersistence(secretCoordinate)
     Assertions.assertEquals(secret["config"], hydratedCoordinate.get("config").asText())
   }
+
+  @Test
+  fun `test secrets are read once and then served from the cache`() {
+    val secretPersistence: SecretPersistence = mockk()
+    every { secretPersistence.readMany(any()) } answers { firstArg<Collection<SecretCoordinate>>().associateWith { "${it.fullCoordinate}_value" } }
+    val hydrator = RealSecretsHydrator(secretPersistence)
+    val partialConfig =
+      Jsons.jsonNode(
+        mapOf(
+          "password" to mapOf("_secret" to "password_coordinate_v1"),
+          "api_key" to mapOf("_secret" to "api_key_coordinate_v1"),
+        ),
+      )
+
+    repeat(3) {
+      val hydratedConfig = hydrator.hydrateFromDefaultSecretPersistence(partialConfig)
+      Assertions.assertEquals("password_coordinate_v1_value", hydratedConfig["password"].asText())
+      Assertions.assertEquals("api_key_coordinate_v1_value", hydratedConfig["api_key"].asText())
+    }
+    verify(exactly = 1) { secretPersistence.readMany(any()) }
+  }
+
+  @Test
+  fun `test missing secrets are not cached`() {
+    val coordinate = SecretCoordinate.fromFullCoordinate("secret_coordinate_v1")
+    val secretPersistence: SecretPersistence = mockk()
+    every { secretPersistence.readMany(any()) } returns mapOf(coordinate to "") andThen mapOf(coordinate to "secret_value")
+    val hydrator = RealSecretsHydrator(secretPersistence)
+    val partialConfig = Jsons.jsonNode(mapOf("_secret" to coordinate.fullCoordinate))
+
+    Assertions.assertThrows(RuntimeException::class.java) { hydrator.hydrateFromDefaultSecretPersistence(partialConfig) }
+    Assertions.assertEquals("secret_value", hydrator.hydrateFromDefaultSecretPersistence(partialConfig).asText())
+  }
+
+  @Test
+  fun `test disabled cache always reads the persistence`() {
+    val secretPersistence: SecretPersistence = mockk()
+    every { secretPersistence.readMany(any()) } answers { firstArg<Collection<SecretCoordinate>>().associateWith { "secret_value" } }
+    val hydrator = RealSecretsHydrator(secretPersistence, Duration.ZERO)
+    val partialConfig = Jsons.jsonNode(mapOf("_secret" to "secret_coordinate_v1"))
+
+    repeat(2) { hydrator.hydrateFromDefaultSecretPersistence(partialConfig) }
+
+    verify(exactly = 2) { secretPersistence.readMany(any()) }
+  }
 }
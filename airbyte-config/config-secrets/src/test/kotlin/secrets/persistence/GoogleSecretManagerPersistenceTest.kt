@@ -45,6 +45,28 @@ class GoogleSecretManagerPersistenceTest {
     Assertions.assertEquals(secret, result)
   }
 
+  @Test
+  fun `test reading many secrets uses a single client`() {
+    val projectId = "test"
+    val coordinates = (1..3).map { SecretCoordinate.fromFullCoordinate("secret_coordinate_${it}_v1") }
+    val mockClient: GoogleSecretManagerServiceClient = mockk()
+    val mockGoogleClient: SecretManagerServiceClient = mockk()
+    val persistence = GoogleSecretManagerPersistence(projectId, mockClient)
+
+    every { mockGoogleClient.accessSecretVersion(ofType(SecretVersionName::class)) } answers {
+      val payload = SecretPayload.newBuilder().setData(ByteString.copyFromUtf8("${firstArg<SecretVersionName>().secret} value")).build()
+      AccessSecretVersionResponse.newBuilder().setPayload(payload).build()
+    }
+    every { mockGoogleClient.close() } returns Unit
+    every { mockClient.createClient() } returns mockGoogleClient
+
+    val result = persistence.readMany(coordinates)
+
+    Assertions.assertEquals(coordinates.associateWith { "${it.fullCoordinate} value" }, result)
+    verify(exactly = 1) { mockClient.createClient() }
+    verify(exactly = 1) { mockGoogleClient.close() }
+  }
+
   @Test
   fun `test reading a secret that doesn't exist from the client`() {
     val projectId = "test"
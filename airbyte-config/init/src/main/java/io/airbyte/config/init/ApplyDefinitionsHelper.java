@@ -18,6 +18,7 @@ import io.airbyte.config.helpers.ConnectorRegistryConverters;
 import io.airbyte.config.init.ApplyDefinitionMetricsHelper.DefinitionProcessingFailureReason;
 import io.airbyte.config.init.ApplyDefinitionMetricsHelper.DefinitionProcessingOutcome;
 import io.airbyte.config.init.ApplyDefinitionMetricsHelper.DefinitionProcessingSuccessOutcome;
+import io.airbyte.config.persistence.ActorDefinitionCache;
 import io.airbyte.config.specs.DefinitionsProvider;
 import io.airbyte.data.exceptions.ConfigNotFoundException;
 import io.airbyte.data.services.ActorDefinitionService;
@@ -57,6 +58,7 @@ public class ApplyDefinitionsHelper {
   private final DestinationService destinationService;
   private final SupportStateUpdater supportStateUpdater;
   private final MetricClient metricClient;
+  private final ActorDefinitionCache actorDefinitionCache;
   private int newConnectorCount;
   private int changedConnectorCount;
   private static final Logger LOGGER = LoggerFactory.getLogger(ApplyDefinitionsHelper.class);
@@ -67,7 +69,8 @@ public class ApplyDefinitionsHelper {
                                 final SourceService sourceService,
                                 final DestinationService destinationService,
                                 final MetricClient metricClient,
-                                final SupportStateUpdater supportStateUpdater) {
+                                final SupportStateUpdater supportStateUpdater,
+                                final ActorDefinitionCache actorDefinitionCache) {
     this.definitionsProvider = definitionsProvider;
     this.jobPersistence = jobPersistence;
     this.actorDefinitionService = actorDefinitionService;
@@ -75,6 +78,7 @@ public class ApplyDefinitionsHelper {
     this.destinationService = destinationService;
     this.metricClient = metricClient;
     this.supportStateUpdater = supportStateUpdater;
+    this.actorDefinitionCache = actorDefinitionCache;
   }
 
   public void apply() throws JsonValidationException, IOException, ConfigNotFoundException, io.airbyte.config.persistence.ConfigNotFoundException {
@@ -113,6 +117,7 @@ public class ApplyDefinitionsHelper {
       applyDestinationDefinition(actorDefinitionIdsToDefaultVersionsMap, def, actorDefinitionIdsInUse, updateAll);
     }
     supportStateUpdater.updateSupportStates();
+    actorDefinitionCache.invalidateAll();
 
     LOGGER.info("New connectors added: {}", newConnectorCount);
     LOGGER.info("Version changes applied: {}", changedConnectorCount);
@@ -25,6 +25,7 @@ import io.airbyte.config.VersionBreakingChange;
 import io.airbyte.config.helpers.ConnectorRegistryConverters;
 import io.airbyte.config.init.ApplyDefinitionMetricsHelper.DefinitionProcessingFailureReason;
 import io.airbyte.config.init.ApplyDefinitionMetricsHelper.DefinitionProcessingSuccessOutcome;
+import io.airbyte.config.persistence.ActorDefinitionCache;
 import io.airbyte.config.persistence.ConfigNotFoundException;
 import io.airbyte.config.specs.DefinitionsProvider;
 import io.airbyte.data.services.ActorDefinitionService;
@@ -61,6 +62,7 @@ class ApplyDefinitionsHelperTest {
   private DestinationService destinationService;
 
   private MetricClient metricClient;
+  private ActorDefinitionCache actorDefinitionCache;
   private ApplyDefinitionsHelper applyDefinitionsHelper;
   private static final String INITIAL_CONNECTOR_VERSION = "0.1.0";
   private static final String UPDATED_CONNECTOR_VERSION = "0.2.0";
@@ -116,9 +118,10 @@ class ApplyDefinitionsHelperTest {
     destinationService = mock(DestinationService.class);
 
     metricClient = mock(MetricClient.class);
+    actorDefinitionCache = mock(ActorDefinitionCache.class);
 
     applyDefinitionsHelper = new ApplyDefinitionsHelper(definitionsProvider, jobPersistence, actorDefinitionService, sourceService,
-        destinationService, metricClient, supportStateUpdater);
+        destinationService, metricClient, supportStateUpdater, actorDefinitionCache);
 
     // Default calls to empty.
     when(definitionsProvider.getDestinationDefinitions()).thenReturn(Collections.emptyList());
@@ -164,6 +167,7 @@ class ApplyDefinitionsHelperTest {
             new MetricAttribute("docker_repository", dockerRepo),
             new MetricAttribute("docker_image_tag", INITIAL_CONNECTOR_VERSION)));
     verify(supportStateUpdater).updateSupportStates();
+    verify(actorDefinitionCache).invalidateAll();
 
     verifyNoMoreInteractions(actorDefinitionService, sourceService, destinationService, supportStateUpdater, metricClient);
   }
@@ -199,6 +203,7 @@ class ApplyDefinitionsHelperTest {
             new MetricAttribute("docker_repository", dockerRepo),
             new MetricAttribute("docker_image_tag", UPDATED_CONNECTOR_VERSION)));
     verify(supportStateUpdater).updateSupportStates();
+    verify(actorDefinitionCache).invalidateAll();
 
     verifyNoMoreInteractions(actorDefinitionService, sourceService, destinationService, supportStateUpdater, metricClient);
   }
@@ -240,6 +245,7 @@ class ApplyDefinitionsHelperTest {
           new MetricAttribute("outcome", DefinitionProcessingSuccessOutcome.VERSION_UNCHANGED.toString()));
     }
     verify(supportStateUpdater).updateSupportStates();
+    verify(actorDefinitionCache).invalidateAll();
 
     verifyNoMoreInteractions(actorDefinitionService, sourceService, destinationService, supportStateUpdater, metricClient);
   }
@@ -288,6 +294,7 @@ class ApplyDefinitionsHelperTest {
         ConnectorRegistryConverters.toActorDefinitionVersion(DESTINATION_S3_2),
         ConnectorRegistryConverters.toActorDefinitionBreakingChanges(DESTINATION_S3_2));
     verify(supportStateUpdater).updateSupportStates();
+    verify(actorDefinitionCache).invalidateAll();
     List.of("airbyte/source-postgres", "airbyte/destination-s3").forEach(
         dockerRepo -> verify(metricClient, times(1)).count(
             CONNECTOR_REGISTRY_DEFINITION_PROCESSED,
@@ -348,6 +355,7 @@ class ApplyDefinitionsHelperTest {
         ConnectorRegistryConverters.toActorDefinitionVersion(anotherNewDestinationDefinition),
         ConnectorRegistryConverters.toActorDefinitionBreakingChanges(anotherNewDestinationDefinition));
     verify(supportStateUpdater).updateSupportStates();
+    verify(actorDefinitionCache).invalidateAll();
     List.of("airbyte/source-postgres", "airbyte/destination-s3", "airbyte/source-new", "airbyte/destination-new").forEach(
         dockerRepo -> verify(metricClient, times(1)).count(
             CONNECTOR_REGISTRY_DEFINITION_PROCESSED,
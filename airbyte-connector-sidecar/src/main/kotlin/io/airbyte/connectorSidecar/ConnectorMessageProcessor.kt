@@ -59,6 +59,28 @@ class ConnectorMessageProcessor(
     input: OperationInput,
     exitCode: Int,
     operationType: OperationType,
+  ): ConnectorJobOutput {
+    return buildOutput({ getMessagesByType(inputStream, streamFactory) }, input, exitCode, operationType)
+  }
+
+  /**
+   * Same as [run], for messages which were already read from the connector output, e.g. while the
+   * connector was still running.
+   */
+  fun run(
+    messagesByType: Map<AirbyteMessage.Type, List<AirbyteMessage>>,
+    input: OperationInput,
+    exitCode: Int,
+    operationType: OperationType,
+  ): ConnectorJobOutput {
+    return buildOutput({ messagesByType }, input, exitCode, operationType)
+  }
+
+  private fun buildOutput(
+    readMessages: () -> Map<AirbyteMessage.Type, List<AirbyteMessage>>,
+    input: OperationInput,
+    exitCode: Int,
+    operationType: OperationType,
   ): ConnectorJobOutput {
     if (exitCode != 0) {
       throw WorkerException("Check operation returned a non zero exit code, the exit code is: $exitCode")
@@ -66,7 +88,7 @@ class ConnectorMessageProcessor(
 
     try {
       val jobOutput: ConnectorJobOutput = createBaseOutput(operationType)
-      val messagesByType: Map<AirbyteMessage.Type, List<AirbyteMessage>> = getMessagesByType(inputStream, streamFactory)
+      val messagesByType: Map<AirbyteMessage.Type, List<AirbyteMessage>> = readMessages()
       val result =
         when (operationType) {
           OperationType.CHECK -> getConnectionStatus(messagesByType)
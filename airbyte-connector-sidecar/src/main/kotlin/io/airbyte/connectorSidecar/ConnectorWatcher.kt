@@ -13,6 +13,7 @@ import io.airbyte.config.StandardCheckConnectionInput
 import io.airbyte.config.StandardCheckConnectionOutput
 import io.airbyte.config.StandardDiscoverCatalogInput
 import io.airbyte.persistence.job.models.IntegrationLauncherConfig
+import io.airbyte.protocol.models.AirbyteMessage
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog
 import io.airbyte.workers.helper.GsonPksExtractor
 import io.airbyte.workers.internal.AirbyteStreamFactory
@@ -38,6 +39,8 @@ import kotlin.system.exitProcess
 
 private val logger = KotlinLogging.logger {}
 
+private val FILE_CHANGE_MAX_WAIT = Duration.ofSeconds(1)
+
 @Singleton
 class ConnectorWatcher(
   @Named("output") val outputPath: Path,
@@ -58,58 +61,43 @@ class ConnectorWatcher(
     val integrationLauncherConfig = input.integrationLauncherConfig
     try {
       val stopwatch: Stopwatch = Stopwatch.createStarted()
-      while (!areNeededFilesPresent()) {
-        Thread.sleep(100)
-        if (fileTimeoutReach(stopwatch)) {
-          failWorkload(workloadId, null)
-          exitFileNotFound()
-          // The return is needed for the test
-          return
-        }
-      }
-      val outputIS =
-        if (Files.exists(Path.of(OrchestratorConstants.JOB_OUTPUT_FILENAME))) {
-          Files.newInputStream(Path.of(OrchestratorConstants.JOB_OUTPUT_FILENAME))
-        } else {
-          InputStream.nullInputStream()
-        }
-      val exitCode = readFile(OrchestratorConstants.EXIT_CODE_FILE).trim().toInt()
-      val streamFactory: AirbyteStreamFactory = getStreamFactory(integrationLauncherConfig)
       val connectorOutput: ConnectorJobOutput =
-        when (input.operationType) {
-          SidecarInput.OperationType.CHECK -> {
-            connectorMessageProcessor.run(
-              outputIS,
-              streamFactory,
-              ConnectorMessageProcessor.OperationInput(
-                checkConnectionConfiguration,
-              ),
-              exitCode,
-              input.operationType,
-            )
+        newFileChangeWatcher().use { fileChangeWatcher ->
+          while (!areNeededFilesPresent()) {
+            if (fileTimeoutReach(stopwatch)) {
+              failWorkload(workloadId, null)
+              exitFileNotFound()
+              // The return is needed for the test
+              return
+            }
+            fileChangeWatcher.awaitChange()
           }
 
-          SidecarInput.OperationType.DISCOVER -> {
-            connectorMessageProcessor.run(
-              outputIS,
-              streamFactory,
-              ConnectorMessageProcessor.OperationInput(
-                discoveryInput = discoverCatalogInput,
-              ),
-              exitCode,
-              input.operationType,
-            )
-          }
-
-          SidecarInput.OperationType.SPEC -> {
-            connectorMessageProcessor.run(
-              outputIS,
-              streamFactory,
-              ConnectorMessageProcessor.OperationInput(),
-              exitCode,
-              input.operationType,
-            )
+          // The output is parsed while the connector writes it, so the result is ready as soon as the
+          // connector exits.
+          val streamFactory: AirbyteStreamFactory = getStreamFactory(integrationLauncherConfig)
+          var timedOut = false
+          val messagesByType =
+            readConnectorOutput(streamFactory, { isExitCodePresent() || timedOut }) {
+              if (fileTimeoutReach(stopwatch)) {
+                timedOut = true
+              } else {
+                fileChangeWatcher.awaitChange()
+              }
+            }
+          if (timedOut) {
+            failWorkload(workloadId, null)
+            exitFileNotFound()
+            return
           }
+          val exitCode = readFile(OrchestratorConstants.EXIT_CODE_FILE).trim().toInt()
+          val operationInput =
+            when (input.operationType) {
+              SidecarInput.OperationType.CHECK -> ConnectorMessageProcessor.OperationInput(checkConnectionConfiguration)
+              SidecarInput.OperationType.DISCOVER -> ConnectorMessageProcessor.OperationInput(discoveryInput = discoverCatalogInput)
+              SidecarInput.OperationType.SPEC -> ConnectorMessageProcessor.OperationInput()
+            }
+          connectorMessageProcessor.run(messagesByType, operationInput, exitCode, input.operationType)
         }
       jobOutputDocStore.write(workloadId, connectorOutput)
       workloadApi.workloadSuccess(WorkloadSuccessRequest(workloadId))
@@ -136,9 +124,41 @@ class ConnectorWatcher(
     return Files.readString(Path.of(configDir, fileName))
   }
 
+  /**
+   * The output can be read once the connector started writing it. A connector which failed before
+   * writing anything only leaves its exit code.
+   */
   @VisibleForTesting
   fun areNeededFilesPresent(): Boolean {
-    return Files.exists(outputPath) && Files.exists(Path.of(configDir, OrchestratorConstants.EXIT_CODE_FILE))
+    return Files.exists(outputPath) || isExitCodePresent()
+  }
+
+  @VisibleForTesting
+  fun isExitCodePresent(): Boolean {
+    return Files.exists(Path.of(configDir, OrchestratorConstants.EXIT_CODE_FILE))
+  }
+
+  @VisibleForTesting
+  fun newFileChangeWatcher(): FileChangeWatcher {
+    return FileChangeWatcher(listOf(outputPath.toAbsolutePath().parent, Path.of(configDir)), FILE_CHANGE_MAX_WAIT)
+  }
+
+  /**
+   * Parse the connector output as it is written, until [isComplete] is true and the whole output
+   * was read.
+   */
+  @VisibleForTesting
+  fun readConnectorOutput(
+    streamFactory: AirbyteStreamFactory,
+    isComplete: () -> Boolean,
+    awaitChange: () -> Unit,
+  ): Map<AirbyteMessage.Type, List<AirbyteMessage>> {
+    if (!Files.exists(outputPath)) {
+      return ConnectorMessageProcessor.getMessagesByType(InputStream.nullInputStream(), streamFactory)
+    }
+    FollowingInputStream(Files.newInputStream(outputPath), isComplete, awaitChange).use {
+      return ConnectorMessageProcessor.getMessagesByType(it, streamFactory)
+    }
   }
 
   @VisibleForTesting
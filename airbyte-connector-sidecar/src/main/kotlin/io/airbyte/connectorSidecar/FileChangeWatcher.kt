@@ -0,0 +1,94 @@
+package io.airbyte.connectorSidecar
+
+import java.io.InputStream
+import java.nio.file.FileSystems
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardWatchEventKinds
+import java.nio.file.WatchService
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
+/**
+ * Waits for files to be created or written in a set of directories. This relies on the file system
+ * notifications (inotify on Linux), so the sidecar reacts as soon as the connector writes instead of
+ * polling the files.
+ *
+ * Notifications can be missed, e.g. for directories which don't exist yet when the watcher is
+ * created, so waiting never lasts longer than [maxWait] and callers must check the files again after
+ * each wait.
+ */
+class FileChangeWatcher(
+  directories: Collection<Path>,
+  private val maxWait: Duration,
+) : AutoCloseable {
+  private val watchService: WatchService = FileSystems.getDefault().newWatchService()
+
+  init {
+    directories
+      .map { it.toAbsolutePath().normalize() }
+      .distinct()
+      .filter { Files.isDirectory(it) }
+      .forEach { it.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY) }
+  }
+
+  /**
+   * Wait until a file of the watched directories changes, or at most [maxWait].
+   */
+  fun awaitChange() {
+    var key = watchService.poll(maxWait.toMillis(), TimeUnit.MILLISECONDS)
+    // consume all the pending events, the caller checks the state of the files anyway
+    while (key != null) {
+      key.pollEvents()
+      key.reset()
+      key = watchService.poll()
+    }
+  }
+
+  override fun close() {
+    watchService.close()
+  }
+}
+
+/**
+ * Reads a file while it is being written. Reaching the end of the file only ends the stream once
+ * [isComplete] is true; until then the stream waits for the file to grow.
+ *
+ * The writer must be done writing when [isComplete] becomes true, which is the case for the
+ * connector output as the exit code file is only written after the connector exited.
+ */
+class FollowingInputStream(
+  private val delegate: InputStream,
+  private val isComplete: () -> Boolean,
+  private val awaitChange: () -> Unit,
+) : InputStream() {
+  override fun read(): Int {
+    val buffer = ByteArray(1)
+    val read = read(buffer, 0, 1)
+    return if (read == -1) -1 else buffer[0].toInt() and 0xff
+  }
+
+  override fun read(
+    b: ByteArray,
+    off: Int,
+    len: Int,
+  ): Int {
+    while (true) {
+      // checked before reading, so the bytes written before completion are always read
+      val complete = isComplete()
+      val read = delegate.read(b, off, len)
+      if (read != -1 || complete) {
+        return read
+      }
+      awaitChange()
+    }
+  }
+
+  override fun available(): Int {
+    return delegate.available()
+  }
+
+  override fun close() {
+    delegate.close()
+  }
+}
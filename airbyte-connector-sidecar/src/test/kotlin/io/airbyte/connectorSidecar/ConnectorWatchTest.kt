@@ -8,6 +8,7 @@ import io.airbyte.config.StandardCheckConnectionInput
 import io.airbyte.config.StandardCheckConnectionOutput
 import io.airbyte.config.StandardDiscoverCatalogInput
 import io.airbyte.persistence.job.models.IntegrationLauncherConfig
+import io.airbyte.protocol.models.AirbyteMessage
 import io.airbyte.protocol.models.Jsons
 import io.airbyte.workers.exception.WorkerException
 import io.airbyte.workers.helper.GsonPksExtractor
@@ -23,13 +24,17 @@ import io.mockk.every
 import io.mockk.impl.annotations.MockK
 import io.mockk.junit5.MockKExtension
 import io.mockk.spyk
+import io.mockk.verify
 import io.mockk.verifyOrder
+import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.extension.ExtendWith
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.EnumSource
 import java.nio.file.Path
 
+private typealias MessagesByType = Map<AirbyteMessage.Type, List<AirbyteMessage>>
+
 @ExtendWith(MockKExtension::class)
 class ConnectorWatchTest {
   val outputPath = Path.of("output")
@@ -56,6 +61,9 @@ class ConnectorWatchTest {
   @MockK
   private lateinit var streamFactory: AirbyteStreamFactory
 
+  @MockK(relaxed = true)
+  private lateinit var fileChangeWatcher: FileChangeWatcher
+
   private lateinit var connectorWatcher: ConnectorWatcher
 
   val workloadId = "workloadId"
@@ -87,6 +95,10 @@ class ConnectorWatchTest {
 
     every { connectorWatcher.getStreamFactory(any()) } returns streamFactory
 
+    every { connectorWatcher.newFileChangeWatcher() } returns fileChangeWatcher
+
+    every { connectorWatcher.readConnectorOutput(any(), any(), any()) } returns mapOf()
+
     every { connectorWatcher.exitProperly() } returns Unit
 
     every { connectorWatcher.exitInternalError() } returns Unit
@@ -104,14 +116,14 @@ class ConnectorWatchTest {
     every { connectorWatcher.readFile(OrchestratorConstants.SIDECAR_INPUT) } returns
       Jsons.serialize(SidecarInput(checkInput, discoveryInput, workloadId, IntegrationLauncherConfig(), operationType))
 
-    every { connectorMessageProcessor.run(any(), any(), any(), any(), eq(operationType)) } returns output
+    every { connectorMessageProcessor.run(any<MessagesByType>(), any(), any(), eq(operationType)) } returns output
 
     every { workloadApi.workloadSuccess(WorkloadSuccessRequest(workloadId)) } returns Unit
 
     connectorWatcher.run()
 
     verifyOrder {
-      connectorMessageProcessor.run(any(), any(), any(), any(), eq(operationType))
+      connectorMessageProcessor.run(any<MessagesByType>(), any(), any(), eq(operationType))
       jobOutputDocStore.write(workloadId, output)
       workloadApi.workloadSuccess(WorkloadSuccessRequest(workloadId))
       connectorWatcher.exitProperly()
@@ -128,14 +140,14 @@ class ConnectorWatchTest {
     every { connectorWatcher.readFile(OrchestratorConstants.SIDECAR_INPUT) } returns
       Jsons.serialize(SidecarInput(checkInput, discoveryInput, workloadId, IntegrationLauncherConfig(), operationType))
 
-    every { connectorMessageProcessor.run(any(), any(), any(), any(), eq(operationType)) } returns output
+    every { connectorMessageProcessor.run(any<MessagesByType>(), any(), any(), eq(operationType)) } returns output
 
     every { workloadApi.workloadSuccess(WorkloadSuccessRequest(workloadId)) } returns Unit
 
     connectorWatcher.run()
 
     verifyOrder {
-      connectorMessageProcessor.run(any(), any(), any(), any(), eq(operationType))
+      connectorMessageProcessor.run(any<MessagesByType>(), any(), any(), eq(operationType))
       jobOutputDocStore.write(workloadId, output)
       workloadApi.workloadSuccess(WorkloadSuccessRequest(workloadId))
       connectorWatcher.exitProperly()
@@ -156,7 +168,7 @@ class ConnectorWatchTest {
     every { connectorWatcher.readFile(OrchestratorConstants.SIDECAR_INPUT) } returns
       Jsons.serialize(SidecarInput(checkInput, discoveryInput, workloadId, IntegrationLauncherConfig().withDockerImage(""), operationType))
 
-    every { connectorMessageProcessor.run(any(), any(), any(), any(), eq(operationType)) } throws exception
+    every { connectorMessageProcessor.run(any<MessagesByType>(), any(), any(), eq(operationType)) } throws exception
 
     every {
       workloadApi.workloadFailure(
@@ -171,7 +183,7 @@ class ConnectorWatchTest {
     connectorWatcher.run()
 
     verifyOrder {
-      connectorMessageProcessor.run(any(), any(), any(), any(), eq(operationType))
+      connectorMessageProcessor.run(any<MessagesByType>(), any(), any(), eq(operationType))
       jobOutputDocStore.write(workloadId, output)
       workloadApi.workloadFailure(
         WorkloadFailureRequest(workloadId, output.failureReason.failureOrigin.value(), output.failureReason.externalMessage),
@@ -201,4 +213,32 @@ class ConnectorWatchTest {
       connectorWatcher.exitFileNotFound()
     }
   }
+
+  @ParameterizedTest
+  @EnumSource(OperationType::class)
+  fun `run for failed with file timeout while reading the output`(operationType: OperationType) {
+    every { connectorWatcher.readFile(OrchestratorConstants.SIDECAR_INPUT) } returns
+      Jsons.serialize(SidecarInput(checkInput, discoveryInput, workloadId, IntegrationLauncherConfig(), operationType))
+
+    every { connectorWatcher.readConnectorOutput(any(), any(), any()) } answers {
+      // the connector keeps running past the timeout
+      thirdArg<() -> Unit>().invoke()
+      Assertions.assertTrue(secondArg<() -> Boolean>().invoke())
+      mapOf()
+    }
+
+    every { connectorWatcher.fileTimeoutReach(any()) } returns true
+
+    every { connectorWatcher.exitFileNotFound() } returns Unit
+
+    every { workloadApi.workloadFailure(WorkloadFailureRequest(workloadId)) } returns Unit
+
+    connectorWatcher.run()
+
+    verifyOrder {
+      workloadApi.workloadFailure(WorkloadFailureRequest(workloadId))
+      connectorWatcher.exitFileNotFound()
+    }
+    verify(exactly = 0) { connectorMessageProcessor.run(any<MessagesByType>(), any(), any(), any()) }
+  }
 }
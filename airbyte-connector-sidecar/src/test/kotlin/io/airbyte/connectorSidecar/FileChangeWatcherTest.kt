@@ -0,0 +1,64 @@
+package io.airbyte.connectorSidecar
+
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+class FileChangeWatcherTest {
+  @TempDir
+  lateinit var tempDir: Path
+
+  @Test
+  fun `following stream reads what is written until the file is complete`() {
+    val output = Files.createFile(tempDir.resolve("output"))
+    val writes = mutableListOf("line 1\n", "line 2\n", "line 3\n")
+    var complete = false
+
+    val read =
+      FollowingInputStream(
+        Files.newInputStream(output),
+        { complete },
+      ) {
+        // the writer appends a line every time the reader is waiting for more
+        Files.writeString(output, writes.removeFirst(), StandardOpenOption.APPEND)
+        complete = writes.isEmpty()
+      }.use { String(it.readAllBytes()) }
+
+    Assertions.assertEquals("line 1\nline 2\nline 3\n", read)
+  }
+
+  @Test
+  fun `following stream reads the whole file once complete`() {
+    val output = Files.writeString(tempDir.resolve("output"), "all the output\n")
+
+    val read =
+      FollowingInputStream(Files.newInputStream(output), { true }) {
+        Assertions.fail<Unit>("should not wait")
+      }.use { String(it.readAllBytes()) }
+
+    Assertions.assertEquals("all the output\n", read)
+  }
+
+  @Test
+  fun `watcher wakes up when a file is created`() {
+    FileChangeWatcher(listOf(tempDir, tempDir.resolve("missing")), Duration.ofMinutes(1)).use { watcher ->
+      val awaited = CompletableFuture.runAsync { watcher.awaitChange() }
+      Files.writeString(tempDir.resolve("exitCode.txt"), "0")
+
+      awaited.get(30, TimeUnit.SECONDS)
+    }
+  }
+
+  @Test
+  fun `watcher waits at most the max wait`() {
+    FileChangeWatcher(listOf(tempDir), Duration.ofMillis(10)).use { watcher ->
+      CompletableFuture.runAsync { watcher.awaitChange() }.get(30, TimeUnit.SECONDS)
+    }
+  }
+}
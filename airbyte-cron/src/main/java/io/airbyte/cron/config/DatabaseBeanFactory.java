@@ -5,6 +5,7 @@
 package io.airbyte.cron.config;
 
 import io.airbyte.commons.temporal.config.WorkerMode;
+import io.airbyte.config.persistence.ActorDefinitionCache;
 import io.airbyte.config.persistence.ConfigRepository;
 import io.airbyte.config.persistence.StreamResetPersistence;
 import io.airbyte.data.services.ActorDefinitionService;
@@ -94,7 +95,8 @@ public class DatabaseBeanFactory {
                                            final OAuthService oauthService,
                                            final OperationService operationService,
                                            final SourceService sourceService,
-                                           final WorkspaceService workspaceService) {
+                                           final WorkspaceService workspaceService,
+                                           final ActorDefinitionCache actorDefinitionCache) {
     return new ConfigRepository(
         actorDefinitionService,
         catalogService,
@@ -104,7 +106,8 @@ public class DatabaseBeanFactory {
         oauthService,
         operationService,
         sourceService,
-        workspaceService);
+        workspaceService,
+        actorDefinitionCache);
   }
 
   /**
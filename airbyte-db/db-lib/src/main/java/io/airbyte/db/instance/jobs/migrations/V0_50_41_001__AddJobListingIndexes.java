@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.db.instance.jobs.migrations;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adds the indexes backing the job history pages, which are ordered by (created_at, id) and seek
+ * past the last job of the previous page.
+ */
+public class V0_50_41_001__AddJobListingIndexes extends BaseJavaMigration {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(V0_50_41_001__AddJobListingIndexes.class);
+
+  @Override
+  public void migrate(final Context context) throws Exception {
+    LOGGER.info("Running migration: {}", this.getClass().getSimpleName());
+
+    // Warning: please do not use any jOOQ generated code to write a migration.
+    // As database schema changes, the generated jOOQ code can be deprecated. So
+    // old migration may not compile if there is any generated code.
+    final DSLContext ctx = DSL.using(context.getConnection());
+    // Jobs of a connection.
+    ctx.createIndexIfNotExists("jobs_scope_created_at_id_idx").on("jobs", "scope", "created_at", "id").execute();
+    // Jobs across connections, e.g. of a set of workspaces.
+    ctx.createIndexIfNotExists("jobs_created_at_id_idx").on("jobs", "created_at", "id").execute();
+
+    LOGGER.info("Completed migration: {}", this.getClass().getSimpleName());
+  }
+
+}
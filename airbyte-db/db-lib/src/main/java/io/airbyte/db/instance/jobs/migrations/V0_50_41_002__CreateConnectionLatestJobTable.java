@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.db.instance.jobs.migrations;
+
+import static org.jooq.impl.DSL.currentOffsetDateTime;
+import static org.jooq.impl.DSL.foreignKey;
+import static org.jooq.impl.DSL.primaryKey;
+
+import java.time.OffsetDateTime;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adds the table pointing each connection to its latest sync job, so that the status of the latest
+ * jobs of many connections is read without scanning their job history.
+ */
+public class V0_50_41_002__CreateConnectionLatestJobTable extends BaseJavaMigration {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(V0_50_41_002__CreateConnectionLatestJobTable.class);
+
+  @Override
+  public void migrate(final Context context) throws Exception {
+    LOGGER.info("Running migration: {}", this.getClass().getSimpleName());
+
+    // Warning: please do not use any jOOQ generated code to write a migration.
+    // As database schema changes, the generated jOOQ code can be deprecated. So
+    // old migration may not compile if there is any generated code.
+    final DSLContext ctx = DSL.using(context.getConnection());
+    LOGGER.info("Creating table");
+    createConnectionLatestJobTable(ctx);
+
+    LOGGER.info("Creating indices");
+    ctx.createIndexIfNotExists("connection_latest_job_job_id_idx").on("connection_latest_job", "job_id").execute();
+
+    LOGGER.info("Backfilling latest jobs");
+    backfillConnectionLatestJob(ctx);
+
+    LOGGER.info("Completed migration: {}", this.getClass().getSimpleName());
+  }
+
+  private static void createConnectionLatestJobTable(final DSLContext ctx) {
+    // the scope of the sync jobs, i.e. the connection id
+    final Field<String> scope = DSL.field("scope", SQLDataType.VARCHAR(255).notNull());
+    final Field<Long> jobId = DSL.field("job_id", SQLDataType.BIGINT.notNull());
+
+    // row timestamps
+    final Field<OffsetDateTime> createdAt = DSL
+        .field("created_at", SQLDataType.TIMESTAMPWITHTIMEZONE.notNull().defaultValue(currentOffsetDateTime()));
+    final Field<OffsetDateTime> updatedAt = DSL
+        .field("updated_at", SQLDataType.TIMESTAMPWITHTIMEZONE.notNull().defaultValue(currentOffsetDateTime()));
+
+    ctx.createTableIfNotExists("connection_latest_job")
+        .columns(scope, jobId, createdAt, updatedAt)
+        .constraints(
+            primaryKey(scope),
+            foreignKey(jobId).references("jobs", "id").onDeleteCascade())
+        .execute();
+  }
+
+  private static void backfillConnectionLatestJob(final DSLContext ctx) {
+    ctx.execute("""
+                INSERT INTO connection_latest_job(scope, job_id)
+                SELECT DISTINCT ON (scope) scope, id
+                FROM jobs
+                WHERE config_type = 'sync' AND scope IS NOT NULL
+                ORDER BY scope, created_at DESC, id DESC
+                ON CONFLICT (scope) DO NOTHING
+                """);
+  }
+
+}
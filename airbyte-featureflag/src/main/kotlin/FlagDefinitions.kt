@@ -75,6 +75,24 @@ object ConcurrentSourceStreamRead : Temporary<Boolean>(key = "concurrent.source.
 
 object ReplicationWorkerImpl : Permanent<String>(key = "platform.replication-worker-impl", default = "buffered")
 
+object ReplicationRingBufferWaitStrategy : Permanent<String>(key = "platform.replication-ring-buffer-wait-strategy", default = "park")
+
+object ReplicationMessageBatchSize : Permanent<Int>(key = "platform.replication-message-batch-size", default = 1)
+
+object ReplicationOffHeapQueueMaxMemoryMb : Permanent<Int>(key = "platform.replication-off-heap-queue-max-memory-mb", default = 64)
+
+object SchemaValidationMaxThreads : Permanent<Int>(key = "platform.schema-validation-max-threads", default = 0)
+
+object SchemaValidationQueueSize : Permanent<Int>(key = "platform.schema-validation-queue-size", default = 10000)
+
+object SchemaValidationOverflowPolicy : Permanent<String>(key = "platform.schema-validation-overflow-policy", default = "block")
+
+object SchemaValidationSampleRate : Permanent<Int>(key = "platform.schema-validation-sample-rate", default = 1)
+
+object SchemaValidationMaxErrorsPerStream : Permanent<Int>(key = "platform.schema-validation-max-errors-per-stream", default = 10)
+
+object DestinationOutputBufferSize : Permanent<Int>(key = "platform.destination-output-buffer-size", default = 0)
+
 object UseResourceRequirementsVariant : Permanent<String>(key = "platform.resource-requirements-variant", default = "default")
 
 object UseParallelStreamStatsTracker : Temporary<Boolean>(key = "platform.use-parallel-stream-stats-tracker", default = false)
@@ -191,3 +209,7 @@ object BillingCronScopeChangeTimestamp : Permanent<String>(key = "platform.billi
 object UseWorkloadApiForDiscover : Temporary<Boolean>(key = "platform.use-workload-api-for-discover", default = false)
 
 object UseWorkloadApiForSpec : Temporary<Boolean>(key = "platform.use-workload-api-for-spec", default = false)
+
+object UseStreamingMessageParser : Temporary<Boolean>(key = "platform.use-streaming-message-parser", default = false)
+
+object UseRawRecordPassThrough : Temporary<Boolean>(key = "platform.use-raw-record-pass-through", default = false)
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.validation.json;
+
+/**
+ * Notified of the lookups in the compiled schema cache of a {@link JsonSchemaValidator}, so that
+ * applications can report the hit rate and the compilation time with their own metrics.
+ */
+public interface JsonSchemaCacheListener {
+
+  JsonSchemaCacheListener NOOP = new JsonSchemaCacheListener() {
+
+    @Override
+    public void onHit() {}
+
+    @Override
+    public void onMiss(final long compileTimeMillis) {}
+
+  };
+
+  /**
+   * A compiled schema was found in the cache.
+   */
+  void onHit();
+
+  /**
+   * The schema was not in the cache and had to be compiled.
+   *
+   * @param compileTimeMillis time spent compiling the schema
+   */
+  void onMiss(long compileTimeMillis);
+
+}
@@ -7,20 +7,30 @@ package io.airbyte.validation.json;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.networknt.schema.JsonMetaSchema;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SpecVersion;
 import com.networknt.schema.ValidationContext;
 import com.networknt.schema.ValidationMessage;
+import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.string.Strings;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import me.andrz.jackson.JsonContext;
 import me.andrz.jackson.JsonReferenceException;
@@ -30,6 +40,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Validate a JSON object against a JSONSchema schema.
+ * <p>
+ * Compiled schemas are kept in a bounded cache keyed by a hash of the schema content, as the same
+ * connector specs get validated against on every request. Validators are safe to share between
+ * threads.
  */
 public class JsonSchemaValidator {
 
@@ -46,14 +60,27 @@ public class JsonSchemaValidator {
     }
   }
 
+  private static final long DEFAULT_SCHEMA_CACHE_SIZE = 500;
+
   private final JsonSchemaFactory jsonSchemaFactory;
   private final URI baseUri;
-  private final Map<String, JsonSchema> schemaToValidators = new HashMap<>();
+  private final Map<String, JsonSchema> schemaToValidators = new ConcurrentHashMap<>();
+  private final Cache<HashCode, JsonSchema> compiledSchemas;
+  private final JsonSchemaCacheListener cacheListener;
 
   public JsonSchemaValidator() {
     this(DEFAULT_BASE_URI);
   }
 
+  /**
+   * Validator which reports the lookups in its compiled schema cache to a listener.
+   *
+   * @param cacheListener listener of the compiled schema cache
+   */
+  public JsonSchemaValidator(final JsonSchemaCacheListener cacheListener) {
+    this(DEFAULT_BASE_URI, DEFAULT_SCHEMA_CACHE_SIZE, cacheListener);
+  }
+
   /**
    * The public constructor hardcodes a URL with access to WellKnownTypes.json. This method allows
    * tests to override that URI
@@ -64,8 +91,15 @@ public class JsonSchemaValidator {
    */
   @VisibleForTesting
   public JsonSchemaValidator(final URI baseUri) {
+    this(baseUri, DEFAULT_SCHEMA_CACHE_SIZE, JsonSchemaCacheListener.NOOP);
+  }
+
+  @VisibleForTesting
+  JsonSchemaValidator(final URI baseUri, final long schemaCacheSize, final JsonSchemaCacheListener cacheListener) {
     this.jsonSchemaFactory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
     this.baseUri = baseUri;
+    this.compiledSchemas = CacheBuilder.newBuilder().maximumSize(schemaCacheSize).build();
+    this.cacheListener = cacheListener;
   }
 
   /**
@@ -102,18 +136,11 @@ public class JsonSchemaValidator {
 
   /**
    * Test if a JSON object conforms to a given JSONSchema.
-   * <p>
-   * WARNING
-   * <p>
-   * The following methods perform JSON validation **by re-creating a validator each time**. This is
-   * both CPU and GC expensive, and should be used carefully.
-   * <p>
    *
    * @param schemaJson JSONSchema to test against
    * @param objectJson object to test
    * @return true if objectJson conforms to the JSONSchema. Otherwise, false.
    */
-  // todo(davin): Rewrite this section to cache schemas.
   public boolean test(final JsonNode schemaJson, final JsonNode objectJson) {
     final Set<ValidationMessage> validationMessages = validateInternal(schemaJson, objectJson);
 
@@ -180,10 +207,46 @@ public class JsonSchemaValidator {
     Preconditions.checkNotNull(schemaJson);
     Preconditions.checkNotNull(objectJson);
 
-    final JsonSchema schema = getSchemaValidator(schemaJson);
+    final JsonSchema schema = getCachedSchemaValidator(schemaJson);
     return schema.validate(objectJson);
   }
 
+  /**
+   * Return the compiled schema validator of a json schema, compiling it on the first use. The schema
+   * is copied before being compiled, so callers changing the node afterwards don't change what the
+   * cached validator checks.
+   */
+  private JsonSchema getCachedSchemaValidator(final JsonNode schemaJson) {
+    final HashCode key = Hashing.sha256().hashString(Jsons.serialize(schemaJson), StandardCharsets.UTF_8);
+    final JsonSchema cached = compiledSchemas.getIfPresent(key);
+    if (cached != null) {
+      cacheListener.onHit();
+      return cached;
+    }
+
+    try {
+      return compiledSchemas.get(key, () -> {
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        final JsonSchema schema = getSchemaValidator(schemaJson.deepCopy());
+        // resolve the validators upfront so that the cached schema is not initialized lazily by
+        // concurrent validations
+        schema.initializeValidators();
+        cacheListener.onMiss(stopwatch.elapsed(TimeUnit.MILLISECONDS));
+        return schema;
+      });
+    } catch (final ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  @VisibleForTesting
+  long compiledSchemaCount() {
+    return compiledSchemas.size();
+  }
+
   /**
    * Return a schema validator for a json schema, defaulting to the V7 Json schema.
    */
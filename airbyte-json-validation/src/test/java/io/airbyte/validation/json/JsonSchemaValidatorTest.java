@@ -12,6 +12,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.airbyte.commons.io.IOs;
 import io.airbyte.commons.json.Jsons;
 import java.io.IOException;
@@ -167,4 +168,63 @@ class JsonSchemaValidatorTest {
     assert !errorMessages.isEmpty();
   }
 
+  @Test
+  void testCompiledSchemasAreCached() throws URISyntaxException {
+    final CountingCacheListener listener = new CountingCacheListener();
+    final JsonSchemaValidator validator = new JsonSchemaValidator(new URI("file:///app/nonexistent_file.json"), 10, listener);
+
+    assertTrue(validator.validate(VALID_SCHEMA, Jsons.deserialize("{\"host\":\"abc\"}")).isEmpty());
+    assertFalse(validator.test(Jsons.clone(VALID_SCHEMA), Jsons.deserialize("{\"host\":1}")));
+    assertDoesNotThrow(() -> validator.ensure(VALID_SCHEMA, Jsons.deserialize("{\"host\":\"abc\"}")));
+
+    assertEquals(1, validator.compiledSchemaCount());
+    assertEquals(1, listener.misses);
+    assertEquals(2, listener.hits);
+  }
+
+  @Test
+  void testChangedSchemasAreCompiledAgain() throws URISyntaxException {
+    final CountingCacheListener listener = new CountingCacheListener();
+    final JsonSchemaValidator validator = new JsonSchemaValidator(new URI("file:///app/nonexistent_file.json"), 10, listener);
+    final JsonNode schema = Jsons.clone(VALID_SCHEMA);
+    final JsonNode object = Jsons.deserialize("{\"host\":\"abc\"}");
+
+    assertTrue(validator.validate(schema, object).isEmpty());
+    ((ObjectNode) schema.get(PROPERTIES).get("host")).put("type", "integer");
+
+    assertFalse(validator.validate(schema, object).isEmpty());
+    assertEquals(2, listener.misses);
+    assertEquals(0, listener.hits);
+  }
+
+  @Test
+  void testSchemaCacheIsBounded() throws URISyntaxException {
+    final JsonSchemaValidator validator = new JsonSchemaValidator(new URI("file:///app/nonexistent_file.json"), 2, JsonSchemaCacheListener.NOOP);
+
+    for (int i = 0; i < 5; i++) {
+      final JsonNode schema = Jsons.clone(VALID_SCHEMA);
+      ((ObjectNode) schema).put("title", "test " + i);
+      validator.validate(schema, Jsons.deserialize("{\"host\":\"abc\"}"));
+    }
+
+    assertTrue(validator.compiledSchemaCount() <= 2);
+  }
+
+  private static final class CountingCacheListener implements JsonSchemaCacheListener {
+
+    private int hits;
+    private int misses;
+
+    @Override
+    public void onHit() {
+      hits++;
+    }
+
+    @Override
+    public void onMiss(final long compileTimeMillis) {
+      misses++;
+    }
+
+  }
+
 }
@@ -23,6 +23,7 @@ public class MetricTags {
   public static final String AUTHENTICATION_RESPONSE_FAILURE_REASON = "authentication_response_failure_reason";
   public static final String AUTHENTICATION_REQUEST_URI_ATTRIBUTE_KEY = "request_uri";
   public static final String CANCELLATION_SOURCE = "cancellation_source";
+  public static final String CACHE_NAME = "cache_name";
   public static final String CONNECTION_ID = "connection_id";
   public static final String CRON_TYPE = "cron_type";
   public static final String DESTINATION_ID = "destination_id";
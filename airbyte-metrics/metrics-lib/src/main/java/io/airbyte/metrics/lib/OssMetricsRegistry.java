@@ -115,6 +115,12 @@ public enum OssMetricsRegistry implements MetricsRegistry {
   BREAKING_SCHEMA_CHANGE_DETECTED(MetricEmittingApps.SERVER,
       "breaking_change_detected",
       "a breaking schema change has been detected"),
+  CONFIG_CACHE_HIT(MetricEmittingApps.SERVER,
+      "config_cache_hit",
+      "increments when a config is read from the in-process config cache"),
+  CONFIG_CACHE_MISS(MetricEmittingApps.SERVER,
+      "config_cache_miss",
+      "increments when a config is not found in the in-process config cache and is read from the database"),
   CRON_JOB_RUN_BY_CRON_TYPE(MetricEmittingApps.CRON,
       "cron_jobs_run",
       "number of cron runs by cron type"),
@@ -142,6 +148,15 @@ public enum OssMetricsRegistry implements MetricsRegistry {
       MetricEmittingApps.WORKER,
       "job_succeeded_by_release_stage",
       "increments when a job succeeds. jobs are double counted as this is tagged by release stage."),
+  JSON_SCHEMA_CACHE_HIT(MetricEmittingApps.SERVER,
+      "json_schema_cache_hit",
+      "increments when a compiled json schema is read from the in-process schema cache"),
+  JSON_SCHEMA_CACHE_MISS(MetricEmittingApps.SERVER,
+      "json_schema_cache_miss",
+      "increments when a json schema is not found in the in-process schema cache and is compiled"),
+  JSON_SCHEMA_COMPILE_TIME_MILLIS(MetricEmittingApps.SERVER,
+      "json_schema_compile_time_millis",
+      "time taken to compile a json schema for validation"),
   JSON_STRING_LENGTH(
       MetricEmittingApps.WORKER,
       "json_string_length",
@@ -73,6 +73,7 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.JSONB;
 import org.jooq.Query;
@@ -102,12 +103,23 @@ public class DefaultJobPersistence implements JobPersistence {
   private static final String ORDER_BY_JOB_TIME_ATTEMPT_TIME =
       "ORDER BY jobs.created_at DESC, jobs.id DESC, attempts.created_at ASC, attempts.id ASC ";
   private static final String ORDER_BY_JOB_CREATED_AT_DESC = "ORDER BY jobs.created_at DESC ";
+  private static final String ORDER_BY_JOB_CREATED_AT_ID_DESC = "ORDER BY jobs.created_at DESC, jobs.id DESC ";
   private static final String LIMIT_1 = "LIMIT 1 ";
   private static final String JOB_STATUS_IS_NON_TERMINAL = String.format("status IN (%s) ",
       JobStatus.NON_TERMINAL_STATUSES.stream()
           .map(DefaultJobPersistence::toSqlName)
           .map(Names::singleQuote)
           .collect(Collectors.joining(",")));
+  private static final String JOB_FIELDS = """
+                                             jobs.id AS job_id,
+                                             jobs.config_type AS config_type,
+                                             jobs.scope AS scope,
+                                             jobs.config AS config,
+                                             jobs.status AS job_status,
+                                             jobs.started_at AS job_started_at,
+                                             jobs.created_at AS job_created_at,
+                                             jobs.updated_at AS job_updated_at
+                                           """;
   private static final String ATTEMPT_FIELDS = """
                                                  attempts.attempt_number AS attempt_number,
                                                  attempts.attempt_sync_config AS attempt_sync_config,
@@ -151,14 +163,7 @@ public class DefaultJobPersistence implements JobPersistence {
 
   private static String jobSelectAndJoin(final String jobsSubquery) {
     return "SELECT\n"
-        + "jobs.id AS job_id,\n"
-        + "jobs.config_type AS config_type,\n"
-        + "jobs.scope AS scope,\n"
-        + "jobs.config AS config,\n"
-        + "jobs.status AS job_status,\n"
-        + "jobs.started_at AS job_started_at,\n"
-        + "jobs.created_at AS job_created_at,\n"
-        + "jobs.updated_at AS job_updated_at,\n"
+        + JOB_FIELDS + ","
         + ATTEMPT_FIELDS
         + "FROM " + jobsSubquery + " LEFT OUTER JOIN attempts ON jobs.id = attempts.job_id ";
   }
@@ -467,6 +472,48 @@ public class DefaultJobPersistence implements JobPersistence {
     return jobs;
   }
 
+  /**
+   * List the jobs of a page with their attempts. Joining the attempts in the page query would repeat
+   * the job config for every attempt, so the attempts of all the jobs of the page are loaded in a
+   * second query instead.
+   *
+   * @param ctx the db context
+   * @param jobsSubquery subquery selecting the jobs of the page, aliased as jobs
+   * @param orderBy order of the jobs in the page
+   * @return the jobs in order, with their attempts in ascending creation order
+   */
+  private static List<Job> getJobsWithAttempts(final DSLContext ctx, final String jobsSubquery, final String orderBy) {
+    final List<Job> jobs = ctx.fetch("SELECT\n" + JOB_FIELDS + "FROM " + jobsSubquery + " " + orderBy)
+        .stream()
+        .map(DefaultJobPersistence::getJobFromRecord)
+        .collect(Collectors.toList());
+    if (jobs.isEmpty()) {
+      return jobs;
+    }
+
+    final Map<Long, Job> jobsById = jobs.stream().collect(Collectors.toMap(Job::getId, job -> job));
+    ctx.fetch("SELECT job_id," + ATTEMPT_FIELDS + "FROM attempts WHERE job_id IN (" + StringUtils.join(jobsById.keySet(), ',') + ") "
+        + "ORDER BY created_at ASC, id ASC")
+        .forEach(record -> jobsById.get(record.get(JOB_ID, Long.class)).getAttempts().add(getAttemptFromRecord(record)));
+    return jobs;
+  }
+
+  /**
+   * Condition selecting the jobs which come after a job in descending (created_at, id) order, to seek
+   * to the next page instead of skipping the rows of the previous pages.
+   *
+   * @param beforeJobId last job of the previous page, or null for the first page
+   * @return the condition
+   */
+  private static Condition isJobBefore(final Long beforeJobId) {
+    if (beforeJobId == null) {
+      return DSL.noCondition();
+    }
+    final var cursorJob = JOBS.as("cursor_job");
+    return DSL.row(JOBS.CREATED_AT, JOBS.ID)
+        .lt(DSL.select(cursorJob.CREATED_AT, cursorJob.ID).from(cursorJob).where(cursorJob.ID.eq(beforeJobId)));
+  }
+
   /**
    * Generate a string fragment that can be put in the IN clause of a SQL statement. eg. column IN
    * (value1, value2)
@@ -523,21 +570,42 @@ public class DefaultJobPersistence implements JobPersistence {
             JobStatus.TERMINAL_STATUSES.stream().map(DefaultJobPersistence::toSqlName).map(Names::singleQuote).collect(Collectors.joining(",")))
         : "";
 
-    return jobDatabase.query(
-        ctx -> ctx.fetch(
-            "INSERT INTO jobs(config_type, scope, created_at, updated_at, status, config) "
-                + "SELECT CAST(? AS JOB_CONFIG_TYPE), ?, ?, ?, CAST(? AS JOB_STATUS), CAST(? as JSONB) "
-                + queueingRequest
-                + "RETURNING id ",
-            toSqlName(jobConfig.getConfigType()),
-            scope,
-            now,
-            now,
-            toSqlName(JobStatus.PENDING),
-            Jsons.serialize(jobConfig)))
-        .stream()
-        .findFirst()
-        .map(r -> r.getValue("id", Long.class));
+    return jobDatabase.transaction(ctx -> {
+      final Optional<Long> jobId = ctx.fetch(
+          "INSERT INTO jobs(config_type, scope, created_at, updated_at, status, config) "
+              + "SELECT CAST(? AS JOB_CONFIG_TYPE), ?, ?, ?, CAST(? AS JOB_STATUS), CAST(? as JSONB) "
+              + queueingRequest
+              + "RETURNING id ",
+          toSqlName(jobConfig.getConfigType()),
+          scope,
+          now,
+          now,
+          toSqlName(JobStatus.PENDING),
+          Jsons.serialize(jobConfig))
+          .stream()
+          .findFirst()
+          .map(r -> r.getValue("id", Long.class));
+
+      if (jobId.isPresent() && jobConfig.getConfigType() == ConfigType.SYNC) {
+        setLatestSyncJob(ctx, scope, jobId.get(), now);
+      }
+      return jobId;
+    });
+  }
+
+  /**
+   * Point the connection to its latest sync job, which the connection list reads the job status from
+   * instead of scanning the job history of every connection.
+   */
+  private static void setLatestSyncJob(final DSLContext ctx, final String scope, final long jobId, final LocalDateTime now) {
+    ctx.execute(
+        "INSERT INTO connection_latest_job(scope, job_id, created_at, updated_at) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT (scope) DO UPDATE SET job_id = excluded.job_id, updated_at = excluded.updated_at "
+            + "WHERE connection_latest_job.job_id < excluded.job_id",
+        scope,
+        jobId,
+        now,
+        now);
   }
 
   @Override
@@ -904,7 +972,7 @@ public class DefaultJobPersistence implements JobPersistence {
           .limit(pagesize)
           .getSQL(ParamType.INLINED) + ") AS jobs";
 
-      return getJobsFromResult(ctx.fetch(jobSelectAndJoin(jobsSubquery) + ORDER_BY_JOB_TIME_ATTEMPT_TIME));
+      return getJobsWithAttempts(ctx, jobsSubquery, ORDER_BY_JOB_CREATED_AT_ID_DESC);
     });
   }
 
@@ -913,6 +981,7 @@ public class DefaultJobPersistence implements JobPersistence {
                             final String configId,
                             final int limit,
                             final int offset,
+                            final Long beforeJobId,
                             final List<JobStatus> statuses,
                             final OffsetDateTime createdAtStart,
                             final OffsetDateTime createdAtEnd,
@@ -934,13 +1003,14 @@ public class DefaultJobPersistence implements JobPersistence {
           .and(createdAtEnd == null ? DSL.noCondition() : JOBS.CREATED_AT.le(createdAtEnd))
           .and(updatedAtStart == null ? DSL.noCondition() : JOBS.UPDATED_AT.ge(updatedAtStart))
           .and(updatedAtEnd == null ? DSL.noCondition() : JOBS.UPDATED_AT.le(updatedAtEnd))
+          .and(isJobBefore(beforeJobId))
           .orderBy(JOBS.CREATED_AT.desc(), JOBS.ID.desc())
           .limit(limit)
           .offset(offset)
           .getSQL(ParamType.INLINED) + ") AS jobs";
 
       LOGGER.debug("jobs subquery: {}", jobsSubquery);
-      return getJobsFromResult(ctx.fetch(jobSelectAndJoin(jobsSubquery) + buildJobOrderByString(orderByField, orderByMethod)));
+      return getJobsWithAttempts(ctx, jobsSubquery, buildJobOrderByString(orderByField, orderByMethod));
     });
   }
 
@@ -949,6 +1019,7 @@ public class DefaultJobPersistence implements JobPersistence {
                             final List<UUID> workspaceIds,
                             final int limit,
                             final int offset,
+                            final Long beforeJobId,
                             final List<JobStatus> statuses,
                             final OffsetDateTime createdAtStart,
                             final OffsetDateTime createdAtEnd,
@@ -974,12 +1045,13 @@ public class DefaultJobPersistence implements JobPersistence {
           .and(createdAtEnd == null ? DSL.noCondition() : JOBS.CREATED_AT.le(createdAtEnd))
           .and(updatedAtStart == null ? DSL.noCondition() : JOBS.UPDATED_AT.ge(updatedAtStart))
           .and(updatedAtEnd == null ? DSL.noCondition() : JOBS.UPDATED_AT.le(updatedAtEnd))
+          .and(isJobBefore(beforeJobId))
           .orderBy(JOBS.CREATED_AT.desc(), JOBS.ID.desc())
           .limit(limit)
           .offset(offset)
           .getSQL(ParamType.INLINED) + ") AS jobs";
 
-      return getJobsFromResult(ctx.fetch(jobSelectAndJoin(jobsSubquery) + buildJobOrderByString(orderByField, orderByMethod)));
+      return getJobsWithAttempts(ctx, jobsSubquery, buildJobOrderByString(orderByField, orderByMethod));
     });
   }
 
@@ -1177,12 +1249,9 @@ public class DefaultJobPersistence implements JobPersistence {
     }
 
     return jobDatabase.query(ctx -> ctx
-        .fetch("SELECT DISTINCT ON (scope) jobs.scope, jobs.created_at, jobs.status "
-            + " FROM jobs "
-            + WHERE + "CAST(jobs.config_type AS VARCHAR) = ? "
-            + AND + scopeInList(connectionIds)
-            + "ORDER BY scope, created_at DESC",
-            toSqlName(ConfigType.SYNC))
+        .fetch("SELECT jobs.scope, jobs.created_at, jobs.status "
+            + "FROM connection_latest_job JOIN jobs ON jobs.id = connection_latest_job.job_id "
+            + WHERE + "connection_latest_job." + scopeInList(connectionIds))
         .stream()
         .map(r -> new JobStatusSummary(UUID.fromString(r.get("scope", String.class)), getEpoch(r, "created_at"),
             JobStatus.valueOf(r.get("status", String.class).toUpperCase())))
@@ -1199,13 +1268,12 @@ public class DefaultJobPersistence implements JobPersistence {
       return Collections.emptyList();
     }
 
+    // A new sync job can't be enqueued while one is running, so the running sync job is the latest
+    // sync job.
     return jobDatabase.query(ctx -> ctx
-        .fetch("SELECT DISTINCT ON (scope) * FROM jobs "
-            + WHERE + "CAST(jobs.config_type AS VARCHAR) = ? "
-            + AND + scopeInList(connectionIds)
-            + AND + JOB_STATUS_IS_NON_TERMINAL
-            + "ORDER BY scope, created_at DESC",
-            toSqlName(ConfigType.SYNC))
+        .fetch("SELECT jobs.id FROM connection_latest_job JOIN jobs ON jobs.id = connection_latest_job.job_id "
+            + WHERE + "connection_latest_job." + scopeInList(connectionIds)
+            + AND + "jobs." + JOB_STATUS_IS_NON_TERMINAL)
         .stream()
         .flatMap(r -> getJobOptional(ctx, r.get("id", Long.class)).stream())
         .collect(Collectors.toList()));
@@ -244,6 +244,8 @@ public interface JobPersistence {
    *
    * @param configTypes - type of config, e.g. sync
    * @param configId - id of that config
+   * @param beforeJobId - if set, only list the jobs after this job in descending (created_at, id)
+   *        order, i.e. the page following the page ending with this job
    * @return lists job in descending order by created_at
    * @throws IOException - what you do when you IO
    */
@@ -252,6 +254,7 @@ public interface JobPersistence {
                      String configId,
                      int limit,
                      int offset,
+                     Long beforeJobId,
                      final List<JobStatus> statuses,
                      OffsetDateTime createdAtStart,
                      OffsetDateTime createdAtEnd,
@@ -266,6 +269,8 @@ public interface JobPersistence {
    *
    * @param configTypes - type of config, e.g. sync
    * @param workspaceIds - ids of requested workspaces
+   * @param beforeJobId - if set, only list the jobs after this job in descending (created_at, id)
+   *        order, i.e. the page following the page ending with this job
    * @return lists job in descending order by created_at
    * @throws IOException - what you do when you IO
    */
@@ -274,6 +279,7 @@ public interface JobPersistence {
                      List<UUID> workspaceIds,
                      int limit,
                      int offset,
+                     Long beforeJobId,
                      final List<JobStatus> statuses,
                      OffsetDateTime createdAtStart,
                      OffsetDateTime createdAtEnd,
@@ -1474,6 +1474,23 @@ class DefaultJobPersistenceTest {
       assertTrue(expected.size() == actual.size() && expected.containsAll(actual) && actual.containsAll(expected));
     }
 
+    @Test
+    @DisplayName("Should return the last sync job even if a reset job was enqueued after it")
+    void testGetLastSyncJobForConnectionsIgnoresLaterReset() throws IOException {
+      final long syncJobId = jobPersistence.enqueueJob(SCOPE_1, SYNC_JOB_CONFIG).orElseThrow();
+      jobPersistence.succeedAttempt(syncJobId, jobPersistence.createAttempt(syncJobId, LOG_PATH));
+
+      final Instant afterNow = NOW.plusSeconds(1000);
+      when(timeSupplier.get()).thenReturn(afterNow);
+
+      final long resetJobId = jobPersistence.enqueueJob(SCOPE_1, RESET_JOB_CONFIG).orElseThrow();
+      jobPersistence.failAttempt(resetJobId, jobPersistence.createAttempt(resetJobId, LOG_PATH));
+
+      final List<JobStatusSummary> actual = jobPersistence.getLastSyncJobForConnections(CONNECTION_IDS);
+
+      assertEquals(List.of(new JobStatusSummary(CONNECTION_ID_1, NOW.getEpochSecond(), JobStatus.SUCCEEDED)), actual);
+    }
+
     @Test
     @DisplayName("Should return nothing if only reset job exists")
     void testGetLastSyncJobsForConnectionsEmptyBecauseOnlyReset() throws IOException {
@@ -2066,6 +2083,7 @@ class DefaultJobPersistenceTest {
           null,
           null,
           null,
+          null,
           null);
 
       assertEquals(new HashSet<>(ids), jobs.stream().map(Job::getId).collect(Collectors.toSet()));
@@ -2096,6 +2114,7 @@ class DefaultJobPersistenceTest {
           null,
           null,
           null,
+          null,
           null);
 
       assertEquals(idsConnection1, jobs.stream().map(Job::getId).collect(Collectors.toSet()));
@@ -2117,6 +2136,7 @@ class DefaultJobPersistenceTest {
           CONNECTION_ID.toString(),
           9999,
           0,
+          null,
           List.of(JobStatus.FAILED, JobStatus.CANCELLED),
           null,
           null,
@@ -2132,6 +2152,43 @@ class DefaultJobPersistenceTest {
       assertTrue(actualIds.contains(jobId2));
     }
 
+    @Test
+    @DisplayName("Should list the page of jobs following the given job")
+    void testListJobsBeforeJobId() throws IOException {
+      final List<Long> ids = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        final long jobId = jobPersistence.enqueueJob(CONNECTION_ID.toString(), SPEC_JOB_CONFIG).orElseThrow();
+        ids.add(0, jobId);
+
+        final int attemptNum1 = jobPersistence.createAttempt(jobId, LOG_PATH);
+        jobPersistence.failAttempt(jobId, attemptNum1);
+        jobPersistence.createAttempt(jobId, LOG_PATH);
+      }
+
+      final List<Long> listedIds = new ArrayList<>();
+      Long beforeJobId = null;
+      for (int page = 0; page < 3; page++) {
+        final List<Job> jobs = jobPersistence.listJobs(
+            Set.of(SPEC_JOB_CONFIG.getConfigType()),
+            CONNECTION_ID.toString(),
+            4,
+            0,
+            beforeJobId,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+        jobs.forEach(job -> assertEquals(List.of(0, 1), job.getAttempts().stream().map(Attempt::getAttemptNumber).toList()));
+        jobs.forEach(job -> listedIds.add(job.getId()));
+        beforeJobId = jobs.get(jobs.size() - 1).getId();
+      }
+
+      assertEquals(ids, listedIds);
+    }
+
     @Test
     @DisplayName("Should list jobs including the specified job across all connections")
     void testListJobsIncludingId() throws IOException {
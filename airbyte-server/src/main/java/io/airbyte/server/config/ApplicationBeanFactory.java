@@ -21,6 +21,7 @@ import io.airbyte.featureflag.FeatureFlagClient;
 import io.airbyte.metrics.lib.MetricClient;
 import io.airbyte.metrics.lib.MetricClientFactory;
 import io.airbyte.metrics.lib.MetricEmittingApps;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
 import io.airbyte.persistence.job.DefaultJobCreator;
 import io.airbyte.persistence.job.JobNotifier;
 import io.airbyte.persistence.job.JobPersistence;
@@ -30,6 +31,7 @@ import io.airbyte.persistence.job.factory.DefaultSyncJobFactory;
 import io.airbyte.persistence.job.factory.OAuthConfigSupplier;
 import io.airbyte.persistence.job.factory.SyncJobFactory;
 import io.airbyte.persistence.job.tracker.JobTracker;
+import io.airbyte.validation.json.JsonSchemaCacheListener;
 import io.airbyte.validation.json.JsonSchemaValidator;
 import io.micronaut.context.annotation.Factory;
 import io.micronaut.context.annotation.Property;
@@ -146,8 +148,21 @@ public class ApplicationBeanFactory {
   }
 
   @Singleton
-  public JsonSchemaValidator jsonSchemaValidator() {
-    return new JsonSchemaValidator();
+  public JsonSchemaValidator jsonSchemaValidator(final MetricClient metricClient) {
+    return new JsonSchemaValidator(new JsonSchemaCacheListener() {
+
+      @Override
+      public void onHit() {
+        metricClient.count(OssMetricsRegistry.JSON_SCHEMA_CACHE_HIT, 1);
+      }
+
+      @Override
+      public void onMiss(final long compileTimeMillis) {
+        metricClient.count(OssMetricsRegistry.JSON_SCHEMA_CACHE_MISS, 1);
+        metricClient.distribution(OssMetricsRegistry.JSON_SCHEMA_COMPILE_TIME_MILLIS, compileTimeMillis);
+      }
+
+    });
   }
 
   @Singleton
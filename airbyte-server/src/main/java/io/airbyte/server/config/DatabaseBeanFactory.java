@@ -4,6 +4,7 @@
 
 package io.airbyte.server.config;
 
+import io.airbyte.config.persistence.ActorDefinitionCache;
 import io.airbyte.config.persistence.ConfigRepository;
 import io.airbyte.config.persistence.OrganizationPersistence;
 import io.airbyte.config.persistence.PermissionPersistence;
@@ -104,7 +105,8 @@ public class DatabaseBeanFactory {
                                            final OAuthService oauthService,
                                            final OperationService operationService,
                                            final SourceService sourceService,
-                                           final WorkspaceService workspaceService) {
+                                           final WorkspaceService workspaceService,
+                                           final ActorDefinitionCache actorDefinitionCache) {
     return new ConfigRepository(
         actorDefinitionService,
         catalogService,
@@ -114,7 +116,8 @@ public class DatabaseBeanFactory {
         oauthService,
         operationService,
         sourceService,
-        workspaceService);
+        workspaceService,
+        actorDefinitionCache);
 
   }
 
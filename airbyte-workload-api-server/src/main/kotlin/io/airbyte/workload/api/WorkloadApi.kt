@@ -6,11 +6,13 @@ package io.airbyte.workload.api
 
 import io.airbyte.config.WorkloadType
 import io.airbyte.metrics.lib.ApmTraceUtils
+import io.airbyte.workload.api.domain.BatchClaimResponse
 import io.airbyte.workload.api.domain.ClaimResponse
 import io.airbyte.workload.api.domain.ExpiredDeadlineWorkloadListRequest
 import io.airbyte.workload.api.domain.KnownExceptionInfo
 import io.airbyte.workload.api.domain.LongRunningWorkloadRequest
 import io.airbyte.workload.api.domain.Workload
+import io.airbyte.workload.api.domain.WorkloadBatchClaimRequest
 import io.airbyte.workload.api.domain.WorkloadCancelRequest
 import io.airbyte.workload.api.domain.WorkloadClaimRequest
 import io.airbyte.workload.api.domain.WorkloadCreateRequest
@@ -311,6 +313,37 @@ open class WorkloadApi(
     return ClaimResponse(claimed)
   }
 
+  @PUT
+  @Path("/batch_claim")
+  @Consumes("application/json")
+  @Produces("application/json")
+  @Operation(summary = "Claim the execution of multiple workloads", tags = ["workload"])
+  @ApiResponses(
+    value = [
+      ApiResponse(
+        responseCode = "200",
+        description =
+          "Returns the ids of the workloads which were claimed. Workloads claimed by another dataplane, not pending, " +
+            "or concurrently being claimed are not part of the response.",
+        content = [Content(schema = Schema(implementation = BatchClaimResponse::class))],
+      ),
+    ],
+  )
+  open fun workloadBatchClaim(
+    @RequestBody(
+      content = [Content(schema = Schema(implementation = WorkloadBatchClaimRequest::class))],
+    ) workloadBatchClaimRequest: WorkloadBatchClaimRequest,
+  ): BatchClaimResponse {
+    ApmTraceUtils.addTagsToTrace(mutableMapOf(DATA_PLANE_ID_TAG to workloadBatchClaimRequest.dataplaneId) as Map<String, Any>?)
+    val claimedWorkloadIds =
+      workloadHandler.claimWorkloads(
+        workloadBatchClaimRequest.workloadIds,
+        workloadBatchClaimRequest.dataplaneId,
+        workloadBatchClaimRequest.deadline ?: defaultDeadlineValues.claimStepDeadline(),
+      )
+    return BatchClaimResponse(claimedWorkloadIds)
+  }
+
   @PUT
   @Path("/launched")
   @Status(HttpStatus.NO_CONTENT)
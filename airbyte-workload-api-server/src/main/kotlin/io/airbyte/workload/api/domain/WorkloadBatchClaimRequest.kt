@@ -0,0 +1,12 @@
+package io.airbyte.workload.api.domain
+
+import io.swagger.v3.oas.annotations.media.Schema
+import java.time.OffsetDateTime
+
+data class WorkloadBatchClaimRequest(
+  @Schema(required = true)
+  var workloadIds: List<String> = ArrayList(),
+  @Schema(required = true)
+  var dataplaneId: String = "",
+  var deadline: OffsetDateTime? = null,
+)
@@ -47,6 +47,12 @@ interface WorkloadHandler {
     deadline: OffsetDateTime,
   ): Boolean
 
+  fun claimWorkloads(
+    workloadIds: List<String>,
+    dataplaneId: String,
+    deadline: OffsetDateTime,
+  ): List<String>
+
   fun cancelWorkload(
     workloadId: String,
     source: String?,
@@ -111,6 +111,43 @@ class WorkloadHandlerImpl(
     return true
   }
 
+  override fun claimWorkloads(
+    workloadIds: List<String>,
+    dataplaneId: String,
+    deadline: OffsetDateTime,
+  ): List<String> {
+    if (workloadIds.isEmpty()) {
+      return listOf()
+    }
+
+    // Same outcome as claimWorkload for each workload: pending workloads are claimed and workloads
+    // already claimed by this dataplane stay claimed. The workloads are locked until the end of the
+    // transaction, so a workload being claimed concurrently is only read once that claim is done.
+    val claimableWorkloads =
+      workloadRepository.searchByIdsForUpdate(workloadIds)
+        .filter { it.dataplaneId == null || it.dataplaneId == dataplaneId }
+        .filter { it.status == WorkloadStatus.PENDING || it.status == WorkloadStatus.CLAIMED }
+
+    val pendingWorkloadIds = claimableWorkloads.filter { it.status == WorkloadStatus.PENDING }.map { it.id }
+    if (pendingWorkloadIds.isNotEmpty()) {
+      val claimedCount = workloadRepository.updateToClaimed(pendingWorkloadIds, dataplaneId, deadline)
+      if (claimedCount != pendingWorkloadIds.size) {
+        // Can't happen while the rows are locked, re-check each workload rather than guessing which ones were claimed.
+        return claimableWorkloads.map { it.id }.filter { isClaimedBy(it, dataplaneId) }
+      }
+    }
+
+    return claimableWorkloads.map { it.id }
+  }
+
+  private fun isClaimedBy(
+    workloadId: String,
+    dataplaneId: String,
+  ): Boolean {
+    val workload = getDomainWorkload(workloadId)
+    return workload.status == WorkloadStatus.CLAIMED && workload.dataplaneId == dataplaneId
+  }
+
   override fun cancelWorkload(
     workloadId: String,
     source: String?,
@@ -64,6 +64,41 @@ interface WorkloadRepository : PageableRepository<Workload, String> {
     createdBefore: OffsetDateTime?,
   ): List<Workload>
 
+  /**
+   * Lock the workloads with the given ids. A workload locked by another transaction, e.g. a concurrent
+   * claim, is waited for so that its state is read once that transaction is done. The rows are locked
+   * in id order, so that concurrent batches can't deadlock.
+   */
+  @Query(
+    """
+      SELECT * FROM workload
+      WHERE id IN (:ids)
+      ORDER BY id
+      FOR UPDATE
+      """,
+  )
+  fun searchByIdsForUpdate(
+    @Expandable ids: List<String>,
+  ): List<Workload>
+
+  /**
+   * Claim the workloads with the given ids which are still pending.
+   *
+   * @return the number of workloads claimed.
+   */
+  @Query(
+    """
+      UPDATE workload
+      SET status = 'claimed', dataplane_id = :dataplaneId, deadline = :deadline, updated_at = now()
+      WHERE id IN (:ids) AND status = 'pending'
+      """,
+  )
+  fun updateToClaimed(
+    @Expandable ids: List<String>,
+    dataplaneId: String,
+    deadline: OffsetDateTime,
+  ): Int
+
   fun update(
     @Id id: String,
     status: WorkloadStatus,
@@ -4,6 +4,7 @@ import io.airbyte.commons.json.Jsons
 import io.airbyte.commons.temporal.WorkflowClientWrapped
 import io.airbyte.workload.api.domain.KnownExceptionInfo
 import io.airbyte.workload.api.domain.WorkloadCancelRequest
+import io.airbyte.workload.api.domain.WorkloadBatchClaimRequest
 import io.airbyte.workload.api.domain.WorkloadClaimRequest
 import io.airbyte.workload.api.domain.WorkloadCreateRequest
 import io.airbyte.workload.api.domain.WorkloadFailureRequest
@@ -116,6 +117,12 @@ class WorkloadApiTest(
     )
   }
 
+  @Test
+  fun `test batch claim success`() {
+    every { workloadHandler.claimWorkloads(any(), any(), any()) }.returns(listOf("1"))
+    testEndpointStatus(HttpRequest.PUT("/api/v1/workload/batch_claim", Jsons.serialize(WorkloadBatchClaimRequest())), HttpStatus.OK)
+  }
+
   @Test
   fun `test get success`() {
     every { workloadHandler.getWorkload(any()) }.returns(ApiWorkload())
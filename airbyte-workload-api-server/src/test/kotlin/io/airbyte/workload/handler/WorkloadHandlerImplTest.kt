@@ -236,6 +236,50 @@ class WorkloadHandlerImplTest {
     assertThrows<InvalidStatusTransitionException> { workloadHandler.claimWorkload(WORKLOAD_ID, DATAPLANE_ID, now) }
   }
 
+  @Test
+  fun `test claiming workloads in batch`() {
+    val workloadIds = listOf("pending", "claimed", "otherPlane", "running", "unknown")
+    every { workloadRepository.searchByIdsForUpdate(workloadIds) }.returns(
+      listOf(
+        Fixtures.workload(id = "pending", status = WorkloadStatus.PENDING),
+        Fixtures.workload(id = "claimed", dataplaneId = DATAPLANE_ID, status = WorkloadStatus.CLAIMED),
+        Fixtures.workload(id = "otherPlane", dataplaneId = "otherDataplaneId", status = WorkloadStatus.PENDING),
+        Fixtures.workload(id = "running", dataplaneId = DATAPLANE_ID, status = WorkloadStatus.RUNNING),
+      ),
+    )
+    every { workloadRepository.updateToClaimed(listOf("pending"), DATAPLANE_ID, now) }.returns(1)
+
+    assertEquals(listOf("pending", "claimed"), workloadHandler.claimWorkloads(workloadIds, DATAPLANE_ID, now))
+    verify { workloadRepository.updateToClaimed(listOf("pending"), DATAPLANE_ID, now) }
+  }
+
+  @Test
+  fun `test claiming workloads in batch re-checks the workloads which were not all claimed`() {
+    val workloadIds = listOf("claimedHere", "claimedElsewhere")
+    every { workloadRepository.searchByIdsForUpdate(workloadIds) }.returns(
+      workloadIds.map { Fixtures.workload(id = it, status = WorkloadStatus.PENDING) },
+    )
+    every { workloadRepository.updateToClaimed(workloadIds, DATAPLANE_ID, now) }.returns(1)
+    every { workloadRepository.findById("claimedHere") }.returns(
+      Optional.of(Fixtures.workload(id = "claimedHere", dataplaneId = DATAPLANE_ID, status = WorkloadStatus.CLAIMED)),
+    )
+    every { workloadRepository.findById("claimedElsewhere") }.returns(
+      Optional.of(Fixtures.workload(id = "claimedElsewhere", dataplaneId = "otherDataplaneId", status = WorkloadStatus.CLAIMED)),
+    )
+
+    assertEquals(listOf("claimedHere"), workloadHandler.claimWorkloads(workloadIds, DATAPLANE_ID, now))
+  }
+
+  @Test
+  fun `test claiming no pending workloads in batch does not update`() {
+    every { workloadRepository.searchByIdsForUpdate(listOf(WORKLOAD_ID)) }.returns(
+      listOf(Fixtures.workload(id = WORKLOAD_ID, dataplaneId = DATAPLANE_ID, status = WorkloadStatus.CLAIMED)),
+    )
+
+    assertEquals(listOf(WORKLOAD_ID), workloadHandler.claimWorkloads(listOf(WORKLOAD_ID), DATAPLANE_ID, now))
+    verify(exactly = 0) { workloadRepository.updateToClaimed(any(), any(), any()) }
+  }
+
   @ParameterizedTest
   @EnumSource(value = WorkloadStatus::class, names = ["RUNNING", "LAUNCHED", "SUCCESS", "FAILURE", "CANCELLED"])
   fun `test claiming workload that is not pending`(workloadStatus: WorkloadStatus) {
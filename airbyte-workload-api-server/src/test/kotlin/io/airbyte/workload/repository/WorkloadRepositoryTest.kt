@@ -240,6 +240,31 @@ internal class WorkloadRepositoryTest {
     assertEquals("dataplaneId2", persistedWorkload.get().dataplaneId)
   }
 
+  @Test
+  fun `test claim update`() {
+    workloadRepo.save(Fixtures.workload(id = "workload1", dataplaneId = null, status = WorkloadStatus.PENDING))
+    workloadRepo.save(Fixtures.workload(id = "workload2", dataplaneId = null, status = WorkloadStatus.PENDING))
+    workloadRepo.save(Fixtures.workload(id = "workload3", dataplaneId = null, status = WorkloadStatus.PENDING))
+    workloadRepo.save(Fixtures.workload(id = "workload4", dataplaneId = "dataplaneId2", status = WorkloadStatus.RUNNING))
+
+    val lockedWorkloads = workloadRepo.searchByIdsForUpdate(listOf("workload2", "workload1", "unknown"))
+    assertEquals(listOf("workload1", "workload2"), lockedWorkloads.map { it.id })
+
+    val claimedCount = workloadRepo.updateToClaimed(listOf("workload1", "workload2", "workload4"), "dataplaneId1", defaultDeadline)
+    assertEquals(2, claimedCount)
+    listOf("workload1", "workload2").forEach {
+      val persistedWorkload = workloadRepo.findById(it).get()
+      assertEquals(WorkloadStatus.CLAIMED, persistedWorkload.status)
+      assertEquals("dataplaneId1", persistedWorkload.dataplaneId)
+      assertEquals(defaultDeadline.toEpochSecond(), persistedWorkload.deadline!!.toEpochSecond())
+    }
+    assertEquals(WorkloadStatus.PENDING, workloadRepo.findById("workload3").get().status)
+    // Only pending workloads are claimed.
+    val runningWorkload = workloadRepo.findById("workload4").get()
+    assertEquals(WorkloadStatus.RUNNING, runningWorkload.status)
+    assertEquals("dataplaneId2", runningWorkload.dataplaneId)
+  }
+
   @Test
   fun `test search`() {
     val workload1 =
@@ -5,7 +5,9 @@
 package io.airbyte.workload.launcher.client
 
 import io.airbyte.workload.api.client.generated.WorkloadApi
+import io.airbyte.workload.api.client.model.generated.BatchClaimResponse
 import io.airbyte.workload.api.client.model.generated.ClaimResponse
+import io.airbyte.workload.api.client.model.generated.WorkloadBatchClaimRequest
 import io.airbyte.workload.api.client.model.generated.WorkloadClaimRequest
 import io.airbyte.workload.api.client.model.generated.WorkloadFailureRequest
 import io.airbyte.workload.api.client.model.generated.WorkloadLaunchedRequest
@@ -75,4 +77,23 @@ class WorkloadApiClient(
 
     return result
   }
+
+  /**
+   * Claim multiple workloads in a single call. Unlike the single claim, a failed call is rethrown
+   * as it does not tell which workloads were claimed.
+   *
+   * @return the ids of the workloads which were claimed.
+   */
+  fun claim(workloadIds: List<String>): Set<String> {
+    val resp: BatchClaimResponse =
+      workloadApiRaw.workloadBatchClaim(
+        WorkloadBatchClaimRequest(
+          workloadIds = workloadIds,
+          dataplaneId = dataplaneId,
+        ),
+      )
+    logger.info { "Claimed: ${resp.claimedWorkloadIds} out of $workloadIds via API for $dataplaneId" }
+
+    return resp.claimedWorkloadIds.toSet()
+  }
 }
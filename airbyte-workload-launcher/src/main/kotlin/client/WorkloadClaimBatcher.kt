@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.launcher.client
+
+import io.github.oshai.kotlinlogging.KotlinLogging
+import io.micronaut.context.annotation.Property
+import jakarta.inject.Singleton
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Groups the concurrent claims of the launch pipelines into batch claims, so that a burst of
+ * workloads is claimed with a few calls to the workload API rather than one call per workload.
+ *
+ * A claim is sent right away when no batch claim is in flight. The claims made while a batch claim
+ * is in flight are sent together once it returns, up to one claim per launch pipeline thread.
+ *
+ * A workload whose batch claim failed or did not return within [claimTimeout] is claimed on its
+ * own, which is safe as claiming a workload already claimed by this dataplane succeeds.
+ */
+@Singleton
+class WorkloadClaimBatcher(
+  private val apiClient: WorkloadApiClient,
+  @Property(name = "airbyte.workload-launcher.temporal.default-queue.parallelism") defaultQueueParallelism: Int,
+  @Property(name = "airbyte.workload-launcher.temporal.high-priority-queue.parallelism") highPriorityQueueParallelism: Int,
+  @Property(name = "airbyte.workload-launcher.claim.timeout") private val claimTimeout: Duration,
+) {
+  private val maxBatchSize = defaultQueueParallelism + highPriorityQueueParallelism
+  private val sender: ExecutorService =
+    Executors.newSingleThreadExecutor { r -> Thread(r, "workload-claim-batcher").apply { isDaemon = true } }
+  private val pending = LinkedHashMap<String, CompletableFuture<Boolean>>()
+  private var sending = false
+
+  /**
+   * Claim a workload, blocking until the batch it belongs to has been claimed.
+   *
+   * @return true if the workload was claimed.
+   */
+  fun claim(workloadId: String): Boolean {
+    var startSending = false
+
+    val claim =
+      synchronized(this) {
+        if (!sending) {
+          sending = true
+          startSending = true
+        }
+        pending.getOrPut(workloadId) { CompletableFuture() }
+      }
+
+    if (startSending) {
+      sender.execute(::sendPending)
+    }
+
+    return try {
+      claim.get(claimTimeout.toMillis(), TimeUnit.MILLISECONDS)
+    } catch (e: TimeoutException) {
+      logger.warn { "Batch claim of workload $workloadId did not return within $claimTimeout, claiming it on its own." }
+      apiClient.claim(workloadId)
+    }
+  }
+
+  private fun sendPending() {
+    while (true) {
+      val claims =
+        synchronized(this) {
+          if (pending.isEmpty()) {
+            sending = false
+            return
+          }
+          val batch = pending.entries.take(maxBatchSize).associate { it.key to it.value }
+          pending.keys.removeAll(batch.keys)
+          batch
+        }
+      send(claims)
+    }
+  }
+
+  private fun send(claims: Map<String, CompletableFuture<Boolean>>) {
+    try {
+      val claimed = apiClient.claim(claims.keys.toList())
+      claims.forEach { (workloadId, claim) -> claim.complete(workloadId in claimed) }
+    } catch (e: Exception) {
+      logger.warn(e) { "Batch claim of workloads ${claims.keys} failed, claiming them one by one." }
+      claims.forEach { (workloadId, claim) -> claim.complete(apiClient.claim(workloadId)) }
+    }
+  }
+}
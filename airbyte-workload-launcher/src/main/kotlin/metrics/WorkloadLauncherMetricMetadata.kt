@@ -64,6 +64,10 @@ enum class WorkloadLauncherMetricMetadata(
     "workload_pods_deleted_for_mutex_key",
     "existing pods for the provided mutex key were found and deleted",
   ),
+  LAUNCH_CONCURRENCY_LIMIT(
+    "workload_launch_concurrency_limit",
+    "the current limit of pod launches in flight",
+  ),
   PRODUCER_TO_CONSUMER_LATENCY_MS(
     "producer_to_consumer_start_latency_ms",
     "the time it takes to produce a message until it is consumed",
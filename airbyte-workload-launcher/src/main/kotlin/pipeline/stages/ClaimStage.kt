@@ -8,7 +8,7 @@ import datadog.trace.api.Trace
 import io.airbyte.metrics.annotations.Instrument
 import io.airbyte.metrics.annotations.Tag
 import io.airbyte.metrics.lib.MetricAttribute
-import io.airbyte.workload.launcher.client.WorkloadApiClient
+import io.airbyte.workload.launcher.client.WorkloadClaimBatcher
 import io.airbyte.workload.launcher.metrics.CustomMetricPublisher
 import io.airbyte.workload.launcher.metrics.MeterFilterFactory
 import io.airbyte.workload.launcher.metrics.MeterFilterFactory.Companion.WORKLOAD_ID_TAG
@@ -27,12 +27,12 @@ private val logger = KotlinLogging.logger {}
 /**
  * Calls the workload broker to try and claim ownership of the workload. If we
  * successfully claim the workload we continue, otherwise we no-op to the end of
- * the pipeline.
+ * the pipeline. Concurrent claims are sent to the workload broker in batches.
  */
 @Singleton
 @Named("claim")
 open class ClaimStage(
-  private val apiClient: WorkloadApiClient,
+  private val claimBatcher: WorkloadClaimBatcher,
   metricPublisher: CustomMetricPublisher,
   @Value("\${airbyte.data-plane-id}") dataplaneId: String,
 ) : LaunchStage(metricPublisher, dataplaneId) {
@@ -47,7 +47,7 @@ open class ClaimStage(
   }
 
   override fun applyStage(input: LaunchStageIO): LaunchStageIO {
-    val claimed = apiClient.claim(input.msg.workloadId)
+    val claimed = claimBatcher.claim(input.msg.workloadId)
 
     if (!claimed) {
       metricPublisher.count(
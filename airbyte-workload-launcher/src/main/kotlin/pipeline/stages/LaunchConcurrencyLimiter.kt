@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.launcher.pipeline.stages
+
+import com.google.common.annotations.VisibleForTesting
+import io.airbyte.config.WorkloadType
+import io.airbyte.workload.launcher.metrics.CustomMetricPublisher
+import io.airbyte.workload.launcher.metrics.WorkloadLauncherMetricMetadata
+import io.airbyte.workload.launcher.pods.KubeClientException
+import io.github.oshai.kotlinlogging.KotlinLogging
+import io.micronaut.context.annotation.Property
+import jakarta.inject.Singleton
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+import kotlin.math.max
+import kotlin.math.min
+import kotlin.time.TimeSource
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Limits the number of pod launches in flight, adapting the limit to how the cluster copes with the
+ * launches (additive increase, multiplicative decrease).
+ *
+ * The limit grows by one for each launch which completes in a reasonable time while the limit is
+ * being used. It is multiplied by the backoff ratio when a launch fails with a
+ * [KubeClientException], or when it takes more than latencyTolerance times the average launch
+ * latency (and more than a second). Other failures, e.g. a bad input, don't change the limit.
+ *
+ * The average launch latency is kept per workload type, a sync launching an orchestrator and two
+ * connector pods normally takes much longer than a check.
+ */
+@Singleton
+class LaunchConcurrencyLimiter(
+  @Property(name = "airbyte.workload-launcher.launch-limiter.enabled") private val enabled: Boolean,
+  @Property(name = "airbyte.workload-launcher.launch-limiter.initial-limit") initialLimit: Int,
+  @Property(name = "airbyte.workload-launcher.launch-limiter.min-limit") private val minLimit: Int,
+  @Property(name = "airbyte.workload-launcher.launch-limiter.max-limit") private val maxLimit: Int,
+  @Property(name = "airbyte.workload-launcher.launch-limiter.backoff-ratio") private val backoffRatio: Double,
+  @Property(name = "airbyte.workload-launcher.launch-limiter.latency-tolerance") private val latencyTolerance: Double,
+  metricPublisher: CustomMetricPublisher,
+) {
+  companion object {
+    // Weight of a launch in the average launch latency.
+    private const val LATENCY_SMOOTHING = 0.05
+
+    // Launches faster than this are never considered slow.
+    private const val MIN_SLOW_LATENCY_MS = 1000.0
+  }
+
+  private val lock = ReentrantLock()
+  private val belowLimit = lock.newCondition()
+  private var limit: Double = initialLimit.toDouble().coerceIn(minLimit.toDouble(), maxLimit.toDouble())
+  private var inFlight = 0
+  private val averageLatencyMs = mutableMapOf<WorkloadType, Double>()
+
+  init {
+    metricPublisher.gauge(WorkloadLauncherMetricMetadata.LAUNCH_CONCURRENCY_LIMIT, this, { it.getLimit().toDouble() })
+  }
+
+  /**
+   * Run a launch once the number of launches in flight is below the limit.
+   */
+  fun <T> run(
+    workloadType: WorkloadType,
+    launch: () -> T,
+  ): T {
+    if (!enabled) {
+      return launch()
+    }
+
+    acquire()
+    val startTime = TimeSource.Monotonic.markNow()
+    try {
+      val result = launch()
+      release(workloadType, startTime.elapsedNow().inWholeMilliseconds, overloaded = false)
+      return result
+    } catch (e: KubeClientException) {
+      release(workloadType, startTime.elapsedNow().inWholeMilliseconds, overloaded = true)
+      throw e
+    } catch (t: Throwable) {
+      release(workloadType, null, overloaded = false)
+      throw t
+    }
+  }
+
+  @VisibleForTesting
+  fun getLimit(): Int = lock.withLock { limit.toInt() }
+
+  @VisibleForTesting
+  fun getInFlight(): Int = lock.withLock { inFlight }
+
+  @VisibleForTesting
+  fun getAverageLatencyMs(workloadType: WorkloadType): Double? = lock.withLock { averageLatencyMs[workloadType] }
+
+  private fun acquire() {
+    lock.withLock {
+      while (inFlight >= limit.toInt()) {
+        belowLimit.await()
+      }
+      inFlight++
+    }
+  }
+
+  /**
+   * @param workloadType the type of the workload launched, launches are only compared to launches of the same type.
+   * @param latencyMs the duration of the launch, null if it should not be taken into account.
+   * @param overloaded true if the launch failed because of the cluster.
+   */
+  private fun release(
+    workloadType: WorkloadType,
+    latencyMs: Long?,
+    overloaded: Boolean,
+  ) {
+    lock.withLock {
+      // Only grow the limit if it is being used, otherwise it could grow unbounded while idle.
+      val limitUsed = inFlight * 2 >= limit
+      inFlight--
+
+      val previousLimit = limit.toInt()
+      val averageMs = averageLatencyMs[workloadType]
+      val slow = latencyMs != null && averageMs != null && latencyMs > max(averageMs * latencyTolerance, MIN_SLOW_LATENCY_MS)
+      if (overloaded || slow) {
+        limit = max(minLimit.toDouble(), limit * backoffRatio)
+      } else if (latencyMs != null && limitUsed) {
+        limit = min(maxLimit.toDouble(), limit + 1)
+      }
+
+      if (latencyMs != null && !overloaded) {
+        averageLatencyMs[workloadType] = averageMs?.let { it + LATENCY_SMOOTHING * (latencyMs - it) } ?: latencyMs.toDouble()
+      }
+
+      if (limit.toInt() != previousLimit) {
+        logger.info { "Pod launch concurrency limit changed from $previousLimit to ${limit.toInt()}" }
+      }
+      belowLimit.signalAll()
+    }
+  }
+}
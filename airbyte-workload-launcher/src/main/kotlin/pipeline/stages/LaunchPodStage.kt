@@ -22,12 +22,14 @@ private val logger = KotlinLogging.logger {}
 
 /**
  * Launches the pods for the workload, serializing and passing through input
- * values via the injected pod client.
+ * values via the injected pod client. The number of launches in flight is
+ * bounded by the launch concurrency limiter.
  */
 @Singleton
 @Named("launch")
 open class LaunchPodStage(
   private val launcher: PodClient,
+  private val limiter: LaunchConcurrencyLimiter,
   metricPublisher: CustomMetricPublisher,
   @Value("\${airbyte.data-plane-id}") dataplaneId: String,
 ) : LaunchStage(metricPublisher, dataplaneId) {
@@ -44,11 +46,13 @@ open class LaunchPodStage(
   override fun applyStage(input: LaunchStageIO): LaunchStageIO {
     val payload = input.payload!!
 
-    when (payload) {
-      is SyncPayload -> launcher.launchReplication(payload.input, input.msg)
-      is CheckPayload -> launcher.launchCheck(payload.input, input.msg)
-      is DiscoverCatalogPayload -> launcher.launchDiscover(payload.input, input.msg)
-      is SpecPayload -> launcher.launchSpec(payload.input, input.msg)
+    limiter.run(input.msg.workloadType) {
+      when (payload) {
+        is SyncPayload -> launcher.launchReplication(payload.input, input.msg)
+        is CheckPayload -> launcher.launchCheck(payload.input, input.msg)
+        is DiscoverCatalogPayload -> launcher.launchDiscover(payload.input, input.msg)
+        is SpecPayload -> launcher.launchSpec(payload.input, input.msg)
+      }
     }
 
     return input
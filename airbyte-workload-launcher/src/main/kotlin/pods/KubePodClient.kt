@@ -21,6 +21,7 @@ import io.airbyte.workload.launcher.pipeline.consumer.LauncherInput
 import io.airbyte.workload.launcher.pods.factories.ConnectorPodFactory
 import io.airbyte.workload.launcher.pods.factories.OrchestratorPodFactory
 import io.fabric8.kubernetes.api.model.Pod
+import io.github.oshai.kotlinlogging.KotlinLogging
 import io.micronaut.context.annotation.Requires
 import io.micronaut.context.env.Environment
 import jakarta.inject.Named
@@ -29,6 +30,8 @@ import java.time.Duration
 import java.util.UUID
 import kotlin.time.TimeSource
 
+private val logger = KotlinLogging.logger {}
+
 /**
  * Interface layer between domain and Kube layers.
  * Composes raw Kube layer atomic operations to perform business operations.
@@ -44,6 +47,7 @@ class KubePodClient(
   @Named("checkPodFactory") private val checkPodFactory: ConnectorPodFactory,
   @Named("discoverPodFactory") private val discoverPodFactory: ConnectorPodFactory,
   @Named("specPodFactory") private val specPodFactory: ConnectorPodFactory,
+  private val warmPodPool: WarmPodPool,
 ) : PodClient {
   override fun podsExistForAutoId(autoId: UUID): Boolean {
     return kubePodLauncher.podsExist(labeler.getAutoIdLabels(autoId))
@@ -243,23 +247,26 @@ class KubePodClient(
   ) {
     val start = TimeSource.Monotonic.markNow()
 
-    var pod =
-      factory.create(
-        kubeInput.connectorLabels,
-        kubeInput.nodeSelectors,
-        kubeInput.kubePodInfo,
-        kubeInput.annotations,
-        kubeInput.extraEnv,
-      )
-    try {
-      pod = kubePodLauncher.create(pod)
-    } catch (e: RuntimeException) {
-      ApmTraceUtils.addExceptionToTrace(e)
-      throw KubeClientException(
-        "Failed to create pod ${kubeInput.kubePodInfo.name}.",
-        e,
-        KubeCommandType.CREATE,
-      )
+    var pod = takeWarmPod(kubeInput, factory)
+    if (pod == null) {
+      pod =
+        factory.create(
+          kubeInput.connectorLabels,
+          kubeInput.nodeSelectors,
+          kubeInput.kubePodInfo,
+          kubeInput.annotations,
+          kubeInput.extraEnv,
+        )
+      try {
+        pod = kubePodLauncher.create(pod)
+      } catch (e: RuntimeException) {
+        ApmTraceUtils.addExceptionToTrace(e)
+        throw KubeClientException(
+          "Failed to create pod ${kubeInput.kubePodInfo.name}.",
+          e,
+          KubeCommandType.CREATE,
+        )
+      }
     }
 
     try {
@@ -267,7 +274,7 @@ class KubePodClient(
     } catch (e: RuntimeException) {
       ApmTraceUtils.addExceptionToTrace(e)
       throw KubeClientException(
-        "$podLogLabel pod failed to init within allotted timeout.",
+        "$podLogLabel pod ${pod.metadata.name} failed to init within allotted timeout.",
         e,
         KubeCommandType.WAIT_INIT,
       )
@@ -278,7 +285,7 @@ class KubePodClient(
     } catch (e: RuntimeException) {
       ApmTraceUtils.addExceptionToTrace(e)
       throw KubeClientException(
-        "Failed to copy files to $podLogLabel pod ${kubeInput.kubePodInfo.name}.",
+        "Failed to copy files to $podLogLabel pod ${pod.metadata.name}.",
         e,
         KubeCommandType.COPY,
       )
@@ -289,7 +296,7 @@ class KubePodClient(
     } catch (e: RuntimeException) {
       ApmTraceUtils.addExceptionToTrace(e)
       throw KubeClientException(
-        "$podLogLabel pod failed to start within allotted timeout.",
+        "$podLogLabel pod ${pod.metadata.name} failed to start within allotted timeout.",
         e,
         KubeCommandType.WAIT_MAIN,
       )
@@ -298,6 +305,35 @@ class KubePodClient(
     println("ELAPSED TIME (SIDECAR): ${start.elapsedNow()}")
   }
 
+  /**
+   * Hand a warm pod over to the workload by giving it the workload labels. Pods with workload specific
+   * env vars can't be warmed ahead of the workload.
+   *
+   * @return the pod, or null if there was no warm pod for this workload.
+   */
+  private fun takeWarmPod(
+    kubeInput: ConnectorKubeInput,
+    factory: ConnectorPodFactory,
+  ): Pod? {
+    if (kubeInput.extraEnv.isNotEmpty()) {
+      return null
+    }
+
+    val key = WarmPodKey(factory, kubeInput.kubePodInfo.mainContainerInfo, kubeInput.nodeSelectors, kubeInput.annotations)
+    val warmPod = warmPodPool.take(key) ?: return null
+    return try {
+      kubePodLauncher.replaceLabels(warmPod, kubeInput.connectorLabels)
+    } catch (e: RuntimeException) {
+      logger.warn(e) { "Failed to hand warm pod ${warmPod.metadata.name} over, creating a new pod." }
+      try {
+        kubePodLauncher.delete(warmPod)
+      } catch (e: RuntimeException) {
+        logger.warn(e) { "Failed to delete warm pod ${warmPod.metadata.name}." }
+      }
+      null
+    }
+  }
+
   override fun deleteMutexPods(mutexKey: String): Boolean {
     val labels = labeler.getMutexLabels(mutexKey)
 
@@ -5,12 +5,15 @@ import dev.failsafe.RetryPolicy
 import io.airbyte.metrics.lib.MetricAttribute
 import io.airbyte.metrics.lib.MetricClient
 import io.airbyte.metrics.lib.OssMetricsRegistry
+import io.airbyte.workers.process.KubePodProcess
 import io.airbyte.workers.process.KubePodResourceHelper
 import io.airbyte.workload.launcher.pods.KubePodLauncher.Constants.KUBECTL_COMPLETED_VALUE
 import io.airbyte.workload.launcher.pods.KubePodLauncher.Constants.KUBECTL_PHASE_FIELD_NAME
 import io.airbyte.workload.launcher.pods.KubePodLauncher.Constants.MAX_DELETION_TIMEOUT
+import io.fabric8.kubernetes.api.model.ContainerStatus
 import io.fabric8.kubernetes.api.model.DeletionPropagation
 import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
 import io.fabric8.kubernetes.api.model.PodList
 import io.fabric8.kubernetes.api.model.StatusDetails
 import io.fabric8.kubernetes.client.KubernetesClient
@@ -62,10 +65,7 @@ class KubePodLauncher(
             .resource(pod)
             .waitUntilCondition(
               { p: Pod ->
-                (
-                  p.status.initContainerStatuses.isNotEmpty() &&
-                    p.status.initContainerStatuses[0].state.waiting == null
-                )
+                getInitContainerStatus(p).let { it != null && it.state.waiting == null }
               },
               waitDuration.toMinutes(),
               TimeUnit.MINUTES,
@@ -74,11 +74,7 @@ class KubePodLauncher(
         "wait",
       )
 
-    val containerState =
-      initializedPod
-        .status
-        .initContainerStatuses[0]
-        .state
+    val containerState = getInitContainerStatus(initializedPod)!!.state
 
     if (containerState.running == null) {
       throw RuntimeException(
@@ -199,6 +195,41 @@ class KubePodLauncher(
     )
   }
 
+  /**
+   * Replace the labels of a pod, e.g. to hand a warm pod over to a workload.
+   */
+  fun replaceLabels(
+    pod: Pod,
+    labels: Map<String, String>,
+  ): Pod {
+    return runKubeCommand(
+      {
+        kubernetesClient.pods()
+          .inNamespace(pod.metadata.namespace ?: namespace)
+          .withName(pod.metadata.name)
+          .edit { p -> PodBuilder(p).editMetadata().withLabels<String, String>(labels).endMetadata().build() }
+      },
+      "pod_edit",
+    )
+  }
+
+  fun delete(pod: Pod) {
+    runKubeCommand(
+      {
+        kubernetesClient.pods()
+          .inNamespace(pod.metadata.namespace ?: namespace)
+          .withName(pod.metadata.name)
+          .delete()
+      },
+      "delete",
+    )
+  }
+
+  // Warm pods pull the connector image in a first init container, the files are copied to the
+  // init container waiting for them.
+  private fun getInitContainerStatus(pod: Pod): ContainerStatus? =
+    pod.status?.initContainerStatuses?.find { it.name == KubePodProcess.INIT_CONTAINER_NAME }
+
   private fun listActivePods(labels: Map<String, String>): FilterWatchListDeletable<Pod, PodList, PodResource> {
     return kubernetesClient.pods()
       .inNamespace(namespace)
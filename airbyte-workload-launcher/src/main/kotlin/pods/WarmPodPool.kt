@@ -0,0 +1,234 @@
+package io.airbyte.workload.launcher.pods
+
+import com.google.common.annotations.VisibleForTesting
+import io.airbyte.workers.process.KubeContainerInfo
+import io.airbyte.workers.process.KubePodInfo
+import io.airbyte.workload.launcher.pods.factories.ConnectorPodFactory
+import io.fabric8.kubernetes.api.model.Pod
+import io.github.oshai.kotlinlogging.KotlinLogging
+import io.micronaut.context.annotation.Property
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.annotation.Value
+import io.micronaut.context.env.Environment
+import jakarta.annotation.PreDestroy
+import jakarta.inject.Singleton
+import java.time.Duration
+import java.time.Instant
+import java.util.UUID
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * What a warm pod must match to be handed to a connector workload. The workload labels are set on
+ * hand-off, everything else is fixed when the pod is created.
+ */
+data class WarmPodKey(
+  val factory: ConnectorPodFactory,
+  val containerInfo: KubeContainerInfo,
+  val nodeSelectors: Map<String, String>,
+  val annotations: Map<String, String>,
+)
+
+/**
+ * Keeps pre-created, idle connector pods for the connector images which were launched the most
+ * recently, so that check, discover and spec workloads don't wait for the pod to be scheduled and
+ * its image to be pulled.
+ *
+ * Warm pods wait in their init container for the files of a workload, for at most the max idle
+ * time. They are deleted before then if they were not handed out.
+ *
+ * A key whose pods fail to warm is not warmed again until a backoff doubling with each consecutive
+ * failure elapsed, so that an image which can't be pulled does not create pods on every refresh.
+ */
+@Singleton
+@Requires(env = [Environment.KUBERNETES])
+class WarmPodPool(
+  private val kubePodLauncher: KubePodLauncher,
+  @Property(name = "airbyte.workload-launcher.warm-pool.enabled") private val enabled: Boolean,
+  @Property(name = "airbyte.workload-launcher.warm-pool.pods-per-image") private val podsPerImage: Int,
+  @Property(name = "airbyte.workload-launcher.warm-pool.max-images") private val maxImages: Int,
+  @Property(name = "airbyte.workload-launcher.warm-pool.max-idle-time") private val maxIdleTime: Duration,
+  @Property(name = "airbyte.workload-launcher.warm-pool.demand-window") private val demandWindow: Duration,
+  @Property(name = "airbyte.workload-launcher.warm-pool.refresh-interval") private val refreshInterval: Duration,
+  @Value("\${airbyte.worker.job.kube.namespace}") private val namespace: String?,
+) {
+  companion object {
+    const val WARM_POD_LABEL_KEY = "airbyte-warm-pod"
+
+    // Warm pods are not handed out in the last minute of their idle time, the copy of the workload
+    // files must complete before the init container stops waiting for them.
+    private val HAND_OFF_MARGIN = Duration.ofMinutes(1)
+    private const val WARMING_THREADS = 4
+    private val MAX_WARM_BACKOFF = Duration.ofHours(1)
+  }
+
+  private data class WarmPod(val pod: Pod, val readyAt: Instant)
+
+  private data class WarmFailures(val count: Int, val retryAt: Instant)
+
+  private val poolId = UUID.randomUUID().toString()
+  private val idlePods = mutableMapOf<WarmPodKey, ArrayDeque<WarmPod>>()
+  private val warmingPods = mutableMapOf<WarmPodKey, Int>()
+  private val warmFailures = mutableMapOf<WarmPodKey, WarmFailures>()
+  private val launches = ArrayDeque<Pair<Instant, WarmPodKey>>()
+
+  private val scheduler: ScheduledExecutorService? =
+    if (enabled) Executors.newSingleThreadScheduledExecutor { r -> Thread(r, "warm-pod-pool").apply { isDaemon = true } } else null
+  private val warmingExecutor: ExecutorService? = if (enabled) Executors.newFixedThreadPool(WARMING_THREADS) else null
+
+  init {
+    scheduler?.scheduleWithFixedDelay({ refresh() }, refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS)
+  }
+
+  /**
+   * Take an idle pod matching the key, and record the launch so that the pool keeps pods warm for
+   * the images which are launched the most.
+   *
+   * @return the pod, or null if there is no idle pod for this key.
+   */
+  fun take(key: WarmPodKey): Pod? {
+    if (!enabled) {
+      return null
+    }
+
+    val now = Instant.now()
+    synchronized(this) {
+      launches.addLast(now to key)
+      val pods = idlePods[key] ?: return null
+      while (pods.isNotEmpty()) {
+        val warmPod = pods.removeFirst()
+        if (isExpired(warmPod, now)) {
+          deleteAsync(warmPod.pod)
+        } else {
+          return warmPod.pod
+        }
+      }
+      return null
+    }
+  }
+
+  /**
+   * Labels of the warm pods, they are replaced by the workload labels on hand-off.
+   */
+  fun getWarmPodLabels(): Map<String, String> = mapOf(WARM_POD_LABEL_KEY to poolId)
+
+  @VisibleForTesting
+  fun refresh() {
+    try {
+      val toWarm = mutableListOf<WarmPodKey>()
+      val now = Instant.now()
+
+      synchronized(this) {
+        // Forget the launches which are out of the window.
+        while (launches.isNotEmpty() && launches.first().first.isBefore(now.minus(demandWindow))) {
+          launches.removeFirst()
+        }
+
+        val hotKeys =
+          launches.groupingBy { it.second }.eachCount()
+            .entries
+            .sortedByDescending { it.value }
+            .take(maxImages)
+            .map { it.key }
+            .toSet()
+
+        // Drop the pods which expired or are no longer in demand.
+        idlePods.forEach { (key, pods) ->
+          pods.filter { isExpired(it, now) || key !in hotKeys }.forEach {
+            pods.remove(it)
+            deleteAsync(it.pod)
+          }
+        }
+        idlePods.values.removeIf { it.isEmpty() }
+
+        // Forget the failures of the keys which are no longer in demand.
+        warmFailures.keys.retainAll(hotKeys)
+
+        hotKeys.filter { key -> warmFailures[key]?.retryAt?.isAfter(now) != true }.forEach { key ->
+          val missing = podsPerImage - (idlePods[key]?.size ?: 0) - (warmingPods[key] ?: 0)
+          repeat(missing) { toWarm.add(key) }
+          if (missing > 0) {
+            warmingPods[key] = (warmingPods[key] ?: 0) + missing
+          }
+        }
+      }
+
+      toWarm.forEach { key -> warmingExecutor?.submit { warm(key) } }
+    } catch (e: Exception) {
+      logger.warn(e) { "Failed to refresh the warm pod pool." }
+    }
+  }
+
+  @VisibleForTesting
+  fun getIdlePodCount(key: WarmPodKey): Int = synchronized(this) { idlePods[key]?.size ?: 0 }
+
+  @PreDestroy
+  fun close() {
+    scheduler?.shutdownNow()
+    warmingExecutor?.shutdownNow()
+    val pods = synchronized(this) { idlePods.values.flatten().also { idlePods.clear() } }
+    pods.forEach { delete(it.pod) }
+  }
+
+  private fun warm(key: WarmPodKey) {
+    var created: Pod? = null
+    try {
+      val podInfo = KubePodInfo(namespace, "warm-${UUID.randomUUID()}", key.containerInfo)
+      val pod = key.factory.createWarm(getWarmPodLabels(), key.nodeSelectors, podInfo, key.annotations, maxIdleTime)
+      val createdPod = kubePodLauncher.create(pod)
+      created = createdPod
+      // Once the init container waiting for the files runs, the image was pulled and the pod can be handed out.
+      kubePodLauncher.waitForPodInit(createdPod, KubePodClient.POD_INIT_TIMEOUT_VALUE)
+      synchronized(this) {
+        idlePods.getOrPut(key) { ArrayDeque() }.addLast(WarmPod(createdPod, Instant.now()))
+        warmFailures.remove(key)
+      }
+    } catch (e: Exception) {
+      val backoff = recordWarmFailure(key)
+      logger.warn(e) { "Failed to warm a pod for image ${key.containerInfo.image}, not warming it again for $backoff." }
+      created?.let { delete(it) }
+    } finally {
+      synchronized(this) {
+        warmingPods[key] = (warmingPods[key] ?: 1) - 1
+      }
+    }
+  }
+
+  private fun recordWarmFailure(key: WarmPodKey): Duration {
+    synchronized(this) {
+      val count = (warmFailures[key]?.count ?: 0) + 1
+      val backoff = backoff(count)
+      warmFailures[key] = WarmFailures(count, Instant.now().plus(backoff))
+      return backoff
+    }
+  }
+
+  @VisibleForTesting
+  fun backoff(failureCount: Int): Duration {
+    // The shift is bounded so that the multiplication can't overflow.
+    val backoff = refreshInterval.multipliedBy(1L shl (failureCount - 1).coerceIn(0, 16))
+    return if (backoff > MAX_WARM_BACKOFF) MAX_WARM_BACKOFF else backoff
+  }
+
+  // The init container starts waiting for the files about when the pod is ready.
+  private fun isExpired(
+    warmPod: WarmPod,
+    now: Instant,
+  ): Boolean = warmPod.readyAt.plus(maxIdleTime).minus(HAND_OFF_MARGIN).isBefore(now)
+
+  private fun deleteAsync(pod: Pod) {
+    warmingExecutor?.submit { delete(pod) }
+  }
+
+  private fun delete(pod: Pod) {
+    try {
+      kubePodLauncher.delete(pod)
+    } catch (e: Exception) {
+      logger.warn(e) { "Failed to delete warm pod ${pod.metadata.name}." }
+    }
+  }
+}
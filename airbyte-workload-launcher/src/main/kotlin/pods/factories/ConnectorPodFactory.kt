@@ -18,6 +18,7 @@ import io.fabric8.kubernetes.api.model.PodBuilder
 import io.fabric8.kubernetes.api.model.Toleration
 import io.fabric8.kubernetes.api.model.Volume
 import io.fabric8.kubernetes.api.model.VolumeMount
+import java.time.Duration
 
 class ConnectorPodFactory(
   private val operationCommand: String,
@@ -40,7 +41,45 @@ class ConnectorPodFactory(
     annotations: Map<String, String>,
     extraEnvVars: List<EnvVar>,
   ): Pod {
-    val volumes: MutableList<Volume> = ArrayList()
+    return buildPod(allLabels, nodeSelectors, kubePodInfo, annotations, extraEnvVars, listOf()) { volumeMounts ->
+      listOf(buildInitContainer(volumeMounts, CONFIG_FILE_WAIT_SECONDS))
+    }
+  }
+
+  /**
+   * Create a pod which is started ahead of any workload. The connector image is pulled first, then
+   * the pod waits for up to [maxIdleTime] for the files of a workload to be copied.
+   *
+   * The image is pulled by an init container running a static binary copied from the busybox image,
+   * as the connector image may have no shell.
+   */
+  fun createWarm(
+    allLabels: Map<String, String>,
+    nodeSelectors: Map<String, String>,
+    kubePodInfo: KubePodInfo,
+    annotations: Map<String, String>,
+    maxIdleTime: Duration,
+  ): Pod {
+    val pullTool = volumeFactory.pullTool()
+    return buildPod(allLabels, nodeSelectors, kubePodInfo, annotations, listOf(), listOf(pullTool.volume)) { volumeMounts ->
+      listOf(
+        buildPullToolContainer(pullTool.mount),
+        buildPullContainer(kubePodInfo.mainContainerInfo, pullTool.mount),
+        buildInitContainer(volumeMounts, maxIdleTime.seconds),
+      )
+    }
+  }
+
+  private fun buildPod(
+    allLabels: Map<String, String>,
+    nodeSelectors: Map<String, String>,
+    kubePodInfo: KubePodInfo,
+    annotations: Map<String, String>,
+    extraEnvVars: List<EnvVar>,
+    extraVolumes: List<Volume>,
+    buildInitContainers: (List<VolumeMount>) -> List<Container>,
+  ): Pod {
+    val volumes: MutableList<Volume> = ArrayList(extraVolumes)
     val volumeMounts: MutableList<VolumeMount> = ArrayList()
     val secretVolumeMounts: MutableList<VolumeMount> = ArrayList()
 
@@ -60,7 +99,7 @@ class ConnectorPodFactory(
       secretVolumeMounts.add(dataPlaneCreds.mount)
     }
 
-    val init: Container = buildInitContainer(volumeMounts)
+    val initContainers: List<Container> = buildInitContainers(volumeMounts)
     val main: Container = buildMainContainer(volumeMounts, kubePodInfo.mainContainerInfo, extraEnvVars)
     val sidecar: Container = buildSidecarContainer(volumeMounts + secretVolumeMounts)
 
@@ -80,7 +119,7 @@ class ConnectorPodFactory(
       .withAutomountServiceAccountToken(true)
       .withRestartPolicy("Never")
       .withContainers(sidecar, main)
-      .withInitContainers(init)
+      .withInitContainers(initContainers)
       .withVolumes(volumes)
       .withNodeSelector<String, String>(nodeSelectors)
       .withTolerations(tolerations)
@@ -89,7 +128,42 @@ class ConnectorPodFactory(
       .build()
   }
 
-  private fun buildInitContainer(volumeMounts: List<VolumeMount>): Container {
+  /**
+   * Init container copying the static busybox binary as `true`, busybox runs the applet named after
+   * the binary.
+   */
+  private fun buildPullToolContainer(pullToolMount: VolumeMount): Container {
+    return ContainerBuilder()
+      .withName(PULL_TOOL_CONTAINER_NAME)
+      .withImage("busybox:1.35")
+      .withCommand("cp", "/bin/busybox", "${pullToolMount.mountPath}/true")
+      .withVolumeMounts(pullToolMount)
+      .withResources(KubePodProcess.getResourceRequirementsBuilder(connectorReqs).build())
+      .build()
+  }
+
+  /**
+   * Init container which only pulls the connector image, so that the image is present on the node
+   * by the time a warm pod is handed a workload.
+   */
+  private fun buildPullContainer(
+    containerInfo: KubeContainerInfo,
+    pullToolMount: VolumeMount,
+  ): Container {
+    return ContainerBuilder()
+      .withName(PULL_CONTAINER_NAME)
+      .withImage(containerInfo.image)
+      .withImagePullPolicy(containerInfo.pullPolicy)
+      .withCommand("${pullToolMount.mountPath}/true")
+      .withVolumeMounts(pullToolMount)
+      .withResources(KubePodProcess.getResourceRequirementsBuilder(connectorReqs).build())
+      .build()
+  }
+
+  private fun buildInitContainer(
+    volumeMounts: List<VolumeMount>,
+    maxWaitSeconds: Long,
+  ): Container {
     return ContainerBuilder()
       .withName(KubePodProcess.INIT_CONTAINER_NAME)
       .withImage("busybox:1.35")
@@ -101,7 +175,7 @@ class ConnectorPodFactory(
           String.format(
             """
             i=0
-            until [ ${'$'}i -gt 60 ]
+            until [ ${'$'}i -gt %d ]
             do
               echo "${'$'}i - waiting for config file transfer to complete..."
               # check if the upload-complete file exists, if so exit without error
@@ -117,6 +191,7 @@ class ConnectorPodFactory(
             # no upload-complete file was created in time, exit with error
             exit 1
             """.trimIndent(),
+            maxWaitSeconds,
             KubePodProcess.CONFIG_DIR,
             KubePodProcess.SUCCESS_FILE_NAME,
           ),
@@ -174,6 +249,9 @@ class ConnectorPodFactory(
   }
 
   companion object {
+    const val PULL_CONTAINER_NAME = "pull"
+    const val PULL_TOOL_CONTAINER_NAME = "pull-tool"
+    private const val CONFIG_FILE_WAIT_SECONDS = 60L
     val CHECK_OPERATION_NAME = "check"
     val DISCOVER_OPERATION_NAME = "discover"
     val SPEC_OPERATION_NAME = "spec"
@@ -36,6 +36,27 @@ class VolumeFactory(
     return VolumeMountPair(volume, mount)
   }
 
+  /**
+   * Volume holding the static binary which the pull container of a warm pod runs, so that pulling
+   * the connector image does not depend on what the image contains.
+   */
+  fun pullTool(): VolumeMountPair {
+    val volume =
+      VolumeBuilder()
+        .withName("airbyte-pull-tool")
+        .withNewEmptyDir()
+        .endEmptyDir()
+        .build()
+
+    val mount =
+      VolumeMountBuilder()
+        .withName("airbyte-pull-tool")
+        .withMountPath(PULL_TOOL_DIR)
+        .build()
+
+    return VolumeMountPair(volume, mount)
+  }
+
   fun secret(): VolumeMountPair? {
     val hasSecrets =
       StringUtils.isNotEmpty(secretName) &&
@@ -92,6 +113,10 @@ class VolumeFactory(
 
     return VolumeMountPair(volume, mount)
   }
+
+  companion object {
+    const val PULL_TOOL_DIR = "/airbyte-pull"
+  }
 }
 
 data class VolumeMountPair(
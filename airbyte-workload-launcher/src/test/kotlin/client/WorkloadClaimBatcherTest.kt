@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.launcher.client
+
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+
+class WorkloadClaimBatcherTest {
+  @Test
+  fun `a single claim is sent right away`() {
+    val apiClient: WorkloadApiClient = mockk()
+    every { apiClient.claim(listOf("1")) } returns setOf("1")
+
+    val batcher = WorkloadClaimBatcher(apiClient, 10, 10, Duration.ofMinutes(1))
+
+    assertTrue(batcher.claim("1"))
+    verify(exactly = 1) { apiClient.claim(listOf("1")) }
+  }
+
+  @Test
+  fun `claims made while a batch claim is in flight are sent in a single batch`() {
+    val apiClient: WorkloadApiClient = mockk()
+    val release = CountDownLatch(1)
+    every { apiClient.claim(any<List<String>>()) } answers { firstArg<List<String>>().filter { it != "3" }.toSet() }
+    every { apiClient.claim(listOf("1")) } answers {
+      release.await()
+      setOf("1")
+    }
+
+    val batcher = WorkloadClaimBatcher(apiClient, 2, 2, Duration.ofMinutes(1))
+    val executor = Executors.newFixedThreadPool(4)
+    val first = executor.submit(Callable { batcher.claim("1") })
+    Thread.sleep(100)
+    val claims = listOf("2", "3", "4").associateWith { executor.submit(Callable { batcher.claim(it) }) }
+    Thread.sleep(100)
+    release.countDown()
+
+    assertTrue(first.get())
+    assertTrue(claims.getValue("2").get())
+    assertFalse(claims.getValue("3").get())
+    assertTrue(claims.getValue("4").get())
+    verify(exactly = 1) { apiClient.claim(match<List<String>> { it.toSet() == setOf("2", "3", "4") }) }
+    executor.shutdown()
+  }
+
+  @Test
+  fun `batches are capped to the launch pipeline parallelism`() {
+    val apiClient: WorkloadApiClient = mockk()
+    val release = CountDownLatch(1)
+    every { apiClient.claim(any<List<String>>()) } answers { firstArg<List<String>>().toSet() }
+    every { apiClient.claim(listOf("1")) } answers {
+      release.await()
+      setOf("1")
+    }
+
+    val batcher = WorkloadClaimBatcher(apiClient, 1, 1, Duration.ofMinutes(1))
+    val executor = Executors.newFixedThreadPool(4)
+    val first = executor.submit(Callable { batcher.claim("1") })
+    Thread.sleep(100)
+    val claims = listOf("2", "3", "4").map { executor.submit(Callable { batcher.claim(it) }) }
+    Thread.sleep(100)
+    release.countDown()
+
+    assertTrue(first.get())
+    claims.forEach { assertTrue(it.get()) }
+    verify(exactly = 0) { apiClient.claim(match<List<String>> { it.size > 2 }) }
+    executor.shutdown()
+  }
+
+  @Test
+  fun `a failed batch claim falls back to single claims`() {
+    val apiClient: WorkloadApiClient = mockk()
+    every { apiClient.claim(any<List<String>>()) } throws RuntimeException("bang")
+    every { apiClient.claim("1") } returns true
+
+    val batcher = WorkloadClaimBatcher(apiClient, 10, 10, Duration.ofMinutes(1))
+
+    assertTrue(batcher.claim("1"))
+    verify(exactly = 1) { apiClient.claim("1") }
+  }
+
+  @Test
+  fun `a batch claim which does not return in time falls back to a single claim`() {
+    val apiClient: WorkloadApiClient = mockk()
+    val release = CountDownLatch(1)
+    every { apiClient.claim(any<List<String>>()) } answers {
+      release.await()
+      setOf()
+    }
+    every { apiClient.claim("1") } returns true
+
+    val batcher = WorkloadClaimBatcher(apiClient, 10, 10, Duration.ofMillis(50))
+
+    assertTrue(batcher.claim("1"))
+    verify(exactly = 1) { apiClient.claim("1") }
+    release.countDown()
+  }
+}
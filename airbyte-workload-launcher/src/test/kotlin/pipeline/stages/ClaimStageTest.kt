@@ -5,7 +5,7 @@
 package io.airbyte.workload.launcher.pipeline.stages
 
 import fixtures.RecordFixtures
-import io.airbyte.workload.launcher.client.WorkloadApiClient
+import io.airbyte.workload.launcher.client.WorkloadClaimBatcher
 import io.airbyte.workload.launcher.fixtures.SharedMocks.Companion.metricPublisher
 import io.airbyte.workload.launcher.pipeline.stages.model.LaunchStageIO
 import io.mockk.every
@@ -18,18 +18,18 @@ class ClaimStageTest {
   fun `sets skip flag to false for successful claim`() {
     val workloadId = "1"
 
-    val workloadApiClient: WorkloadApiClient = mockk()
+    val claimBatcher: WorkloadClaimBatcher = mockk()
     every {
-      workloadApiClient.claim(
+      claimBatcher.claim(
         workloadId,
       )
     } returns true
 
-    val claimStage = ClaimStage(workloadApiClient, metricPublisher, "dataplane-id")
+    val claimStage = ClaimStage(claimBatcher, metricPublisher, "dataplane-id")
     val originalInput = LaunchStageIO(RecordFixtures.launcherInput(workloadId, "{}", mapOf("label_key" to "label_value"), "/log/path"))
     val outputFromClaimStage = claimStage.applyStage(originalInput)
 
-    verify { workloadApiClient.claim(workloadId) }
+    verify { claimBatcher.claim(workloadId) }
 
     assert(!outputFromClaimStage.skip) { "Skip Launch flag should be false but it's true" }
   }
@@ -38,18 +38,18 @@ class ClaimStageTest {
   fun `sets skip flag to true for un-successful claim`() {
     val workloadId = "1"
 
-    val workloadApiClient: WorkloadApiClient = mockk()
+    val claimBatcher: WorkloadClaimBatcher = mockk()
     every {
-      workloadApiClient.claim(
+      claimBatcher.claim(
         workloadId,
       )
     } returns false
 
-    val claimStage = ClaimStage(workloadApiClient, metricPublisher, "dataplane-id")
+    val claimStage = ClaimStage(claimBatcher, metricPublisher, "dataplane-id")
     val originalInput = LaunchStageIO(RecordFixtures.launcherInput(workloadId, "{}", mapOf("label_key" to "label_value"), "/log/path"))
     val outputFromClaimStage = claimStage.applyStage(originalInput)
 
-    verify { workloadApiClient.claim(workloadId) }
+    verify { claimBatcher.claim(workloadId) }
 
     assert(outputFromClaimStage.skip) { "Skip Launch flag should be true but it's false" }
   }
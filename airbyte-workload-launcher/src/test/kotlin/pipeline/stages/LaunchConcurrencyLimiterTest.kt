@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.launcher.pipeline.stages
+
+import io.airbyte.config.WorkloadType
+import io.airbyte.workload.launcher.pods.KubeClientException
+import io.airbyte.workload.launcher.pods.KubeCommandType
+import io.mockk.mockk
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class LaunchConcurrencyLimiterTest {
+  private fun limiter(
+    initialLimit: Int,
+    minLimit: Int = 1,
+    maxLimit: Int = 100,
+    enabled: Boolean = true,
+  ) = LaunchConcurrencyLimiter(enabled, initialLimit, minLimit, maxLimit, 0.5, 2.0, mockk(relaxed = true))
+
+  @Test
+  fun `the limit grows when launches succeed while it is used`() {
+    val limiter = limiter(initialLimit = 1)
+
+    limiter.run(WorkloadType.CHECK) { }
+    limiter.run(WorkloadType.CHECK) { }
+
+    assertEquals(3, limiter.getLimit())
+    assertEquals(0, limiter.getInFlight())
+  }
+
+  @Test
+  fun `the limit is bounded by the max limit`() {
+    val limiter = limiter(initialLimit = 1, maxLimit = 2)
+
+    repeat(5) { limiter.run(WorkloadType.CHECK) { } }
+
+    assertEquals(2, limiter.getLimit())
+  }
+
+  @Test
+  fun `the limit backs off when the cluster fails a launch`() {
+    val limiter = limiter(initialLimit = 8, minLimit = 3)
+
+    assertThrows<KubeClientException> {
+      limiter.run(WorkloadType.CHECK) { throw KubeClientException("boom", RuntimeException(), KubeCommandType.CREATE) }
+    }
+    assertEquals(4, limiter.getLimit())
+
+    assertThrows<KubeClientException> {
+      limiter.run(WorkloadType.CHECK) { throw KubeClientException("boom", RuntimeException(), KubeCommandType.CREATE) }
+    }
+    assertEquals(3, limiter.getLimit())
+    assertEquals(0, limiter.getInFlight())
+  }
+
+  @Test
+  fun `a launch much slower than the launches of its type backs off`() {
+    val limiter = limiter(initialLimit = 8)
+
+    limiter.run(WorkloadType.CHECK) { }
+    val limit = limiter.getLimit()
+    limiter.run(WorkloadType.CHECK) { Thread.sleep(1100) }
+
+    assertEquals(limit / 2, limiter.getLimit())
+  }
+
+  @Test
+  fun `launches are only compared to launches of the same type`() {
+    val limiter = limiter(initialLimit = 8)
+
+    limiter.run(WorkloadType.CHECK) { }
+    val limit = limiter.getLimit()
+    limiter.run(WorkloadType.SYNC) { Thread.sleep(1100) }
+
+    assertTrue(limiter.getLimit() >= limit)
+    assertTrue(limiter.getAverageLatencyMs(WorkloadType.CHECK)!! < 1000)
+    assertTrue(limiter.getAverageLatencyMs(WorkloadType.SYNC)!! >= 1100)
+  }
+
+  @Test
+  fun `other failures do not change the limit`() {
+    val limiter = limiter(initialLimit = 8)
+
+    assertThrows<IllegalStateException> { limiter.run(WorkloadType.CHECK) { throw IllegalStateException() } }
+
+    assertEquals(8, limiter.getLimit())
+    assertEquals(0, limiter.getInFlight())
+  }
+
+  @Test
+  fun `launches in flight never exceed the limit`() {
+    val limiter = limiter(initialLimit = 2, maxLimit = 2)
+    val executor = Executors.newFixedThreadPool(6)
+    val inFlight = AtomicInteger()
+    val maxInFlight = AtomicInteger()
+    val done = CountDownLatch(12)
+
+    repeat(12) {
+      executor.submit {
+        limiter.run(WorkloadType.CHECK) {
+          maxInFlight.accumulateAndGet(inFlight.incrementAndGet()) { a, b -> maxOf(a, b) }
+          Thread.sleep(10)
+          inFlight.decrementAndGet()
+        }
+        done.countDown()
+      }
+    }
+
+    assertTrue(done.await(30, TimeUnit.SECONDS))
+    assertTrue(maxInFlight.get() <= 2)
+    executor.shutdown()
+  }
+
+  @Test
+  fun `a disabled limiter runs the launch without limiting it`() {
+    val limiter = limiter(initialLimit = 1, enabled = false)
+
+    assertEquals("launched", limiter.run(WorkloadType.CHECK) { "launched" })
+    assertEquals(1, limiter.getLimit())
+  }
+}
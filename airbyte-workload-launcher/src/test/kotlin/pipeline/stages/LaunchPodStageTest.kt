@@ -20,6 +20,8 @@ import org.junit.jupiter.api.Test
 import java.util.UUID
 
 class LaunchPodStageTest {
+  private val limiter = LaunchConcurrencyLimiter(true, 10, 1, 100, 0.9, 2.0, mockk(relaxed = true))
+
   @Test
   fun `launches replication`() {
     val replInput = ReplicationInput()
@@ -28,7 +30,7 @@ class LaunchPodStageTest {
     val launcher: KubePodClient = mockk()
     every { launcher.launchReplication(any(), any()) } returns Unit
 
-    val stage = LaunchPodStage(launcher, mockk(), "dataplane-id")
+    val stage = LaunchPodStage(launcher, limiter, mockk(), "dataplane-id")
     val workloadId = UUID.randomUUID().toString()
     val msg = RecordFixtures.launcherInput(workloadId)
     val io = LaunchStageIO(msg = msg, payload = payload)
@@ -50,7 +52,7 @@ class LaunchPodStageTest {
     val launcher: KubePodClient = mockk()
     every { launcher.launchCheck(any(), any()) } returns Unit
 
-    val stage = LaunchPodStage(launcher, mockk(), "dataplane-id")
+    val stage = LaunchPodStage(launcher, limiter, mockk(), "dataplane-id")
     val workloadId = UUID.randomUUID().toString()
     val msg = RecordFixtures.launcherInput(workloadId)
     val io = LaunchStageIO(msg = msg, payload = payload)
@@ -72,7 +74,7 @@ class LaunchPodStageTest {
     val launcher: KubePodClient = mockk()
     every { launcher.launchDiscover(any(), any()) } returns Unit
 
-    val stage = LaunchPodStage(launcher, mockk(), "dataplane-id")
+    val stage = LaunchPodStage(launcher, limiter, mockk(), "dataplane-id")
     val workloadId = UUID.randomUUID().toString()
     val msg = RecordFixtures.launcherInput(workloadId)
     val io = LaunchStageIO(msg = msg, payload = payload)
@@ -35,6 +35,7 @@ import io.mockk.junit5.MockKExtension
 import io.mockk.slot
 import io.mockk.spyk
 import io.mockk.verify
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
@@ -53,8 +54,12 @@ class KubePodClientTest {
   @MockK
   private lateinit var mapper: PayloadKubeInputMapper
 
-  @MockK
-  private lateinit var pod: Pod
+  private val pod: Pod =
+    PodBuilder()
+      .withNewMetadata()
+      .withName("connector")
+      .endMetadata()
+      .build()
 
   @MockK
   private lateinit var orchestratorPodFactory: OrchestratorPodFactory
@@ -71,6 +76,9 @@ class KubePodClientTest {
   @MockK
   private lateinit var podFactory: ConnectorPodFactory
 
+  @MockK
+  private lateinit var warmPodPool: WarmPodPool
+
   private lateinit var client: KubePodClient
 
   private lateinit var replInput: ReplicationInput
@@ -95,6 +103,7 @@ class KubePodClientTest {
         checkPodFactory,
         discoverPodFactory,
         specPodFactory,
+        warmPodPool,
       )
 
     replInput =
@@ -369,6 +378,79 @@ class KubePodClientTest {
     verify { launcher.waitForPodReadyOrTerminalByPod(connector, REPL_CONNECTOR_STARTUP_TIMEOUT_VALUE) }
   }
 
+  @Test
+  fun `launchConnectorWithSidecar hands a warm pod over when there is one`() {
+    val input = connectorKubeInput.copy(extraEnv = listOf())
+    val warmPod =
+      PodBuilder()
+        .withNewMetadata()
+        .withName("warm-pod")
+        .endMetadata()
+        .build()
+    val connector =
+      PodBuilder()
+        .withNewMetadata()
+        .withName("connector-with-sidecar")
+        .endMetadata()
+        .build()
+
+    every {
+      warmPodPool.take(WarmPodKey(podFactory, input.kubePodInfo.mainContainerInfo, input.nodeSelectors, input.annotations))
+    } returns warmPod
+    every { launcher.replaceLabels(warmPod, input.connectorLabels) } returns connector
+
+    client.launchConnectorWithSidecar(input, podFactory, "OPERATION NAME")
+
+    verify(exactly = 0) { podFactory.create(any(), any(), any(), any(), any()) }
+    verify(exactly = 0) { launcher.create(any()) }
+    verify { launcher.waitForPodInit(connector, POD_INIT_TIMEOUT_VALUE) }
+    verify { launcher.copyFilesToKubeConfigVolumeMain(connector, input.fileMap) }
+    verify { launcher.waitForPodReadyOrTerminalByPod(connector, REPL_CONNECTOR_STARTUP_TIMEOUT_VALUE) }
+  }
+
+  @Test
+  fun `launchConnectorWithSidecar creates a pod when the warm pod can't be handed over`() {
+    val input = connectorKubeInput.copy(extraEnv = listOf())
+    val warmPod =
+      PodBuilder()
+        .withNewMetadata()
+        .withName("warm-pod")
+        .endMetadata()
+        .build()
+
+    every { warmPodPool.take(any()) } returns warmPod
+    every { launcher.replaceLabels(warmPod, any()) } throws RuntimeException("bang")
+    every { launcher.delete(warmPod) } returns Unit
+    every { podFactory.create(input.connectorLabels, input.nodeSelectors, input.kubePodInfo, input.annotations, input.extraEnv) } returns pod
+
+    client.launchConnectorWithSidecar(input, podFactory, "OPERATION NAME")
+
+    verify { launcher.delete(warmPod) }
+    verify { podFactory.create(input.connectorLabels, input.nodeSelectors, input.kubePodInfo, input.annotations, input.extraEnv) }
+    verify { launcher.create(pod) }
+  }
+
+  @Test
+  fun `launchConnectorWithSidecar errors name the warm pod which was handed over`() {
+    val input = connectorKubeInput.copy(extraEnv = listOf())
+    val warmPod =
+      PodBuilder()
+        .withNewMetadata()
+        .withName("warm-pod")
+        .endMetadata()
+        .build()
+
+    every { warmPodPool.take(any()) } returns warmPod
+    every { launcher.replaceLabels(warmPod, any()) } returns warmPod
+    every { launcher.copyFilesToKubeConfigVolumeMain(warmPod, input.fileMap) } throws RuntimeException("bang")
+
+    val exception =
+      assertThrows<KubeClientException> {
+        client.launchConnectorWithSidecar(input, podFactory, "OPERATION NAME")
+      }
+    assertTrue(exception.message!!.contains("warm-pod"))
+  }
+
   @Test
   fun `launchConnectorWithSidecar propagates pod creation error`() {
     every { launcher.create(any()) } throws RuntimeException("bang")
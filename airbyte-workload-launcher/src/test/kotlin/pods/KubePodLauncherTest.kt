@@ -91,6 +91,17 @@ class KubePodLauncherTest {
     checkMetricSend("wait")
   }
 
+  @Test
+  fun `test fail to replace pod labels`() {
+    val pod: Pod = mockk()
+
+    assertThrows<IllegalStateException> {
+      kubePodLauncher.replaceLabels(pod, mapOf())
+    }
+
+    checkMetricSend("pod_edit")
+  }
+
   @Test
   fun `test fail to wait for pod ready or terminal`() {
     assertThrows<IllegalStateException> {
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.launcher.pods
+
+import io.airbyte.workers.process.KubeContainerInfo
+import io.airbyte.workload.launcher.pods.factories.ConnectorPodFactory
+import io.fabric8.kubernetes.api.model.Pod
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.time.Duration
+
+class WarmPodPoolTest {
+  private lateinit var kubePodLauncher: KubePodLauncher
+  private lateinit var factory: ConnectorPodFactory
+  private lateinit var key: WarmPodKey
+  private lateinit var pool: WarmPodPool
+
+  @BeforeEach
+  fun setup() {
+    kubePodLauncher = mockk()
+    factory = mockk()
+    key = WarmPodKey(factory, KubeContainerInfo("image:1.0", "IfNotPresent"), mapOf(), mapOf())
+    every { factory.createWarm(any(), any(), any(), any(), any()) } returns mockk<Pod>()
+    // The refresh interval is long enough that the pool is only refreshed by the tests.
+    pool = WarmPodPool(kubePodLauncher, true, 1, 10, Duration.ofMinutes(10), Duration.ofHours(1), Duration.ofMinutes(5), "namespace")
+  }
+
+  @AfterEach
+  fun tearDown() {
+    pool.close()
+  }
+
+  @Test
+  fun `a key which failed to warm is not warmed again during its backoff`() {
+    every { kubePodLauncher.create(any()) } throws RuntimeException("bang")
+    pool.take(key)
+
+    pool.refresh()
+    verify(timeout = 5000, exactly = 1) { kubePodLauncher.create(any()) }
+    // Let the failure be recorded.
+    Thread.sleep(100)
+    pool.refresh()
+    Thread.sleep(100)
+
+    verify(exactly = 1) { kubePodLauncher.create(any()) }
+    assertEquals(0, pool.getIdlePodCount(key))
+  }
+
+  @Test
+  fun `the warm backoff doubles with each failure up to an hour`() {
+    assertEquals(Duration.ofMinutes(5), pool.backoff(1))
+    assertEquals(Duration.ofMinutes(10), pool.backoff(2))
+    assertEquals(Duration.ofMinutes(40), pool.backoff(4))
+    assertEquals(Duration.ofHours(1), pool.backoff(5))
+    assertEquals(Duration.ofHours(1), pool.backoff(100))
+  }
+}